@@ -0,0 +1,52 @@
+package com.choo.hhbackendlab.helper;
+
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 쿠폰 코드 생성 벤치마크 (기존 UserCoupon.generateCouponCode 방식 vs CouponCodeGenerator)
+ * 실행: ./gradlew jmh  (-prof gc 로 호출당 할당량 비교)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CouponCodeGeneratorBenchmark {
+
+    private CouponCodeGenerator generator;
+
+    @Setup
+    public void setUp() {
+        generator = new CouponCodeGenerator(1);
+    }
+
+    /**
+     * 기존 방식: 호출마다 포맷터 생성 + 날짜 포맷 + UUID 문자열 자르기
+     */
+    @Benchmark
+    public String legacyDateTimeAndUuid() {
+        String timestamp = LocalDateTime.now()
+                .format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
+        String randomValue = UUID.randomUUID().toString()
+                .substring(0, 8).toUpperCase();
+
+        return timestamp + "-" + randomValue;
+    }
+
+    @Benchmark
+    public String generator() {
+        return generator.generate();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generatorContended() {
+        return generator.generate();
+    }
+}
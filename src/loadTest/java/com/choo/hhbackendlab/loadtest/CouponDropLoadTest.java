@@ -0,0 +1,333 @@
+package com.choo.hhbackendlab.loadtest;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.User;
+import com.choo.hhbackendlab.redis.QueueStatus;
+import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.UserCouponRepository;
+import com.choo.hhbackendlab.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 선착순 쿠폰 오픈 부하 테스트
+ * 실제 HTTP 경로(/api/coupons/issue-by-name)로 동시 요청을 보내고 아래 항목을 측정 / 검증
+ * - 대기열 등록 응답 시간 (p50 / p90 / p99 / p999 / max) 및 처리량
+ * - 발급 처리량 (첫 요청부터 대기열이 모두 발급될 때까지)
+ * - 초과 발급 (발급 수 + 남은 재고 == 재고) / 중복 발급 / 등록됐지만 처리되지 않은 요청
+ *   (발급 수 == min(등록 사용자 수, 재고), DATABASE 방식은 등록 시 재고를 확인하지 않아 재고보다 많이 등록되므로
+ *    대기열 요청이 모두 최종 상태(발급 / 재고 소진 / 실패)가 될 때까지 기다린 뒤 검증)
+ *
+ * 실행: ./gradlew loadTest -Dloadtest.users=20000 -Dloadtest.stock=1000 -Dloadtest.concurrency=2000
+ * - loadtest.users : 요청 사용자 수 (기본 10000)
+ * - loadtest.stock : 쿠폰 재고 (기본 1000)
+ * - loadtest.requests-per-user : 사용자당 요청 수 (반복 클릭, 기본 1)
+ * - loadtest.concurrency : 동시에 보내는 최대 요청 수 (기본 1000, 요청마다 가상 스레드 1개)
+ * - loadtest.queue-type : 대기열 방식 (ZSET / STREAM / DATABASE, 기본 ZSET)
+ * - loadtest.rate-limit : 요청 수 제한 적용 여부 (기본 false, 파이프라인 자체 처리량 측정)
+ * - loadtest.seed : 요청 순서 난수 시드 (같은 값이면 같은 순서로 요청, 기본 42)
+ * - loadtest.drain-timeout-seconds : 발급 완료 (DATABASE 방식은 대기열 처리 완료) 대기 시간 (기본 120)
+ * - loadtest.containers : true면 Testcontainers MySQL / Redis, false면 application.properties의 로컬 MySQL / Redis 사용 (기본 true)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+public class CouponDropLoadTest {
+
+    private static final int USERS = Integer.getInteger("loadtest.users", 10_000);
+    private static final int STOCK = Integer.getInteger("loadtest.stock", 1_000);
+    private static final int REQUESTS_PER_USER = Integer.getInteger("loadtest.requests-per-user", 1);
+    private static final int CONCURRENCY = Integer.getInteger("loadtest.concurrency", 1_000);
+    private static final String QUEUE_TYPE = System.getProperty("loadtest.queue-type", "ZSET");
+    private static final boolean RATE_LIMIT = Boolean.parseBoolean(System.getProperty("loadtest.rate-limit", "false"));
+    private static final long SEED = Long.getLong("loadtest.seed", 42L);
+    private static final long DRAIN_TIMEOUT_SECONDS = Long.getLong("loadtest.drain-timeout-seconds", 120L);
+    private static final boolean CONTAINERS = Boolean.parseBoolean(System.getProperty("loadtest.containers", "true"));
+    private static final boolean DATABASE_QUEUE = "DATABASE".equalsIgnoreCase(QUEUE_TYPE);
+
+    // 사용자 저장 단위
+    private static final int USER_CHUNK_SIZE = 1_000;
+
+    private static MySQLContainer<?> mysql;
+    private static GenericContainer<?> redis;
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        if (CONTAINERS) {
+            mysql = new MySQLContainer<>("mysql:8.0.40")
+                    .withDatabaseName("hh_backend_lab")
+                    .withUsername("root")
+                    .withPassword("1234");
+            redis = new GenericContainer<>("redis:7.2-alpine").withExposedPorts(6379);
+            mysql.start();
+            redis.start();
+
+            registry.add("spring.datasource.url", () -> mysql.getJdbcUrl() + "?rewriteBatchedStatements=true");
+            registry.add("spring.datasource.username", mysql::getUsername);
+            registry.add("spring.datasource.password", mysql::getPassword);
+            registry.add("spring.data.redis.host", redis::getHost);
+            registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+        }
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.show-sql", () -> "false");
+        registry.add("logging.level.org.hibernate.SQL", () -> "WARN");
+        registry.add("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", () -> "WARN");
+        registry.add("logging.level.com.choo.hhbackendlab", () -> "WARN");
+        registry.add("coupon.issue.queue-type", () -> QUEUE_TYPE);
+        registry.add("coupon.issue.rate-limit.enabled", () -> String.valueOf(RATE_LIMIT));
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    @DisplayName("선착순 쿠폰 오픈 - 대기열 등록 응답 시간 / 발급 처리량 측정, 초과 / 중복 발급 없음")
+    void couponDrop() throws Exception {
+        // given - 매 실행 새 쿠폰 이름 (로컬 Redis를 재사용해도 이전 실행 기록과 섞이지 않도록)
+        String couponName = "LOADTEST-" + System.currentTimeMillis();
+        Long couponId = couponRepository.save(
+                new Coupon(couponName, STOCK, 1000, 0, LocalDateTime.now().plusDays(1))).getId();
+        List<Long> requestUserIds = createRequestOrder(createUsers());
+
+        LoadTestReport report = new LoadTestReport(requestUserIds.size());
+        report.put("config", String.format("users=%d, stock=%d, requests-per-user=%d, concurrency=%d, queue-type=%s, rate-limit=%s, seed=%d",
+                USERS, STOCK, REQUESTS_PER_USER, CONCURRENCY, QUEUE_TYPE, RATE_LIMIT, SEED));
+
+        // when - 가상 스레드로 동시 요청 (동시 요청 수는 concurrency로 제한)
+        Set<Long> acceptedUserIds = ConcurrentHashMap.newKeySet();
+        AtomicInteger accepted = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        AtomicInteger throttled = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        URI uri = URI.create("http://localhost:" + port + "/api/coupons/issue-by-name");
+        Semaphore permits = new Semaphore(CONCURRENCY);
+        CountDownLatch startGate = new CountDownLatch(1);
+
+        long startedAt;
+        long admissionEndedAt;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requestUserIds.size(); i++) {
+                int index = i;
+                Long userId = requestUserIds.get(i);
+                executor.submit(() -> {
+                    startGate.await();
+                    permits.acquire();
+                    try {
+                        HttpRequest request = HttpRequest.newBuilder(uri)
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofString(
+                                        "{\"userId\":" + userId + ",\"couponName\":\"" + couponName + "\"}"))
+                                .build();
+                        long requestedAt = System.nanoTime();
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        report.recordAdmission(index, System.nanoTime() - requestedAt);
+
+                        switch (response.statusCode()) {
+                            case 200, 202 -> {   // 202 : Redis 장애로 로컬 대체 큐에 보관 (처리 대기)
+                                accepted.incrementAndGet();
+                                acceptedUserIds.add(userId);
+                            }
+                            case 400 -> rejected.incrementAndGet();   // 재고 소진 / 이미 발급
+                            case 429 -> throttled.incrementAndGet();
+                            default -> errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    } finally {
+                        permits.release();
+                    }
+                    return null;
+                });
+            }
+            startedAt = System.nanoTime();
+            startGate.countDown();
+        }
+        admissionEndedAt = System.nanoTime();
+
+        // 등록된 요청이 모두 처리될 때까지 대기 (재고보다 많이 등록되면 재고만큼만 발급)
+        long expectedIssued = Math.min(acceptedUserIds.size(), STOCK);
+        Map<QueueStatus, Long> queueStatuses = DATABASE_QUEUE ? waitForQueueDrained(couponName) : Map.of();
+        long issued = DATABASE_QUEUE
+                ? userCouponRepository.countByCouponId(couponId)
+                : waitForIssued(couponId, expectedIssued);
+        long drainedAt = System.nanoTime();
+
+        // then
+        Coupon coupon = couponRepository.findById(couponId).orElseThrow();
+        long duplicated = countDuplicatedUsers(couponId);
+
+        report.summarizeAdmission(admissionEndedAt - startedAt);
+        report.put("admission.accepted", accepted.get());
+        report.put("admission.rejected(400)", rejected.get());
+        report.put("admission.throttled(429)", throttled.get());
+        report.put("admission.errors", errors.get());
+        report.put("issue.accepted-users", acceptedUserIds.size());
+        report.put("issue.expected", expectedIssued);
+        report.put("issue.issued", issued);
+        queueStatuses.forEach((status, count) -> report.put("queue." + status, count));
+        report.put("issue.throughput(coupon/s)", String.format("%.1f",
+                LoadTestReport.perSecond(issued, drainedAt - startedAt)));
+        report.put("issue.drain(ms)", TimeUnit.NANOSECONDS.toMillis(drainedAt - startedAt));
+        Timer waitTimer = meterRegistry.find("coupon.issue.wait").tag("coupon", couponName).timer();
+        if (waitTimer != null) {
+            report.put("issue.wait.mean(ms)", String.format("%.2f", waitTimer.mean(TimeUnit.MILLISECONDS)));
+            report.put("issue.wait.max(ms)", String.format("%.2f", waitTimer.max(TimeUnit.MILLISECONDS)));
+        }
+        report.put("check.remaining-stock", coupon.getRemainingCount());
+        report.put("check.duplicated-users", duplicated);
+        report.print();
+
+        assertThat(errors.get()).as("HTTP 오류 / 연결 실패").isZero();
+        assertThat(issued).as("초과 발급").isLessThanOrEqualTo(STOCK);
+        assertThat(issued + coupon.getRemainingCount()).as("발급 수 + 남은 재고").isEqualTo(STOCK);
+        assertThat(duplicated).as("중복 발급").isZero();
+        assertThat(unfinished(queueStatuses)).as("처리되지 않은 대기열 요청").isZero();
+        assertThat(issued).as("등록됐지만 처리되지 않은 요청").isEqualTo(expectedIssued);
+    }
+
+    /**
+     * 요청 사용자 생성 (chunk 단위 일괄 저장)
+     */
+    private List<Long> createUsers() {
+        List<Long> userIds = new ArrayList<>(USERS);
+        List<User> chunk = new ArrayList<>(USER_CHUNK_SIZE);
+        for (int i = 0; i < USERS; i++) {
+            chunk.add(new User());
+            if (chunk.size() == USER_CHUNK_SIZE || i == USERS - 1) {
+                userRepository.saveAll(chunk).forEach(user -> userIds.add(user.getId()));
+                chunk.clear();
+            }
+        }
+        return userIds;
+    }
+
+    /**
+     * 사용자별 요청을 시드 기반으로 섞은 요청 순서 (같은 시드면 같은 순서)
+     */
+    private List<Long> createRequestOrder(List<Long> userIds) {
+        List<Long> order = new ArrayList<>(userIds.size() * REQUESTS_PER_USER);
+        for (int i = 0; i < REQUESTS_PER_USER; i++) {
+            order.addAll(userIds);
+        }
+        Collections.shuffle(order, new Random(SEED));
+        return order;
+    }
+
+    /**
+     * 발급 수가 expected에 도달하거나 drain-timeout-seconds가 지날 때까지 대기
+     *
+     * @return 마지막으로 확인한 발급 수
+     */
+    private long waitForIssued(Long couponId, long expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        long issued = userCouponRepository.countByCouponId(couponId);
+        while (issued < expected && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            issued = userCouponRepository.countByCouponId(couponId);
+        }
+        return issued;
+    }
+
+    /**
+     * DB 대기열 요청이 모두 최종 상태가 되거나 drain-timeout-seconds가 지날 때까지 대기
+     * (재고 소진 / 실패로 끝난 요청도 처리 완료로 봄)
+     *
+     * @return 마지막으로 확인한 상태별 요청 수
+     */
+    private Map<QueueStatus, Long> waitForQueueDrained(String couponName) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(DRAIN_TIMEOUT_SECONDS);
+        Map<QueueStatus, Long> statuses = countQueueStatuses(couponName);
+        while (unfinished(statuses) > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+            statuses = countQueueStatuses(couponName);
+        }
+        return statuses;
+    }
+
+    /**
+     * 쿠폰의 DB 대기열 요청 수 (상태별)
+     */
+    private Map<QueueStatus, Long> countQueueStatuses(String couponName) {
+        Map<QueueStatus, Long> statuses = new EnumMap<>(QueueStatus.class);
+        entityManager.createQuery(
+                        "SELECT q.status, COUNT(q) FROM COUPON_ISSUE_QUEUE q WHERE q.couponName = :couponName GROUP BY q.status",
+                        Object[].class)
+                .setParameter("couponName", couponName)
+                .getResultList()
+                .forEach(row -> statuses.put((QueueStatus) row[0], (Long) row[1]));
+        return statuses;
+    }
+
+    /**
+     * 아직 최종 상태가 아닌 요청 수 (PENDING / PROCESSING)
+     */
+    private static long unfinished(Map<QueueStatus, Long> statuses) {
+        return statuses.entrySet().stream()
+                .filter(entry -> !entry.getKey().isFinished())
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+    }
+
+    /**
+     * 같은 쿠폰을 두 장 이상 받은 사용자 수
+     */
+    private long countDuplicatedUsers(Long couponId) {
+        return entityManager.createQuery(
+                        "SELECT COUNT(uc) - COUNT(DISTINCT uc.user.id) FROM USER_COUPON uc WHERE uc.coupon.id = :couponId",
+                        Long.class)
+                .setParameter("couponId", couponId)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,68 @@
+package com.choo.hhbackendlab.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 부하 테스트 결과 집계 및 출력
+ * 요청별 응답 시간은 미리 할당한 배열에 요청 순번 위치로 기록 (집계 시에만 정렬)
+ */
+class LoadTestReport {
+
+    private final long[] admissionNanos;
+    private final Map<String, Object> lines = new LinkedHashMap<>();
+
+    LoadTestReport(int requestCount) {
+        this.admissionNanos = new long[requestCount];
+    }
+
+    /**
+     * 요청 하나의 응답 시간 기록 (요청마다 다른 위치에 쓰므로 동기화 불필요)
+     */
+    void recordAdmission(int index, long elapsedNanos) {
+        admissionNanos[index] = elapsedNanos;
+    }
+
+    void put(String name, Object value) {
+        lines.put(name, value);
+    }
+
+    /**
+     * 대기열 등록 응답 시간 백분위 (ms)
+     */
+    void summarizeAdmission(long elapsedNanos) {
+        long[] sorted = admissionNanos.clone();
+        Arrays.sort(sorted);
+        put("admission.requests", sorted.length);
+        put("admission.throughput(req/s)", String.format("%.1f", perSecond(sorted.length, elapsedNanos)));
+        put("admission.p50(ms)", toMillis(percentile(sorted, 0.50)));
+        put("admission.p90(ms)", toMillis(percentile(sorted, 0.90)));
+        put("admission.p99(ms)", toMillis(percentile(sorted, 0.99)));
+        put("admission.p999(ms)", toMillis(percentile(sorted, 0.999)));
+        put("admission.max(ms)", toMillis(sorted.length > 0 ? sorted[sorted.length - 1] : 0));
+    }
+
+    static double perSecond(long count, long elapsedNanos) {
+        return elapsedNanos > 0 ? count * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos : 0;
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.min(Math.max(index, 0), sorted.length - 1)];
+    }
+
+    private static String toMillis(long nanos) {
+        return String.format("%.2f", nanos / 1_000_000.0);
+    }
+
+    void print() {
+        System.out.println("==================== 선착순 쿠폰 부하 테스트 결과 ====================");
+        lines.forEach((name, value) -> System.out.printf("%-32s %s%n", name, value));
+        System.out.println("====================================================================");
+    }
+}
@@ -1,16 +1,29 @@
 package com.choo.hhbackendlab.controller;
 
 import com.choo.hhbackendlab.dto.requestDto.CreateCouponRequest;
+import com.choo.hhbackendlab.dto.requestDto.GrantCouponRequest;
 import com.choo.hhbackendlab.dto.requestDto.IssueCouponByNameRequest;
 import com.choo.hhbackendlab.dto.requestDto.IssueCouponRequest;
+import com.choo.hhbackendlab.dto.requestDto.WaitingPositionRequest;
+import com.choo.hhbackendlab.dto.responseDto.CouponCleanupResponse;
+import com.choo.hhbackendlab.dto.responseDto.CouponGrantJobResponse;
+import com.choo.hhbackendlab.dto.responseDto.CouponIssueStatusResponse;
+import com.choo.hhbackendlab.dto.responseDto.CouponWaitingPositionResponse;
 import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.helper.CouponAdmissionRateLimiter;
+import com.choo.hhbackendlab.helper.CouponIssueFallbackQueue;
+import com.choo.hhbackendlab.usecase.coupon.ClearIssuedRecordsUseCase;
 import com.choo.hhbackendlab.usecase.coupon.CreateCouponUseCase;
+import com.choo.hhbackendlab.usecase.coupon.GetCouponIssueStatusUseCase;
+import com.choo.hhbackendlab.usecase.coupon.GrantCouponUseCase;
 import com.choo.hhbackendlab.usecase.coupon.IssueCouponUseCase;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -21,6 +34,10 @@ public class CouponController {
 
     private final IssueCouponUseCase issueCouponUseCase;
     private final CreateCouponUseCase createCouponUseCase;
+    private final GetCouponIssueStatusUseCase getCouponIssueStatusUseCase;
+    private final CouponAdmissionRateLimiter couponAdmissionRateLimiter;
+    private final GrantCouponUseCase grantCouponUseCase;
+    private final ClearIssuedRecordsUseCase clearIssuedRecordsUseCase;
 
     /**
      * 쿠폰 생성 API (couponCnt만큼 미발급 쿠폰 생성)
@@ -53,13 +70,144 @@ public class CouponController {
 
     /**
      * 선착순 쿠폰 발급 API (쿠폰 이름으로 발급)
+     * 사용자별 / 쿠폰별 허용 요청 수를 넘으면 대기열 등록 없이 429 응답
+     * Redis 장애로 로컬 대체 큐에 보관된 요청은 대기 순서를 알 수 없으므로 202 응답 (결과는 발급 상태 조회로 확인)
      * @param request 선착순 쿠폰 발급 요청 정보
      * @return 발급된 쿠폰 ID와 성공 메시지
      */
     @PostMapping("/issue-by-name")
     public ResponseEntity<String> issueCouponByName(@Valid @RequestBody IssueCouponByNameRequest request) {
+        couponAdmissionRateLimiter.acquire(request.getUserId(), request.getCouponName());
         Long couponId = issueCouponUseCase.issueCouponByName(request.getUserId(), request.getCouponName());
+        if (couponId != null && couponId == CouponIssueFallbackQueue.UNKNOWN_POSITION) {
+            return ResponseEntity.status(HttpStatus.ACCEPTED)
+                    .body("쿠폰 발급 요청이 접수되어 처리 대기 중입니다. 쿠폰명: " + request.getCouponName());
+        }
         return ResponseEntity.status(HttpStatus.OK)
                 .body("쿠폰이 발급되었습니다. 쿠폰 ID: " + couponId + ", 쿠폰명: " + request.getCouponName());
     }
+
+    /**
+     * 선착순 쿠폰 발급 상태 조회 API
+     * @param name 쿠폰 이름
+     * @param userId 사용자 ID
+     * @return 발급 상태 (PENDING / COMPLETED / SOLD_OUT / FAILED)
+     */
+    @GetMapping("/{name}/status/{userId}")
+    public ResponseEntity<CouponIssueStatusResponse> getIssueStatus(@PathVariable String name, @PathVariable Long userId) {
+        return ResponseEntity.ok(getCouponIssueStatusUseCase.getStatus(name, userId));
+    }
+
+    /**
+     * 선착순 쿠폰 대기 순서 일괄 조회 API (여러 사용자 / 쿠폰을 Redis 왕복 1회로 조회)
+     * 대기열이 큰 쿠폰은 추정값 반환 (approximate = true)
+     * @param request 조회 대상 목록 (최대 1000건)
+     * @return 대상별 대기 순서 (대기 중이 아니면 null)
+     */
+    @PostMapping("/waiting-positions")
+    public ResponseEntity<List<CouponWaitingPositionResponse>> getWaitingPositions(
+            @Valid @RequestBody WaitingPositionRequest request) {
+        return ResponseEntity.ok(getCouponIssueStatusUseCase.getWaitingPositions(request.getTargets()));
+    }
+
+    /**
+     * 선착순 쿠폰 발급 상태 구독 API (SSE)
+     * 현재 상태를 바로 보내고, 발급 결과가 확정되면 결과를 보낸 뒤 연결 종료
+     * @param name 쿠폰 이름
+     * @param userId 사용자 ID
+     * @return 발급 상태 이벤트 스트림
+     */
+    @GetMapping(value = "/{name}/status/{userId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeIssueStatus(@PathVariable String name, @PathVariable Long userId) {
+        return getCouponIssueStatusUseCase.subscribe(name, userId);
+    }
+
+    /**
+     * 쿠폰 일괄 지급 작업 생성 API (특정 사용자 목록에 쿠폰 지급)
+     * 작업만 등록하고 실제 지급은 비동기로 처리
+     * @param couponId 지급할 쿠폰 ID
+     * @param request 지급 대상 사용자 ID 목록
+     * @return 생성된 작업 (진행 상황은 작업 조회 API로 확인)
+     */
+    @PostMapping("/{couponId}/grants")
+    public ResponseEntity<CouponGrantJobResponse> createGrantJob(@PathVariable Long couponId,
+                                                                 @Valid @RequestBody GrantCouponRequest request) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(grantCouponUseCase.createJob(couponId, request.getUserIds()));
+    }
+
+    /**
+     * 쿠폰 일괄 지급 작업 생성 API (대상이 많을 때, 대상은 대상 추가 API로 나눠서 등록)
+     * @param couponId 지급할 쿠폰 ID
+     * @return 대상 등록 중인 작업
+     */
+    @PostMapping("/{couponId}/grants/uploads")
+    public ResponseEntity<CouponGrantJobResponse> createGrantUpload(@PathVariable Long couponId) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(grantCouponUseCase.createUpload(couponId));
+    }
+
+    /**
+     * 쿠폰 일괄 지급 대상 추가 API (제출 전인 작업에 여러 번 호출 가능)
+     * @param jobId 작업 ID
+     * @param request 추가할 사용자 ID 목록
+     * @return 대상 추가 후 작업
+     */
+    @PostMapping("/grants/{jobId}/targets")
+    public ResponseEntity<CouponGrantJobResponse> appendGrantTargets(@PathVariable Long jobId,
+                                                                     @Valid @RequestBody GrantCouponRequest request) {
+        return ResponseEntity.ok(grantCouponUseCase.appendTargets(jobId, request.getUserIds()));
+    }
+
+    /**
+     * 쿠폰 일괄 지급 작업 제출 API (대상 등록을 마치고 비동기 지급 시작)
+     * @param jobId 작업 ID
+     * @return 제출된 작업
+     */
+    @PostMapping("/grants/{jobId}/submit")
+    public ResponseEntity<CouponGrantJobResponse> submitGrantJob(@PathVariable Long jobId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED)
+                .body(grantCouponUseCase.submitJob(jobId));
+    }
+
+    /**
+     * 쿠폰 일괄 지급 작업 진행 상황 조회 API
+     * @param jobId 작업 ID
+     * @return 작업 상태와 처리 / 지급 / 건너뛴 건수
+     */
+    @GetMapping("/grants/{jobId}")
+    public ResponseEntity<CouponGrantJobResponse> getGrantJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(grantCouponUseCase.getJob(jobId));
+    }
+
+    /**
+     * 실패한 쿠폰 일괄 지급 작업 재개 API (마지막 처리 지점부터)
+     * @param jobId 작업 ID
+     * @return 재개된 작업
+     */
+    @PostMapping("/grants/{jobId}/resume")
+    public ResponseEntity<CouponGrantJobResponse> resumeGrantJob(@PathVariable Long jobId) {
+        return ResponseEntity.ok(grantCouponUseCase.resumeJob(jobId));
+    }
+
+    /**
+     * 발급 완료 기록 초기화 API (관리자용)
+     * 키를 나눠서 삭제하는 작업만 시작하고 바로 응답
+     * @param name 쿠폰 이름
+     * @return 시작한 (또는 이미 실행 중인) 작업 (진행 상황은 초기화 조회 API로 확인)
+     */
+    @DeleteMapping("/{name}/issued-records")
+    public ResponseEntity<CouponCleanupResponse> clearIssuedRecords(@PathVariable String name) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(clearIssuedRecordsUseCase.start(name));
+    }
+
+    /**
+     * 발급 완료 기록 초기화 진행 상황 조회 API
+     * @param name 쿠폰 이름
+     * @return 작업 상태와 삭제한 키 수
+     */
+    @GetMapping("/{name}/issued-records/cleanup")
+    public ResponseEntity<CouponCleanupResponse> getIssuedRecordsCleanup(@PathVariable String name) {
+        return ResponseEntity.ok(clearIssuedRecordsUseCase.getJob(name));
+    }
 }
@@ -0,0 +1,15 @@
+package com.choo.hhbackendlab.dto.requestDto;
+
+import jakarta.validation.constraints.NotEmpty;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class GrantCouponRequest {
+
+    @NotEmpty(message = "지급 대상 사용자 ID 목록은 필수입니다.")
+    private List<Long> userIds;
+}
@@ -0,0 +1,19 @@
+package com.choo.hhbackendlab.dto.requestDto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Getter
+@NoArgsConstructor
+public class WaitingPositionRequest {
+
+    @NotEmpty(message = "조회 대상은 최소 1개 이상이어야 합니다.")
+    @Size(max = 1000, message = "한 번에 최대 1000건까지 조회할 수 있습니다.")
+    @Valid
+    private List<WaitingPositionItemRequest> targets;
+}
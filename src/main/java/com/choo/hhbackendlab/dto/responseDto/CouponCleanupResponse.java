@@ -0,0 +1,17 @@
+package com.choo.hhbackendlab.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class CouponCleanupResponse {
+    private String couponName;
+    private String status;         // RUNNING / COMPLETED / FAILED
+    private long deletedCount;     // 지금까지 삭제한 키 수
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private String errorMessage;
+}
@@ -0,0 +1,24 @@
+package com.choo.hhbackendlab.dto.responseDto;
+
+import com.choo.hhbackendlab.entity.CouponGrantJob;
+import com.choo.hhbackendlab.entity.CouponGrantJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CouponGrantJobResponse {
+    private Long jobId;
+    private Long couponId;
+    private CouponGrantJobStatus status;
+    private int totalCount;      // 전체 대상 수 (중복 제거 후)
+    private int processedCount;  // 처리한 대상 수
+    private int grantedCount;    // 지급한 수
+    private int skippedCount;    // 이미 보유 / 존재하지 않는 사용자로 건너뛴 수
+    private String errorMessage;
+
+    public static CouponGrantJobResponse from(CouponGrantJob job) {
+        return new CouponGrantJobResponse(job.getId(), job.getCouponId(), job.getStatus(), job.getTotalCount(),
+                job.getProcessedCount(), job.getGrantedCount(), job.getSkippedCount(), job.getErrorMessage());
+    }
+}
@@ -0,0 +1,14 @@
+package com.choo.hhbackendlab.dto.responseDto;
+
+import com.choo.hhbackendlab.redis.QueueStatus;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CouponIssueStatusResponse {
+    private String couponName;
+    private Long userId;
+    private QueueStatus status;
+    private Long waitingPosition;  // 대기 순서 (대기 중일 때만, 0부터 시작)
+}
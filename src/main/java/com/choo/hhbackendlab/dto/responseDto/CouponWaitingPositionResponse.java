@@ -0,0 +1,13 @@
+package com.choo.hhbackendlab.dto.responseDto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class CouponWaitingPositionResponse {
+    private String couponName;
+    private Long userId;
+    private Long waitingPosition;  // 대기 순서 (대기 중일 때만, 0부터 시작)
+    private boolean approximate;   // 추정값 여부 (대기열이 큰 경우)
+}
@@ -5,12 +5,18 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.Formula;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 쿠폰 템플릿
  * 실제 발급은 UserCoupon 엔티티로 관리
+ *
+ * 재고 분할(stockStripes > 1)을 사용하면 재고를 COUPON_STOCK_STRIPE 행들로 나눠 보관하고 couponCnt는 0으로 유지
+ * (인기 쿠폰 발급이 한 행의 락에 몰리지 않도록, CouponStockAllocator 참고)
  */
 @Entity(name = "COUPON")
 @Getter
@@ -27,6 +33,13 @@ public class Coupon {
     @Column(nullable = false)
     private int couponCnt;  // 발급 가능한 쿠폰 개수 (재고)
 
+    @Column(nullable = false)
+    private int stockStripes = 1;  // 재고 분할 수 (1이면 couponCnt에 재고 보관)
+
+    // 분할 재고 합계 (분할하지 않은 쿠폰은 0)
+    @Formula("(SELECT COALESCE(SUM(s.stock_cnt), 0) FROM coupon_stock_stripe s WHERE s.coupon_id = id)")
+    private int stripeStockCnt;
+
     @Column(nullable = false)
     private int couponAmount;  // 할인 금액 (고정 금액)
 
@@ -81,7 +94,7 @@ public class Coupon {
         if (isExpired()) {
             return false;
         }
-        if (couponCnt <= 0) {
+        if (getRemainingCount() <= 0) {
             return false;
         }
         return true;
@@ -92,15 +105,29 @@ public class Coupon {
      * 실제 발급 내역은 UserCoupon 엔티티로 관리
      */
     public UserCoupon issueCoupon(User user) {
+        validateIssuable(user);
+
+        // UserCoupon 생성 및 반환
+        return new UserCoupon(this, user);
+    }
+
+    /**
+     * 쿠폰 발급 (쿠폰 코드 지정)
+     *
+     * @param couponCode CouponCodeGenerator로 생성한 쿠폰 코드
+     */
+    public UserCoupon issueCoupon(User user, String couponCode) {
+        validateIssuable(user);
+        return new UserCoupon(this, user, couponCode);
+    }
+
+    private void validateIssuable(User user) {
         if (!canIssue()) {
             throw new IllegalStateException("발급 가능한 쿠폰이 없습니다. 쿠폰명: " + this.name);
         }
         if (user == null) {
             throw new IllegalArgumentException("사용자를 확인할 수 없습니다.");
         }
-
-        // UserCoupon 생성 및 반환
-        return new UserCoupon(this, user);
     }
 
     /**
@@ -111,9 +138,43 @@ public class Coupon {
     }
 
     /**
-     * 남은 발급 가능 개수 조회
+     * 재고 분할 여부
+     */
+    public boolean isStriped() {
+        return stockStripes > 1;
+    }
+
+    /**
+     * 재고를 stripes개의 분할 재고로 나눔 (저장되어 ID가 있는 쿠폰만, 생성 직후 1회)
+     * 나머지는 앞 번호 분할 재고에 1개씩 더 배분하고, 분할 수는 재고 수를 넘지 않음
+     *
+     * @param stripes 분할 수
+     * @return 저장할 분할 재고 (분할하지 않으면 빈 목록)
+     */
+    public List<CouponStockStripe> splitStock(int stripes) {
+        int stripeCount = Math.min(stripes, couponCnt);
+        if (stripeCount <= 1 || isStriped()) {
+            return List.of();
+        }
+        if (id == null) {
+            throw new IllegalStateException("저장되지 않은 쿠폰의 재고는 분할할 수 없습니다.");
+        }
+
+        List<CouponStockStripe> stripeRows = new ArrayList<>(stripeCount);
+        for (int stripeNo = 0; stripeNo < stripeCount; stripeNo++) {
+            int stockCnt = couponCnt / stripeCount + (stripeNo < couponCnt % stripeCount ? 1 : 0);
+            stripeRows.add(new CouponStockStripe(id, stripeNo, stockCnt));
+        }
+        this.stripeStockCnt = couponCnt;
+        this.couponCnt = 0;
+        this.stockStripes = stripeCount;
+        return stripeRows;
+    }
+
+    /**
+     * 남은 발급 가능 개수 조회 (분할 재고 포함)
      */
     public int getRemainingCount() {
-        return couponCnt;
+        return couponCnt + stripeStockCnt;
     }
 }
\ No newline at end of file
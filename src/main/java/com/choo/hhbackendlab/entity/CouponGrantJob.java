@@ -0,0 +1,161 @@
+package com.choo.hhbackendlab.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쿠폰 일괄 지급 작업 (특정 사용자 목록에 쿠폰 지급)
+ * 대상(COUPON_GRANT_TARGET)을 사용자 ID 순으로 청크 단위로 처리하고, 청크마다 마지막 사용자 ID(cursor)와 진행 건수를 커밋
+ * 처리 노드가 죽으면 heartbeatAt이 갱신되지 않으므로 다른 노드가 가져가 cursor 이후부터 재개
+ *
+ * 대상은 UPLOADING 상태에서 여러 번에 나눠 추가하고, 제출(submit)해야 처리 대상이 됨
+ * (처리 중에는 대상이 추가되지 않으므로 사용자 ID 순 cursor로 빠짐없이 처리)
+ */
+@Entity(name = "COUPON_GRANT_JOB")
+@Table(indexes = @Index(name = "idx_coupon_grant_job_status_heartbeat", columnList = "status, heartbeatAt"))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CouponGrantJob {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long couponId;  // 지급할 쿠폰 템플릿 ID
+
+    @Column(nullable = false, length = 100)
+    private String couponName;  // 지급할 쿠폰 이름 (중복 지급 확인 기준)
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private CouponGrantJobStatus status;  // 처리 상태
+
+    @Column(nullable = false)
+    private int totalCount;  // 전체 대상 수 (중복 제거 후, 등록 중에는 지금까지 추가된 수)
+
+    @Column(nullable = false)
+    private int processedCount;  // 처리한 대상 수
+
+    @Column(nullable = false)
+    private int grantedCount;  // 지급한 수
+
+    @Column(nullable = false)
+    private int skippedCount;  // 이미 보유 / 존재하지 않는 사용자로 건너뛴 수
+
+    @Column(nullable = false)
+    private long lastUserId;  // 마지막으로 처리한 사용자 ID (재개 지점)
+
+    @Column(length = 500)
+    private String errorMessage;  // 실패 시 에러 메시지
+
+    @Version
+    private Long version;  // 같은 작업을 두 노드가 동시에 처리하지 않도록 청크 커밋 시 확인
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime createdAt;  // 작업 생성 시간
+
+    @Column
+    private LocalDateTime heartbeatAt;  // 마지막 진행 시간 (처리 노드 장애 감지용)
+
+    @Column
+    private LocalDateTime completedAt;  // 완료 시간
+
+    public CouponGrantJob(Long couponId, String couponName) {
+        if (couponId == null) {
+            throw new IllegalArgumentException("쿠폰 ID는 필수입니다.");
+        }
+        this.couponId = couponId;
+        this.couponName = couponName;
+        this.status = CouponGrantJobStatus.UPLOADING;
+    }
+
+    /**
+     * 대상 추가 반영 (제출 전에만 가능)
+     *
+     * @param count 새로 추가한 대상 수 (이미 등록된 사용자 제외)
+     */
+    public void addTargets(int count) {
+        if (this.status != CouponGrantJobStatus.UPLOADING) {
+            throw new IllegalStateException("제출 전인 작업에만 대상을 추가할 수 있습니다. 현재 상태: " + this.status);
+        }
+        this.totalCount += count;
+    }
+
+    /**
+     * 대상 등록을 마치고 처리 대기로 전환
+     */
+    public void submit() {
+        if (this.status != CouponGrantJobStatus.UPLOADING) {
+            throw new IllegalStateException("이미 제출된 작업입니다. 현재 상태: " + this.status);
+        }
+        if (this.totalCount <= 0) {
+            throw new IllegalStateException("지급 대상 사용자가 없습니다.");
+        }
+        this.status = CouponGrantJobStatus.PENDING;
+    }
+
+    /**
+     * 처리 시작 (대기 중이거나, 처리 노드가 멈춘 작업을 가져감)
+     */
+    public void start() {
+        if (this.status != CouponGrantJobStatus.PENDING && this.status != CouponGrantJobStatus.RUNNING) {
+            throw new IllegalStateException("대기 중이거나 처리 중인 작업만 시작할 수 있습니다. 현재 상태: " + this.status);
+        }
+        this.status = CouponGrantJobStatus.RUNNING;
+        this.heartbeatAt = LocalDateTime.now();
+    }
+
+    /**
+     * 청크 처리 결과 반영
+     *
+     * @param lastUserId 청크의 마지막 사용자 ID
+     * @param processed 처리한 대상 수
+     * @param granted 지급한 수
+     * @param skipped 건너뛴 수
+     */
+    public void recordChunk(long lastUserId, int processed, int granted, int skipped) {
+        if (this.status != CouponGrantJobStatus.RUNNING) {
+            throw new IllegalStateException("처리 중인 작업만 진행할 수 있습니다. 현재 상태: " + this.status);
+        }
+        this.lastUserId = lastUserId;
+        this.processedCount += processed;
+        this.grantedCount += granted;
+        this.skippedCount += skipped;
+        this.heartbeatAt = LocalDateTime.now();
+    }
+
+    /**
+     * 완료 처리
+     */
+    public void complete() {
+        this.status = CouponGrantJobStatus.COMPLETED;
+        this.completedAt = LocalDateTime.now();
+        this.errorMessage = null;
+    }
+
+    /**
+     * 실패 처리 (cursor는 유지되므로 resume()으로 이어서 처리 가능)
+     */
+    public void fail(String errorMessage) {
+        this.status = CouponGrantJobStatus.FAILED;
+        this.errorMessage = errorMessage;
+    }
+
+    /**
+     * 실패한 작업을 마지막 처리 지점부터 다시 처리
+     */
+    public void resume() {
+        if (this.status != CouponGrantJobStatus.FAILED) {
+            throw new IllegalStateException("실패한 작업만 재개할 수 있습니다. 현재 상태: " + this.status);
+        }
+        this.status = CouponGrantJobStatus.PENDING;
+        this.errorMessage = null;
+    }
+}
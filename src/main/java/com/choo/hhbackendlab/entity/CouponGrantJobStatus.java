@@ -0,0 +1,12 @@
+package com.choo.hhbackendlab.entity;
+
+/**
+ * 쿠폰 일괄 지급 작업 상태
+ */
+public enum CouponGrantJobStatus {
+    UPLOADING,    // 대상 등록 중 (제출 전까지 처리 노드가 가져가지 않음)
+    PENDING,      // 대기 (처리 노드가 가져가기 전)
+    RUNNING,      // 처리 중
+    COMPLETED,    // 완료
+    FAILED        // 실패 (재고 부족 등, 재개 가능)
+}
@@ -0,0 +1,35 @@
+package com.choo.hhbackendlab.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 쿠폰 일괄 지급 대상 사용자
+ * 작업 제출 전에 나눠서 저장하고, 처리 시 사용자 ID 순으로 청크 단위로 읽음 (중단된 지점부터 재개)
+ */
+@Entity(name = "COUPON_GRANT_TARGET")
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_coupon_grant_target_job_user", columnNames = {"jobId", "userId"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CouponGrantTarget {
+
+    // 대상 저장을 JDBC 배치로 처리하기 위해 pooled 시퀀스 사용
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coupon_grant_target_id_gen")
+    @SequenceGenerator(name = "coupon_grant_target_id_gen", sequenceName = "coupon_grant_target_seq", allocationSize = 100)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long jobId;  // 지급 작업 ID
+
+    @Column(nullable = false)
+    private Long userId;  // 지급 대상 사용자 ID
+
+    public CouponGrantTarget(Long jobId, Long userId) {
+        this.jobId = jobId;
+        this.userId = userId;
+    }
+}
@@ -14,12 +14,21 @@ import java.time.LocalDateTime;
  * Database를 Queue로 활용하여 동시성 제어
  */
 @Entity(name = "COUPON_ISSUE_QUEUE")
+@Table(indexes = {
+        @Index(name = "idx_coupon_issue_queue_status_created", columnList = "status, createdAt"),
+        @Index(name = "idx_coupon_issue_queue_status_started", columnList = "status, startedAt"),
+        @Index(name = "idx_coupon_issue_queue_status_requested", columnList = "status, requestedAt"),
+        @Index(name = "idx_coupon_issue_queue_user_coupon", columnList = "userId, couponName")
+})
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class CouponIssueQueue {
 
+    // IDENTITY는 insert마다 즉시 실행되어 JDBC 배치가 불가능하므로, 50개씩 미리 할당받는 pooled 시퀀스 사용
+    // (MySQL에서는 coupon_issue_queue_seq 테이블로 시퀀스를 대체)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "coupon_issue_queue_id_gen")
+    @SequenceGenerator(name = "coupon_issue_queue_id_gen", sequenceName = "coupon_issue_queue_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -45,6 +54,18 @@ public class CouponIssueQueue {
     @Column
     private Long issuedCouponId;  // 발급된 쿠폰 ID (성공 시)
 
+    @Column(nullable = false)
+    private int attemptCount;  // 처리 시도 횟수
+
+    @Column
+    private LocalDateTime startedAt;  // 마지막 처리 시작 시간 (타임아웃 감지용)
+
+    @Column
+    private LocalDateTime nextAttemptAt;  // 재시도 가능 시간 (백오프 중이면 이 시간 전에는 가져가지 않음)
+
+    @Column
+    private LocalDateTime requestedAt;  // 요청 도착 시간 (DEFERRED 요청의 재등록 순서, DB 저장 시간과 다를 수 있음)
+
     /**
      * Queue 요청 생성자
      */
@@ -61,6 +82,19 @@ public class CouponIssueQueue {
         this.status = QueueStatus.PENDING;
     }
 
+    /**
+     * Redis 장애로 DB에 임시 보관 (복구 후 requestedAt 순으로 Redis 대기열에 재등록)
+     *
+     * @param requestedAt 요청 도착 시간
+     */
+    public void defer(LocalDateTime requestedAt) {
+        if (this.status != QueueStatus.PENDING || this.attemptCount > 0) {
+            throw new IllegalStateException("처리하지 않은 요청만 보관할 수 있습니다. 현재 상태: " + this.status);
+        }
+        this.status = QueueStatus.DEFERRED;
+        this.requestedAt = requestedAt;
+    }
+
     /**
      * 처리 시작
      */
@@ -69,6 +103,9 @@ public class CouponIssueQueue {
             throw new IllegalStateException("대기 중인 요청만 처리할 수 있습니다. 현재 상태: " + this.status);
         }
         this.status = QueueStatus.PROCESSING;
+        this.attemptCount++;
+        this.startedAt = LocalDateTime.now();
+        this.nextAttemptAt = null;
     }
 
     /**
@@ -96,14 +133,42 @@ public class CouponIssueQueue {
     }
 
     /**
-     * 재시도를 위한 상태 초기화
+     * 처리 중 오류(또는 타임아웃)로 중단된 요청을 대기 상태로 되돌림
+     * nextAttemptAt 전에는 다시 가져가지 않음 (백오프)
+     */
+    public void retryLater(LocalDateTime nextAttemptAt, String errorMessage) {
+        if (this.status != QueueStatus.PROCESSING) {
+            throw new IllegalStateException("처리 중인 요청만 재시도 대기할 수 있습니다. 현재 상태: " + this.status);
+        }
+        this.status = QueueStatus.PENDING;
+        this.errorMessage = errorMessage;
+        this.startedAt = null;
+        this.nextAttemptAt = nextAttemptAt;
+    }
+
+    /**
+     * 재시도 한도를 넘은 요청 격리
+     */
+    public void deadLetter(String errorMessage) {
+        if (this.status != QueueStatus.PROCESSING) {
+            throw new IllegalStateException("처리 중인 요청만 격리할 수 있습니다. 현재 상태: " + this.status);
+        }
+        this.status = QueueStatus.DEAD_LETTER;
+        this.errorMessage = errorMessage;
+        this.processedAt = LocalDateTime.now();
+    }
+
+    /**
+     * 재시도를 위한 상태 초기화 (실패 / 격리된 요청을 수동으로 다시 처리할 때)
      */
     public void retry() {
-        if (this.status != QueueStatus.FAILED) {
+        if (this.status != QueueStatus.FAILED && this.status != QueueStatus.DEAD_LETTER) {
             throw new IllegalStateException("실패한 요청만 재시도할 수 있습니다. 현재 상태: " + this.status);
         }
         this.status = QueueStatus.PENDING;
         this.errorMessage = null;
         this.processedAt = null;
+        this.attemptCount = 0;
+        this.nextAttemptAt = null;
     }
 }
\ No newline at end of file
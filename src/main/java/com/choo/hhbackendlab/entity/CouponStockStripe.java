@@ -0,0 +1,38 @@
+package com.choo.hhbackendlab.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+/**
+ * 쿠폰 분할 재고
+ * 재고를 여러 행으로 나눠 동시 발급 시 행 락 대기를 분산 (Coupon.splitStock으로 생성)
+ * 쿠폰의 남은 재고는 분할 재고의 합계
+ */
+@Entity(name = "COUPON_STOCK_STRIPE")
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_coupon_stock_stripe_coupon_stripe", columnNames = {"couponId", "stripeNo"}))
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class CouponStockStripe {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private Long couponId;  // 쿠폰 템플릿 ID
+
+    @Column(nullable = false)
+    private int stripeNo;  // 분할 번호 (0부터)
+
+    @Column(nullable = false)
+    private int stockCnt;  // 분할 재고
+
+    CouponStockStripe(Long couponId, int stripeNo, int stockCnt) {
+        this.couponId = couponId;
+        this.stripeNo = stripeNo;
+        this.stockCnt = stockCnt;
+    }
+}
@@ -13,14 +13,20 @@ import java.util.UUID;
 /**
  * 사용자에게 발급된 쿠폰
  * Coupon(템플릿)과 User의 중간 테이블
+ * (쿠폰, 사용자) 유니크 제약으로 같은 요청이 재처리되거나 두 워커가 동시에 처리해도 한 번만 발급
  */
 @Entity(name = "USER_COUPON")
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_user_coupon_coupon_user", columnNames = {"coupon_id", "user_id"}))
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 public class UserCoupon {
 
+    // IDENTITY는 insert마다 즉시 실행되어 JDBC 배치가 불가능하므로, 50개씩 미리 할당받는 pooled 시퀀스 사용
+    // (MySQL에서는 user_coupon_seq 테이블로 시퀀스를 대체)
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_coupon_id_gen")
+    @SequenceGenerator(name = "user_coupon_id_gen", sequenceName = "user_coupon_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -48,6 +54,13 @@ public class UserCoupon {
      * UserCoupon 생성자
      */
     public UserCoupon(Coupon coupon, User user) {
+        this(coupon, user, generateCouponCode());
+    }
+
+    /**
+     * UserCoupon 생성자 (쿠폰 코드 지정, CouponCodeGenerator 사용)
+     */
+    public UserCoupon(Coupon coupon, User user, String couponCode) {
         if (coupon == null) {
             throw new IllegalArgumentException("쿠폰을 확인할 수 없습니다.");
         }
@@ -57,7 +70,7 @@ public class UserCoupon {
 
         this.coupon = coupon;
         this.user = user;
-        this.couponCode = generateCouponCode();
+        this.couponCode = couponCode;
         this.isUsed = false;
     }
 
@@ -66,7 +79,7 @@ public class UserCoupon {
      * 사용자 마다 다른 쿠폰 코드값을 발급해 쿠폰 도용 방지
      * @return
      */
-    private String generateCouponCode() {
+    private static String generateCouponCode() {
         // 날짜 + 랜덤값
         String timestamp = LocalDateTime.now()
                 .format(DateTimeFormatter.ofPattern("yyyyMMddHHmmss"));
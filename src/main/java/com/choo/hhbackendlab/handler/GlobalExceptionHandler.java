@@ -1,5 +1,8 @@
 package com.choo.hhbackendlab.handler;
 
+import com.choo.hhbackendlab.helper.RateLimitExceededException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -30,6 +33,26 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
     }
 
+    /**
+     * RateLimitExceededException 예외 처리
+     * 허용 요청 수를 넘은 경우 (예: 선착순 쿠폰 반복 요청), 다시 시도할 수 있을 때까지의 시간을 Retry-After로 전달
+     */
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> handleRateLimitExceededException(RateLimitExceededException e) {
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfterSeconds()))
+                .body(e.getMessage());
+    }
+
+    /**
+     * DataIntegrityViolationException 예외 처리
+     * 동시에 들어온 같은 요청이 유니크 제약에 걸린 경우 (예: 같은 사용자의 쿠폰 동시 발급)
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<String> handleDataIntegrityViolationException(DataIntegrityViolationException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body("이미 처리된 요청입니다.");
+    }
+
     /**
      * RuntimeException 예외 처리
      * 기타 런타임 예외 처리
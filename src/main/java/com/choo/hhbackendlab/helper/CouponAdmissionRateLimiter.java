@@ -0,0 +1,215 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.redis.CouponAdmissionBudget;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선착순 쿠폰 대기열 등록 요청 수 제한 (발급 유스케이스 호출 전 확인)
+ *
+ * 오픈 시 스크립트로 초당 수천 번 호출하는 클라이언트가 Redis / DB 처리량을 모두 가져가지 않도록 두 단계로 제한:
+ * 1. 사용자별 (노드 로컬 토큰 버킷) : 같은 사용자의 과도한 반복 요청을 네트워크 호출 없이 거절
+ * 2. 쿠폰별 전체 허용량 (CouponAdmissionBudget, Redis 토큰 버킷) : 클러스터 전체 초당 등록 수를 제한
+ *    노드는 lease-size개씩 토큰을 미리 가져와 로컬에서 차감하므로 Redis 호출은 lease-size 요청당 1회
+ *    허용량이 소진되면 lease-size개가 다시 충전될 때까지는 Redis를 호출하지 않고 거절
+ *
+ * 쿠폰별 허용량은 coupon-rates로 지정하고 (예: {'WELCOME': 500}), 없으면 global-per-second 사용
+ * Redis 장애 시에는 redis-retry-millis 동안, 대기열 등록이 로컬 큐로 전환된 동안(CouponIssueFallbackQueue)에는 계속
+ * Redis를 호출하지 않고 사용자별 제한만 적용 (대기열 등록 단계에서 장애를 처리)
+ *
+ * 사용자별 버킷은 USER_BUCKET_STRIPES개의 LRU로 나눠 보관하여 요청이 하나의 락에 몰리지 않도록 함
+ * (LRU마다 tracked-users / USER_BUCKET_STRIPES명까지 유지)
+ * 쿠폰별 토큰은 쿠폰 존재 여부를 확인하기 전의 요청 값으로 만들어지므로 tracked-coupons개까지만 LRU로 보관
+ * (임의의 쿠폰 이름을 보내는 요청이 노드 메모리를 늘리지 못하도록, 밀려난 쿠폰은 남은 토큰을 버리고 다시 가져감)
+ * 거절할 때는 다음 토큰이 채워질 때까지의 시간을 Retry-After로 응답
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponAdmissionRateLimiter {
+
+    private final CouponAdmissionBudget couponAdmissionBudget;
+    private final CouponIssueFallbackQueue couponIssueFallbackQueue;
+
+    @Value("${coupon.issue.rate-limit.enabled:true}")
+    private boolean enabled;
+
+    // 사용자별 초당 허용 요청 수 / 순간 최대 요청 수
+    @Value("${coupon.issue.rate-limit.user-per-second:5}")
+    private double userPerSecond;
+
+    @Value("${coupon.issue.rate-limit.user-burst:10}")
+    private int userBurst;
+
+    // 사용자별 버킷을 유지할 최대 사용자 수 (LRU)
+    @Value("${coupon.issue.rate-limit.tracked-users:100000}")
+    private int trackedUsers;
+
+    // 토큰을 보관할 최대 쿠폰 수 (LRU)
+    @Value("${coupon.issue.rate-limit.tracked-coupons:1000}")
+    private int trackedCoupons;
+
+    // 쿠폰별 클러스터 전체 초당 허용 요청 수 (기본값 / 쿠폰별 지정)
+    @Value("${coupon.issue.rate-limit.global-per-second:2000}")
+    private long globalPerSecond;
+
+    @Value("#{${coupon.issue.rate-limit.coupon-rates:{:}}}")
+    private Map<String, Long> couponRates;
+
+    // Redis에서 한 번에 가져올 토큰 수
+    @Value("${coupon.issue.rate-limit.lease-size:20}")
+    private int leaseSize;
+
+    // Redis 호출이 실패한 뒤 다시 호출하기까지 기다릴 시간 (그 동안은 사용자별 제한만 적용)
+    @Value("${coupon.issue.rate-limit.redis-retry-millis:1000}")
+    private long redisRetryMillis;
+
+    // 사용자별 버킷 LRU 분할 수
+    private static final int USER_BUCKET_STRIPES = 64;
+
+    private List<Map<Long, TokenBucket>> userBuckets;
+
+    private Map<String, LeasedTokens> leasedTokens;
+
+    @PostConstruct
+    public void init() {
+        int stripeCapacity = Math.max(trackedUsers / USER_BUCKET_STRIPES, 1);
+        userBuckets = new ArrayList<>(USER_BUCKET_STRIPES);
+        for (int i = 0; i < USER_BUCKET_STRIPES; i++) {
+            userBuckets.add(Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, TokenBucket> eldest) {
+                    return size() > stripeCapacity;
+                }
+            }));
+        }
+        leasedTokens = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, LeasedTokens> eldest) {
+                return size() > trackedCoupons;
+            }
+        });
+    }
+
+    /**
+     * 허용량을 넘은 요청이면 예외 발생
+     *
+     * @param userId 사용자 ID
+     * @param couponName 쿠폰 이름
+     */
+    public void acquire(Long userId, String couponName) {
+        if (!enabled) {
+            return;
+        }
+        long userWaitNanos = userBucketOf(userId)
+                .computeIfAbsent(userId, id -> new TokenBucket(userPerSecond, userBurst))
+                .tryAcquire();
+        if (userWaitNanos > 0) {
+            log.debug("사용자별 요청 수 초과 - userId: {}, couponName: {}", userId, couponName);
+            throw new RateLimitExceededException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.",
+                    RateLimitExceededException.toRetryAfterSeconds(userWaitNanos));
+        }
+        long couponWaitNanos = leasedTokens.computeIfAbsent(couponName, name -> new LeasedTokens()).tryAcquire(couponName);
+        if (couponWaitNanos > 0) {
+            log.debug("쿠폰별 요청 수 초과 - userId: {}, couponName: {}", userId, couponName);
+            throw new RateLimitExceededException("발급 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.",
+                    RateLimitExceededException.toRetryAfterSeconds(couponWaitNanos));
+        }
+    }
+
+    private Map<Long, TokenBucket> userBucketOf(Long userId) {
+        return userBuckets.get(Math.floorMod(userId.hashCode(), USER_BUCKET_STRIPES));
+    }
+
+    /**
+     * 쿠폰별 클러스터 전체 초당 허용 요청 수
+     */
+    long ratePerSecond(String couponName) {
+        return couponRates.getOrDefault(couponName, globalPerSecond);
+    }
+
+    /**
+     * 토큰을 보관 중인 쿠폰 수
+     */
+    int trackedCouponCount() {
+        return leasedTokens.size();
+    }
+
+    /**
+     * 쿠폰별로 Redis에서 미리 가져온 토큰
+     * Redis 호출은 모니터 밖에서 하므로 Redis 응답이 늦어도 다른 요청이 락을 기다리지 않음
+     * (토큰이 떨어진 순간 동시에 들어온 요청은 각자 가져오고, 남은 토큰은 합쳐서 사용)
+     */
+    private final class LeasedTokens {
+
+        private long remaining;
+        private long exhaustedUntilNanos = System.nanoTime();
+        private long redisRetryAtNanos = System.nanoTime();
+
+        /**
+         * @return 0이면 허용, 아니면 다시 가져갈 만큼 충전될 때까지 남은 시간(ns)
+         */
+        private long tryAcquire(String couponName) {
+            long now = System.nanoTime();
+            synchronized (this) {
+                if (remaining > 0) {
+                    remaining--;
+                    return 0;
+                }
+                if (now - exhaustedUntilNanos < 0) {
+                    return exhaustedUntilNanos - now;
+                }
+                if (now - redisRetryAtNanos < 0) {
+                    // Redis 장애 후 재시도 시각 전까지는 Redis 호출 없이 사용자별 제한만 적용
+                    return 0;
+                }
+            }
+            if (couponIssueFallbackQueue.isActive()) {
+                // 대기열 등록이 로컬 큐로 전환된 동안에는 Redis 호출 없이 사용자별 제한만 적용
+                return 0;
+            }
+
+            long rate = Math.max(ratePerSecond(couponName), 1);
+            long requested = Math.min(leaseSize, rate);
+            long leased;
+            try {
+                leased = couponAdmissionBudget.lease(couponName, rate, rate, requested);
+            } catch (Exception e) {
+                synchronized (this) {
+                    redisRetryAtNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(redisRetryMillis);
+                }
+                log.warn("쿠폰별 요청 허용량 조회 실패, {}ms 동안 사용자별 제한만 적용 - couponName: {}, 원인: {}",
+                        redisRetryMillis, couponName, e.toString());
+                return 0;
+            }
+
+            synchronized (this) {
+                if (leased > 0) {
+                    remaining += leased - 1;
+                    return 0;
+                }
+                if (remaining > 0) {
+                    // 동시에 가져온 다른 요청의 토큰 사용
+                    remaining--;
+                    return 0;
+                }
+                // 다시 가져갈 만큼 충전될 때까지 Redis 호출 없이 거절
+                long refilledAt = now + TimeUnit.SECONDS.toNanos(requested) / rate;
+                if (refilledAt - exhaustedUntilNanos > 0) {
+                    exhaustedUntilNanos = refilledAt;
+                }
+                return Math.max(exhaustedUntilNanos - System.nanoTime(), 1);
+            }
+        }
+    }
+}
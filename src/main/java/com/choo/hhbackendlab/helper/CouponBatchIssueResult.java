@@ -0,0 +1,46 @@
+package com.choo.hhbackendlab.helper;
+
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 쿠폰 일괄 발급 결과
+ * 요청한 사용자별로 발급 성공 / 중복 / 재고 소진 / 실패 중 하나로 분류
+ */
+@Getter
+public class CouponBatchIssueResult {
+
+    private final Map<Long, Long> issuedCouponIds = new LinkedHashMap<>();  // userId -> 발급된 UserCoupon ID
+    private final List<Long> duplicatedUserIds = new ArrayList<>();         // 이미 발급받은 사용자
+    private final List<Long> soldOutUserIds = new ArrayList<>();            // 재고 소진으로 발급 불가
+    private final Map<Long, String> failedUserIds = new LinkedHashMap<>();  // userId -> 실패 사유
+
+    void addIssued(Long userId, Long userCouponId) {
+        issuedCouponIds.put(userId, userCouponId);
+    }
+
+    void addDuplicated(Long userId) {
+        duplicatedUserIds.add(userId);
+    }
+
+    void addSoldOut(Long userId) {
+        soldOutUserIds.add(userId);
+    }
+
+    void addFailed(Long userId, String reason) {
+        failedUserIds.put(userId, reason);
+    }
+
+    /**
+     * 발급 완료로 간주할 사용자 (신규 발급 + 기존 발급)
+     */
+    public List<Long> getIssuedOrDuplicatedUserIds() {
+        List<Long> userIds = new ArrayList<>(issuedCouponIds.keySet());
+        userIds.addAll(duplicatedUserIds);
+        return userIds;
+    }
+}
@@ -0,0 +1,169 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.redis.CouponCodeNodeLease;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 쿠폰 코드 생성기 (충돌 없는 시간순 코드)
+ *
+ * 64비트 값 = 타임스탬프(41비트, 기준 시각 이후 ms) | 노드 ID(10비트) | 시퀀스(12비트)
+ * 를 Crockford Base32 13자리로 인코딩하고 mod 37 체크 문자 1자리를 붙여 14자리 코드 생성
+ * - 같은 노드에서는 (타임스탬프, 시퀀스)가 단조 증가하므로 중복 없음 (ms당 4096개, 초과 시 다음 ms 값 사용)
+ * - 노드마다 다른 node-id를 설정하면 클러스터 전체에서 중복 없음
+ *   (미설정 시 Redis에서 노드 ID를 임대(CouponCodeNodeLease)하고 주기적으로 연장, 임대를 잃으면 새 ID로 교체)
+ * - 코드 자체가 발급 시각 순으로 정렬되고, 체크 문자로 오타 입력을 DB 조회 전에 걸러낼 수 있음
+ *
+ * 기존 방식(날짜 포맷 + UUID 문자열 자르기)과 달리 포맷터 / UUID / 중간 문자열 생성 없이 char 배열에 바로 인코딩
+ */
+@Slf4j
+@Component
+public class CouponCodeGenerator {
+
+    private static final char[] ENCODE_SYMBOLS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final char[] CHECK_SYMBOLS = "0123456789ABCDEFGHJKMNPQRSTVWXYZ*~$=U".toCharArray();
+
+    private static final long EPOCH_MILLIS = 1735657200000L;   // 2025-01-01T00:00:00+09:00
+    private static final int NODE_BITS = 10;
+    private static final int SEQUENCE_BITS = 12;
+    private static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    static final int CODE_LENGTH = 14;
+
+    // 노드 ID (0~1023, 미설정 시 Redis에서 임대)
+    @Value("${coupon.code.node-id:-1}")
+    private long configuredNodeId;
+
+    // 노드 ID 임대 유지 시간 (CouponCodeNodeLeaseRenewer가 node-lease-renew-millis마다 연장)
+    @Value("${coupon.code.node-lease-millis:60000}")
+    private long nodeLeaseMillis;
+
+    private final CouponCodeNodeLease couponCodeNodeLease;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private volatile long nodeId;
+
+    // 마지막으로 발급한 (타임스탬프 << SEQUENCE_BITS | 시퀀스)
+    private final AtomicLong lastTimeAndSequence = new AtomicLong();
+
+    @Autowired
+    public CouponCodeGenerator(CouponCodeNodeLease couponCodeNodeLease) {
+        this.couponCodeNodeLease = couponCodeNodeLease;
+    }
+
+    CouponCodeGenerator(long nodeId) {
+        this.couponCodeNodeLease = null;
+        this.configuredNodeId = nodeId;
+        init();
+    }
+
+    @PostConstruct
+    void init() {
+        if (configuredNodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("coupon.code.node-id는 0~" + MAX_NODE_ID + " 범위여야 합니다.");
+        }
+        if (configuredNodeId < 0) {
+            nodeId = couponCodeNodeLease.acquire(MAX_NODE_ID, instanceId, nodeLeaseMillis);
+            log.info("coupon.code.node-id 미설정, Redis에서 노드 ID 임대: {}", nodeId);
+        } else {
+            nodeId = configuredNodeId;
+        }
+    }
+
+    /**
+     * 임대한 노드 ID 연장 (임대를 잃었으면 새 노드 ID 임대)
+     * 고정 node-id를 사용하는 경우 아무것도 하지 않음
+     */
+    public void renewNodeLease() {
+        if (configuredNodeId >= 0) {
+            return;
+        }
+        if (!couponCodeNodeLease.renew(nodeId, instanceId, nodeLeaseMillis)) {
+            long lostNodeId = nodeId;
+            nodeId = couponCodeNodeLease.acquire(MAX_NODE_ID, instanceId, nodeLeaseMillis);
+            log.warn("쿠폰 코드 노드 ID 임대 만료, 새 노드 ID 사용: {} -> {}", lostNodeId, nodeId);
+        }
+    }
+
+    @PreDestroy
+    void releaseNodeLease() {
+        if (configuredNodeId < 0) {
+            couponCodeNodeLease.release(nodeId, instanceId);
+        }
+    }
+
+    /**
+     * 쿠폰 코드 생성
+     *
+     * @return 14자리 코드 (Crockford Base32 13자리 + 체크 문자 1자리)
+     */
+    public String generate() {
+        return encode(nextId());
+    }
+
+    /**
+     * 체크 문자 검증 (DB 조회 전 오타 확인용)
+     */
+    public static boolean isValid(String code) {
+        if (code == null || code.length() != CODE_LENGTH) {
+            return false;
+        }
+        long value = 0;
+        for (int i = 0; i < CODE_LENGTH - 1; i++) {
+            int symbol = decodeSymbol(code.charAt(i));
+            if (symbol < 0) {
+                return false;
+            }
+            value = (value << 5) | symbol;
+        }
+        return CHECK_SYMBOLS[(int) Long.remainderUnsigned(value, 37)] == code.charAt(CODE_LENGTH - 1);
+    }
+
+    /**
+     * 다음 64비트 값 (타임스탬프 | 노드 ID | 시퀀스)
+     * 시퀀스가 ms 안에서 소진되거나 시계가 뒤로 가면 마지막 값에서 이어서 증가
+     */
+    long nextId() {
+        long now = System.currentTimeMillis() - EPOCH_MILLIS;
+        long next;
+        long last;
+        do {
+            last = lastTimeAndSequence.get();
+            long candidate = now << SEQUENCE_BITS;
+            next = candidate > last ? candidate : last + 1;
+        } while (!lastTimeAndSequence.compareAndSet(last, next));
+
+        long timestamp = next >>> SEQUENCE_BITS;
+        long sequence = next & SEQUENCE_MASK;
+        return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | (nodeId << SEQUENCE_BITS) | sequence;
+    }
+
+    private static String encode(long value) {
+        char[] code = new char[CODE_LENGTH];
+        long remaining = value;
+        for (int i = CODE_LENGTH - 2; i >= 0; i--) {
+            code[i] = ENCODE_SYMBOLS[(int) (remaining & 31)];
+            remaining >>>= 5;
+        }
+        code[CODE_LENGTH - 1] = CHECK_SYMBOLS[(int) Long.remainderUnsigned(value, 37)];
+        return new String(code);
+    }
+
+    private static int decodeSymbol(char c) {
+        char upper = Character.toUpperCase(c);
+        for (int i = 0; i < ENCODE_SYMBOLS.length; i++) {
+            if (ENCODE_SYMBOLS[i] == upper) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
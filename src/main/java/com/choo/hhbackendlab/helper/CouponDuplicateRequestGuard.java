@@ -0,0 +1,188 @@
+package com.choo.hhbackendlab.helper;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 노드 로컬 중복 쿠폰 요청 확인 (Redis / DB 호출 전 사전 확인)
+ *
+ * 선착순 오픈 시 같은 사용자의 반복 클릭이 대부분이므로, 대기열 등록/발급 이벤트로 채운 로컬 기록으로
+ * 이미 알고 있는 중복 요청은 네트워크 호출 없이 응답 (발급 완료는 거절, 대기 중은 등록 시 받은 대기열 순서 반환)
+ *
+ * 쿠폰마다 두 단계로 확인:
+ * 1. Bloom Filter : 처음 보는 사용자(대부분의 신규 요청)는 락 없이 바로 통과
+ * 2. LRU (정확한 기록) : Bloom Filter가 양성이면 최근 사용자 기록에서 확인
+ * Bloom Filter 오탐으로 정상 요청을 거절하지 않도록, 거절은 LRU에 기록이 있을 때만 함
+ *
+ * 발급 완료 기록은 최종 상태이므로 LRU에서 밀려날 때까지 유지하고,
+ * 대기 중 기록은 재고 소진 후 재시도 등을 막지 않도록 queued-ttl-millis 동안만 유효
+ * (반환하는 대기열 순서는 등록 시점 값이므로, 그 사이 처리된 요청 수만큼 실제보다 클 수 있음)
+ * 노드 로컬 기록이므로 다른 노드에서의 발급/초기화는 Redis 확인 시점에 반영됨
+ *
+ * 쿠폰별 기록은 대기열 정리(CouponIssue.purgeWaitingList) / 초기화 시 삭제하고,
+ * 다른 노드에서 정리되어 남은 기록은 idle-ttl-millis 동안 갱신이 없으면 새 쿠폰 기록을 만들 때 함께 삭제
+ */
+@Slf4j
+@Component
+public class CouponDuplicateRequestGuard {
+
+    @Value("${coupon.issue.local-guard.enabled:true}")
+    private boolean enabled;
+
+    // 쿠폰별 Bloom Filter 예상 사용자 수 / 오탐률
+    @Value("${coupon.issue.local-guard.expected-users:100000}")
+    private long expectedUsers;
+
+    @Value("${coupon.issue.local-guard.false-positive-rate:0.01}")
+    private double falsePositiveRate;
+
+    // 쿠폰별 정확한 최근 사용자 기록 수
+    @Value("${coupon.issue.local-guard.recent-users:10000}")
+    private int recentUsers;
+
+    // 대기 중 기록 유효 시간
+    @Value("${coupon.issue.local-guard.queued-ttl-millis:3000}")
+    private long queuedTtlMillis;
+
+    // 쿠폰별 기록 유지 시간 (마지막 갱신 이후)
+    @Value("${coupon.issue.local-guard.idle-ttl-millis:600000}")
+    private long idleTtlMillis;
+
+    // 발급 완료 표시 (대기 중 기록은 등록 시각과 대기열 순서를 저장)
+    private static final RequestRecord ISSUED = new RequestRecord(Long.MAX_VALUE, -1L);
+
+    private final Map<String, CouponRequestHistory> histories = new ConcurrentHashMap<>();
+
+    /**
+     * 이미 발급받은 요청이면 예외 발생, 최근 대기열에 등록한 요청이면 그때 받은 대기열 순서 반환
+     *
+     * @param userId 사용자 ID
+     * @param couponName 쿠폰 이름
+     * @return 대기 중인 요청의 대기열 순서 (로컬 기록이 없으면 empty, Redis / DB로 확인)
+     */
+    public Optional<Long> checkDuplicate(Long userId, String couponName) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        CouponRequestHistory history = histories.get(couponName);
+        if (history == null || !history.bloomFilter.mightContain(userId)) {
+            return Optional.empty();
+        }
+
+        RequestRecord record = history.get(userId);
+        if (record == null) {
+            return Optional.empty();
+        }
+        if (record == ISSUED) {
+            log.debug("로컬 기록으로 중복 요청 차단 (발급 완료) - userId: {}, couponName: {}", userId, couponName);
+            throw new IllegalStateException("이미 발급받은 쿠폰입니다.");
+        }
+        if (System.currentTimeMillis() - record.queuedAt() < queuedTtlMillis) {
+            log.debug("로컬 기록으로 대기열 순서 응답 (대기 중) - userId: {}, couponName: {}", userId, couponName);
+            return Optional.of(record.rank());
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * 대기열 등록 이벤트 기록
+     *
+     * @param rank 등록 시 받은 대기열 순서
+     */
+    public void recordQueued(Long userId, String couponName, Long rank) {
+        if (!enabled) {
+            return;
+        }
+        CouponRequestHistory history = historyOf(couponName);
+        history.bloomFilter.put(userId);
+        history.putIfNotIssued(userId, new RequestRecord(System.currentTimeMillis(), rank));
+    }
+
+    /**
+     * 발급 완료 이벤트 기록
+     */
+    public void recordIssued(String couponName, Collection<Long> userIds) {
+        if (!enabled || userIds.isEmpty()) {
+            return;
+        }
+        CouponRequestHistory history = historyOf(couponName);
+        for (Long userId : userIds) {
+            history.bloomFilter.put(userId);
+            history.put(userId, ISSUED);
+        }
+    }
+
+    /**
+     * 쿠폰의 로컬 기록 초기화 (대기열 / 발급 기록 초기화 시)
+     */
+    public void clear(String couponName) {
+        histories.remove(couponName);
+    }
+
+    private CouponRequestHistory historyOf(String couponName) {
+        CouponRequestHistory history = histories.get(couponName);
+        if (history == null) {
+            // 새 쿠폰 기록을 만들 때 오래 갱신되지 않은 쿠폰 기록 정리 (다른 노드에서 정리 / 만료된 쿠폰)
+            evictIdleHistories();
+            history = histories.computeIfAbsent(couponName,
+                    name -> new CouponRequestHistory(expectedUsers, falsePositiveRate, recentUsers));
+        }
+        history.lastUpdatedMillis = System.currentTimeMillis();
+        return history;
+    }
+
+    private void evictIdleHistories() {
+        long now = System.currentTimeMillis();
+        histories.entrySet().removeIf(entry -> now - entry.getValue().lastUpdatedMillis > idleTtlMillis);
+    }
+
+    /**
+     * 요청 기록 (대기 중이면 등록 시각과 대기열 순서, 발급 완료면 ISSUED)
+     */
+    private record RequestRecord(long queuedAt, Long rank) {
+    }
+
+    /**
+     * 쿠폰별 요청 기록 (Bloom Filter + LRU)
+     */
+    private static final class CouponRequestHistory {
+
+        private final LongBloomFilter bloomFilter;
+        private final Map<Long, RequestRecord> recent;
+        private volatile long lastUpdatedMillis = System.currentTimeMillis();
+
+        private CouponRequestHistory(long expectedUsers, double falsePositiveRate, int capacity) {
+            this.bloomFilter = new LongBloomFilter(expectedUsers, falsePositiveRate);
+            this.recent = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, RequestRecord> eldest) {
+                    return size() > capacity;
+                }
+            });
+        }
+
+        private RequestRecord get(Long userId) {
+            return recent.get(userId);
+        }
+
+        private void put(Long userId, RequestRecord value) {
+            recent.put(userId, value);
+        }
+
+        private void putIfNotIssued(Long userId, RequestRecord value) {
+            synchronized (recent) {
+                if (recent.get(userId) != ISSUED) {
+                    recent.put(userId, value);
+                }
+            }
+        }
+    }
+}
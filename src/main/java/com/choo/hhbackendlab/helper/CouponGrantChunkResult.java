@@ -0,0 +1,18 @@
+package com.choo.hhbackendlab.helper;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 쿠폰 일괄 지급 청크 처리 결과
+ */
+@Getter
+@RequiredArgsConstructor
+public class CouponGrantChunkResult {
+
+    private final String couponName;
+    private final List<Long> grantedUserIds;  // 이번 청크에서 지급한 사용자
+    private final boolean finished;           // 작업 종료 여부 (완료 / 실패)
+}
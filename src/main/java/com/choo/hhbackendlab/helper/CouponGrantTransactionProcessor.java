@@ -0,0 +1,210 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.CouponGrantJob;
+import com.choo.hhbackendlab.entity.CouponGrantJobStatus;
+import com.choo.hhbackendlab.entity.CouponGrantTarget;
+import com.choo.hhbackendlab.entity.User;
+import com.choo.hhbackendlab.entity.UserCoupon;
+import com.choo.hhbackendlab.repository.CouponGrantJobRepository;
+import com.choo.hhbackendlab.repository.CouponGrantTargetRepository;
+import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.UserCouponRepository;
+import com.choo.hhbackendlab.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 쿠폰 일괄 지급 작업 트랜잭션 처리 컴포넌트 (Self-invocation 문제 방지를 위해 분리)
+ *
+ * 0. createUploadJob / appendTargets / submitJob : 작업 생성, 대상 청크 추가(청크마다 트랜잭션 1회), 제출
+ * 1. claimNextJob : 처리할 작업을 FOR UPDATE SKIP LOCKED로 가져와 RUNNING으로 변경 후 바로 커밋
+ * 2. grantChunk : cursor 이후 대상 chunkSize명을 한 트랜잭션으로 지급하고 cursor / 진행 건수를 같은 트랜잭션에서 커밋
+ *                 (청크 단위로 정확히 한 번 반영되므로 중단되어도 cursor 이후부터 재개)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponGrantTransactionProcessor {
+
+    private final CouponGrantJobRepository couponGrantJobRepository;
+    private final CouponGrantTargetRepository couponGrantTargetRepository;
+    private final CouponRepository couponRepository;
+    private final UserRepository userRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final CouponCodeGenerator couponCodeGenerator;
+    private final CouponTemplateCache couponTemplateCache;
+    private final CouponStockAllocator couponStockAllocator;
+
+    /**
+     * 대상 등록 중(UPLOADING)인 작업 생성
+     *
+     * @return 생성된 작업 ID
+     */
+    @Transactional
+    public Long createUploadJob(Long couponId, String couponName) {
+        return couponGrantJobRepository.save(new CouponGrantJob(couponId, couponName)).getId();
+    }
+
+    /**
+     * 대상 청크 추가 (작업 행을 잠가 같은 작업에 대한 추가 / 제출을 직렬화)
+     * 이미 등록된 사용자는 제외하고 저장
+     *
+     * @param jobId 작업 ID
+     * @param userIds 추가할 사용자 ID (중복 없음)
+     * @return 새로 추가한 대상 수
+     */
+    @Transactional
+    public int appendTargets(Long jobId, List<Long> userIds) {
+        CouponGrantJob job = couponGrantJobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("지급 작업을 찾을 수 없습니다. Job ID: " + jobId));
+        if (job.getStatus() != CouponGrantJobStatus.UPLOADING) {
+            throw new IllegalStateException("제출 전인 작업에만 대상을 추가할 수 있습니다. 현재 상태: " + job.getStatus());
+        }
+
+        Set<Long> registered = new HashSet<>(couponGrantTargetRepository.findUserIdsIn(jobId, userIds));
+        List<CouponGrantTarget> targets = userIds.stream()
+                .filter(userId -> !registered.contains(userId))
+                .map(userId -> new CouponGrantTarget(jobId, userId))
+                .toList();
+        job.addTargets(targets.size());
+        couponGrantTargetRepository.saveAll(targets);
+        return targets.size();
+    }
+
+    /**
+     * 대상 등록을 마치고 처리 대기로 전환
+     */
+    @Transactional
+    public void submitJob(Long jobId) {
+        couponGrantJobRepository.findByIdForUpdate(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("지급 작업을 찾을 수 없습니다. Job ID: " + jobId))
+                .submit();
+    }
+
+    /**
+     * 처리할 작업 하나를 가져와 RUNNING으로 변경
+     *
+     * @param heartbeatTimeout 이 시간 이전에 마지막으로 진행한 RUNNING 작업은 처리 노드가 멈춘 것으로 보고 가져감
+     * @return 가져간 작업 ID
+     */
+    @Transactional
+    public Optional<Long> claimNextJob(LocalDateTime heartbeatTimeout) {
+        return couponGrantJobRepository.findClaimableForUpdateSkipLocked(heartbeatTimeout)
+                .map(job -> {
+                    job.start();
+                    return job.getId();
+                });
+    }
+
+    /**
+     * cursor 이후 대상 최대 chunkSize명에게 쿠폰 지급
+     * 1. 이미 보유한 사용자 / 존재하지 않는 사용자 제외 (IN 쿼리 1회씩)
+     * 2. 재고를 청크당 한 번에 차감 (조건부 UPDATE)
+     * 3. UserCoupon 일괄 저장 (JDBC 배치)
+     * 재고가 부족하면 남은 재고만큼만 지급하고 작업을 실패 처리 (재고 추가 후 재개 가능)
+     *
+     * @param jobId 작업 ID
+     * @param chunkSize 청크 크기
+     * @return 청크 처리 결과
+     */
+    @Transactional
+    public CouponGrantChunkResult grantChunk(Long jobId, int chunkSize) {
+        CouponGrantJob job = couponGrantJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("지급 작업을 찾을 수 없습니다. Job ID: " + jobId));
+        String couponName = job.getCouponName();
+        if (job.getStatus() != CouponGrantJobStatus.RUNNING) {
+            return new CouponGrantChunkResult(couponName, List.of(), true);
+        }
+
+        CouponTemplate template = couponTemplateCache.getById(job.getCouponId()).orElse(null);
+        if (template == null || template.isExpired()) {
+            job.fail("지급할 수 없는 쿠폰입니다. Coupon ID: " + job.getCouponId());
+            return new CouponGrantChunkResult(couponName, List.of(), true);
+        }
+
+        List<Long> userIds = couponGrantTargetRepository.findUserIdsAfter(
+                jobId, job.getLastUserId(), PageRequest.of(0, chunkSize));
+        if (userIds.isEmpty()) {
+            job.complete();
+            log.info("쿠폰 일괄 지급 완료 - jobId: {}, couponName: {}, 지급: {}, 건너뜀: {}",
+                    jobId, couponName, job.getGrantedCount(), job.getSkippedCount());
+            return new CouponGrantChunkResult(couponName, List.of(), true);
+        }
+
+        // 1. 이미 보유한 사용자 / 존재하지 않는 사용자 제외
+        Set<Long> alreadyIssued = new HashSet<>(
+                userCouponRepository.findIssuedUserIdsByCouponName(couponName, userIds));
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<User> targets = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (!alreadyIssued.contains(userId) && users.containsKey(userId)) {
+                targets.add(users.get(userId));
+            }
+        }
+
+        // 2. 재고 일괄 차감 (부족하면 남은 재고만큼)
+        int quantity = decreaseStock(couponName, template, targets.size());
+        boolean stockShortage = quantity < targets.size();
+        List<User> grantTargets = targets.subList(0, quantity);
+
+        // 3. UserCoupon 일괄 저장
+        if (!grantTargets.isEmpty()) {
+            Coupon coupon = couponRepository.getReferenceById(job.getCouponId());
+            List<UserCoupon> userCoupons = new ArrayList<>(grantTargets.size());
+            for (User user : grantTargets) {
+                userCoupons.add(new UserCoupon(coupon, user, couponCodeGenerator.generate()));
+            }
+            userCouponRepository.saveAll(userCoupons);
+        }
+
+        // 재고가 부족하면 지급하지 못한 첫 대상 직전까지만 처리한 것으로 기록 (재개 시 그 대상부터 다시 처리)
+        List<Long> processedUserIds = stockShortage
+                ? userIds.subList(0, userIds.indexOf(targets.get(quantity).getId()))
+                : userIds;
+        if (!processedUserIds.isEmpty()) {
+            job.recordChunk(processedUserIds.get(processedUserIds.size() - 1), processedUserIds.size(),
+                    quantity, processedUserIds.size() - quantity);
+        }
+
+        List<Long> grantedUserIds = grantTargets.stream().map(User::getId).toList();
+        if (stockShortage) {
+            job.fail("쿠폰 재고가 부족합니다. 재고를 추가한 뒤 작업을 재개해주세요. Coupon ID: " + job.getCouponId());
+            log.warn("쿠폰 일괄 지급 중단 (재고 부족) - jobId: {}, couponName: {}, 처리: {}/{}",
+                    jobId, couponName, job.getProcessedCount(), job.getTotalCount());
+            return new CouponGrantChunkResult(couponName, grantedUserIds, true);
+        }
+        return new CouponGrantChunkResult(couponName, grantedUserIds, false);
+    }
+
+    /**
+     * 작업 실패 처리 (청크 처리 중 예상하지 못한 오류)
+     */
+    @Transactional
+    public void failJob(Long jobId, String errorMessage) {
+        couponGrantJobRepository.findById(jobId).ifPresent(job -> job.fail(errorMessage));
+    }
+
+    /**
+     * 재고를 최대 requested만큼 차감 (CouponStockAllocator, 분할 재고 포함)
+     *
+     * @return 실제 차감한 수량
+     */
+    private int decreaseStock(String couponName, CouponTemplate template, int requested) {
+        int quantity = couponStockAllocator.decreaseUpTo(template, requested);
+        if (quantity == 0 && requested > 0) {
+            couponTemplateCache.markExhausted(couponName, template.getId());
+        }
+        return quantity;
+    }
+}
@@ -0,0 +1,256 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.CouponIssueQueue;
+import com.choo.hhbackendlab.redis.CouponAdmission;
+import com.choo.hhbackendlab.redis.CouponAdmissionRejectedException;
+import com.choo.hhbackendlab.redis.CouponIssue;
+import com.choo.hhbackendlab.redis.CouponIssueStatusStore;
+import com.choo.hhbackendlab.redis.CouponIssueStream;
+import com.choo.hhbackendlab.redis.CouponQueueType;
+import com.choo.hhbackendlab.redis.QueueStatus;
+import com.choo.hhbackendlab.repository.CouponIssueQueueRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+
+/**
+ * Redis 장애 시 선착순 쿠폰 대기열 등록 대체 큐 (ZSET / STREAM 방식)
+ *
+ * Redis 연결 실패 / 타임아웃으로 대기열 등록이 실패하면 장애 모드로 전환하고,
+ * 이후 요청은 Redis를 호출하지 않고 노드 로컬 큐(최대 capacity건)에 넣고 바로 응답
+ * 1. spill : 로컬 큐를 flush-interval-millis마다 COUPON_ISSUE_QUEUE에 DEFERRED 상태로 일괄 저장 (JDBC 배치)
+ * 2. replay : Redis가 응답하면 DEFERRED 요청을 도착 시간 순으로 Redis 대기열에 재등록
+ *             (FOR UPDATE SKIP LOCKED로 가져가므로 다른 노드가 보관한 요청도 중복 없이 재등록)
+ *
+ * DB에 보관한 요청이 남아있는 동안에는 Redis가 복구되어도 새 요청을 계속 로컬 큐에 넣어,
+ * 장애 중 먼저 들어온 요청이 복구 후 들어온 요청보다 앞서도록 함 (노드 간 순서는 도착 시간 기준으로 근사)
+ * 로컬 큐가 가득 차면 요청을 거절하고(429), 노드가 죽으면 아직 저장하지 않은 최대 flush-interval-millis 분량의 요청은 유실
+ * 재등록 시 거절된 요청은 발급하지 않고 삭제하며, 재고 소진 / 실패로 거절되면 요청 상태(cpn:rs)에 SOLD_OUT / FAILED로 기록
+ * (장애 중에는 대기 순서를 알 수 없으므로 등록 시 UNKNOWN_POSITION으로 응답하고, 결과는 상태 조회로 확인)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponIssueFallbackQueue {
+
+    private final CouponIssue couponIssue;
+    private final CouponIssueStream couponIssueStream;
+    private final CouponIssueQueueRepository couponIssueQueueRepository;
+    private final CouponIssueQueueTransactionProcessor couponIssueQueueTransactionProcessor;
+    private final CouponIssueStatusStore couponIssueStatusStore;
+    private final CouponIssueMetrics couponIssueMetrics;
+    private final RedisTemplate<String, String> redisTemplate;
+
+    /**
+     * 로컬 큐에 등록한 요청의 대기 순서 (Redis 복구 후 재등록할 때 정해지므로 알 수 없음)
+     */
+    public static final long UNKNOWN_POSITION = -1L;
+
+    @Value("${coupon.issue.fallback.enabled:true}")
+    private boolean enabled;
+
+    // 로컬 큐 최대 크기 (DB에 저장하기 전까지 보관)
+    @Value("${coupon.issue.fallback.capacity:10000}")
+    private int capacity;
+
+    // 한 번에 저장 / 재등록할 최대 요청 수
+    @Value("${coupon.issue.batch-size:100}")
+    private int batchSize;
+
+    // 대기열 방식 (ZSET / STREAM)
+    @Value("${coupon.issue.queue-type:ZSET}")
+    private CouponQueueType queueType;
+
+    private LinkedBlockingDeque<CouponIssueQueue> localQueue;
+
+    private volatile boolean active;
+
+    @PostConstruct
+    public void init() {
+        localQueue = new LinkedBlockingDeque<>(capacity);
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        spillAll();
+    }
+
+    /**
+     * 장애 모드 여부 (Redis 대신 로컬 큐로 등록해야 하는지)
+     */
+    public boolean isActive() {
+        return active;
+    }
+
+    /**
+     * Redis를 사용할 수 없어 발생한 예외면 장애 모드로 전환
+     *
+     * @param e 대기열 등록 중 발생한 예외
+     * @return 장애 모드로 처리해야 하면 true (그 외 예외는 호출하는 쪽에서 그대로 던짐)
+     */
+    public boolean activateIfUnavailable(RuntimeException e) {
+        if (!enabled || !isRedisUnavailable(e)) {
+            return false;
+        }
+        if (!active) {
+            active = true;
+            log.warn("Redis 장애로 쿠폰 대기열 등록을 로컬 큐로 전환", e);
+        }
+        return true;
+    }
+
+    /**
+     * 로컬 큐에 등록
+     *
+     * @return UNKNOWN_POSITION (대기 순서는 Redis 복구 후 재등록할 때 정해지며, 실제 발급도 그 후 처리됨)
+     */
+    public Long enqueue(Long userId, String couponName) {
+        CouponIssueQueue request = new CouponIssueQueue(userId, couponName);
+        request.defer(LocalDateTime.now());
+        if (!localQueue.offer(request)) {
+            log.warn("장애 대체 큐가 가득 참 - userId: {}, couponName: {}", userId, couponName);
+            throw new RateLimitExceededException("발급 요청이 많아 처리할 수 없습니다. 잠시 후 다시 시도해주세요.");
+        }
+        return UNKNOWN_POSITION;
+    }
+
+    /**
+     * 로컬 큐의 요청을 최대 batch-size건 DB에 저장
+     * 저장에 실패하면 꺼낸 요청을 순서대로 큐 앞에 되돌림
+     *
+     * @return 저장한 요청 수
+     */
+    public int spill() {
+        List<CouponIssueQueue> requests = new ArrayList<>(batchSize);
+        localQueue.drainTo(requests, batchSize);
+        if (requests.isEmpty()) {
+            return 0;
+        }
+        try {
+            couponIssueQueueRepository.saveAll(requests);
+            return requests.size();
+        } catch (Exception e) {
+            int lost = 0;
+            for (int i = requests.size() - 1; i >= 0; i--) {
+                if (!localQueue.offerFirst(requests.get(i))) {
+                    lost++;
+                }
+            }
+            log.error("보관 요청 DB 저장 실패 - 요청: {}건, 유실: {}건", requests.size(), lost, e);
+            return 0;
+        }
+    }
+
+    /**
+     * Redis가 응답하면 DB에 보관한 요청을 Redis 대기열에 재등록하고,
+     * 보관한 요청을 모두 재등록하면 장애 모드 해제
+     *
+     * @return 재등록한 요청 수
+     */
+    public int replay() {
+        if (!active && !couponIssueQueueRepository.existsByStatus(QueueStatus.DEFERRED)) {
+            return 0;
+        }
+        if (!isRedisAvailable()) {
+            return 0;
+        }
+
+        int totalReplayed = replayDeferred();
+        if (active && !couponIssueQueueRepository.existsByStatus(QueueStatus.DEFERRED)) {
+            // 새 요청은 Redis로 보내고, 로컬 큐에 남은 요청은 바로 저장 / 재등록
+            // (전환 직전에 들어온 요청만 전환 후 요청과 순서가 섞일 수 있음)
+            active = false;
+            spillAll();
+            totalReplayed += replayDeferred();
+            log.info("Redis 복구 - 쿠폰 대기열 등록을 Redis로 전환 (재등록: {}건)", totalReplayed);
+        }
+        return totalReplayed;
+    }
+
+    private int replayDeferred() {
+        int totalReplayed = 0;
+        int replayed;
+        do {
+            replayed = couponIssueQueueTransactionProcessor.replayDeferred(batchSize, this::replayRequest);
+            totalReplayed += replayed;
+        } while (replayed == batchSize);
+        return totalReplayed;
+    }
+
+    /**
+     * 로컬 큐가 빌 때까지 DB에 저장 (저장에 실패하면 중단)
+     */
+    public void spillAll() {
+        int spilled;
+        do {
+            spilled = spill();
+        } while (spilled > 0);
+    }
+
+    /**
+     * 보관한 요청 하나를 Redis 대기열에 재등록
+     *
+     * @return 계속 진행 여부 (Redis를 사용할 수 없으면 false)
+     */
+    private boolean replayRequest(CouponIssueQueue request) {
+        try {
+            CouponAdmission admission = queueType == CouponQueueType.STREAM
+                    ? couponIssueStream.admit(request.getUserId(), request.getCouponName())
+                    : couponIssue.admit(request.getUserId(), request.getCouponName());
+            // 보관 시점에는 집계하지 않았으므로 실제로 대기열에 등록될 때 등록 수에 반영
+            if (admission.admitted()) {
+                couponIssueMetrics.recordEnqueued(request.getCouponName());
+            }
+            return true;
+        } catch (CouponAdmissionRejectedException e) {
+            log.info("보관 요청 재등록 거절 - userId: {}, couponName: {}, 사유: {}",
+                    request.getUserId(), request.getCouponName(), e.getMessage());
+            if (e.getStatus() == QueueStatus.SOLD_OUT) {
+                couponIssueStatusStore.markSoldOut(request.getCouponName(), List.of(request.getUserId()));
+            } else if (e.getStatus() == QueueStatus.FAILED) {
+                couponIssueStatusStore.markFailed(request.getCouponName(), List.of(request.getUserId()));
+            }
+            return true;
+        } catch (RuntimeException e) {
+            if (isRedisUnavailable(e)) {
+                return false;
+            }
+            log.error("보관 요청 재등록 실패 (삭제) - userId: {}, couponName: {}",
+                    request.getUserId(), request.getCouponName(), e);
+            couponIssueStatusStore.markFailed(request.getCouponName(), List.of(request.getUserId()));
+            return true;
+        }
+    }
+
+    private boolean isRedisAvailable() {
+        try {
+            return "PONG".equals(redisTemplate.execute((RedisCallback<String>) connection -> connection.ping()));
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Redis 연결 실패 / 타임아웃 여부 (스크립트 오류 등 Redis가 응답한 오류는 제외)
+     */
+    static boolean isRedisUnavailable(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof DataAccessResourceFailureException || cause instanceof QueryTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
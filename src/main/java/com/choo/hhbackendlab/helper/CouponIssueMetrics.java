@@ -0,0 +1,250 @@
+package com.choo.hhbackendlab.helper;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 선착순 쿠폰 발급 지표 (Micrometer, /actuator/metrics · /actuator/prometheus로 노출)
+ *
+ * - coupon.issue.enqueued{coupon} : 대기열 등록 수 (등록률은 rate()로 계산)
+ * - coupon.issue.processed{coupon, result} : 처리 결과별 요청 수
+ *   (issued / duplicated / sold_out / failed / error(트랜잭션 실패, 재시도) / dead_letter)
+ * - coupon.issue.db.latency{coupon, outcome} : 일괄 발급 트랜잭션 시간 (히스토그램)
+ * - coupon.issue.wait{coupon} : 대기열 등록부터 발급 결과 반영까지 걸린 시간 (히스토그램)
+ * - coupon.issue.queue.depth{coupon} / coupon.issue.pending : 쿠폰별 / 전체 대기 요청 수 (CouponIssueMetricsSampler가 갱신)
+ *
+ * Sorted Set 대기열의 score는 시각이 아닌 도착 순번(cpn:seq)이므로, 주기적으로 읽은 (순번, 시각) 표본 사이를
+ * 보간해 도착 시각을 추정 (오차는 표본 주기 이내, 표본 범위보다 오래 기다린 요청은 짧게 기록됨)
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponIssueMetrics {
+
+    private final MeterRegistry meterRegistry;
+
+    // 도착 순번 표본 보관 수 (표본 주기 × 보관 수만큼의 대기 시간까지 추정)
+    @Value("${coupon.metrics.arrival-samples:3600}")
+    private int arrivalSamples;
+
+    // 쿠폰 이름 → 대기 요청 수 (게이지가 참조)
+    private final Map<String, AtomicLong> queueDepths = new ConcurrentHashMap<>();
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private ArrivalClock arrivalClock;
+
+    @PostConstruct
+    public void init() {
+        arrivalClock = new ArrivalClock(arrivalSamples);
+        Gauge.builder("coupon.issue.pending", pendingCount, AtomicLong::get)
+                .description("전체 대기 요청 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 대기열 등록
+     */
+    public void recordEnqueued(String couponName) {
+        meterRegistry.counter("coupon.issue.enqueued", "coupon", couponName).increment();
+    }
+
+    /**
+     * 일괄 발급 트랜잭션 결과
+     *
+     * @param elapsedNanos 트랜잭션 시간
+     */
+    public void recordBatch(String couponName, CouponBatchIssueResult result, long elapsedNanos) {
+        dbLatencyTimer(couponName, "success").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        recordProcessed(couponName, "issued", result.getIssuedCouponIds().size());
+        recordProcessed(couponName, "duplicated", result.getDuplicatedUserIds().size());
+        recordProcessed(couponName, "sold_out", result.getSoldOutUserIds().size());
+        recordProcessed(couponName, "failed", result.getFailedUserIds().size());
+    }
+
+    /**
+     * 일괄 발급 트랜잭션 실패 (요청은 재시도 대기)
+     */
+    public void recordBatchFailure(String couponName, int count, long elapsedNanos) {
+        dbLatencyTimer(couponName, "error").record(elapsedNanos, TimeUnit.NANOSECONDS);
+        recordProcessed(couponName, "error", count);
+    }
+
+    /**
+     * 재시도 한도 초과로 격리
+     */
+    public void recordDeadLettered(String couponName, int count) {
+        recordProcessed(couponName, "dead_letter", count);
+    }
+
+    /**
+     * 대기 시간 기록 (도착 시각을 알고 있는 경우, Streams 레코드 ID 등)
+     *
+     * @param arrivedAtMillis 요청별 도착 시각(ms)
+     */
+    public void recordWaits(String couponName, List<Long> arrivedAtMillis) {
+        Timer timer = waitTimer(couponName);
+        long now = System.currentTimeMillis();
+        for (long arrivedAt : arrivedAtMillis) {
+            timer.record(Math.max(now - arrivedAt, 0L), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 대기 시간 기록 (Sorted Set 도착 순번으로 도착 시각 추정, 표본이 없으면 기록하지 않음)
+     *
+     * @param arrivalSequences 요청별 도착 순번
+     */
+    public void recordWaitsBySequence(String couponName, List<Long> arrivalSequences) {
+        Timer timer = waitTimer(couponName);
+        long now = System.currentTimeMillis();
+        for (long sequence : arrivalSequences) {
+            long arrivedAt = arrivalClock.estimate(sequence);
+            if (arrivedAt > 0) {
+                timer.record(Math.max(now - arrivedAt, 0L), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * 현재 도착 순번 표본 추가
+     */
+    public void sampleArrivalSequence(long sequence) {
+        arrivalClock.add(sequence, System.currentTimeMillis());
+    }
+
+    /**
+     * 대기 요청 수 갱신 (목록에 없는 쿠폰은 0)
+     *
+     * @param depths 쿠폰 이름 → 대기 요청 수
+     * @param pending 전체 대기 요청 수
+     */
+    public void updateQueueDepths(Map<String, Long> depths, long pending) {
+        queueDepths.forEach((couponName, depth) -> {
+            if (!depths.containsKey(couponName)) {
+                depth.set(0);
+            }
+        });
+        depths.forEach((couponName, depth) -> queueDepths.computeIfAbsent(couponName, name -> {
+            AtomicLong value = new AtomicLong();
+            Gauge.builder("coupon.issue.queue.depth", value, AtomicLong::get)
+                    .tag("coupon", name)
+                    .description("쿠폰별 대기 요청 수")
+                    .register(meterRegistry);
+            return value;
+        }).set(depth));
+        pendingCount.set(pending);
+    }
+
+    private void recordProcessed(String couponName, String result, int count) {
+        if (count > 0) {
+            meterRegistry.counter("coupon.issue.processed", "coupon", couponName, "result", result).increment(count);
+        }
+    }
+
+    private Timer dbLatencyTimer(String couponName, String outcome) {
+        return Timer.builder("coupon.issue.db.latency")
+                .tag("coupon", couponName)
+                .tag("outcome", outcome)
+                .description("일괄 발급 트랜잭션 시간")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    private Timer waitTimer(String couponName) {
+        return Timer.builder("coupon.issue.wait")
+                .tag("coupon", couponName)
+                .description("대기열 등록부터 발급 결과 반영까지 걸린 시간")
+                .publishPercentileHistogram()
+                .maximumExpectedValue(Duration.ofMinutes(30))
+                .register(meterRegistry);
+    }
+
+    /**
+     * (도착 순번, 시각) 표본 링 버퍼
+     * 순번은 INCR로만 증가하므로 표본은 순번 오름차순 (순번이 줄어들면 키가 초기화된 것으로 보고 비움)
+     */
+    static final class ArrivalClock {
+
+        private final long[] sequences;
+        private final long[] millis;
+        private int start;
+        private int size;
+
+        ArrivalClock(int capacity) {
+            sequences = new long[Math.max(capacity, 2)];
+            millis = new long[sequences.length];
+        }
+
+        synchronized void add(long sequence, long atMillis) {
+            if (size > 0) {
+                long last = sequences[index(size - 1)];
+                if (sequence == last) {
+                    return;
+                }
+                if (sequence < last) {
+                    size = 0;
+                }
+            }
+            int slot;
+            if (size < sequences.length) {
+                slot = index(size);
+                size++;
+            } else {
+                slot = start;
+                start = (start + 1) % sequences.length;
+            }
+            sequences[slot] = sequence;
+            millis[slot] = atMillis;
+        }
+
+        /**
+         * 도착 시각 추정 (순번을 포함하는 두 표본 사이를 선형 보간)
+         *
+         * @return 도착 시각(ms), 표본이 없으면 -1
+         */
+        synchronized long estimate(long sequence) {
+            if (size == 0) {
+                return -1L;
+            }
+            // 순번 이상인 첫 표본
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (sequences[index(mid)] < sequence) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            if (low == size) {
+                // 마지막 표본 이후 도착
+                return millis[index(size - 1)];
+            }
+            if (low == 0) {
+                // 가장 오래된 표본 이전 도착 (표본 범위 밖)
+                return millis[index(0)];
+            }
+            int before = index(low - 1);
+            int after = index(low);
+            return millis[before] + (sequence - sequences[before]) * (millis[after] - millis[before])
+                    / (sequences[after] - sequences[before]);
+        }
+
+        private int index(int offset) {
+            return (start + offset) % sequences.length;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.CouponIssueQueue;
+import com.choo.hhbackendlab.redis.QueueStatus;
+import com.choo.hhbackendlab.repository.CouponIssueQueueRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * DB 대기열(COUPON_ISSUE_QUEUE) 트랜잭션 처리 컴포넌트
+ *
+ * 1. claimBatch : PENDING 요청을 FOR UPDATE SKIP LOCKED로 가져와 PROCESSING으로 변경 후 바로 커밋
+ *                 (대기열 행 락은 짧게 유지하고, 다른 워커는 잠긴 행을 건너뛰어 다음 배치를 가져감)
+ * 2. issueClaimed : 가져간 요청을 일괄 발급하고 같은 트랜잭션에서 COMPLETED / FAILED로 변경
+ * 3. retryClaimed / requeueTimedOut : 발급 트랜잭션이 실패했거나 처리 중 멈춘 요청을 백오프 후 재시도 (한도 초과 시 DEAD_LETTER)
+ * 4. replayDeferred : Redis 장애 중 보관한 요청을 도착 순으로 Redis 대기열에 재등록하고 삭제
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponIssueQueueTransactionProcessor {
+
+    private final CouponIssueQueueRepository couponIssueQueueRepository;
+    private final CouponIssueTransactionProcessor couponIssueTransactionProcessor;
+    private final CouponIssueRetryPolicy couponIssueRetryPolicy;
+
+    /**
+     * 처리할 요청을 최대 size건 가져와 PROCESSING으로 변경
+     *
+     * @param size 최대 건수
+     * @return 가져간 요청 (생성시간 순)
+     */
+    @Transactional
+    public List<CouponIssueQueue> claimBatch(int size) {
+        List<CouponIssueQueue> claimed = couponIssueQueueRepository.findByStatusForUpdateSkipLocked(
+                QueueStatus.PENDING, LocalDateTime.now(), PageRequest.of(0, size));
+        claimed.forEach(CouponIssueQueue::startProcessing);
+        return claimed;
+    }
+
+    /**
+     * 가져간 요청을 일괄 발급하고 결과 반영
+     * 같은 사용자의 요청이 여러 건이면 가장 먼저 들어온 요청만 발급 대상으로 처리
+     *
+     * @param couponName 쿠폰 이름
+     * @param queueIds 같은 쿠폰에 대한 요청 ID (생성시간 순)
+     * @return 발급된 쿠폰 수
+     */
+    @Transactional
+    public int issueClaimed(String couponName, List<Long> queueIds) {
+        Map<Long, CouponIssueQueue> requestsById = new HashMap<>();
+        couponIssueQueueRepository.findAllById(queueIds).forEach(request -> requestsById.put(request.getId(), request));
+
+        // 사용자별 첫 요청만 발급 대상
+        Map<Long, Long> queueIdByUser = new LinkedHashMap<>();
+        List<Long> duplicatedQueueIds = new ArrayList<>();
+        for (Long queueId : queueIds) {
+            CouponIssueQueue request = requestsById.get(queueId);
+            if (request == null) {
+                continue;
+            }
+            if (queueIdByUser.putIfAbsent(request.getUserId(), queueId) != null) {
+                duplicatedQueueIds.add(queueId);
+            }
+        }
+
+        CouponBatchIssueResult result = couponIssueTransactionProcessor.issueBatch(
+                couponName, new ArrayList<>(queueIdByUser.keySet()));
+
+        // 재고 차감 UPDATE가 영속성 컨텍스트를 비우므로 요청을 다시 조회해 상태 변경
+        requestsById.clear();
+        couponIssueQueueRepository.findAllById(queueIds).forEach(request -> requestsById.put(request.getId(), request));
+
+        result.getIssuedCouponIds().forEach((userId, userCouponId) ->
+                requestsById.get(queueIdByUser.get(userId)).complete(userCouponId));
+        result.getDuplicatedUserIds().forEach(userId ->
+                requestsById.get(queueIdByUser.get(userId)).fail("이미 발급받은 쿠폰입니다."));
+        result.getSoldOutUserIds().forEach(userId ->
+                requestsById.get(queueIdByUser.get(userId)).fail("발급 가능한 쿠폰이 없습니다. 쿠폰명: " + couponName));
+        result.getFailedUserIds().forEach((userId, reason) ->
+                requestsById.get(queueIdByUser.get(userId)).fail(reason));
+        duplicatedQueueIds.forEach(queueId -> requestsById.get(queueId).fail("이미 발급 요청한 쿠폰입니다."));
+
+        return result.getIssuedCouponIds().size();
+    }
+
+    /**
+     * 발급 트랜잭션이 실패한 요청을 백오프 후 재시도하도록 대기 상태로 되돌림
+     */
+    @Transactional
+    public void retryClaimed(List<Long> queueIds, String errorMessage) {
+        for (CouponIssueQueue request : couponIssueQueueRepository.findAllById(queueIds)) {
+            if (request.getStatus() == QueueStatus.PROCESSING) {
+                scheduleRetry(request, errorMessage);
+            }
+        }
+    }
+
+    /**
+     * 처리 시작 후 processing-timeout-millis가 지나도록 PROCESSING인 요청(처리 노드 장애 등)을 최대 size건 재시도 대기로 되돌림
+     *
+     * @param size 최대 건수
+     * @return 되돌리거나 격리한 요청 수
+     */
+    @Transactional
+    public int requeueTimedOut(int size) {
+        LocalDateTime timeout = LocalDateTime.now().minus(
+                Duration.ofMillis(couponIssueRetryPolicy.getProcessingTimeoutMillis()));
+        List<CouponIssueQueue> timedOut = couponIssueQueueRepository.findProcessingTimeoutRequests(
+                timeout, PageRequest.of(0, size));
+        timedOut.forEach(request -> scheduleRetry(request, "쿠폰 발급 처리 시간이 초과되었습니다."));
+        return timedOut.size();
+    }
+
+    /**
+     * 시도 횟수가 남았으면 지수 백오프 후 재시도, 모두 소진했으면 DEAD_LETTER로 격리
+     */
+    private void scheduleRetry(CouponIssueQueue request, String errorMessage) {
+        int attempts = request.getAttemptCount();
+        if (couponIssueRetryPolicy.isExhausted(attempts)) {
+            log.error("재시도 한도 초과로 발급 요청 격리 - queueId: {}, userId: {}, attempts: {}",
+                    request.getId(), request.getUserId(), attempts);
+            request.deadLetter(errorMessage);
+            return;
+        }
+        request.retryLater(LocalDateTime.now().plus(
+                Duration.ofMillis(couponIssueRetryPolicy.backoffMillis(attempts))), errorMessage);
+    }
+
+    /**
+     * Redis 장애 중 보관한(DEFERRED) 요청을 최대 size건 도착 순으로 재등록
+     * 재등록한 요청은 같은 트랜잭션에서 삭제하고, 재등록에 실패하면 남은 요청은 그대로 두고 중단
+     *
+     * @param size 최대 건수
+     * @param replayer 요청을 Redis 대기열에 재등록 (Redis를 사용할 수 없으면 false)
+     * @return 재등록(또는 거절되어 삭제)한 요청 수
+     */
+    @Transactional
+    public int replayDeferred(int size, Predicate<CouponIssueQueue> replayer) {
+        List<CouponIssueQueue> deferred = couponIssueQueueRepository.findDeferredForUpdateSkipLocked(PageRequest.of(0, size));
+        List<CouponIssueQueue> replayed = new ArrayList<>(deferred.size());
+        for (CouponIssueQueue request : deferred) {
+            if (!replayer.test(request)) {
+                break;
+            }
+            replayed.add(request);
+        }
+        couponIssueQueueRepository.deleteAllInBatch(replayed);
+        return replayed.size();
+    }
+}
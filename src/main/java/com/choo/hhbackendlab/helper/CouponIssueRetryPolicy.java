@@ -0,0 +1,59 @@
+package com.choo.hhbackendlab.helper;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 쿠폰 발급 요청 재시도 정책 (DB 대기열 / Redis Sorted Set 대기열 공통)
+ *
+ * - 처리 중(PROCESSING / in-flight) 상태로 processing-timeout-millis 이상 머문 요청은 처리 노드가 죽은 것으로 보고 다시 대기열로 돌림
+ * - 발급 트랜잭션이 실패한 요청은 base-backoff-millis * 2^(시도 횟수 - 1) (최대 max-backoff-millis) 후 재시도
+ * - max-attempts 번 시도해도 처리되지 않은 요청은 더 이상 재시도하지 않고 dead-letter로 격리
+ */
+@Component
+public class CouponIssueRetryPolicy {
+
+    // 최대 시도 횟수 (초과 시 dead-letter)
+    @Value("${coupon.issue.retry.max-attempts:5}")
+    private int maxAttempts;
+
+    // 첫 재시도 대기 시간
+    @Value("${coupon.issue.retry.base-backoff-millis:1000}")
+    private long baseBackoffMillis;
+
+    // 재시도 대기 시간 상한
+    @Value("${coupon.issue.retry.max-backoff-millis:60000}")
+    private long maxBackoffMillis;
+
+    // 처리 중 상태로 이 시간 이상 머물면 멈춘 요청으로 판단
+    @Value("${coupon.issue.retry.processing-timeout-millis:60000}")
+    private long processingTimeoutMillis;
+
+    /**
+     * 시도 횟수를 모두 소진했는지 여부
+     *
+     * @param attempts 지금까지 시도한 횟수
+     */
+    public boolean isExhausted(int attempts) {
+        return attempts >= maxAttempts;
+    }
+
+    /**
+     * 다음 재시도까지 대기 시간 (지수 백오프)
+     *
+     * @param attempts 지금까지 시도한 횟수 (1부터)
+     * @return 대기 시간 (밀리초)
+     */
+    public long backoffMillis(int attempts) {
+        int exponent = Math.min(Math.max(attempts - 1, 0), 30);
+        return Math.min(baseBackoffMillis << exponent, maxBackoffMillis);
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public long getProcessingTimeoutMillis() {
+        return processingTimeoutMillis;
+    }
+}
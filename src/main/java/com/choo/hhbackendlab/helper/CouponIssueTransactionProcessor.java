@@ -0,0 +1,140 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.User;
+import com.choo.hhbackendlab.entity.UserCoupon;
+import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.UserCouponRepository;
+import com.choo.hhbackendlab.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 선착순 쿠폰 일괄 발급 트랜잭션 처리 컴포넌트
+ * 대기열에서 꺼낸 여러 사용자를 하나의 트랜잭션으로 발급 (Self-invocation 문제 방지를 위해 분리)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponIssueTransactionProcessor {
+
+    private final CouponRepository couponRepository;
+    private final UserRepository userRepository;
+    private final UserCouponRepository userCouponRepository;
+    private final CouponCodeGenerator couponCodeGenerator;
+    private final CouponTemplateCache couponTemplateCache;
+    private final CouponStockAllocator couponStockAllocator;
+
+    /**
+     * 대기 순서대로 쿠폰을 일괄 발급
+     * 1. 이미 발급받은 사용자 / 존재하지 않는 사용자 제외 (IN 쿼리 1회씩)
+     * 2. 쿠폰 템플릿별로 재고를 한 번에 차감 (템플릿은 캐시에서 조회, 락 없이 조건부 UPDATE)
+     * 3. UserCoupon 일괄 저장
+     * 재고를 넘는 요청은 순서상 뒤쪽부터 재고 소진 처리
+     *
+     * @param couponName 쿠폰 이름
+     * @param userIds 대기 순서대로 정렬된 사용자 ID 목록
+     * @return 사용자별 발급 결과
+     */
+    @Transactional
+    public CouponBatchIssueResult issueBatch(String couponName, List<Long> userIds) {
+        CouponBatchIssueResult result = new CouponBatchIssueResult();
+        if (userIds.isEmpty()) {
+            return result;
+        }
+
+        // 1. 중복 발급 제외
+        Set<Long> alreadyIssued = new HashSet<>(
+                userCouponRepository.findIssuedUserIdsByCouponName(couponName, userIds));
+
+        // 2. 사용자 일괄 조회
+        Map<Long, User> users = userRepository.findAllById(userIds).stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
+        List<User> targets = new ArrayList<>();
+        for (Long userId : userIds) {
+            if (alreadyIssued.contains(userId)) {
+                result.addDuplicated(userId);
+            } else if (!users.containsKey(userId)) {
+                result.addFailed(userId, "사용자를 찾을 수 없습니다. User ID: " + userId);
+            } else {
+                targets.add(users.get(userId));
+            }
+        }
+
+        // 3. 쿠폰 템플릿별 재고 일괄 차감 및 발급
+        // 템플릿 메타데이터는 캐시에서 읽고, DB 행은 재고 차감(UPDATE)으로만 접근
+        int index = issueFromTemplates(couponName, couponTemplateCache.getAvailableTemplates(couponName), targets, 0, result);
+        if (index < targets.size()) {
+            // 캐시에 없는 템플릿(다른 노드에서 생성 등)이 있을 수 있으므로 DB에서 다시 조회해 한 번 더 시도
+            index = issueFromTemplates(couponName, couponTemplateCache.reload(couponName), targets, index, result);
+        }
+
+        // 4. 남은 요청은 재고 소진
+        for (User user : targets.subList(index, targets.size())) {
+            result.addSoldOut(user.getId());
+        }
+
+        log.debug("쿠폰 일괄 발급 - couponName: {}, 요청: {}, 발급: {}, 중복: {}, 소진: {}, 실패: {}",
+                couponName, userIds.size(), result.getIssuedCouponIds().size(),
+                result.getDuplicatedUserIds().size(), result.getSoldOutUserIds().size(),
+                result.getFailedUserIds().size());
+
+        return result;
+    }
+
+    /**
+     * 템플릿 순서대로 재고를 차감하고 UserCoupon 일괄 저장
+     *
+     * @param index 발급을 시작할 대상 위치
+     * @return 다음 발급 대상 위치
+     */
+    private int issueFromTemplates(String couponName, List<CouponTemplate> templates, List<User> targets,
+                                   int index, CouponBatchIssueResult result) {
+        for (CouponTemplate template : templates) {
+            if (index >= targets.size()) {
+                break;
+            }
+
+            int quantity = decreaseStock(couponName, template, targets.size() - index);
+            if (quantity == 0) {
+                continue;
+            }
+
+            Coupon coupon = couponRepository.getReferenceById(template.getId());
+            List<User> issueTargets = targets.subList(index, index + quantity);
+            List<UserCoupon> userCoupons = new ArrayList<>(quantity);
+            for (User user : issueTargets) {
+                userCoupons.add(new UserCoupon(coupon, user, couponCodeGenerator.generate()));
+            }
+
+            List<UserCoupon> saved = userCouponRepository.saveAll(userCoupons);
+            for (int i = 0; i < saved.size(); i++) {
+                result.addIssued(issueTargets.get(i).getId(), saved.get(i).getId());
+            }
+
+            index += quantity;
+        }
+        return index;
+    }
+
+    /**
+     * 템플릿 재고를 최대 requested만큼 차감 (CouponStockAllocator, 분할 재고 포함)
+     * 소진된 템플릿은 캐시에서 제외
+     *
+     * @return 실제 차감한 수량 (0이면 소진)
+     */
+    private int decreaseStock(String couponName, CouponTemplate template, int requested) {
+        int quantity = couponStockAllocator.decreaseUpTo(template, requested);
+        if (quantity == 0) {
+            couponTemplateCache.markExhausted(couponName, template.getId());
+        }
+        return quantity;
+    }
+}
@@ -0,0 +1,94 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.CouponStockStripeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 쿠폰 템플릿 재고 차감 (락 없이 조건부 UPDATE)
+ *
+ * 분할하지 않은 쿠폰은 COUPON 행을 차감하고, 분할 재고를 사용하는 쿠폰(CouponTemplate.isStriped)은
+ * 임의의 분할 행부터 차감을 시도하여 재고가 없으면 다음 분할 행으로 넘어감
+ * 동시 요청이 서로 다른 분할 행의 락을 잡으므로 인기 쿠폰의 행 락 대기가 분할 수만큼 분산됨
+ * (재고가 거의 소진되면 빈 분할 행을 건너뛰는 UPDATE가 늘어나지만 최대 분할 수만큼만 시도)
+ *
+ * 호출하는 쪽의 트랜잭션 안에서 실행되어야 함
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponStockAllocator {
+
+    private final CouponRepository couponRepository;
+    private final CouponStockStripeRepository couponStockStripeRepository;
+
+    /**
+     * 재고 1개 차감
+     *
+     * @return 차감 성공 여부 (false면 소진)
+     */
+    public boolean decreaseOne(CouponTemplate template) {
+        if (!template.isStriped()) {
+            return couponRepository.decreaseCouponCount(template.getId()) > 0;
+        }
+
+        int stripes = template.getStockStripes();
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        for (int i = 0; i < stripes; i++) {
+            if (couponStockStripeRepository.decreaseStripeCount(template.getId(), (start + i) % stripes) > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 재고를 최대 requested만큼 차감
+     * 재고가 부족해 차감에 실패하면 잔여 재고를 다시 읽어 그만큼만 차감하고,
+     * 분할 재고는 임의의 분할 행부터 돌아가며 부족한 수량을 채움
+     *
+     * @return 실제 차감한 수량 (0이면 소진)
+     */
+    public int decreaseUpTo(CouponTemplate template, int requested) {
+        if (requested <= 0) {
+            return 0;
+        }
+        if (!template.isStriped()) {
+            return decreaseCouponUpTo(template.getId(), requested);
+        }
+
+        int stripes = template.getStockStripes();
+        int start = ThreadLocalRandom.current().nextInt(stripes);
+        int decreased = 0;
+        for (int i = 0; i < stripes && decreased < requested; i++) {
+            decreased += decreaseStripeUpTo(template.getId(), (start + i) % stripes, requested - decreased);
+        }
+        return decreased;
+    }
+
+    private int decreaseCouponUpTo(Long couponId, int requested) {
+        int quantity = requested;
+        while (quantity > 0) {
+            if (couponRepository.decreaseCouponCountBy(couponId, quantity) > 0) {
+                return quantity;
+            }
+            Integer remaining = couponRepository.findCouponCountById(couponId);
+            quantity = remaining == null ? 0 : Math.min(remaining, requested);
+        }
+        return 0;
+    }
+
+    private int decreaseStripeUpTo(Long couponId, int stripeNo, int requested) {
+        int quantity = requested;
+        while (quantity > 0) {
+            if (couponStockStripeRepository.decreaseStripeCountBy(couponId, stripeNo, quantity) > 0) {
+                return quantity;
+            }
+            Integer remaining = couponStockStripeRepository.findStripeCount(couponId, stripeNo);
+            quantity = remaining == null ? 0 : Math.min(remaining, requested);
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,38 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 쿠폰 템플릿 메타데이터 스냅샷 (CouponTemplateCache 캐시 값)
+ * 발급 중 바뀌지 않는 필드만 보관하고, 재고(couponCnt)는 항상 DB에서 원자적으로 차감
+ */
+@Getter
+public class CouponTemplate {
+
+    private final Long id;
+    private final String name;
+    private final int couponAmount;
+    private final int minOrderAmount;
+    private final LocalDateTime expiredAt;
+    private final int stockStripes;  // 재고 분할 수 (1 이하면 분할하지 않음)
+
+    CouponTemplate(Coupon coupon) {
+        this.id = coupon.getId();
+        this.name = coupon.getName();
+        this.couponAmount = coupon.getCouponAmount();
+        this.minOrderAmount = coupon.getMinOrderAmount();
+        this.expiredAt = coupon.getExpiredAt();
+        this.stockStripes = coupon.getStockStripes();
+    }
+
+    public boolean isStriped() {
+        return stockStripes > 1;
+    }
+
+    public boolean isExpired() {
+        return LocalDateTime.now().isAfter(expiredAt);
+    }
+}
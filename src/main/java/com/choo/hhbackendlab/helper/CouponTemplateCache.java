@@ -0,0 +1,177 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.repository.CouponRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 쿠폰 템플릿 near-cache (이름 / ID 기준)
+ *
+ * 발급할 때마다 같은 템플릿 행을 (비관적 락으로) 다시 읽지 않도록, 바뀌지 않는 메타데이터(금액, 최소 주문 금액, 만료 일시)를
+ * 노드 로컬에 보관하고 재고 차감(UPDATE)만 DB 행에 접근
+ *
+ * 무효화:
+ * - 쿠폰 생성 시 evict() → Redis Pub/Sub으로 모든 노드의 해당 이름 캐시 제거 (이름 / ID 모두)
+ * - 재고 소진 시 markExhausted() → 이 노드의 이름별 발급 후보에서 제외
+ * - 그 외 변경(다른 경로의 재고 추가 등)은 ttl-millis 이후 다시 조회하여 반영
+ *   (이름 / ID 캐시 모두 같은 TTL, 조회되지 않는 오래된 항목은 DB 조회 시 함께 정리)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponTemplateCache {
+
+    private final CouponRepository couponRepository;
+    private final RedisTemplate<String, String> redisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    @Value("${coupon.template-cache.ttl-millis:60000}")
+    private long ttlMillis;
+
+    // 쿠폰 생성 시 캐시 무효화 채널 (메시지: 쿠폰 이름)
+    private static final String EVICT_CHANNEL = "cpn:tpl:evict";
+
+    // 이름 → 발급 가능한 템플릿 목록 (ID 오름차순)
+    private final Map<String, CachedTemplates> templatesByName = new ConcurrentHashMap<>();
+
+    // ID → 템플릿
+    private final Map<Long, CachedTemplate> templatesById = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribeEviction() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> evictLocal(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(EVICT_CHANNEL));
+    }
+
+    /**
+     * 이름으로 발급 가능한 템플릿 목록 조회 (ID 오름차순, 만료 제외)
+     */
+    public List<CouponTemplate> getAvailableTemplates(String couponName) {
+        CachedTemplates cached = templatesByName.get(couponName);
+        if (cached == null || cached.isStale(ttlMillis)) {
+            cached = load(couponName);
+        }
+        return cached.templates.stream()
+                .filter(template -> !template.isExpired())
+                .toList();
+    }
+
+    /**
+     * DB에서 다시 조회하여 이름별 캐시 갱신
+     */
+    public List<CouponTemplate> reload(String couponName) {
+        return load(couponName).templates.stream()
+                .filter(template -> !template.isExpired())
+                .toList();
+    }
+
+    /**
+     * ID로 템플릿 조회
+     */
+    public Optional<CouponTemplate> getById(Long couponId) {
+        CachedTemplate cached = templatesById.get(couponId);
+        if (cached != null && !cached.isStale(ttlMillis)) {
+            return Optional.of(cached.template());
+        }
+        Optional<CouponTemplate> loaded = couponRepository.findById(couponId).map(CouponTemplate::new);
+        if (loaded.isPresent()) {
+            evictStale();
+            templatesById.put(couponId, new CachedTemplate(loaded.get(), System.currentTimeMillis()));
+        } else {
+            templatesById.remove(couponId);
+        }
+        return loaded;
+    }
+
+    /**
+     * 재고가 소진된 템플릿을 이름별 발급 후보에서 제외
+     */
+    public void markExhausted(String couponName, Long couponId) {
+        templatesByName.computeIfPresent(couponName, (name, cached) -> cached.without(couponId));
+    }
+
+    /**
+     * 모든 노드의 이름별 캐시 무효화 (쿠폰 생성 시)
+     */
+    public void evict(String couponName) {
+        evictLocal(couponName);
+        try {
+            redisTemplate.convertAndSend(EVICT_CHANNEL, couponName);
+        } catch (Exception e) {
+            // 다른 노드는 TTL 이후 다시 조회
+            log.warn("쿠폰 템플릿 캐시 무효화 메시지 발행 실패 - couponName: {}", couponName, e);
+        }
+    }
+
+    private void evictLocal(String couponName) {
+        templatesByName.remove(couponName);
+        templatesById.values().removeIf(cached -> cached.template().getName().equals(couponName));
+    }
+
+    private CachedTemplates load(String couponName) {
+        List<Coupon> coupons = couponRepository.findByName(couponName);
+        List<CouponTemplate> templates = coupons.stream()
+                .filter(Coupon::canIssue)
+                .sorted(Comparator.comparing(Coupon::getId))
+                .map(CouponTemplate::new)
+                .toList();
+        long loadedAt = System.currentTimeMillis();
+        evictStale();
+        templates.forEach(template -> templatesById.put(template.getId(), new CachedTemplate(template, loadedAt)));
+
+        CachedTemplates cached = new CachedTemplates(templates, loadedAt);
+        templatesByName.put(couponName, cached);
+        return cached;
+    }
+
+    /**
+     * TTL이 지난 항목 정리 (요청 경로가 아닌 DB 조회 시에만 실행)
+     */
+    private void evictStale() {
+        templatesByName.values().removeIf(cached -> cached.isStale(ttlMillis));
+        templatesById.values().removeIf(cached -> cached.isStale(ttlMillis));
+    }
+
+    private record CachedTemplate(CouponTemplate template, long loadedAt) {
+
+        private boolean isStale(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+    }
+
+    private static final class CachedTemplates {
+
+        private final List<CouponTemplate> templates;
+        private final long loadedAt;
+
+        private CachedTemplates(List<CouponTemplate> templates, long loadedAt) {
+            this.templates = templates;
+            this.loadedAt = loadedAt;
+        }
+
+        private boolean isStale(long ttlMillis) {
+            return System.currentTimeMillis() - loadedAt > ttlMillis;
+        }
+
+        private CachedTemplates without(Long couponId) {
+            return new CachedTemplates(
+                    templates.stream().filter(template -> !template.getId().equals(couponId)).toList(),
+                    loadedAt);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.choo.hhbackendlab.helper;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * long 값 전용 Bloom Filter (스레드 안전, 락 없음)
+ * mightContain()이 false면 확실히 없고, true면 오탐(false positive)일 수 있음
+ */
+final class LongBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitSize;
+    private final int hashCount;
+
+    /**
+     * @param expectedInsertions 예상 원소 수
+     * @param falsePositiveRate 목표 오탐률 (예: 0.01)
+     */
+    LongBloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(expectedInsertions, 1);
+        // m = -n * ln(p) / (ln 2)^2, k = m / n * ln 2
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max((m + 63) / 64, 1);
+        this.bits = new AtomicLongArray(words);
+        this.bitSize = (long) words * 64;
+        this.hashCount = Math.max((int) Math.round((double) m / n * Math.log(2)), 1);
+    }
+
+    void put(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            int word = (int) (index >>> 6);
+            long mask = 1L << index;
+            long current;
+            do {
+                current = bits.get(word);
+                if ((current & mask) != 0) {
+                    break;
+                }
+            } while (!bits.compareAndSet(word, current, current | mask));
+        }
+    }
+
+    boolean mightContain(long value) {
+        long h1 = mix(value);
+        long h2 = mix(h1);
+        for (int i = 0; i < hashCount; i++) {
+            long index = Math.floorMod(h1 + i * h2, bitSize);
+            if ((bits.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * SplitMix64 해시 (순차 증가하는 userId도 고르게 분산)
+     */
+    private static long mix(long z) {
+        z += 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
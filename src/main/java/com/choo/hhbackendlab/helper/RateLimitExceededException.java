@@ -0,0 +1,36 @@
+package com.choo.hhbackendlab.helper;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 허용 요청 수를 넘은 요청 (429 Too Many Requests)
+ * 다시 시도할 수 있을 때까지의 시간을 Retry-After 헤더로 전달
+ */
+public class RateLimitExceededException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String message) {
+        this(message, 1);
+    }
+
+    /**
+     * @param retryAfterSeconds 다시 시도할 수 있을 때까지의 시간 (초, 최소 1)
+     */
+    public RateLimitExceededException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(retryAfterSeconds, 1);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+
+    /**
+     * 대기 시간(ns)을 Retry-After 초 단위로 올림
+     */
+    static long toRetryAfterSeconds(long waitNanos) {
+        long seconds = TimeUnit.NANOSECONDS.toSeconds(waitNanos);
+        return TimeUnit.SECONDS.toNanos(seconds) < waitNanos ? seconds + 1 : seconds;
+    }
+}
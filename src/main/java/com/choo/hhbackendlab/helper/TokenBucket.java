@@ -0,0 +1,49 @@
+package com.choo.hhbackendlab.helper;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 노드 로컬 토큰 버킷 (스레드 안전)
+ * 초당 ratePerSecond개씩 토큰이 채워지고 최대 burst개까지 쌓임
+ */
+final class TokenBucket {
+
+    private final double burst;
+    private final double tokensPerNano;
+    private final LongSupplier nanoClock;
+
+    private double tokens;
+    private long lastRefillNanos;
+
+    /**
+     * @param ratePerSecond 초당 허용 요청 수
+     * @param burst 순간 최대 허용 요청 수
+     */
+    TokenBucket(double ratePerSecond, double burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucket(double ratePerSecond, double burst, LongSupplier nanoClock) {
+        this.burst = Math.max(burst, 1);
+        this.tokensPerNano = ratePerSecond / 1_000_000_000d;
+        this.nanoClock = nanoClock;
+        this.tokens = this.burst;
+        this.lastRefillNanos = nanoClock.getAsLong();
+    }
+
+    /**
+     * 토큰 1개 획득 시도
+     *
+     * @return 0이면 획득 성공, 아니면 다음 토큰이 채워질 때까지 남은 시간(ns)
+     */
+    synchronized long tryAcquire() {
+        long now = nanoClock.getAsLong();
+        tokens = Math.min(burst, tokens + (now - lastRefillNanos) * tokensPerNano);
+        lastRefillNanos = now;
+        if (tokens < 1) {
+            return tokensPerNano > 0 ? (long) Math.ceil((1 - tokens) / tokensPerNano) : Long.MAX_VALUE;
+        }
+        tokens -= 1;
+        return 0;
+    }
+}
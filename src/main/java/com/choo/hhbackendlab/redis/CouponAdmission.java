@@ -0,0 +1,10 @@
+package com.choo.hhbackendlab.redis;
+
+/**
+ * 대기열 등록 결과
+ *
+ * @param rank 대기 순서 (0부터 시작)
+ * @param admitted 이번 요청으로 새로 등록되었는지 여부 (이미 대기 중이던 사용자의 재요청이면 false)
+ */
+public record CouponAdmission(Long rank, boolean admitted) {
+}
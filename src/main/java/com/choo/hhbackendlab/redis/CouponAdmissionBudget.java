@@ -0,0 +1,84 @@
+package com.choo.hhbackendlab.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * 쿠폰별 전체(클러스터) 대기열 등록 허용량 (Redis 토큰 버킷)
+ *
+ * 요청마다 Redis를 호출하지 않도록 노드가 토큰을 여러 개씩 미리 가져가고(lease),
+ * 가져간 토큰을 다 쓰면 다시 가져감 (CouponAdmissionRateLimiter 참고)
+ * 토큰 충전 시각은 Redis 서버 시간(TIME)을 사용하므로 노드 간 시계 차이의 영향을 받지 않음
+ *
+ * 키 구조:
+ * - cpn:rl:{couponName} : Hash (tk: 남은 토큰, ts: 마지막 충전 시각(ms))
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponAdmissionBudget {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private static final String BUDGET_KEY_PREFIX = "cpn:rl:";   // 쿠폰별 토큰 버킷 (Hash)
+
+    // 사용하지 않는 버킷 만료 시간
+    private static final long IDLE_TTL_MILLIS = 60_000;
+
+    /**
+     * 토큰을 충전한 뒤 요청 수만큼(남은 토큰이 부족하면 남은 만큼) 가져감
+     * KEYS: [토큰 버킷], ARGV: [초당 충전 수, 최대 토큰 수, 요청 수, 만료 시간(ms)]
+     * 반환: 가져간 토큰 수
+     */
+    private static final RedisScript<Long> LEASE_SCRIPT = new DefaultRedisScript<>(
+            "local time = redis.call('TIME') " +
+            "local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000) " +
+            "local rate = tonumber(ARGV[1]) " +
+            "local burst = tonumber(ARGV[2]) " +
+            "local bucket = redis.call('HMGET', KEYS[1], 'tk', 'ts') " +
+            "local tokens = tonumber(bucket[1]) or burst " +
+            "local refilledAt = tonumber(bucket[2]) or now " +
+            "tokens = math.min(burst, tokens + math.max(now - refilledAt, 0) * rate / 1000) " +
+            "local granted = math.min(math.floor(tokens), tonumber(ARGV[3])) " +
+            "tokens = tokens - granted " +
+            "redis.call('HSET', KEYS[1], 'tk', tostring(tokens), 'ts', tostring(now)) " +
+            "redis.call('PEXPIRE', KEYS[1], ARGV[4]) " +
+            "return granted",
+            Long.class);
+
+    /**
+     * 토큰 버킷 키
+     */
+    static String budgetKey(String couponName) {
+        return BUDGET_KEY_PREFIX + couponName;
+    }
+
+    /**
+     * 쿠폰의 전체 허용량에서 토큰을 최대 requested개 가져감
+     *
+     * @param couponName 쿠폰 이름
+     * @param ratePerSecond 클러스터 전체 초당 허용 요청 수
+     * @param burst 순간 최대 허용 요청 수
+     * @param requested 가져갈 토큰 수
+     * @return 가져간 토큰 수 (0이면 허용량 소진)
+     */
+    public long lease(String couponName, long ratePerSecond, long burst, long requested) {
+        Long granted = redisTemplate.execute(LEASE_SCRIPT, List.of(budgetKey(couponName)),
+                String.valueOf(ratePerSecond), String.valueOf(burst), String.valueOf(requested),
+                String.valueOf(IDLE_TTL_MILLIS));
+        return granted != null ? granted : 0L;
+    }
+
+    /**
+     * 토큰 버킷 삭제 (관리자용, 테스트용)
+     *
+     * @param couponName 쿠폰 이름
+     */
+    public void clear(String couponName) {
+        redisTemplate.delete(budgetKey(couponName));
+    }
+}
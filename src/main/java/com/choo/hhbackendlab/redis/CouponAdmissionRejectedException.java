@@ -0,0 +1,23 @@
+package com.choo.hhbackendlab.redis;
+
+/**
+ * 대기열 등록 거절 (재고 소진 / 이미 발급 / 이미 대기 중 등)
+ * 기존 처리와 같이 IllegalStateException(400)으로 응답하고, 거절 사유에 해당하는 요청 상태를 함께 전달
+ * (Redis 장애 중 보관한 요청을 재등록할 때 거절되면 이 상태를 요청 상태에 기록)
+ */
+public class CouponAdmissionRejectedException extends IllegalStateException {
+
+    private final QueueStatus status;
+
+    public CouponAdmissionRejectedException(String message, QueueStatus status) {
+        super(message);
+        this.status = status;
+    }
+
+    /**
+     * 거절된 요청의 상태 (SOLD_OUT / COMPLETED / PENDING / FAILED)
+     */
+    public QueueStatus getStatus() {
+        return status;
+    }
+}
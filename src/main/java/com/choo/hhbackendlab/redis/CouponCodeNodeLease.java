@@ -0,0 +1,91 @@
+package com.choo.hhbackendlab.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 쿠폰 코드 생성 노드 ID 임대(lease)
+ * coupon.code.node-id를 지정하지 않은 노드끼리 같은 노드 ID를 쓰지 않도록 Redis에서 노드 ID를 나눠 받음
+ * 노드가 죽으면 lease 시간이 지나 해제되고, 다른 노드가 다시 사용할 수 있음
+ *
+ * 키 구조:
+ * - cpn:node:seq : String (다음 후보 노드 ID, INCR)
+ * - cpn:node:{nodeId} : String (소유 인스턴스 ID, PX 만료)
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponCodeNodeLease {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private static final String NODE_SEQUENCE_KEY = "cpn:node:seq";   // 다음 후보 노드 ID
+    private static final String NODE_KEY_PREFIX = "cpn:node:";        // 노드 ID 소유권
+
+    /**
+     * 소유자일 때만 만료 시간 연장
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    /**
+     * 소유자일 때만 해제
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    /**
+     * 비어있는 노드 ID 임대
+     * INCR로 받은 후보부터 차례로 SET NX를 시도하므로, 동시에 기동한 노드끼리도 같은 ID를 받지 않음
+     *
+     * @param maxNodeId 최대 노드 ID (0 ~ maxNodeId 중 하나)
+     * @param ownerId 인스턴스 ID
+     * @param leaseMillis 임대 유지 시간 (밀리초)
+     * @return 임대한 노드 ID
+     * @throws IllegalStateException 모든 노드 ID가 사용 중인 경우
+     */
+    public long acquire(long maxNodeId, String ownerId, long leaseMillis) {
+        long nodeCount = maxNodeId + 1;
+        for (long attempt = 0; attempt < nodeCount; attempt++) {
+            Long sequence = redisTemplate.opsForValue().increment(NODE_SEQUENCE_KEY);
+            long candidate = Math.floorMod(sequence == null ? attempt : sequence, nodeCount);
+            Boolean acquired = redisTemplate.opsForValue()
+                    .setIfAbsent(NODE_KEY_PREFIX + candidate, ownerId, Duration.ofMillis(leaseMillis));
+            if (Boolean.TRUE.equals(acquired)) {
+                return candidate;
+            }
+        }
+        throw new IllegalStateException("사용 가능한 쿠폰 코드 노드 ID가 없습니다. (최대 " + nodeCount + "개)");
+    }
+
+    /**
+     * 노드 ID 임대 연장
+     *
+     * @return 여전히 소유 중인지 여부
+     */
+    public boolean renew(long nodeId, String ownerId, long leaseMillis) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT,
+                List.of(NODE_KEY_PREFIX + nodeId), ownerId, String.valueOf(leaseMillis));
+        return renewed != null && renewed == 1;
+    }
+
+    /**
+     * 노드 ID 반납
+     */
+    public void release(long nodeId, String ownerId) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(NODE_KEY_PREFIX + nodeId), ownerId);
+    }
+}
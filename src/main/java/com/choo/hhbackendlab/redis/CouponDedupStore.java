@@ -0,0 +1,10 @@
+package com.choo.hhbackendlab.redis;
+
+/**
+ * 쿠폰 발급 완료(중복 발급 방지) 기록 저장 방식
+ * coupon.issue.dedup-store 설정으로 선택
+ */
+public enum CouponDedupStore {
+    KEY,      // 사용자마다 String 키 (cpn:isu:{couponName}:{userId})
+    BITMAP    // 쿠폰마다 Bitmap 1개 (cpn:isb:{couponName}, userId를 offset으로 사용)
+}
@@ -1,34 +1,58 @@
 package com.choo.hhbackendlab.redis;
 
-import com.choo.hhbackendlab.entity.*;
-import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.helper.CouponBatchIssueResult;
+import com.choo.hhbackendlab.helper.CouponDuplicateRequestGuard;
+import com.choo.hhbackendlab.helper.CouponIssueMetrics;
+import com.choo.hhbackendlab.helper.CouponIssueRetryPolicy;
+import com.choo.hhbackendlab.helper.CouponIssueTransactionProcessor;
 import com.choo.hhbackendlab.repository.UserCouponRepository;
-import com.choo.hhbackendlab.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.redis.core.RedisOperations;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.SessionCallback;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.LongConsumer;
 
 /**
  * Redis Sorted Set을 활용한 선착순 쿠폰 발급 서비스
  *
  * 주요 기능:
- * 1. Redis Sorted Set에 발급 요청을 타임스탬프 순으로 저장
- * 2. Redis String으로 중복 발급 방지
- * 3. 원자적 연산으로 동시성 보장
+ * 1. Redis Sorted Set에 발급 요청을 도착 순(Redis 전역 시퀀스)으로 저장
+ * 2. Redis String 또는 Bitmap으로 중복 발급 방지 (CouponIssuedUserStore)
+ * 3. Lua 스크립트 / 원자적 연산으로 동시성 보장
  * 4. TTL 설정으로 자동 만료
  *
  * 키 구조:
- * - cpn:wl:{couponName} : Sorted Set (userId를 member로, timestamp를 score로 저장)
- * - cpn:isu:{couponName}:{userId} : String (발급 완료 여부 체크)
+ * - cpn:wl:{couponName} : Sorted Set (userId를 member로, 도착 순번을 score로 저장)
+ * - cpn:seq : String (대기열 도착 순번, 등록 스크립트 안에서 INCR)
+ * - cpn:isu:{couponName}:{userId} / cpn:isb:{couponName} : 발급 완료 여부 체크 (CouponIssuedUserStore 참고)
+ * - cpn:act : Set (대기열이 존재하는 쿠폰 이름 목록, KEYS 스캔 대체)
+ * - cpn:pnd : String (전체 대기 요청 수 카운터)
+ * - cpn:stk:{couponName} : String (Redis 재고 카운터, CouponStockCounter 참고)
+ * - cpn:rs:{couponName} : Hash (요청별 발급 상태, CouponIssueStatusStore 참고)
+ * - cpn:inf:{couponName} : Sorted Set (대기열에서 꺼내 처리 중인 요청, score는 대기열로 되돌릴 시간)
+ * - cpn:ifs:{couponName} : Hash (처리 중인 요청의 원래 대기열 score, 되돌릴 때 순서 유지)
+ * - cpn:att:{couponName} : Hash (요청별 처리 시도 횟수)
+ * - cpn:ifa : Set (처리 중인 요청이 있는 쿠폰 이름 목록, CouponIssueReaper가 순회)
+ * - cpn:exp / cpn:so : 쿠폰 수명 인덱스 (만료 시각 / 재고 소진, CouponLifecycleIndex 참고)
  */
 @Slf4j
 @Service
@@ -36,85 +60,233 @@ import java.util.concurrent.TimeUnit;
 public class CouponIssue {
 
     private final RedisTemplate<String, String> redisTemplate;
-    private final CouponRepository couponRepository;
-    private final UserRepository userRepository;
+    private final CouponIssueTransactionProcessor couponIssueTransactionProcessor;
+    private final CouponStockCounter couponStockCounter;
+    private final CouponIssuedUserStore couponIssuedUserStore;
+    private final CouponDuplicateRequestGuard couponDuplicateRequestGuard;
+    private final CouponIssueStatusStore couponIssueStatusStore;
+    private final CouponIssueRetryPolicy couponIssueRetryPolicy;
+    private final CouponLifecycleIndex couponLifecycleIndex;
+    private final CouponIssueMetrics couponIssueMetrics;
     private final UserCouponRepository userCouponRepository;
 
+    // 한 번에 대기열에서 꺼내 발급할 최대 요청 수
+    @Value("${coupon.issue.batch-size:100}")
+    private int batchSize;
+
     // Redis 키 접두사 (메모리 최적화)
-    private static final String WAITING_LIST_KEY_PREFIX = "cpn:wl:";   // 발급 대기열 (Sorted Set)
-    private static final String ISSUED_KEY_PREFIX = "cpn:isu:";        // 발급 완료
+    static final String WAITING_LIST_KEY_PREFIX = "cpn:wl:";   // 발급 대기열 (Sorted Set)
+    static final String ACTIVE_COUPONS_KEY = "cpn:act";        // 활성 대기열 레지스트리 (Set)
+    static final String PENDING_COUNT_KEY = "cpn:pnd";         // 전체 대기 요청 수
+    static final String IN_FLIGHT_KEY_PREFIX = "cpn:inf:";     // 처리 중인 요청 (Sorted Set)
+    static final String IN_FLIGHT_SCORE_KEY_PREFIX = "cpn:ifs:"; // 처리 중인 요청의 원래 score (Hash)
+    static final String ATTEMPT_KEY_PREFIX = "cpn:att:";       // 요청별 처리 시도 횟수 (Hash)
+    static final String IN_FLIGHT_COUPONS_KEY = "cpn:ifa";     // 처리 중인 요청이 있는 쿠폰 레지스트리 (Set)
+    static final String ARRIVAL_SEQUENCE_KEY = "cpn:seq";       // 대기열 도착 순번 (String)
+
+    // 비어있던 대기열에 요청이 들어오면 워커를 깨우기 위한 Pub/Sub 채널
+    public static final String WAKE_UP_CHANNEL = "cpn:wake";
+
+    /**
+     * 대기열이 비어있을 때만 레지스트리에서 제거
+     * ZCARD 확인과 SREM을 원자적으로 처리하여, 제거 직전에 들어온 요청이 레지스트리에서 누락되지 않도록 함
+     * 반환: 제거 1, 이미 제거됨 0, 그 사이 새 요청이 들어와 비어있지 않음 -1
+     */
+    private static final RedisScript<Long> DEREGISTER_IF_EMPTY_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('ZCARD', KEYS[1]) == 0 then " +
+            "  return redis.call('SREM', KEYS[2], ARGV[1]) " +
+            "end " +
+            "return -1",
+            Long.class);
+
+    private static final long DEREGISTER_NOT_EMPTY = -1L;
+
+    /**
+     * 대기열 등록 스크립트 (Redis 왕복 1회)
+     * KEYS: [발급 완료 키, 대기열, 활성 대기열 레지스트리, 전체 대기 카운터, 재고 카운터, 요청 상태, 도착 순번]
+     * ARGV: [userId, TTL(초), couponName, 워커 깨우기 채널, 발급 완료 저장 방식]
+     * score는 스크립트 안에서 INCR한 도착 순번을 사용 (Redis가 스크립트를 하나씩 실행하므로 노드 수와 관계없이
+     * Redis에 도착한 순서가 곧 대기 순서, 노드별 System.nanoTime()은 기준점이 달라 노드 간 순서를 비교할 수 없음)
+     * 반환: [결과, 신규 등록 여부(1/0)]
+     *       결과는 대기 순서(0부터), 이미 발급받은 사용자 -1, 재고 소진 -2, 재고 카운터 미초기화 -3
+     * 이미 대기 중인 사용자는 재고를 차감하지 않고 기존 순서만 반환 (신규 등록 여부 0)
+     * 레지스트리에 새로 등록된 대기열(비어있다가 요청이 들어온 경우)이면 워커를 깨우는 메시지 발행
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<Long>> ADMISSION_SCRIPT = new DefaultRedisScript<>(
+            "local function admit() " +
+            CouponIssuedUserStore.issuedCheckLua(5) +
+            "if redis.call('ZSCORE', KEYS[2], ARGV[1]) then " +
+            "  return redis.call('ZRANK', KEYS[2], ARGV[1]), 0 " +
+            "end " +
+            "local stock = redis.call('GET', KEYS[5]) " +
+            "if not stock then " +
+            "  return -3 " +
+            "end " +
+            "if tonumber(stock) <= 0 then " +
+            "  return -2 " +
+            "end " +
+            "redis.call('DECR', KEYS[5]) " +
+            "redis.call('ZADD', KEYS[2], redis.call('INCR', KEYS[7]), ARGV[1]) " +
+            "redis.call('INCR', KEYS[4]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[2]) " +
+            "redis.call('HSET', KEYS[6], ARGV[1], '" + QueueStatus.PENDING.name() + "') " +
+            "redis.call('EXPIRE', KEYS[6], ARGV[2]) " +
+            "if redis.call('SADD', KEYS[3], ARGV[3]) == 1 then " +
+            "  redis.call('PUBLISH', ARGV[4], ARGV[3]) " +
+            "end " +
+            "return redis.call('ZRANK', KEYS[2], ARGV[1]), 1 " +
+            "end " +
+            "local result, admitted = admit() " +
+            "return {result, admitted or 0}",
+            (Class<List<Long>>) (Class) List.class);
+
+    private static final long ADMISSION_ALREADY_ISSUED = -1L;
+    private static final long ADMISSION_SOLD_OUT = -2L;
+    private static final long ADMISSION_STOCK_NOT_INITIALIZED = -3L;
+
+    /**
+     * 대기열 앞쪽 요청을 꺼내 처리 중 목록으로 옮기는 스크립트
+     * 꺼낸 뒤 발급 전에 노드가 죽어도 처리 중 목록에 남으므로 CouponIssueReaper가 대기열로 되돌림
+     * KEYS: [대기열, 처리 중 목록, 원래 score, 시도 횟수, 전체 대기 카운터, 처리 중 레지스트리]
+     * ARGV: [최대 건수, 처리 기한(ms), couponName]
+     * 반환: [userId, 시도 횟수, 도착 순번, userId, 시도 횟수, 도착 순번, ...]
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> CLAIM_SCRIPT = new DefaultRedisScript<>(
+            "local popped = redis.call('ZPOPMIN', KEYS[1], ARGV[1]) " +
+            "if #popped == 0 then " +
+            "  return {} " +
+            "end " +
+            "local result = {} " +
+            "for i = 1, #popped, 2 do " +
+            "  redis.call('ZADD', KEYS[2], ARGV[2], popped[i]) " +
+            "  redis.call('HSET', KEYS[3], popped[i], popped[i + 1]) " +
+            "  result[#result + 1] = popped[i] " +
+            "  result[#result + 1] = tostring(redis.call('HINCRBY', KEYS[4], popped[i], 1)) " +
+            "  result[#result + 1] = popped[i + 1] " +
+            "end " +
+            "redis.call('DECRBY', KEYS[5], #popped / 2) " +
+            "redis.call('SADD', KEYS[6], ARGV[3]) " +
+            "return result",
+            (Class<List<String>>) (Class) List.class);
+
+    /**
+     * 처리를 마친 요청을 처리 중 목록에서 제거
+     * KEYS: [처리 중 목록, 원래 score, 시도 횟수], ARGV: [userId...]
+     */
+    private static final RedisScript<Long> ACKNOWLEDGE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('HDEL', KEYS[2], unpack(ARGV)) " +
+            "redis.call('HDEL', KEYS[3], unpack(ARGV)) " +
+            "return redis.call('ZREM', KEYS[1], unpack(ARGV))",
+            Long.class);
+
+    /**
+     * 발급 트랜잭션이 실패한 요청의 되돌릴 시간을 재시도 시간으로 변경 (처리 중 목록에 남아있는 요청만)
+     * KEYS: [처리 중 목록], ARGV: [재시도 시간(ms), userId, 재시도 시간(ms), userId, ...]
+     */
+    private static final RedisScript<Long> RETRY_LATER_SCRIPT = new DefaultRedisScript<>(
+            "return redis.call('ZADD', KEYS[1], 'XX', 'CH', unpack(ARGV))",
+            Long.class);
+
+    /**
+     * 되돌릴 시간이 지난 처리 중 요청을 원래 score로 대기열에 되돌리고, 시도 횟수를 모두 소진한 요청은 격리
+     * KEYS: [처리 중 목록, 원래 score, 시도 횟수, 대기열, 활성 대기열 레지스트리, 전체 대기 카운터, 처리 중 레지스트리]
+     * ARGV: [현재 시간(ms), 최대 건수, 최대 시도 횟수, couponName, 워커 깨우기 채널, TTL(초)]
+     * 반환: [되돌린 건수, 격리한 userId...]
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<String>> REAP_SCRIPT = new DefaultRedisScript<>(
+            "local due = redis.call('ZRANGEBYSCORE', KEYS[1], '-inf', ARGV[1], 'LIMIT', 0, ARGV[2]) " +
+            "local requeued = 0 " +
+            "local result = {''} " +
+            "for _, member in ipairs(due) do " +
+            "  local score = redis.call('HGET', KEYS[2], member) " +
+            "  local attempts = tonumber(redis.call('HGET', KEYS[3], member) or '0') " +
+            "  redis.call('ZREM', KEYS[1], member) " +
+            "  redis.call('HDEL', KEYS[2], member) " +
+            "  if score and attempts < tonumber(ARGV[3]) then " +
+            "    redis.call('ZADD', KEYS[4], score, member) " +
+            "    requeued = requeued + 1 " +
+            "  else " +
+            "    redis.call('HDEL', KEYS[3], member) " +
+            "    result[#result + 1] = member " +
+            "  end " +
+            "end " +
+            "if requeued > 0 then " +
+            "  redis.call('INCRBY', KEYS[6], requeued) " +
+            "  redis.call('EXPIRE', KEYS[4], ARGV[6]) " +
+            "  if redis.call('SADD', KEYS[5], ARGV[4]) == 1 then " +
+            "    redis.call('PUBLISH', ARGV[5], ARGV[4]) " +
+            "  end " +
+            "end " +
+            "if redis.call('ZCARD', KEYS[1]) == 0 then " +
+            "  redis.call('SREM', KEYS[7], ARGV[4]) " +
+            "end " +
+            "result[1] = tostring(requeued) " +
+            "return result",
+            (Class<List<String>>) (Class) List.class);
 
     // TTL 설정 (7일)
     private static final long TTL_DAYS = 7;
 
+    // 대기열 정리 시 한 번에 꺼낼 요청 수
+    private static final int PURGE_CHUNK_SIZE = 1000;
+
     /**
      * 선착순 쿠폰 발급 요청을 Redis Sorted Set에 추가
-     * Redis Pipeline을 사용하여 중복 체크, 대기열 추가, TTL 설정을 원자적으로 처리
+     * Lua 스크립트 한 번(왕복 1회)으로 중복 체크, 대기열 추가, TTL 갱신, 순서 조회를 원자적으로 처리
+     * DB 중복 체크와 쿠폰 재고 확인은 발급 시점(CouponIssueTransactionProcessor)에서 수행
      *
      * @param userId 사용자 ID
      * @param couponName 쿠폰 이름
      * @return 대기열 순서 (0부터 시작)
      */
-    @Transactional
     public Long addToWaitingList(Long userId, String couponName) {
+        return admit(userId, couponName).rank();
+    }
+
+    /**
+     * 선착순 쿠폰 발급 요청을 대기열에 추가하고, 이번 요청으로 새로 등록되었는지 함께 반환
+     * 이미 대기 중인 사용자의 재요청은 기존 순서와 admitted = false를 반환 (등록 수 지표에서 제외)
+     *
+     * @param userId 사용자 ID
+     * @param couponName 쿠폰 이름
+     * @return 대기 순서와 신규 등록 여부
+     */
+    public CouponAdmission admit(Long userId, String couponName) {
         try {
-            String waitingListKey = WAITING_LIST_KEY_PREFIX + couponName;
-            String issuedKey = ISSUED_KEY_PREFIX + couponName + ":" + userId;
+            List<Long> reply = executeAdmission(userId, couponName);
 
-            // 1. 이미 발급받은 사용자인지 확인 (Redis 체크)
-            Boolean alreadyIssued = redisTemplate.hasKey(issuedKey);
-            if (Boolean.TRUE.equals(alreadyIssued)) {
-                log.warn("이미 발급받은 쿠폰 - userId: {}, couponName: {}", userId, couponName);
-                throw new IllegalStateException("이미 발급받은 쿠폰입니다.");
+            // 재고 카운터가 없으면 DB 잔여 재고로 초기화 후 한 번 더 시도
+            if (reply != null && reply.get(0) == ADMISSION_STOCK_NOT_INITIALIZED) {
+                couponStockCounter.seed(couponName);
+                reply = executeAdmission(userId, couponName);
             }
 
-            // 2. DB에서도 중복 체크 (Redis 장애 대비)
-            Coupon coupon = couponRepository.findFirstAvailableCouponByName(couponName)
-                    .orElseThrow(() -> new IllegalStateException("발급 가능한 쿠폰이 없습니다. 쿠폰명: " + couponName));
-
-            boolean alreadyIssuedInDB = userCouponRepository.existsByUserIdAndCouponId(userId, coupon.getId());
-            if (alreadyIssuedInDB) {
-                log.warn("DB에 이미 발급 기록 존재 - userId: {}, couponId: {}", userId, coupon.getId());
-
-                // Redis에도 발급 완료 마킹
-                redisTemplate.opsForValue().set(issuedKey, "1", TTL_DAYS, TimeUnit.DAYS);
-                throw new IllegalStateException("이미 발급받은 쿠폰입니다.");
+            Long result = reply == null ? null : reply.get(0);
+            if (result == null || result == ADMISSION_STOCK_NOT_INITIALIZED) {
+                log.error("대기열 추가 실패 - userId: {}, couponName: {}", userId, couponName);
+                throw new CouponAdmissionRejectedException("대기열 추가에 실패했습니다.", QueueStatus.FAILED);
             }
 
-            // 3. Redis Pipeline으로 원자적 처리 (대기열 추가 + TTL 설정)
-            double score = System.nanoTime();
-
-            redisTemplate.executePipelined(new SessionCallback<Object>() {
-                @Override
-                public Object execute(RedisOperations operations) throws DataAccessException {
-                    ZSetOperations<String, String> zSetOps = operations.opsForZSet();
-
-                    // Sorted Set에 추가
-                    zSetOps.add(waitingListKey, userId.toString(), score);
-
-                    // TTL 설정
-                    operations.expire(waitingListKey, TTL_DAYS, TimeUnit.DAYS);
-
-                    return null;
-                }
-            });
-
-            // 4. 대기열 추가 확인
-            ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-            Double addedScore = zSetOps.score(waitingListKey, userId.toString());
-
-            if (addedScore == null) {
-                log.error("대기열 추가 실패 - userId: {}, couponName: {}", userId, couponName);
-                throw new IllegalStateException("대기열 추가에 실패했습니다.");
+            if (result == ADMISSION_ALREADY_ISSUED) {
+                log.warn("이미 발급받은 쿠폰 - userId: {}, couponName: {}", userId, couponName);
+                couponDuplicateRequestGuard.recordIssued(couponName, List.of(userId));
+                throw new CouponAdmissionRejectedException("이미 발급받은 쿠폰입니다.", QueueStatus.COMPLETED);
             }
 
-            // 5. 대기열 순서 조회
-            Long rank = zSetOps.rank(waitingListKey, userId.toString());
+            if (result == ADMISSION_SOLD_OUT) {
+                log.debug("쿠폰 재고 소진 - userId: {}, couponName: {}", userId, couponName);
+                throw new CouponAdmissionRejectedException(
+                        "발급 가능한 쿠폰이 없습니다. 쿠폰명: " + couponName, QueueStatus.SOLD_OUT);
+            }
 
-            log.info("쿠폰 발급 대기열 추가 완료 - userId: {}, couponName: {}, rank: {}, score: {}",
-                    userId, couponName, rank, score);
+            boolean admitted = reply.get(1) == 1L;
+            log.info("쿠폰 발급 대기열 추가 완료 - userId: {}, couponName: {}, rank: {}, admitted: {}",
+                    userId, couponName, result, admitted);
 
-            return rank != null ? rank : 0L;
+            return new CouponAdmission(result, admitted);
 
         } catch (IllegalStateException e) {
             throw e;
@@ -124,27 +296,40 @@ public class CouponIssue {
         }
     }
 
+    /**
+     * 대기열 등록 스크립트 실행
+     */
+    private List<Long> executeAdmission(Long userId, String couponName) {
+        String waitingListKey = WAITING_LIST_KEY_PREFIX + couponName;
+        String issuedKey = couponIssuedUserStore.issuedKey(couponName, userId);
+
+        return redisTemplate.execute(ADMISSION_SCRIPT,
+                List.of(issuedKey, waitingListKey, ACTIVE_COUPONS_KEY, PENDING_COUNT_KEY,
+                        CouponStockCounter.stockKey(couponName), CouponIssueStatusStore.statusKey(couponName),
+                        ARRIVAL_SEQUENCE_KEY),
+                userId.toString(),
+                String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)), couponName, WAKE_UP_CHANNEL,
+                couponIssuedUserStore.issuedMode(userId));
+    }
+
     /**
      * Sorted Set에서 가장 오래된(가장 작은 score) 요청 하나를 처리
      *
      * @return 처리 성공 여부
      */
-    @Transactional
     public boolean processNextRequest() {
         try {
-            // 모든 쿠폰의 대기열을 처리하기 위해 쿠폰 이름 목록을 가져와야 하지만,
-            // 현재는 단순화를 위해 특정 패턴의 키들을 찾아서 처리
-            Set<String> waitingListKeys = redisTemplate.keys(WAITING_LIST_KEY_PREFIX + "*");
+            // 활성 대기열 레지스트리에서 쿠폰 이름 목록 조회 (KEYS 스캔 없이 O(활성 쿠폰 수))
+            Set<String> couponNames = getActiveCouponNames();
 
-            if (waitingListKeys == null || waitingListKeys.isEmpty()) {
+            if (couponNames.isEmpty()) {
                 log.debug("처리할 대기열이 없습니다.");
                 return false;
             }
 
             // 각 쿠폰의 대기열에서 하나씩 처리
             boolean processed = false;
-            for (String waitingListKey : waitingListKeys) {
-                String couponName = waitingListKey.substring(WAITING_LIST_KEY_PREFIX.length());
+            for (String couponName : couponNames) {
                 if (processNextInWaitingList(couponName)) {
                     processed = true;
                     break; // 하나 처리했으면 종료
@@ -159,113 +344,333 @@ public class CouponIssue {
         }
     }
 
+    /**
+     * 특정 쿠폰의 대기열에서 최대 batchSize건 일괄 처리
+     *
+     * @param couponName 쿠폰 이름
+     * @return 대기열에서 꺼낸 요청 수 (0이면 처리할 요청 없음)
+     */
+    public int processNextBatch(String couponName) {
+        return processBatch(couponName, batchSize);
+    }
+
     /**
      * 특정 쿠폰의 Sorted Set에서 가장 앞의 요청 하나를 처리
      *
      * @param couponName 쿠폰 이름
      * @return 처리 성공 여부
      */
-    @Transactional
     public boolean processNextInWaitingList(String couponName) {
-        String waitingListKey = WAITING_LIST_KEY_PREFIX + couponName;
+        return processBatch(couponName, 1) > 0;
+    }
 
-        try {
-            ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
+    /**
+     * 특정 쿠폰의 Sorted Set에서 앞쪽 요청을 최대 count건 꺼내 하나의 트랜잭션으로 발급
+     * ZPOPMIN으로 꺼내므로 여러 노드가 동시에 처리해도 같은 요청을 중복으로 가져가지 않음
+     * 꺼낸 요청은 발급 결과를 반영할 때까지 처리 중 목록(cpn:inf)에 남겨두고,
+     * 발급 트랜잭션이 실패하면 백오프 후 CouponIssueReaper가 원래 score로 대기열에 되돌림
+     *
+     * @param couponName 쿠폰 이름
+     * @param count 한 번에 꺼낼 최대 요청 수
+     * @return 대기열에서 꺼내 처리한 요청 수
+     */
+    public int processBatch(String couponName, int count) {
+        // 1. 가장 앞의 요청 count건을 원자적으로 꺼내 처리 중 목록으로 이동
+        Map<Long, ClaimedRequest> claimed = claim(couponName, count);
+
+        if (claimed.isEmpty()) {
+            log.debug("처리할 대기열 요청 없음 - couponName: {}", couponName);
+            long deregistered = deregisterIfEmpty(couponName);
+            if (deregistered == DEREGISTER_NOT_EMPTY) {
+                // 비어있는 것을 확인한 직후 새 요청이 들어옴 (레지스트리에 남아있어 깨우기 메시지가 없으므로 바로 처리)
+                return processBatch(couponName, count);
+            }
+            if (deregistered > 0) {
+                // 대기열이 모두 처리되면 Redis 재고 카운터를 DB 기준으로 재설정
+                couponStockCounter.reconcile(couponName);
+            }
+            return 0;
+        }
 
-            // 1. 가장 앞의 요청 하나를 가져오기
-            Set<String> members = zSetOps.range(waitingListKey, 0, 0);
+        List<Long> userIds = new ArrayList<>(claimed.keySet());
 
-            if (members == null || members.isEmpty()) {
-                log.debug("처리할 대기열 요청 없음 - couponName: {}", couponName);
-                return false;
-            }
+        log.info("쿠폰 발급 처리 시작 - couponName: {}, count: {}", couponName, userIds.size());
 
-            String userIdStr = members.iterator().next();
-            Long userId = Long.parseLong(userIdStr);
+        long startedAt = System.nanoTime();
+        try {
+            // 2. 실제 쿠폰 일괄 발급
+            CouponBatchIssueResult result = issueBatch(couponName, userIds);
+            couponIssueMetrics.recordBatch(couponName, result, System.nanoTime() - startedAt);
 
-            // 2. Sorted Set에서 제거 (처리 시작)
-            Long removed = zSetOps.remove(waitingListKey, userIdStr);
+            // 3. 발급 결과 Redis 반영 후 처리 중 목록에서 제거
+            applyIssueResult(couponName, result);
+            acknowledge(couponName, userIds);
+            couponIssueMetrics.recordWaitsBySequence(couponName,
+                    claimed.values().stream().map(ClaimedRequest::arrivalSequence).toList());
 
-            if (removed == null || removed == 0) {
-                log.debug("다른 프로세스에서 이미 처리됨 - userId: {}, couponName: {}", userId, couponName);
-                return false;
-            }
+            return claimed.size();
 
-            log.info("쿠폰 발급 처리 시작 - userId: {}, couponName: {}", userId, couponName);
+        } catch (Exception e) {
+            log.error("쿠폰 발급 처리 실패, 재시도 대기 - couponName: {}, count: {}", couponName, claimed.size(), e);
+            couponIssueMetrics.recordBatchFailure(couponName, claimed.size(), System.nanoTime() - startedAt);
+            retryLater(couponName, claimed);
+            return 0;
+        }
+    }
 
-            // 3. 실제 쿠폰 발급
-            Long issuedCouponId = issueCoupon(userId, couponName);
+    /**
+     * 일괄 발급 트랜잭션 실행
+     * 처리 기한이 지나 다른 워커가 같은 요청을 동시에 처리하면 (쿠폰, 사용자) 유니크 제약 위반으로 롤백되므로 한 번 더 실행
+     * (다시 실행하면 먼저 커밋된 발급이 중복 확인에 걸려 DUPLICATED로 분류됨)
+     */
+    CouponBatchIssueResult issueBatch(String couponName, List<Long> userIds) {
+        try {
+            return couponIssueTransactionProcessor.issueBatch(couponName, userIds);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("다른 워커가 먼저 발급한 요청 포함, 중복 확인 후 다시 발급 - couponName: {}, count: {}",
+                    couponName, userIds.size());
+            return couponIssueTransactionProcessor.issueBatch(couponName, userIds);
+        }
+    }
 
-            // 4. 발급 완료 마킹 (Redis에 추가)
-            String issuedKey = ISSUED_KEY_PREFIX + couponName + ":" + userId;
-            redisTemplate.opsForValue().set(issuedKey, "1", TTL_DAYS, TimeUnit.DAYS);
+    /**
+     * 대기열 앞쪽 요청을 최대 count건 꺼내 처리 중 목록으로 이동
+     *
+     * @return userId → 꺼낸 요청 (대기열 순서)
+     */
+    private Map<Long, ClaimedRequest> claim(String couponName, int count) {
+        long deadline = System.currentTimeMillis() + couponIssueRetryPolicy.getProcessingTimeoutMillis();
+        List<String> result = redisTemplate.execute(CLAIM_SCRIPT,
+                List.of(WAITING_LIST_KEY_PREFIX + couponName, IN_FLIGHT_KEY_PREFIX + couponName,
+                        IN_FLIGHT_SCORE_KEY_PREFIX + couponName, ATTEMPT_KEY_PREFIX + couponName,
+                        PENDING_COUNT_KEY, IN_FLIGHT_COUPONS_KEY),
+                String.valueOf(count), String.valueOf(deadline), couponName);
+
+        Map<Long, ClaimedRequest> claimed = new LinkedHashMap<>();
+        if (result == null) {
+            return claimed;
+        }
+        for (int i = 0; i + 2 < result.size(); i += 3) {
+            claimed.put(Long.parseLong(result.get(i)), new ClaimedRequest(
+                    Integer.parseInt(result.get(i + 1)), (long) Double.parseDouble(result.get(i + 2))));
+        }
+        return claimed;
+    }
 
-            log.info("쿠폰 발급 완료 - userId: {}, couponName: {}, issuedCouponId: {}",
-                    userId, couponName, issuedCouponId);
+    /**
+     * 대기열에서 꺼낸 요청
+     *
+     * @param attempts 처리 시도 횟수 (이번 시도 포함)
+     * @param arrivalSequence 대기열 score (도착 순번, 대기 시간 지표용)
+     */
+    private record ClaimedRequest(int attempts, long arrivalSequence) {
+    }
 
-            return true;
+    /**
+     * 처리를 마친 요청을 처리 중 목록에서 제거
+     */
+    private void acknowledge(String couponName, List<Long> userIds) {
+        redisTemplate.execute(ACKNOWLEDGE_SCRIPT,
+                List.of(IN_FLIGHT_KEY_PREFIX + couponName, IN_FLIGHT_SCORE_KEY_PREFIX + couponName,
+                        ATTEMPT_KEY_PREFIX + couponName),
+                userIds.stream().map(String::valueOf).toArray());
+    }
 
+    /**
+     * 발급 트랜잭션이 실패한 요청을 지수 백오프 후 대기열로 되돌리도록 처리 중 목록의 시간을 변경
+     * 시도 횟수를 모두 소진한 요청은 바로 되돌릴 시간으로 두어, CouponIssueReaper가 다음 주기에 격리
+     */
+    private void retryLater(String couponName, Map<Long, ClaimedRequest> claimed) {
+        long now = System.currentTimeMillis();
+        List<String> args = new ArrayList<>(claimed.size() * 2);
+        claimed.forEach((userId, request) -> {
+            int attempts = request.attempts();
+            long retryAt = couponIssueRetryPolicy.isExhausted(attempts)
+                    ? now
+                    : now + couponIssueRetryPolicy.backoffMillis(attempts);
+            args.add(String.valueOf(retryAt));
+            args.add(userId.toString());
+        });
+        try {
+            redisTemplate.execute(RETRY_LATER_SCRIPT, List.of(IN_FLIGHT_KEY_PREFIX + couponName), args.toArray());
         } catch (Exception e) {
-            log.error("쿠폰 발급 처리 실패 - couponName: {}", couponName, e);
-            return false;
+            // 변경하지 못해도 처리 기한이 지나면 CouponIssueReaper가 되돌림
+            log.error("재시도 시간 변경 실패 - couponName: {}, count: {}", couponName, claimed.size(), e);
         }
     }
 
     /**
-     * 실제 쿠폰 발급 로직
+     * 되돌릴 시간이 지난 처리 중 요청(발급 실패 후 백오프가 끝났거나, 처리 노드가 죽어 기한이 지난 요청)을 최대 limit건 회수
+     * 시도 횟수가 남은 요청은 원래 score로 대기열에 되돌리고, 모두 소진한 요청은 DEAD_LETTER로 격리 후 재고 반환
      *
-     * @param userId 사용자 ID
      * @param couponName 쿠폰 이름
-     * @return 발급된 UserCoupon ID
+     * @param limit 최대 건수
+     * @return 회수한 요청 수 (되돌림 + 격리)
+     */
+    public int reapInFlight(String couponName, int limit) {
+        List<String> result = redisTemplate.execute(REAP_SCRIPT,
+                List.of(IN_FLIGHT_KEY_PREFIX + couponName, IN_FLIGHT_SCORE_KEY_PREFIX + couponName,
+                        ATTEMPT_KEY_PREFIX + couponName, WAITING_LIST_KEY_PREFIX + couponName,
+                        ACTIVE_COUPONS_KEY, PENDING_COUNT_KEY, IN_FLIGHT_COUPONS_KEY),
+                String.valueOf(System.currentTimeMillis()), String.valueOf(limit),
+                String.valueOf(couponIssueRetryPolicy.getMaxAttempts()), couponName, WAKE_UP_CHANNEL,
+                String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)));
+
+        if (result == null || result.isEmpty()) {
+            return 0;
+        }
+        int requeued = Integer.parseInt(result.get(0));
+        List<Long> deadLettered = result.subList(1, result.size()).stream().map(Long::parseLong).toList();
+
+        if (requeued > 0) {
+            log.warn("처리 중 요청 대기열 복귀 - couponName: {}, count: {}", couponName, requeued);
+        }
+        if (!deadLettered.isEmpty()) {
+            log.error("재시도 한도 초과로 발급 요청 격리 - couponName: {}, count: {}", couponName, deadLettered.size());
+            int isolated = settleExhausted(couponName, deadLettered, couponIssueStatusStore::markDeadLetter);
+            couponIssueMetrics.recordDeadLettered(couponName, isolated);
+        }
+        return requeued + deadLettered.size();
+    }
+
+    /**
+     * 재시도 한도를 넘은 요청 정리
+     * 발급 트랜잭션은 커밋됐지만 결과 반영 / 처리 완료 확인이 실패해 재처리된 요청일 수 있으므로,
+     * DB에 발급 기록이 있는 사용자는 발급 완료로 반영하고 나머지만 재고를 반환한 뒤 격리 상태로 기록
+     * (DB를 조회할 수 없으면 초과 발급을 막기 위해 재고를 반환하지 않고 격리)
+     *
+     * @param markExhausted 발급되지 않은 요청의 상태 기록 (DEAD_LETTER / FAILED)
+     * @return 발급되지 않아 격리한 요청 수
      */
-    private Long issueCoupon(Long userId, String couponName) {
-        // 사용자 조회
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. User ID: " + userId));
+    int settleExhausted(String couponName, List<Long> userIds, BiConsumer<String, Collection<Long>> markExhausted) {
+        List<Long> issued;
+        try {
+            issued = userCouponRepository.findIssuedUserIdsByCouponName(couponName, userIds);
+        } catch (Exception e) {
+            log.error("격리 요청의 발급 여부 확인 실패, 재고 반환 없이 격리 - couponName: {}, count: {}",
+                    couponName, userIds.size(), e);
+            markExhausted.accept(couponName, userIds);
+            return userIds.size();
+        }
 
-        // 발급 가능한 쿠폰 템플릿 조회 (비관적 락)
-        Coupon coupon = couponRepository.findFirstAvailableCouponByNameWithLock(couponName)
-                .orElseThrow(() -> new IllegalStateException("발급 가능한 쿠폰이 없습니다. 쿠폰명: " + couponName));
+        if (!issued.isEmpty()) {
+            log.warn("이미 발급된 격리 대상 요청을 발급 완료로 반영 - couponName: {}, count: {}", couponName, issued.size());
+            couponIssuedUserStore.markIssued(couponName, issued);
+            couponDuplicateRequestGuard.recordIssued(couponName, issued);
+            couponIssueStatusStore.markCompleted(couponName, issued);
+        }
+        Set<Long> issuedUserIds = new HashSet<>(issued);
+        List<Long> unissued = userIds.stream().filter(userId -> !issuedUserIds.contains(userId)).toList();
+        couponStockCounter.refund(couponName, unissued.size());
+        markExhausted.accept(couponName, unissued);
+        return unissued.size();
+    }
 
-        // 재고 감소 (원자적 업데이트)
-        int updatedRows = couponRepository.decreaseCouponCount(coupon.getId());
-        if (updatedRows == 0) {
-            throw new IllegalStateException("쿠폰 재고 부족 - couponName: " + couponName);
+    /**
+     * 처리 중인 요청이 있는 쿠폰 이름 목록 조회
+     */
+    public Set<String> getInFlightCouponNames() {
+        Set<String> couponNames = redisTemplate.opsForSet().members(IN_FLIGHT_COUPONS_KEY);
+        return couponNames != null ? couponNames : Collections.emptySet();
+    }
+
+    /**
+     * 발급 결과를 Redis에 반영
+     * 1. 발급 완료 마킹 (신규 발급 + 기존 발급)
+     * 2. 대기열 등록 시 차감했지만 발급하지 않은 재고 반환 (중복, 사용자 없음)
+     */
+    void applyIssueResult(String couponName, CouponBatchIssueResult result) {
+        couponIssuedUserStore.markIssued(couponName, result.getIssuedOrDuplicatedUserIds());
+        couponDuplicateRequestGuard.recordIssued(couponName, result.getIssuedOrDuplicatedUserIds());
+        couponIssueStatusStore.applyResult(couponName, result);
+
+        couponStockCounter.refund(couponName,
+                result.getDuplicatedUserIds().size() + result.getFailedUserIds().size());
+
+        if (!result.getSoldOutUserIds().isEmpty()) {
+            log.info("쿠폰 재고 소진으로 발급 불가 - couponName: {}, count: {}",
+                    couponName, result.getSoldOutUserIds().size());
+            // 남은 대기 요청은 CouponWaitingListPurger가 한 번에 SOLD_OUT 처리
+            couponLifecycleIndex.markSoldOut(couponName);
         }
+        result.getFailedUserIds().forEach((userId, reason) ->
+                log.warn("쿠폰 발급 실패 - userId: {}, couponName: {}, reason: {}", userId, couponName, reason));
+
+        log.info("쿠폰 발급 완료 - couponName: {}, issued: {}", couponName, result.getIssuedCouponIds().size());
+    }
 
-        // 쿠폰 발급 (UserCoupon 생성)
-        UserCoupon userCoupon = coupon.issueCoupon(user);
+    /**
+     * 만료되었거나 재고가 소진된 쿠폰의 대기열 정리
+     * 남은 요청을 PURGE_CHUNK_SIZE건씩 꺼내 DB 조회 없이 SOLD_OUT 처리하고 대기열을 레지스트리에서 제거
+     * ZPOPMIN으로 꺼내므로 워커와 동시에 실행되어도 같은 요청을 중복 처리하지 않음
+     *
+     * @param couponName 쿠폰 이름
+     * @return SOLD_OUT 처리한 요청 수
+     */
+    public int purgeWaitingList(String couponName) {
+        String waitingListKey = WAITING_LIST_KEY_PREFIX + couponName;
+        int purged = 0;
+        do {
+            Set<ZSetOperations.TypedTuple<String>> popped;
+            while ((popped = redisTemplate.opsForZSet().popMin(waitingListKey, PURGE_CHUNK_SIZE)) != null
+                    && !popped.isEmpty()) {
+                redisTemplate.opsForValue().decrement(PENDING_COUNT_KEY, popped.size());
+                List<Long> userIds = popped.stream().map(tuple -> Long.parseLong(tuple.getValue())).toList();
+                couponIssueStatusStore.markSoldOut(couponName, userIds);
+                purged += userIds.size();
+            }
+            // 정리 도중 들어온 요청(재고 카운터 재설정 전)이 있으면 한 번 더 정리
+        } while (deregisterIfEmpty(couponName) == DEREGISTER_NOT_EMPTY);
 
-        // UserCoupon 저장
-        UserCoupon saved = userCouponRepository.save(userCoupon);
+        // 대기열이 비었으므로 재고 카운터를 DB 기준(만료 / 소진이면 0)으로 재설정해 이후 등록을 바로 거절
+        couponStockCounter.reconcile(couponName);
+        couponLifecycleIndex.remove(couponName);
+        // 더 이상 요청이 들어오지 않는 쿠폰이므로 노드 로컬 중복 요청 기록도 삭제
+        couponDuplicateRequestGuard.clear(couponName);
 
-        return saved.getId();
+        if (purged > 0) {
+            log.info("만료 / 재고 소진 쿠폰 대기열 정리 - couponName: {}, count: {}", couponName, purged);
+        }
+        return purged;
     }
 
     /**
      * 대기 중인 발급 요청 개수 조회
+     * 대기열 추가/처리 시 갱신되는 카운터를 읽으므로 O(1)
      */
     public long getPendingRequestCount() {
         try {
-            Set<String> waitingListKeys = redisTemplate.keys(WAITING_LIST_KEY_PREFIX + "*");
-            if (waitingListKeys == null || waitingListKeys.isEmpty()) {
+            String count = redisTemplate.opsForValue().get(PENDING_COUNT_KEY);
+            if (count == null) {
                 return 0;
             }
-
-            long totalCount = 0;
-            ZSetOperations<String, String> zSetOps = redisTemplate.opsForZSet();
-            for (String waitingListKey : waitingListKeys) {
-                Long size = zSetOps.size(waitingListKey);
-                totalCount += (size != null ? size : 0);
-            }
-
-            return totalCount;
+            return Math.max(Long.parseLong(count), 0L);
         } catch (Exception e) {
             log.error("대기열 개수 조회 실패", e);
             return 0;
         }
     }
 
+    /**
+     * 대기열이 존재하는 쿠폰 이름 목록 조회 (활성 대기열 레지스트리)
+     */
+    public Set<String> getActiveCouponNames() {
+        Set<String> couponNames = redisTemplate.opsForSet().members(ACTIVE_COUPONS_KEY);
+        return couponNames != null ? couponNames : Collections.emptySet();
+    }
+
+    /**
+     * 대기열이 비었으면 활성 대기열 레지스트리에서 제거
+     *
+     * @param couponName 쿠폰 이름
+     * @return 제거 1, 이미 제거됨 0, 대기열이 비어있지 않음 -1
+     */
+    private long deregisterIfEmpty(String couponName) {
+        Long removed = redisTemplate.execute(DEREGISTER_IF_EMPTY_SCRIPT,
+                List.of(WAITING_LIST_KEY_PREFIX + couponName, ACTIVE_COUPONS_KEY), couponName);
+        return removed != null ? removed : 0L;
+    }
+
     /**
      * 특정 쿠폰의 대기열 크기 조회
      *
@@ -279,6 +684,40 @@ public class CouponIssue {
         return size != null ? size : 0L;
     }
 
+    /**
+     * 여러 쿠폰의 대기열 크기를 파이프라인으로 한 번에 조회 (지표 수집용)
+     *
+     * @param couponNames 쿠폰 이름 목록
+     * @return 쿠폰 이름 → 대기 중인 요청 개수
+     */
+    public Map<String, Long> getWaitingListSizes(Collection<String> couponNames) {
+        List<String> names = new ArrayList<>(couponNames);
+        List<Object> sizes = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (String couponName : names) {
+                    operations.opsForZSet().zCard(WAITING_LIST_KEY_PREFIX + couponName);
+                }
+                return null;
+            }
+        });
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            Object size = sizes.get(i);
+            result.put(names.get(i), size != null ? ((Number) size).longValue() : 0L);
+        }
+        return result;
+    }
+
+    /**
+     * 현재 도착 순번 조회 (마지막으로 등록된 요청의 score)
+     */
+    public long getArrivalSequence() {
+        String sequence = redisTemplate.opsForValue().get(ARRIVAL_SEQUENCE_KEY);
+        return sequence != null ? Long.parseLong(sequence) : 0L;
+    }
+
     /**
      * 사용자의 대기열 순서 조회
      *
@@ -293,6 +732,31 @@ public class CouponIssue {
         return rank != null ? rank : -1L;
     }
 
+    /**
+     * 여러 사용자의 대기열 순서를 파이프라인으로 한 번에 조회 (Redis 왕복 1회)
+     *
+     * @param couponNames 쿠폰 이름 목록
+     * @param userIds 사용자 ID 목록 (couponNames와 같은 위치끼리 한 쌍)
+     * @return 대기 순서 목록 (0부터 시작, 없으면 -1, 요청 순서와 동일)
+     */
+    public List<Long> getUserWaitingPositions(List<String> couponNames, List<Long> userIds) {
+        List<Object> ranks = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (int i = 0; i < userIds.size(); i++) {
+                    operations.opsForZSet().rank(WAITING_LIST_KEY_PREFIX + couponNames.get(i), userIds.get(i).toString());
+                }
+                return null;
+            }
+        });
+        List<Long> positions = new ArrayList<>(ranks.size());
+        for (Object rank : ranks) {
+            positions.add(rank != null ? ((Number) rank).longValue() : -1L);
+        }
+        return positions;
+    }
+
     /**
      * 대기열 초기화 (관리자용)
      *
@@ -300,7 +764,18 @@ public class CouponIssue {
      */
     public void clearWaitingList(String couponName) {
         String waitingListKey = WAITING_LIST_KEY_PREFIX + couponName;
-        redisTemplate.delete(waitingListKey);
+        Long size = redisTemplate.opsForZSet().size(waitingListKey);
+        redisTemplate.unlink(List.of(waitingListKey, IN_FLIGHT_KEY_PREFIX + couponName,
+                IN_FLIGHT_SCORE_KEY_PREFIX + couponName, ATTEMPT_KEY_PREFIX + couponName));
+        redisTemplate.opsForSet().remove(ACTIVE_COUPONS_KEY, couponName);
+        redisTemplate.opsForSet().remove(IN_FLIGHT_COUPONS_KEY, couponName);
+        if (size != null && size > 0) {
+            redisTemplate.opsForValue().decrement(PENDING_COUNT_KEY, size);
+        }
+        // 버려진 대기 요청이 차감한 재고를 DB 기준으로 복구
+        couponStockCounter.reconcile(couponName);
+        couponDuplicateRequestGuard.clear(couponName);
+        couponIssueStatusStore.clear(couponName);
         log.info("대기열 초기화 완료 - couponName: {}", couponName);
     }
 
@@ -310,11 +785,20 @@ public class CouponIssue {
      * @param couponName 쿠폰 이름
      */
     public void clearIssuedRecords(String couponName) {
-        String pattern = ISSUED_KEY_PREFIX + couponName + ":*";
-        Set<String> keys = redisTemplate.keys(pattern);
-        if (keys != null && !keys.isEmpty()) {
-            redisTemplate.delete(keys);
-            log.info("발급 완료 기록 초기화 완료 - couponName: {}, count: {}", couponName, keys.size());
-        }
+        clearIssuedRecords(couponName, deleted -> { });
+    }
+
+    /**
+     * 발급 완료 기록 초기화 (진행 상황 전달)
+     * 키를 SCAN + UNLINK로 나눠서 삭제하므로 트래픽이 있는 중에도 실행 가능 (호출 스레드는 끝날 때까지 대기)
+     *
+     * @param couponName 쿠폰 이름
+     * @param onBatchDeleted 배치마다 삭제한 키 수를 전달
+     * @return 삭제한 키 수
+     */
+    public long clearIssuedRecords(String couponName, LongConsumer onBatchDeleted) {
+        long deleted = couponIssuedUserStore.clear(couponName, onBatchDeleted);
+        couponDuplicateRequestGuard.clear(couponName);
+        return deleted;
     }
 }
\ No newline at end of file
@@ -0,0 +1,36 @@
+package com.choo.hhbackendlab.redis;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 쿠폰 발급 상태 변경 이벤트 (Pub/Sub 메시지)
+ * 배치 단위로 한 번 발행하며, 메시지 형식은 첫 줄 쿠폰 이름, 이후 줄마다 "userId:상태"
+ */
+@Getter
+@RequiredArgsConstructor
+public class CouponIssueStatusEvent {
+
+    private final String couponName;
+    private final Map<Long, QueueStatus> statuses;
+
+    String encode() {
+        StringBuilder message = new StringBuilder(couponName);
+        statuses.forEach((userId, status) -> message.append('\n').append(userId).append(':').append(status.name()));
+        return message.toString();
+    }
+
+    public static CouponIssueStatusEvent decode(String message) {
+        String[] lines = message.split("\n");
+        Map<Long, QueueStatus> statuses = new LinkedHashMap<>();
+        for (int i = 1; i < lines.length; i++) {
+            int separator = lines[i].lastIndexOf(':');
+            statuses.put(Long.parseLong(lines[i].substring(0, separator)),
+                    QueueStatus.valueOf(lines[i].substring(separator + 1)));
+        }
+        return new CouponIssueStatusEvent(lines[0], statuses);
+    }
+}
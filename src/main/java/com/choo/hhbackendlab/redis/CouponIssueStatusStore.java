@@ -0,0 +1,145 @@
+package com.choo.hhbackendlab.redis;
+
+import com.choo.hhbackendlab.helper.CouponBatchIssueResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선착순 쿠폰 발급 요청 상태 (Redis Hash)
+ *
+ * 클라이언트가 발급 결과를 확인하려고 발급 API(쓰기 경로)를 다시 호출하지 않도록
+ * 요청별 상태를 HGET 한 번으로 조회할 수 있게 저장하고, 상태가 바뀌면 Pub/Sub으로 알림
+ * - 대기열 등록 시 PENDING (등록 스크립트에서 기록)
+ * - 발급 처리 후 COMPLETED / SOLD_OUT / FAILED
+ * - 재시도 한도를 넘으면 DEAD_LETTER
+ *
+ * 키 구조:
+ * - cpn:rs:{couponName} : Hash (userId → QueueStatus)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponIssueStatusStore {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CouponIssuedUserStore couponIssuedUserStore;
+
+    private static final String STATUS_KEY_PREFIX = "cpn:rs:";   // 발급 요청 상태 (Hash)
+
+    // 상태 변경 알림 채널
+    public static final String STATUS_CHANNEL = "cpn:rs:evt";
+
+    // TTL 설정 (7일)
+    private static final long TTL_DAYS = 7;
+
+    static String statusKey(String couponName) {
+        return STATUS_KEY_PREFIX + couponName;
+    }
+
+    /**
+     * 발급 결과를 요청 상태에 반영하고 변경 이벤트 발행 (Pipeline 1회)
+     */
+    void applyResult(String couponName, CouponBatchIssueResult result) {
+        Map<Long, QueueStatus> statuses = new LinkedHashMap<>();
+        result.getIssuedOrDuplicatedUserIds().forEach(userId -> statuses.put(userId, QueueStatus.COMPLETED));
+        result.getSoldOutUserIds().forEach(userId -> statuses.put(userId, QueueStatus.SOLD_OUT));
+        result.getFailedUserIds().keySet().forEach(userId -> statuses.put(userId, QueueStatus.FAILED));
+        update(couponName, statuses);
+    }
+
+    /**
+     * 발급 완료 처리 (발급은 커밋됐지만 결과를 반영하지 못한 채 격리 대상이 된 요청)
+     */
+    void markCompleted(String couponName, Collection<Long> userIds) {
+        Map<Long, QueueStatus> statuses = new LinkedHashMap<>();
+        userIds.forEach(userId -> statuses.put(userId, QueueStatus.COMPLETED));
+        update(couponName, statuses);
+    }
+
+    /**
+     * 발급 실패 처리
+     */
+    public void markFailed(String couponName, Collection<Long> userIds) {
+        Map<Long, QueueStatus> statuses = new LinkedHashMap<>();
+        userIds.forEach(userId -> statuses.put(userId, QueueStatus.FAILED));
+        update(couponName, statuses);
+    }
+
+    /**
+     * 재고 소진 처리 (만료 / 재고 소진된 쿠폰의 대기열 정리, 보관 요청 재등록 거절 시)
+     */
+    public void markSoldOut(String couponName, Collection<Long> userIds) {
+        Map<Long, QueueStatus> statuses = new LinkedHashMap<>();
+        userIds.forEach(userId -> statuses.put(userId, QueueStatus.SOLD_OUT));
+        update(couponName, statuses);
+    }
+
+    /**
+     * 재시도 한도 초과로 격리 처리
+     */
+    void markDeadLetter(String couponName, Collection<Long> userIds) {
+        Map<Long, QueueStatus> statuses = new LinkedHashMap<>();
+        userIds.forEach(userId -> statuses.put(userId, QueueStatus.DEAD_LETTER));
+        update(couponName, statuses);
+    }
+
+    private void update(String couponName, Map<Long, QueueStatus> statuses) {
+        if (statuses.isEmpty()) {
+            return;
+        }
+        String statusKey = statusKey(couponName);
+        Map<String, String> fields = new LinkedHashMap<>();
+        statuses.forEach((userId, status) -> fields.put(userId.toString(), status.name()));
+        String event = new CouponIssueStatusEvent(couponName, statuses).encode();
+
+        try {
+            redisTemplate.executePipelined(new SessionCallback<Object>() {
+                @Override
+                @SuppressWarnings("unchecked")
+                public Object execute(RedisOperations operations) throws DataAccessException {
+                    operations.opsForHash().putAll(statusKey, fields);
+                    operations.expire(statusKey, TTL_DAYS, TimeUnit.DAYS);
+                    operations.convertAndSend(STATUS_CHANNEL, event);
+                    return null;
+                }
+            });
+        } catch (Exception e) {
+            // 상태 기록 실패는 발급 결과에 영향을 주지 않음 (발급 완료 여부는 발급 기록으로도 조회 가능)
+            log.error("발급 요청 상태 기록 실패 - couponName: {}, count: {}", couponName, statuses.size(), e);
+        }
+    }
+
+    /**
+     * 요청 상태 조회
+     * 상태 기록이 없어도 발급 기록이 있으면 COMPLETED
+     *
+     * @return 요청 상태 (요청 내역이 없으면 null)
+     */
+    public QueueStatus getStatus(String couponName, Long userId) {
+        Object status = redisTemplate.opsForHash().get(statusKey(couponName), userId.toString());
+        if (status != null) {
+            return QueueStatus.valueOf(status.toString());
+        }
+        if (couponIssuedUserStore.isIssued(couponName, userId)) {
+            return QueueStatus.COMPLETED;
+        }
+        return null;
+    }
+
+    /**
+     * 요청 상태 초기화
+     */
+    public void clear(String couponName) {
+        redisTemplate.delete(statusKey(couponName));
+    }
+}
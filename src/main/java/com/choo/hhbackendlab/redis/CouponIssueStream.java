@@ -0,0 +1,433 @@
+package com.choo.hhbackendlab.redis;
+
+import com.choo.hhbackendlab.helper.CouponBatchIssueResult;
+import com.choo.hhbackendlab.helper.CouponDuplicateRequestGuard;
+import com.choo.hhbackendlab.helper.CouponIssueMetrics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.stream.*;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.StreamOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Redis Streams + Consumer Group을 활용한 선착순 쿠폰 발급 서비스 (CouponIssue의 Streams 버전)
+ *
+ * Sorted Set 방식은 ZPOPMIN으로 꺼낸 뒤 발급 트랜잭션이 커밋되기 전에 노드가 죽으면 요청이 사라지지만,
+ * Streams 방식은 XREADGROUP으로 읽은 요청이 XACK 전까지 Pending Entries List(PEL)에 남으므로
+ * 일정 시간(min-idle) 이상 확인되지 않은 요청을 다른 워커가 XCLAIM으로 가져가 재처리
+ * 이미 발급된 요청을 재처리해도 일괄 발급 시 USER_COUPON 중복 체크로 걸러지므로 중복 발급 없음
+ *
+ * 키 구조:
+ * - cpn:st:{couponName} : Stream (field userId, 처리 완료 시 XACK + XDEL)
+ * - cpn:stq:{couponName} : Set (대기 중인 userId, 중복 등록 방지)
+ * - 발급 완료 / 활성 대기열 레지스트리 / 대기 카운터 / 재고 카운터 / 요청 상태는 CouponIssue와 공유
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponIssueStream {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CouponIssue couponIssue;
+    private final CouponStockCounter couponStockCounter;
+    private final CouponIssuedUserStore couponIssuedUserStore;
+    private final CouponDuplicateRequestGuard couponDuplicateRequestGuard;
+    private final CouponIssueStatusStore couponIssueStatusStore;
+    private final CouponIssueMetrics couponIssueMetrics;
+
+    // 한 번에 읽어 발급할 최대 요청 수
+    @Value("${coupon.issue.batch-size:100}")
+    private int batchSize;
+
+    // 이 시간 이상 확인(XACK)되지 않은 요청은 다른 워커가 가져가 재처리
+    @Value("${coupon.issue.stream.min-idle-millis:30000}")
+    private long minIdleMillis;
+
+    // 최대 전달 횟수 (초과 시 재처리하지 않고 실패 처리)
+    @Value("${coupon.issue.stream.max-deliveries:5}")
+    private int maxDeliveries;
+
+    private static final String STREAM_KEY_PREFIX = "cpn:st:";     // 발급 대기 스트림
+    private static final String QUEUED_KEY_PREFIX = "cpn:stq:";    // 대기 중인 사용자 (Set)
+    private static final String CONSUMER_GROUP = "cpn-issuers";
+    private static final String USER_ID_FIELD = "userId";
+
+    // TTL 설정 (7일)
+    private static final long TTL_DAYS = 7;
+
+    /**
+     * 대기열 등록 스크립트 (Redis 왕복 1회)
+     * KEYS: [발급 완료 키, 대기 사용자 Set, 활성 대기열 레지스트리, 전체 대기 카운터, 재고 카운터, 스트림, 요청 상태]
+     * ARGV: [userId, TTL(초), couponName, 워커 깨우기 채널, 발급 완료 저장 방식]
+     * 반환: [결과, 신규 등록 여부(1/0)]
+     *       결과는 XLEN - 1, 이미 발급받은 사용자 -1, 재고 소진 -2, 재고 카운터 미초기화 -3
+     * XLEN - 1은 이 사용자의 순서가 아닌 스트림 길이 기준 값 (스트림은 사용자별 위치를 조회할 수 없음)
+     * - 새로 등록한 요청은 맨 뒤에 추가되므로 대기 순서와 같음 (처리 중인 요청 포함)
+     * - 이미 대기 중인 사용자의 재요청은 재고를 차감하지 않고 신규 등록 여부 0으로 반환하며, 이때 값은 실제 순서의 상한
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private static final RedisScript<List<Long>> ADMISSION_SCRIPT = new DefaultRedisScript<>(
+            "local function admit() " +
+            CouponIssuedUserStore.issuedCheckLua(5) +
+            "if redis.call('SISMEMBER', KEYS[2], ARGV[1]) == 1 then " +
+            "  return redis.call('XLEN', KEYS[6]) - 1, 0 " +
+            "end " +
+            "local stock = redis.call('GET', KEYS[5]) " +
+            "if not stock then " +
+            "  return -3 " +
+            "end " +
+            "if tonumber(stock) <= 0 then " +
+            "  return -2 " +
+            "end " +
+            "redis.call('DECR', KEYS[5]) " +
+            "redis.call('XADD', KEYS[6], '*', 'userId', ARGV[1]) " +
+            "redis.call('SADD', KEYS[2], ARGV[1]) " +
+            "redis.call('INCR', KEYS[4]) " +
+            "redis.call('EXPIRE', KEYS[6], ARGV[2]) " +
+            "redis.call('EXPIRE', KEYS[2], ARGV[2]) " +
+            "redis.call('HSET', KEYS[7], ARGV[1], '" + QueueStatus.PENDING.name() + "') " +
+            "redis.call('EXPIRE', KEYS[7], ARGV[2]) " +
+            "if redis.call('SADD', KEYS[3], ARGV[3]) == 1 then " +
+            "  redis.call('PUBLISH', ARGV[4], ARGV[3]) " +
+            "end " +
+            "return redis.call('XLEN', KEYS[6]) - 1, 1 " +
+            "end " +
+            "local result, admitted = admit() " +
+            "return {result, admitted or 0}",
+            (Class<List<Long>>) (Class) List.class);
+
+    private static final long ADMISSION_ALREADY_ISSUED = -1L;
+    private static final long ADMISSION_SOLD_OUT = -2L;
+    private static final long ADMISSION_STOCK_NOT_INITIALIZED = -3L;
+
+    /**
+     * 스트림이 비어있을 때만 레지스트리에서 제거 (처리 중인 요청은 XACK 전까지 스트림에 남아있음)
+     */
+    private static final RedisScript<Long> DEREGISTER_IF_EMPTY_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('XLEN', KEYS[1]) == 0 then " +
+            "  return redis.call('SREM', KEYS[2], ARGV[1]) " +
+            "end " +
+            "return -1",
+            Long.class);
+
+    // Consumer Group 생성이 확인된 스트림
+    private final Set<String> initializedStreams = ConcurrentHashMap.newKeySet();
+
+    /**
+     * 선착순 쿠폰 발급 요청을 스트림에 추가
+     *
+     * @param userId 사용자 ID
+     * @param couponName 쿠폰 이름
+     * @return 대기열 순서 (0부터 시작, 처리 중인 요청 포함, 이미 대기 중이면 스트림 길이 기준 상한)
+     */
+    public Long addToWaitingList(Long userId, String couponName) {
+        return admit(userId, couponName).rank();
+    }
+
+    /**
+     * 선착순 쿠폰 발급 요청을 스트림에 추가하고 등록 결과 반환
+     * 이미 대기 중인 사용자의 재요청은 Sorted Set 방식과 같이 성공으로 응답 (admitted = false)
+     * 단, 스트림에서는 사용자별 위치를 알 수 없어 순서 대신 스트림 길이 기준 값(XLEN - 1, 실제 순서의 상한)을 반환
+     *
+     * @param userId 사용자 ID
+     * @param couponName 쿠폰 이름
+     * @return 대기 순서와 신규 등록 여부
+     */
+    public CouponAdmission admit(Long userId, String couponName) {
+        try {
+            List<Long> reply = executeAdmission(userId, couponName);
+
+            // 재고 카운터가 없으면 DB 잔여 재고로 초기화 후 한 번 더 시도
+            if (reply != null && reply.get(0) == ADMISSION_STOCK_NOT_INITIALIZED) {
+                couponStockCounter.seed(couponName);
+                reply = executeAdmission(userId, couponName);
+            }
+
+            Long result = reply == null ? null : reply.get(0);
+            if (result == null || result == ADMISSION_STOCK_NOT_INITIALIZED) {
+                log.error("대기열 추가 실패 - userId: {}, couponName: {}", userId, couponName);
+                throw new CouponAdmissionRejectedException("대기열 추가에 실패했습니다.", QueueStatus.FAILED);
+            }
+
+            if (result == ADMISSION_ALREADY_ISSUED) {
+                log.warn("이미 발급받은 쿠폰 - userId: {}, couponName: {}", userId, couponName);
+                couponDuplicateRequestGuard.recordIssued(couponName, List.of(userId));
+                throw new CouponAdmissionRejectedException("이미 발급받은 쿠폰입니다.", QueueStatus.COMPLETED);
+            }
+
+            if (result == ADMISSION_SOLD_OUT) {
+                log.debug("쿠폰 재고 소진 - userId: {}, couponName: {}", userId, couponName);
+                throw new CouponAdmissionRejectedException(
+                        "발급 가능한 쿠폰이 없습니다. 쿠폰명: " + couponName, QueueStatus.SOLD_OUT);
+            }
+
+            boolean admitted = reply.get(1) == 1L;
+            log.info("쿠폰 발급 스트림 추가 완료 - userId: {}, couponName: {}, rank: {}, admitted: {}",
+                    userId, couponName, result, admitted);
+            return new CouponAdmission(result, admitted);
+
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("쿠폰 발급 스트림 추가 실패 - userId: {}, couponName: {}", userId, couponName, e);
+            throw new RuntimeException("쿠폰 발급 요청 중 오류가 발생했습니다.", e);
+        }
+    }
+
+    /**
+     * 대기열 등록 스크립트 실행
+     */
+    private List<Long> executeAdmission(Long userId, String couponName) {
+        return redisTemplate.execute(ADMISSION_SCRIPT,
+                List.of(couponIssuedUserStore.issuedKey(couponName, userId),
+                        QUEUED_KEY_PREFIX + couponName,
+                        CouponIssue.ACTIVE_COUPONS_KEY,
+                        CouponIssue.PENDING_COUNT_KEY,
+                        CouponStockCounter.stockKey(couponName),
+                        STREAM_KEY_PREFIX + couponName,
+                        CouponIssueStatusStore.statusKey(couponName)),
+                userId.toString(), String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)),
+                couponName, CouponIssue.WAKE_UP_CHANNEL, couponIssuedUserStore.issuedMode(userId));
+    }
+
+    /**
+     * 스트림에서 새 요청을 최대 batchSize건 읽어(XREADGROUP) 하나의 트랜잭션으로 발급
+     * 발급이 커밋된 후에만 XACK하므로, 실패하거나 노드가 죽은 요청은 PEL에 남아 재처리됨
+     *
+     * @param couponName 쿠폰 이름
+     * @param consumerName 워커(컨슈머) 이름
+     * @return 읽어서 처리한 요청 수
+     */
+    public int processNextBatch(String couponName, String consumerName) {
+        String streamKey = STREAM_KEY_PREFIX + couponName;
+        List<MapRecord<String, String, String>> records;
+        try {
+            records = readNewRecords(streamKey, consumerName);
+        } catch (DataAccessException e) {
+            // 스트림이 만료되어 다시 생성되면 Consumer Group도 사라지므로 재생성 후 한 번 더 시도
+            initializedStreams.remove(streamKey);
+            records = readNewRecords(streamKey, consumerName);
+        }
+
+        if (records == null || records.isEmpty()) {
+            redisTemplate.execute(DEREGISTER_IF_EMPTY_SCRIPT,
+                    List.of(streamKey, CouponIssue.ACTIVE_COUPONS_KEY), couponName);
+            return 0;
+        }
+
+        return issue(couponName, records);
+    }
+
+    /**
+     * min-idle 이상 확인되지 않은 요청(죽은 워커가 읽어간 요청)을 가져와 재처리 (XPENDING + XCLAIM)
+     * 최대 전달 횟수를 넘은 요청은 재처리하지 않고 실패 처리
+     *
+     * @param couponName 쿠폰 이름
+     * @param consumerName 요청을 가져갈 워커(컨슈머) 이름
+     * @return 재처리한 요청 수
+     */
+    public int reclaimPending(String couponName, String consumerName) {
+        String streamKey = STREAM_KEY_PREFIX + couponName;
+        if (!Boolean.TRUE.equals(redisTemplate.hasKey(streamKey))) {
+            return 0;
+        }
+
+        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
+        PendingMessages pendingMessages;
+        try {
+            pendingMessages = streamOps.pending(streamKey, CONSUMER_GROUP, Range.unbounded(), batchSize);
+        } catch (DataAccessException e) {
+            // Consumer Group이 없으면 아직 읽어간 요청도 없음
+            initializedStreams.remove(streamKey);
+            return 0;
+        }
+
+        Duration minIdle = Duration.ofMillis(minIdleMillis);
+        List<RecordId> idleIds = new ArrayList<>();
+        Set<RecordId> exhaustedIds = new HashSet<>();
+        for (PendingMessage pendingMessage : pendingMessages) {
+            if (pendingMessage.getElapsedTimeSinceLastDelivery().compareTo(minIdle) < 0) {
+                continue;
+            }
+            idleIds.add(pendingMessage.getId());
+            if (pendingMessage.getTotalDeliveryCount() >= maxDeliveries) {
+                exhaustedIds.add(pendingMessage.getId());
+            }
+        }
+
+        if (idleIds.isEmpty()) {
+            return 0;
+        }
+
+        List<MapRecord<String, String, String>> claimed = streamOps.claim(
+                streamKey, CONSUMER_GROUP, consumerName, minIdle, idleIds.toArray(new RecordId[0]));
+
+        List<MapRecord<String, String, String>> retryRecords = new ArrayList<>();
+        List<MapRecord<String, String, String>> deadRecords = new ArrayList<>();
+        for (MapRecord<String, String, String> record : claimed) {
+            if (exhaustedIds.contains(record.getId())) {
+                deadRecords.add(record);
+            } else {
+                retryRecords.add(record);
+            }
+        }
+
+        if (!deadRecords.isEmpty()) {
+            log.error("최대 전달 횟수 초과로 발급 실패 처리 - couponName: {}, count: {}", couponName, deadRecords.size());
+            acknowledge(couponName, deadRecords);
+            couponIssue.settleExhausted(couponName, deadRecords.stream()
+                    .map(record -> Long.parseLong(record.getValue().get(USER_ID_FIELD)))
+                    .toList(), couponIssueStatusStore::markFailed);
+        }
+
+        log.info("미확인 발급 요청 재처리 - couponName: {}, count: {}", couponName, retryRecords.size());
+        return issue(couponName, retryRecords) + deadRecords.size();
+    }
+
+    /**
+     * Consumer Group으로 아직 전달되지 않은 요청 읽기 (XREADGROUP ... >)
+     */
+    private List<MapRecord<String, String, String>> readNewRecords(String streamKey, String consumerName) {
+        ensureConsumerGroup(streamKey);
+        StreamOperations<String, String, String> streamOps = redisTemplate.opsForStream();
+        return streamOps.read(
+                Consumer.from(CONSUMER_GROUP, consumerName),
+                StreamReadOptions.empty().count(batchSize),
+                StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+    }
+
+    /**
+     * 읽어온 요청을 일괄 발급하고, 커밋된 경우에만 확인(XACK) 처리
+     */
+    private int issue(String couponName, List<MapRecord<String, String, String>> records) {
+        if (records.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> userIds = new ArrayList<>(records.size());
+        for (MapRecord<String, String, String> record : records) {
+            userIds.add(Long.parseLong(record.getValue().get(USER_ID_FIELD)));
+        }
+
+        long startedAt = System.nanoTime();
+        try {
+            CouponBatchIssueResult result = couponIssue.issueBatch(couponName, userIds);
+            couponIssueMetrics.recordBatch(couponName, result, System.nanoTime() - startedAt);
+            couponIssue.applyIssueResult(couponName, result);
+            acknowledge(couponName, records);
+            // 레코드 ID 앞부분이 Redis에 추가된 시각(ms)
+            couponIssueMetrics.recordWaits(couponName,
+                    records.stream().map(record -> record.getId().getTimestamp()).toList());
+            return records.size();
+        } catch (Exception e) {
+            // XACK하지 않으므로 PEL에 남아 min-idle 이후 재처리됨
+            log.error("쿠폰 발급 처리 실패, 미확인 상태로 유지 - couponName: {}, count: {}", couponName, records.size(), e);
+            couponIssueMetrics.recordBatchFailure(couponName, records.size(), System.nanoTime() - startedAt);
+            return 0;
+        }
+    }
+
+    /**
+     * 처리 완료 확인 (XACK + XDEL + 대기 사용자 제거 + 대기 카운터 감소, Pipeline 1회)
+     */
+    private void acknowledge(String couponName, List<MapRecord<String, String, String>> records) {
+        String streamKey = STREAM_KEY_PREFIX + couponName;
+        String queuedKey = QUEUED_KEY_PREFIX + couponName;
+        RecordId[] recordIds = records.stream().map(MapRecord::getId).toArray(RecordId[]::new);
+        Object[] userIds = records.stream().map(record -> record.getValue().get(USER_ID_FIELD)).toArray();
+
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                operations.opsForStream().acknowledge(streamKey, CONSUMER_GROUP, recordIds);
+                operations.opsForStream().delete(streamKey, recordIds);
+                operations.opsForSet().remove(queuedKey, userIds);
+                operations.opsForValue().decrement(CouponIssue.PENDING_COUNT_KEY, recordIds.length);
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 여러 쿠폰의 대기 사용자 수를 파이프라인으로 한 번에 조회 (지표 수집용)
+     *
+     * @param couponNames 쿠폰 이름 목록
+     * @return 쿠폰 이름 → 대기 중인 요청 개수
+     */
+    public Map<String, Long> getWaitingListSizes(Collection<String> couponNames) {
+        List<String> names = new ArrayList<>(couponNames);
+        List<Object> sizes = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (String couponName : names) {
+                    operations.opsForSet().size(QUEUED_KEY_PREFIX + couponName);
+                }
+                return null;
+            }
+        });
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.size(); i++) {
+            Object size = sizes.get(i);
+            result.put(names.get(i), size != null ? ((Number) size).longValue() : 0L);
+        }
+        return result;
+    }
+
+    /**
+     * Consumer Group 생성 (이미 있으면 무시)
+     * 스트림의 처음(0)부터 읽도록 생성하여, 그룹 생성 전에 들어온 요청도 처리
+     * 스트림이 아직 없으면 MKSTREAM으로 함께 생성 (빈 스트림은 DEREGISTER_IF_EMPTY_SCRIPT가 정리)
+     * 생성에 성공했거나 이미 있는 경우(BUSYGROUP)에만 초기화 완료로 기록하고, 그 외 오류는 다음 호출에서 다시 시도
+     */
+    private void ensureConsumerGroup(String streamKey) {
+        if (initializedStreams.contains(streamKey)) {
+            return;
+        }
+        try {
+            redisTemplate.execute((RedisCallback<String>) connection -> connection.streamCommands().xGroupCreate(
+                    streamKey.getBytes(StandardCharsets.UTF_8), CONSUMER_GROUP, ReadOffset.from("0"), true));
+        } catch (RedisSystemException e) {
+            if (!isBusyGroup(e)) {
+                throw e;
+            }
+            log.debug("Consumer Group 이미 존재 - streamKey: {}", streamKey);
+        }
+        initializedStreams.add(streamKey);
+    }
+
+    /**
+     * 이미 같은 이름의 Consumer Group이 있어 생성이 거절된 경우 (BUSYGROUP)
+     */
+    private static boolean isBusyGroup(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null && cause.getMessage().contains("BUSYGROUP")) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,168 @@
+package com.choo.hhbackendlab.redis;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+/**
+ * 쿠폰 발급 완료 사용자 기록 (Redis, 중복 발급 방지)
+ *
+ * KEY 방식은 발급 1건마다 String 키 1개(+TTL)를 만들어 100만 명 발급 시 키 100만 개가 생기고
+ * 초기화에 패턴 스캔이 필요하지만, BITMAP 방식은 쿠폰마다 Bitmap 1개에 userId 위치의 비트만 세우므로
+ * userId 최대값 / 8 바이트(100만 명 기준 약 125KB)만 사용하고 초기화는 DEL 한 번으로 끝남
+ *
+ * SETBIT는 offset까지 Bitmap을 한 번에 할당하므로(offset 2^32이면 512MB), userId가 bitmap-max-user-id를 넘는
+ * 사용자는 BITMAP 방식에서도 KEY 방식으로 기록 (큰 userId 하나 때문에 쿠폰마다 큰 Bitmap이 생기지 않도록)
+ *
+ * 키 구조:
+ * - cpn:isu:{couponName}:{userId} : String (KEY 방식)
+ * - cpn:isb:{couponName} : Bitmap (BITMAP 방식)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponIssuedUserStore {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CouponKeyCleaner couponKeyCleaner;
+
+    @Value("${coupon.issue.dedup-store:KEY}")
+    private CouponDedupStore dedupStore;
+
+    private static final String ISSUED_KEY_PREFIX = "cpn:isu:";         // 발급 완료 (KEY)
+    private static final String ISSUED_BITMAP_KEY_PREFIX = "cpn:isb:";  // 발급 완료 (BITMAP)
+
+    // Bitmap에 기록할 최대 userId (실제 사용자 ID 범위에 맞춰 설정, 기본 1억 = 쿠폰당 최대 약 12MB)
+    @Value("${coupon.issue.bitmap-max-user-id:100000000}")
+    private long bitmapMaxUserId;
+
+    // Redis Bitmap 최대 offset (512MB)
+    private static final long MAX_BITMAP_OFFSET = (1L << 32) - 1;
+
+    // 대기열 등록 스크립트에 넘기는 저장 방식 인자
+    private static final String MODE_KEY = "key";
+    private static final String MODE_BITMAP = "bit";
+
+    // TTL 설정 (7일)
+    private static final long TTL_DAYS = 7;
+
+    @PostConstruct
+    public void validateBitmapRange() {
+        if (bitmapMaxUserId < 0 || bitmapMaxUserId > MAX_BITMAP_OFFSET) {
+            throw new IllegalStateException(
+                    "coupon.issue.bitmap-max-user-id는 0 ~ " + MAX_BITMAP_OFFSET + " 범위여야 합니다: " + bitmapMaxUserId);
+        }
+    }
+
+    /**
+     * 대기열 등록 스크립트에서 발급 완료 여부를 확인하는 Lua 코드
+     * KEYS[1]에 issuedKey(), ARGV[1]에 userId, ARGV[modeArgIndex]에 issuedMode()를 넘겨야 함
+     * 이미 발급받은 사용자면 -1 반환
+     */
+    static String issuedCheckLua(int modeArgIndex) {
+        return "local issued " +
+               "if ARGV[" + modeArgIndex + "] == '" + MODE_BITMAP + "' then " +
+               "  issued = redis.call('GETBIT', KEYS[1], ARGV[1]) " +
+               "else " +
+               "  issued = redis.call('EXISTS', KEYS[1]) " +
+               "end " +
+               "if issued == 1 then " +
+               "  return -1 " +
+               "end ";
+    }
+
+    /**
+     * 사용자의 발급 완료 여부를 확인할 키
+     */
+    String issuedKey(String couponName, Long userId) {
+        if (usesBitmap(userId)) {
+            return ISSUED_BITMAP_KEY_PREFIX + couponName;
+        }
+        return ISSUED_KEY_PREFIX + couponName + ":" + userId;
+    }
+
+    /**
+     * 대기열 등록 스크립트에 넘길 저장 방식
+     */
+    String issuedMode(Long userId) {
+        return usesBitmap(userId) ? MODE_BITMAP : MODE_KEY;
+    }
+
+    /**
+     * 발급 완료 여부 확인
+     */
+    public boolean isIssued(String couponName, Long userId) {
+        if (usesBitmap(userId)) {
+            return Boolean.TRUE.equals(redisTemplate.opsForValue().getBit(issuedKey(couponName, userId), userId));
+        }
+        return Boolean.TRUE.equals(redisTemplate.hasKey(issuedKey(couponName, userId)));
+    }
+
+    /**
+     * 발급 완료 마킹 (Pipeline으로 일괄 처리)
+     */
+    public void markIssued(String couponName, List<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                boolean bitmapTouched = false;
+                for (Long userId : userIds) {
+                    String issuedKey = issuedKey(couponName, userId);
+                    if (usesBitmap(userId)) {
+                        operations.opsForValue().setBit(issuedKey, userId, true);
+                        bitmapTouched = true;
+                    } else {
+                        operations.opsForValue().set(issuedKey, "1", TTL_DAYS, TimeUnit.DAYS);
+                    }
+                }
+                if (bitmapTouched) {
+                    operations.expire(ISSUED_BITMAP_KEY_PREFIX + couponName, TTL_DAYS, TimeUnit.DAYS);
+                }
+                return null;
+            }
+        });
+    }
+
+    /**
+     * 발급 완료 기록 초기화
+     * Bitmap은 UNLINK 한 번, 사용자별 키는 패턴에 맞는 키를 SCAN으로 찾아 나눠서 삭제 (CouponKeyCleaner)
+     * BITMAP 방식에서도 bitmap-max-user-id를 넘어 KEY로 기록된 사용자가 있을 수 있으므로 항상 함께 삭제
+     */
+    public void clear(String couponName) {
+        clear(couponName, deleted -> { });
+    }
+
+    /**
+     * 발급 완료 기록 초기화 (진행 상황 전달)
+     *
+     * @param couponName 쿠폰 이름
+     * @param onBatchDeleted 배치마다 삭제한 키 수를 전달
+     * @return 삭제한 키 수
+     */
+    public long clear(String couponName, LongConsumer onBatchDeleted) {
+        Long bitmapDeleted = redisTemplate.unlink(List.of(ISSUED_BITMAP_KEY_PREFIX + couponName));
+        long deleted = bitmapDeleted != null ? bitmapDeleted : 0L;
+        onBatchDeleted.accept(deleted);
+        deleted += couponKeyCleaner.unlinkMatching(ISSUED_KEY_PREFIX + couponName + ":*", onBatchDeleted);
+        log.info("발급 완료 기록 초기화 완료 - couponName: {}, count: {}", couponName, deleted);
+        return deleted;
+    }
+
+    private boolean usesBitmap(Long userId) {
+        return dedupStore == CouponDedupStore.BITMAP && userId >= 0 && userId <= bitmapMaxUserId;
+    }
+}
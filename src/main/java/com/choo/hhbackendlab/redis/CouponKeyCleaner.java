@@ -0,0 +1,86 @@
+package com.choo.hhbackendlab.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongConsumer;
+
+/**
+ * 패턴에 맞는 Redis 키 점진 삭제 (SCAN + UNLINK)
+ *
+ * KEYS는 전체 키를 한 번에 훑고, 수십만 개 키를 DEL 한 번으로 지우면 그동안 Redis가 다른 명령을 처리하지 못하므로
+ * SCAN 커서로 scan-count개씩 훑으면서 batch-size개씩 UNLINK (메모리 해제는 Redis 백그라운드 스레드에서 처리)
+ * 배치 사이에 throttle-millis만큼 쉬어 트래픽이 있는 중에도 Redis 처리량을 점유하지 않도록 함
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponKeyCleaner {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // SCAN 1회에 훑을 키 수 (힌트)
+    @Value("${coupon.cleanup.scan-count:1000}")
+    private long scanCount;
+
+    // UNLINK 1회에 삭제할 최대 키 수
+    @Value("${coupon.cleanup.batch-size:500}")
+    private int batchSize;
+
+    // 배치 사이 대기 시간
+    @Value("${coupon.cleanup.throttle-millis:10}")
+    private long throttleMillis;
+
+    /**
+     * 패턴에 맞는 키를 모두 삭제 (호출 스레드에서 끝날 때까지 실행)
+     *
+     * @param pattern SCAN MATCH 패턴
+     * @param onBatchDeleted 배치마다 삭제한 키 수를 전달 (진행 상황 기록용)
+     * @return 삭제한 키 수
+     */
+    public long unlinkMatching(String pattern, LongConsumer onBatchDeleted) {
+        ScanOptions options = ScanOptions.scanOptions().match(pattern).count(scanCount).build();
+        long totalDeleted = 0;
+        List<String> batch = new ArrayList<>(batchSize);
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            while (cursor.hasNext()) {
+                batch.add(cursor.next());
+                if (batch.size() >= batchSize) {
+                    totalDeleted += unlink(batch, onBatchDeleted);
+                    throttle();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            totalDeleted += unlink(batch, onBatchDeleted);
+        }
+        return totalDeleted;
+    }
+
+    private long unlink(List<String> batch, LongConsumer onBatchDeleted) {
+        Long deleted = redisTemplate.unlink(batch);
+        long count = deleted != null ? deleted : 0L;
+        batch.clear();
+        onBatchDeleted.accept(count);
+        return count;
+    }
+
+    private void throttle() {
+        if (throttleMillis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("키 삭제가 중단되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.choo.hhbackendlab.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * 선착순 쿠폰 수명 인덱스 (만료 시각 / 재고 소진 여부)
+ *
+ * 만료되거나 재고가 소진된 쿠폰의 대기열은 발급될 수 없는 요청만 남아있으므로,
+ * CouponWaitingListPurger가 이 인덱스로 찾아 대기열을 비움 (워커가 DB 조회로 재고 없음을 확인하지 않도록)
+ *
+ * 키 구조:
+ * - cpn:exp : Sorted Set (쿠폰 이름 → 같은 이름 쿠폰 중 가장 늦은 만료 시각(ms))
+ * - cpn:so : Set (DB 재고가 소진된 쿠폰 이름)
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponLifecycleIndex {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private static final String EXPIRY_KEY = "cpn:exp";      // 쿠폰별 만료 시각 (Sorted Set)
+    private static final String SOLD_OUT_KEY = "cpn:so";     // 재고 소진 쿠폰 (Set)
+
+    /**
+     * 기존 만료 시각보다 늦을 때만 갱신
+     * KEYS: [만료 인덱스], ARGV: [couponName, 만료 시각(ms)]
+     */
+    private static final RedisScript<Long> REGISTER_EXPIRY_SCRIPT = new DefaultRedisScript<>(
+            "local current = redis.call('ZSCORE', KEYS[1], ARGV[1]) " +
+            "if current and tonumber(current) >= tonumber(ARGV[2]) then " +
+            "  return 0 " +
+            "end " +
+            "return redis.call('ZADD', KEYS[1], ARGV[2], ARGV[1])",
+            Long.class);
+
+    /**
+     * 만료 시각 등록 (같은 이름의 쿠폰이 여러 개면 가장 늦은 만료 시각 유지)
+     *
+     * @param couponName 쿠폰 이름
+     * @param expiredAt 만료 시각
+     */
+    public void registerExpiry(String couponName, LocalDateTime expiredAt) {
+        long expiredAtMillis = expiredAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        redisTemplate.execute(REGISTER_EXPIRY_SCRIPT, List.of(EXPIRY_KEY), couponName, String.valueOf(expiredAtMillis));
+    }
+
+    /**
+     * 재고 소진 표시 (발급 시 DB 재고가 부족한 요청이 나온 경우)
+     */
+    public void markSoldOut(String couponName) {
+        redisTemplate.opsForSet().add(SOLD_OUT_KEY, couponName);
+    }
+
+    /**
+     * 쿠폰이 새로 생성되어 재고가 생긴 경우 재고 소진 표시 제거
+     */
+    public void clearSoldOut(String couponName) {
+        redisTemplate.opsForSet().remove(SOLD_OUT_KEY, couponName);
+    }
+
+    /**
+     * 만료되었거나 재고가 소진된 쿠폰 이름 목록
+     *
+     * @param limit 만료 쿠폰 최대 조회 수
+     */
+    public Set<String> findDeadCoupons(int limit) {
+        Set<String> deadCoupons = new LinkedHashSet<>();
+        Set<String> expired = redisTemplate.opsForZSet().rangeByScore(
+                EXPIRY_KEY, Double.NEGATIVE_INFINITY, System.currentTimeMillis(), 0, limit);
+        if (expired != null) {
+            deadCoupons.addAll(expired);
+        }
+        Set<String> soldOut = redisTemplate.opsForSet().members(SOLD_OUT_KEY);
+        if (soldOut != null) {
+            deadCoupons.addAll(soldOut);
+        }
+        return deadCoupons;
+    }
+
+    /**
+     * 대기열을 비운 쿠폰을 인덱스에서 제거
+     * 이후 남은 요청이 다시 들어오면 발급 시점에 재고 소진으로 처리되고 다시 표시됨
+     */
+    public void remove(String couponName) {
+        redisTemplate.opsForZSet().remove(EXPIRY_KEY, couponName);
+        redisTemplate.opsForSet().remove(SOLD_OUT_KEY, couponName);
+    }
+}
@@ -0,0 +1,79 @@
+package com.choo.hhbackendlab.redis;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 쿠폰 대기열 처리 소유권(lease)
+ * 클러스터 전체에서 하나의 쿠폰 대기열은 한 워커만 처리하도록 보장
+ * 워커가 죽어도 lease 시간이 지나면 자동으로 해제되어 다른 노드가 이어서 처리
+ *
+ * 키 구조:
+ * - cpn:own:{couponName} : String (소유 워커 ID, PX 만료)
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponQueueLease {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    private static final String LEASE_KEY_PREFIX = "cpn:own:";   // 대기열 처리 소유권
+
+    /**
+     * 소유자일 때만 만료 시간 연장
+     */
+    private static final RedisScript<Long> RENEW_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('PEXPIRE', KEYS[1], ARGV[2]) " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    /**
+     * 소유자일 때만 해제
+     */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    /**
+     * 대기열 처리 소유권 획득
+     *
+     * @param couponName 쿠폰 이름
+     * @param ownerId 워커 ID
+     * @param leaseMillis 소유권 유지 시간 (밀리초)
+     * @return 획득 성공 여부
+     */
+    public boolean tryAcquire(String couponName, String ownerId, long leaseMillis) {
+        Boolean acquired = redisTemplate.opsForValue()
+                .setIfAbsent(LEASE_KEY_PREFIX + couponName, ownerId, Duration.ofMillis(leaseMillis));
+        return Boolean.TRUE.equals(acquired);
+    }
+
+    /**
+     * 대기열 처리 소유권 연장
+     *
+     * @return 여전히 소유 중인지 여부
+     */
+    public boolean renew(String couponName, String ownerId, long leaseMillis) {
+        Long renewed = redisTemplate.execute(RENEW_SCRIPT,
+                List.of(LEASE_KEY_PREFIX + couponName), ownerId, String.valueOf(leaseMillis));
+        return renewed != null && renewed == 1;
+    }
+
+    /**
+     * 대기열 처리 소유권 해제
+     */
+    public void release(String couponName, String ownerId) {
+        redisTemplate.execute(RELEASE_SCRIPT, List.of(LEASE_KEY_PREFIX + couponName), ownerId);
+    }
+}
@@ -0,0 +1,11 @@
+package com.choo.hhbackendlab.redis;
+
+/**
+ * 선착순 쿠폰 발급 대기열 방식
+ * coupon.issue.queue-type 설정으로 선택
+ */
+public enum CouponQueueType {
+    ZSET,     // Redis Sorted Set (CouponIssue)
+    STREAM,   // Redis Streams + Consumer Group (CouponIssueStream)
+    DATABASE  // DB 테이블 (COUPON_ISSUE_QUEUE, SKIP LOCKED 다중 워커) - Redis 장애 시 대체 경로
+}
@@ -0,0 +1,181 @@
+package com.choo.hhbackendlab.redis;
+
+import com.choo.hhbackendlab.repository.CouponRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 선착순 쿠폰 Redis 재고 카운터
+ * 대기열 등록 시점에 재고를 원자적으로 차감해, 재고를 넘는 요청은 DB까지 가지 않고 즉시 거절
+ *
+ * 키 구조:
+ * - cpn:stk:{couponName} : String (대기열에 더 받을 수 있는 남은 수량)
+ *
+ * DB(COUPON.couponCnt)가 원본이며, 카운터는 다음 시점에 DB 기준으로 맞춤
+ * - 쿠폰 생성 시 발행 수량만큼 증가
+ * - 카운터가 없으면 (DB 잔여 재고 - 현재 대기 인원)으로 초기화
+ * - 대기열이 모두 처리되면 DB 잔여 재고로 재설정
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponStockCounter {
+
+    private final RedisTemplate<String, String> redisTemplate;
+    private final CouponRepository couponRepository;
+    private final CouponLifecycleIndex couponLifecycleIndex;
+
+    private static final String STOCK_KEY_PREFIX = "cpn:stk:";   // Redis 재고 카운터
+
+    // TTL 설정 (7일, 만료 시 DB 기준으로 다시 초기화)
+    private static final long TTL_DAYS = 7;
+
+    /**
+     * 카운터가 없을 때만 초기화 (대기 중인 인원 + 처리 중인 인원만큼 차감)
+     * KEYS: [재고 카운터, 대기열, 처리 중 목록], ARGV: [DB 잔여 재고, TTL(초)]
+     */
+    private static final RedisScript<Long> SEED_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "  return tonumber(redis.call('GET', KEYS[1])) " +
+            "end " +
+            "local waiting = redis.call('ZCARD', KEYS[2]) + redis.call('ZCARD', KEYS[3]) " +
+            "local stock = math.max(tonumber(ARGV[1]) - waiting, 0) " +
+            "redis.call('SET', KEYS[1], stock, 'EX', ARGV[2]) " +
+            "return stock",
+            Long.class);
+
+    /**
+     * 카운터가 있을 때만 증가 (없으면 -1 반환, 다음 등록 시 DB 기준으로 초기화됨)
+     * KEYS: [재고 카운터], ARGV: [증가 수량]
+     */
+    private static final RedisScript<Long> INCREASE_IF_EXISTS_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then " +
+            "  return -1 " +
+            "end " +
+            "return redis.call('INCRBY', KEYS[1], ARGV[1])",
+            Long.class);
+
+    /**
+     * 대기열과 처리 중 목록이 모두 비어있고, 카운터가 DB 재고를 읽기 전에 확인한 값 그대로일 때만 DB 잔여 재고로 재설정
+     * (그 사이 일괄 지급 등으로 카운터가 바뀌었다면 읽은 DB 재고가 이미 지난 값일 수 있으므로 건너뜀)
+     * KEYS: [재고 카운터, 대기열, 처리 중 목록], ARGV: [DB 잔여 재고, TTL(초), 확인한 카운터 값(없으면 빈 문자열)]
+     */
+    private static final RedisScript<Long> RECONCILE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('ZCARD', KEYS[2]) > 0 or redis.call('ZCARD', KEYS[3]) > 0 then " +
+            "  return 0 " +
+            "end " +
+            "if (redis.call('GET', KEYS[1]) or '') ~= ARGV[3] then " +
+            "  return 0 " +
+            "end " +
+            "redis.call('SET', KEYS[1], ARGV[1], 'EX', ARGV[2]) " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 재고 카운터 키
+     */
+    public static String stockKey(String couponName) {
+        return STOCK_KEY_PREFIX + couponName;
+    }
+
+    /**
+     * DB 잔여 재고 기준으로 카운터 초기화 (이미 있으면 유지)
+     *
+     * @param couponName 쿠폰 이름
+     * @return 초기화 후 카운터 값
+     */
+    public long seed(String couponName) {
+        long remaining = couponRepository.sumAvailableCouponCountByName(couponName);
+        Long stock = redisTemplate.execute(SEED_SCRIPT,
+                List.of(stockKey(couponName), CouponIssue.WAITING_LIST_KEY_PREFIX + couponName,
+                        CouponIssue.IN_FLIGHT_KEY_PREFIX + couponName),
+                String.valueOf(remaining), String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)));
+
+        log.info("쿠폰 재고 카운터 초기화 - couponName: {}, dbRemaining: {}, stock: {}", couponName, remaining, stock);
+
+        // 수명 인덱스에 없던 쿠폰(인덱스 도입 전 생성 등)도 만료 후 대기열이 정리되도록 등록
+        couponRepository.findLatestExpiredAtByName(couponName)
+                .ifPresent(expiredAt -> couponLifecycleIndex.registerExpiry(couponName, expiredAt));
+        return stock != null ? stock : 0L;
+    }
+
+    /**
+     * 쿠폰 생성 시 재고 증가 (카운터가 없으면 DB 기준으로 초기화)
+     *
+     * @param couponName 쿠폰 이름
+     * @param quantity 추가 발행 수량
+     */
+    public void increase(String couponName, int quantity) {
+        Long result = redisTemplate.execute(INCREASE_IF_EXISTS_SCRIPT,
+                List.of(stockKey(couponName)), String.valueOf(quantity));
+
+        if (result == null || result < 0) {
+            seed(couponName);
+        }
+    }
+
+    /**
+     * 대기열에서 꺼냈지만 발급하지 않은 요청(중복, 사용자 없음)의 재고 반환
+     *
+     * @param couponName 쿠폰 이름
+     * @param quantity 반환 수량
+     */
+    public void refund(String couponName, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        redisTemplate.execute(INCREASE_IF_EXISTS_SCRIPT, List.of(stockKey(couponName)), String.valueOf(quantity));
+    }
+
+    /**
+     * 대기열을 거치지 않고 DB 재고를 차감한 경우(일괄 지급 등) 카운터에서도 차감
+     * 카운터가 없으면 다음 대기열 등록 시 DB 기준으로 초기화되므로 무시
+     *
+     * @param couponName 쿠폰 이름
+     * @param quantity 차감 수량
+     */
+    public void consume(String couponName, int quantity) {
+        if (quantity <= 0) {
+            return;
+        }
+        redisTemplate.execute(INCREASE_IF_EXISTS_SCRIPT, List.of(stockKey(couponName)), String.valueOf(-quantity));
+    }
+
+    /**
+     * 대기열이 모두 처리된 후 DB 잔여 재고로 카운터 재설정
+     * 카운터를 먼저 읽고 DB 재고를 조회한 뒤, 카운터가 그대로일 때만 재설정
+     * (DB 조회와 재설정 사이에 일괄 지급이 consume하면, 지급 전 DB 재고로 되돌려 이미 지급한 재고를 다시 받지 않도록 함,
+     *  건너뛴 경우는 다음 대기열 처리 후 다시 맞춤)
+     *
+     * @param couponName 쿠폰 이름
+     */
+    public void reconcile(String couponName) {
+        String observed = redisTemplate.opsForValue().get(stockKey(couponName));
+        long remaining = couponRepository.sumAvailableCouponCountByName(couponName);
+        Long reconciled = redisTemplate.execute(RECONCILE_SCRIPT,
+                List.of(stockKey(couponName), CouponIssue.WAITING_LIST_KEY_PREFIX + couponName,
+                        CouponIssue.IN_FLIGHT_KEY_PREFIX + couponName),
+                String.valueOf(remaining), String.valueOf(TimeUnit.DAYS.toSeconds(TTL_DAYS)),
+                observed != null ? observed : "");
+
+        if (reconciled != null && reconciled == 1) {
+            log.debug("쿠폰 재고 카운터 재설정 - couponName: {}, stock: {}", couponName, remaining);
+        }
+    }
+
+    /**
+     * 재고 카운터 삭제 (관리자용, 테스트용)
+     *
+     * @param couponName 쿠폰 이름
+     */
+    public void clear(String couponName) {
+        redisTemplate.delete(stockKey(couponName));
+    }
+}
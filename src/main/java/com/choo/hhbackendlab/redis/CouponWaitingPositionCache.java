@@ -0,0 +1,244 @@
+package com.choo.hhbackendlab.redis;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.RedisOperations;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.SessionCallback;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 큰 대기열의 대기 순서 추정 (노드 로컬 캐시)
+ *
+ * 대기 중인 사용자가 매초 순서를 조회하면 사용자마다 ZRANK를 호출하게 되므로,
+ * 대기열이 approximate-threshold 이상이면 아래 값으로 순서를 추정:
+ * - 대기열 스냅샷 (맨 앞 / 맨 뒤 score, 크기) : 쿠폰별로 refresh-millis마다 한 번 조회
+ *   (요청에 포함된 쿠폰 중 갱신할 쿠폰을 모아 파이프라인 1회, 요청의 쿠폰 이름으로 만들어지므로 tracked-coupons개까지만 보관)
+ * - 사용자 score (도착 순번) : 처음 한 번만 조회하고 보관 (대기 중에는 바뀌지 않고, 재시도로 되돌아와도 원래 score 유지)
+ * 순서 = (사용자 score - 맨 앞 score) / (맨 뒤 score - 맨 앞 score) * (크기 - 1)
+ * 도착 순번은 모든 쿠폰이 공유하므로 여러 쿠폰이 동시에 열리면 오차가 생길 수 있음 (근사값으로만 사용)
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponWaitingPositionCache {
+
+    private final RedisTemplate<String, String> redisTemplate;
+
+    // 이 크기 이상인 대기열은 순서를 추정
+    @Value("${coupon.issue.position.approximate-threshold:10000}")
+    private long approximateThreshold;
+
+    // 대기열 스냅샷 갱신 주기
+    @Value("${coupon.issue.position.refresh-millis:300}")
+    private long refreshMillis;
+
+    // score를 보관할 최대 사용자 수 (LRU)
+    @Value("${coupon.issue.position.tracked-users:100000}")
+    private int trackedUsers;
+
+    // 스냅샷을 보관할 최대 쿠폰 수 (LRU)
+    @Value("${coupon.issue.position.tracked-coupons:1000}")
+    private int trackedCoupons;
+
+    // couponName → 대기열 스냅샷
+    private Map<String, QueueSnapshot> snapshots;
+
+    // {couponName}:{userId} → score
+    private Map<String, Double> userScores;
+
+    @PostConstruct
+    public void init() {
+        snapshots = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, QueueSnapshot> eldest) {
+                return size() > trackedCoupons;
+            }
+        });
+        userScores = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Double> eldest) {
+                return size() > trackedUsers;
+            }
+        });
+    }
+
+    /**
+     * 순서를 추정할 만큼 큰 대기열 조회 (갱신할 스냅샷은 파이프라인 1회로 조회)
+     *
+     * @param couponNames 쿠폰 이름 목록 (중복 가능)
+     * @return approximate-threshold 이상인 쿠폰 이름
+     */
+    public Set<String> findLargeQueues(Collection<String> couponNames) {
+        Set<String> largeQueues = new HashSet<>();
+        snapshots(couponNames).forEach((couponName, snapshot) -> {
+            if (snapshot.size >= approximateThreshold) {
+                largeQueues.add(couponName);
+            }
+        });
+        return largeQueues;
+    }
+
+    /**
+     * 여러 사용자의 대기 순서 추정
+     * 보관한 score가 없는 사용자만 파이프라인으로 한 번에 조회
+     *
+     * @param couponNames 쿠폰 이름 목록
+     * @param userIds 사용자 ID 목록 (couponNames와 같은 위치끼리 한 쌍)
+     * @return 추정 대기 순서 목록 (0부터 시작, 대기 중이 아니면 -1, 요청 순서와 동일)
+     */
+    public List<Long> estimatePositions(List<String> couponNames, List<Long> userIds) {
+        Map<String, QueueSnapshot> current = snapshots(couponNames);
+        List<Double> scores = getUserScores(couponNames, userIds);
+        List<Long> positions = new ArrayList<>(scores.size());
+        for (int i = 0; i < scores.size(); i++) {
+            String couponName = couponNames.get(i);
+            positions.add(estimate(couponName, userIds.get(i), scores.get(i), current.get(couponName)));
+        }
+        return positions;
+    }
+
+    private long estimate(String couponName, Long userId, Double score, QueueSnapshot snapshot) {
+        if (score == null) {
+            return -1L;
+        }
+        if (snapshot.size == 0 || score < snapshot.headScore) {
+            // 이미 대기열에서 나간 사용자 (발급 처리 중이거나 완료)
+            userScores.remove(userScoreKey(couponName, userId));
+            return -1L;
+        }
+        if (snapshot.tailScore <= snapshot.headScore) {
+            return 0L;
+        }
+        double ratio = Math.min((score - snapshot.headScore) / (snapshot.tailScore - snapshot.headScore), 1.0);
+        return Math.round(ratio * (snapshot.size - 1));
+    }
+
+    private List<Double> getUserScores(List<String> couponNames, List<Long> userIds) {
+        List<Double> scores = new ArrayList<>(userIds.size());
+        List<Integer> missed = new ArrayList<>();
+        for (int i = 0; i < userIds.size(); i++) {
+            Double score = userScores.get(userScoreKey(couponNames.get(i), userIds.get(i)));
+            scores.add(score);
+            if (score == null) {
+                missed.add(i);
+            }
+        }
+        if (missed.isEmpty()) {
+            return scores;
+        }
+
+        List<Object> loaded = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (int index : missed) {
+                    operations.opsForZSet().score(CouponIssue.WAITING_LIST_KEY_PREFIX + couponNames.get(index),
+                            userIds.get(index).toString());
+                }
+                return null;
+            }
+        });
+        for (int i = 0; i < missed.size(); i++) {
+            int index = missed.get(i);
+            Double score = (Double) loaded.get(i);
+            if (score != null) {
+                userScores.put(userScoreKey(couponNames.get(index), userIds.get(index)), score);
+                scores.set(index, score);
+            }
+        }
+        return scores;
+    }
+
+    /**
+     * 쿠폰별 대기열 스냅샷 (refresh-millis가 지난 쿠폰만 모아 파이프라인 1회로 다시 조회)
+     *
+     * @return couponName → 스냅샷
+     */
+    private Map<String, QueueSnapshot> snapshots(Collection<String> couponNames) {
+        Map<String, QueueSnapshot> current = new HashMap<>();
+        List<String> staleNames = new ArrayList<>();
+        for (String couponName : new LinkedHashSet<>(couponNames)) {
+            QueueSnapshot snapshot = snapshots.get(couponName);
+            if (snapshot != null && !snapshot.isStale(refreshMillis)) {
+                current.put(couponName, snapshot);
+            } else {
+                staleNames.add(couponName);
+            }
+        }
+        if (staleNames.isEmpty()) {
+            return current;
+        }
+
+        List<Object> results = redisTemplate.executePipelined(new SessionCallback<Object>() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public Object execute(RedisOperations operations) throws DataAccessException {
+                for (String couponName : staleNames) {
+                    String waitingListKey = CouponIssue.WAITING_LIST_KEY_PREFIX + couponName;
+                    operations.opsForZSet().rangeWithScores(waitingListKey, 0, 0);
+                    operations.opsForZSet().rangeWithScores(waitingListKey, -1, -1);
+                    operations.opsForZSet().zCard(waitingListKey);
+                }
+                return null;
+            }
+        });
+        long loadedAtNanos = System.nanoTime();
+        for (int i = 0; i < staleNames.size(); i++) {
+            double headScore = firstScore(results.get(i * 3));
+            double tailScore = firstScore(results.get(i * 3 + 1));
+            Object size = results.get(i * 3 + 2);
+            QueueSnapshot snapshot = new QueueSnapshot(headScore, tailScore,
+                    size != null ? ((Number) size).longValue() : 0L, loadedAtNanos);
+            snapshots.put(staleNames.get(i), snapshot);
+            current.put(staleNames.get(i), snapshot);
+        }
+        return current;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static double firstScore(Object range) {
+        if (range instanceof Collection<?> tuples && !tuples.isEmpty()) {
+            Double score = ((ZSetOperations.TypedTuple<String>) tuples.iterator().next()).getScore();
+            return score != null ? score : 0;
+        }
+        return 0;
+    }
+
+    private static String userScoreKey(String couponName, Long userId) {
+        return couponName + ":" + userId;
+    }
+
+    private static final class QueueSnapshot {
+
+        private final double headScore;
+        private final double tailScore;
+        private final long size;
+        private final long loadedAtNanos;
+
+        private QueueSnapshot(double headScore, double tailScore, long size, long loadedAtNanos) {
+            this.headScore = headScore;
+            this.tailScore = tailScore;
+            this.size = size;
+            this.loadedAtNanos = loadedAtNanos;
+        }
+
+        private boolean isStale(long refreshMillis) {
+            return System.nanoTime() - loadedAtNanos > TimeUnit.MILLISECONDS.toNanos(refreshMillis);
+        }
+    }
+}
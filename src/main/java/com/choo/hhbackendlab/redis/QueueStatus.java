@@ -7,5 +7,15 @@ public enum QueueStatus {
     PENDING,      // 대기 중
     PROCESSING,   // 처리 중
     COMPLETED,    // 완료
-    FAILED        // 실패
+    SOLD_OUT,     // 재고 소진으로 발급 불가
+    FAILED,       // 실패
+    DEAD_LETTER,  // 재시도 한도 초과로 격리 (운영자 확인 필요)
+    DEFERRED;     // Redis 장애로 DB에 임시 보관 (복구 후 Redis 대기열로 재등록, CouponIssueFallbackQueue)
+
+    /**
+     * 더 이상 바뀌지 않는 최종 상태 여부
+     */
+    public boolean isFinished() {
+        return this == COMPLETED || this == SOLD_OUT || this == FAILED || this == DEAD_LETTER;
+    }
 }
\ No newline at end of file
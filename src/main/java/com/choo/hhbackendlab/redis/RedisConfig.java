@@ -11,18 +11,24 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
+import java.time.Duration;
 import java.util.List;
 
 /**
  * Redis 설정
  * - Redisson: 분산락 전용
  * - RedisTemplate: 캐싱 전용 (Product 엔티티)
+ * - RedisMessageListenerContainer: Pub/Sub 구독 (쿠폰 발급 워커 깨우기)
  */
 @Configuration
 @EnableCaching
@@ -34,6 +40,10 @@ public class RedisConfig {
     @Value("${spring.data.redis.port}")
     private int port;
 
+    // Lettuce 명령 응답 대기 시간 (Redis가 멈추면 요청 스레드가 묶이지 않고 장애 처리로 넘어가도록 짧게, 연결 팩토리를 직접 생성하므로 여기서 적용)
+    @Value("${spring.data.redis.timeout:500ms}")
+    private Duration commandTimeout;
+
     /**
      * Redisson 클라이언트 (분산락 전용)
      */
@@ -48,10 +58,14 @@ public class RedisConfig {
 
     /**
      * Redis 연결 팩토리
+     * 명령 타임아웃을 넘으면 QueryTimeoutException (대기열 등록은 로컬 대체 큐로, 요청 수 제한은 사용자별 제한만 적용)
      */
     @Bean
     public RedisConnectionFactory redisConnectionFactory() {
-        return new LettuceConnectionFactory(host, port);
+        LettuceClientConfiguration clientConfiguration = LettuceClientConfiguration.builder()
+                .commandTimeout(commandTimeout)
+                .build();
+        return new LettuceConnectionFactory(new RedisStandaloneConfiguration(host, port), clientConfiguration);
     }
 
     /**
@@ -108,4 +122,21 @@ public class RedisConfig {
         template.afterPropertiesSet();
         return template;
     }
+
+    /**
+     * Redis Pub/Sub 구독 컨테이너
+     * 메시지 처리는 가상 스레드에서 실행 (대기 중 플랫폼 스레드를 점유하지 않음)
+     */
+    @Bean
+    public RedisMessageListenerContainer redisMessageListenerContainer(
+            RedisConnectionFactory connectionFactory) {
+
+        SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("redis-listener-");
+        taskExecutor.setVirtualThreads(true);
+
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        container.setTaskExecutor(taskExecutor);
+        return container;
+    }
 }
@@ -0,0 +1,33 @@
+package com.choo.hhbackendlab.repository;
+
+import com.choo.hhbackendlab.entity.CouponGrantJob;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface CouponGrantJobRepository extends JpaRepository<CouponGrantJob, Long> {
+
+    /**
+     * 처리할 작업 하나 조회 (FOR UPDATE SKIP LOCKED)
+     * 대기 중인 작업, 또는 처리 중이지만 heartbeatAt이 timeout 이전인(처리 노드가 멈춘) 작업
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT j FROM COUPON_GRANT_JOB j WHERE j.status = 'PENDING' " +
+            "OR (j.status = 'RUNNING' AND j.heartbeatAt < :timeout) ORDER BY j.id ASC LIMIT 1")
+    Optional<CouponGrantJob> findClaimableForUpdateSkipLocked(@Param("timeout") LocalDateTime timeout);
+
+    /**
+     * 작업 조회 (FOR UPDATE, 같은 작업에 대한 대상 추가 / 제출을 직렬화)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT j FROM COUPON_GRANT_JOB j WHERE j.id = :jobId")
+    Optional<CouponGrantJob> findByIdForUpdate(@Param("jobId") Long jobId);
+}
@@ -0,0 +1,25 @@
+package com.choo.hhbackendlab.repository;
+
+import com.choo.hhbackendlab.entity.CouponGrantTarget;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CouponGrantTargetRepository extends JpaRepository<CouponGrantTarget, Long> {
+
+    /**
+     * 작업의 대상 사용자 ID를 cursor 이후부터 사용자 ID 순으로 조회 (청크 단위 처리용)
+     */
+    @Query("SELECT t.userId FROM COUPON_GRANT_TARGET t WHERE t.jobId = :jobId AND t.userId > :lastUserId ORDER BY t.userId ASC")
+    List<Long> findUserIdsAfter(@Param("jobId") Long jobId, @Param("lastUserId") long lastUserId, Pageable pageable);
+
+    /**
+     * 작업에 이미 등록된 대상 사용자 ID 조회 (대상 추가 시 중복 제외용)
+     */
+    @Query("SELECT t.userId FROM COUPON_GRANT_TARGET t WHERE t.jobId = :jobId AND t.userId IN :userIds")
+    List<Long> findUserIdsIn(@Param("jobId") Long jobId, @Param("userIds") Collection<Long> userIds);
+}
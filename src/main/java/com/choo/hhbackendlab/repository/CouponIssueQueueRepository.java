@@ -3,9 +3,12 @@ package com.choo.hhbackendlab.repository;
 import com.choo.hhbackendlab.entity.CouponIssueQueue;
 import com.choo.hhbackendlab.redis.QueueStatus;
 import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
@@ -22,6 +25,32 @@ public interface CouponIssueQueueRepository extends JpaRepository<CouponIssueQue
     @Query("SELECT q FROM COUPON_ISSUE_QUEUE q WHERE q.status = :status ORDER BY q.createdAt ASC, q.id ASC LIMIT 1")
     Optional<CouponIssueQueue> findFirstByStatusWithLock(@Param("status") QueueStatus status);
 
+    /**
+     * 특정 상태의 요청 중 재시도 대기 시간이 지난 요청을 생성시간 순으로 여러 건 조회 (FOR UPDATE SKIP LOCKED)
+     * 다른 워커가 잠근 행은 건너뛰므로, 여러 워커가 서로 다른 배치를 동시에 가져감
+     * (lock.timeout = -2 → Hibernate가 SKIP LOCKED로 변환)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT q FROM COUPON_ISSUE_QUEUE q WHERE q.status = :status " +
+            "AND (q.nextAttemptAt IS NULL OR q.nextAttemptAt <= :now) ORDER BY q.createdAt ASC, q.id ASC")
+    List<CouponIssueQueue> findByStatusForUpdateSkipLocked(@Param("status") QueueStatus status,
+                                                           @Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * Redis 장애로 보관한(DEFERRED) 요청을 도착 순으로 여러 건 조회 (FOR UPDATE SKIP LOCKED)
+     * 여러 노드가 동시에 재등록해도 같은 요청을 중복으로 가져가지 않음
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT q FROM COUPON_ISSUE_QUEUE q WHERE q.status = 'DEFERRED' ORDER BY q.requestedAt ASC, q.id ASC")
+    List<CouponIssueQueue> findDeferredForUpdateSkipLocked(Pageable pageable);
+
+    /**
+     * 특정 상태의 요청 존재 여부
+     */
+    boolean existsByStatus(QueueStatus status);
+
     /**
      * 특정 상태의 요청 목록 조회
      */
@@ -33,10 +62,18 @@ public interface CouponIssueQueueRepository extends JpaRepository<CouponIssueQue
     List<CouponIssueQueue> findByUserId(Long userId);
 
     /**
-     * 특정 시간 이전에 생성된 PROCESSING 상태의 요청 조회 (타임아웃 감지용)
+     * 특정 시간 이전에 처리를 시작한 PROCESSING 상태의 요청 조회 (타임아웃 감지용, FOR UPDATE SKIP LOCKED)
+     * 다른 트랜잭션이 갱신 중인 행은 건너뜀
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("SELECT q FROM COUPON_ISSUE_QUEUE q WHERE q.status = 'PROCESSING' AND q.startedAt < :timeout ORDER BY q.startedAt ASC")
+    List<CouponIssueQueue> findProcessingTimeoutRequests(@Param("timeout") LocalDateTime timeout, Pageable pageable);
+
+    /**
+     * 사용자의 쿠폰 요청 중 가장 먼저 들어온 요청 조회 (발급 대상, 이후 요청은 중복으로 실패 처리됨)
      */
-    @Query("SELECT q FROM COUPON_ISSUE_QUEUE q WHERE q.status = 'PROCESSING' AND q.createdAt < :timeout")
-    List<CouponIssueQueue> findProcessingTimeoutRequests(@Param("timeout") LocalDateTime timeout);
+    Optional<CouponIssueQueue> findFirstByUserIdAndCouponNameOrderByCreatedAtAscIdAsc(Long userId, String couponName);
 
     /**
      * 사용자별 대기 중인 요청 수 조회
@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,7 +23,9 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
      * 발급 가능한 쿠폰 템플릿 조회 (선착순 발급용 - 락 없음)
      * 현재는 이름으로 조회를 하지만, 추후 쿠폰 카테고리 필드를 추가할 예정..
      */
-    @Query("SELECT c FROM COUPON c WHERE c.name = :name AND c.couponCnt > 0 AND c.expiredAt > CURRENT_TIMESTAMP ORDER BY c.id ASC LIMIT 1")
+    @Query("SELECT c FROM COUPON c WHERE c.name = :name AND " +
+            "(c.couponCnt > 0 OR EXISTS (SELECT 1 FROM COUPON_STOCK_STRIPE s WHERE s.couponId = c.id AND s.stockCnt > 0)) " +
+            "AND c.expiredAt > CURRENT_TIMESTAMP ORDER BY c.id ASC LIMIT 1")
     Optional<Coupon> findFirstAvailableCouponByName(@Param("name") String name);
 
     /**
@@ -30,15 +33,48 @@ public interface CouponRepository extends JpaRepository<Coupon, Long> {
      * 현재는 이름으로 조회를 하지만, 추후 쿠폰 카테고리 필드를 추가할 예정..
      */
     @Lock(LockModeType.PESSIMISTIC_WRITE)
-    @Query("SELECT c FROM COUPON c WHERE c.name = :name AND c.couponCnt > 0 AND c.expiredAt > CURRENT_TIMESTAMP ORDER BY c.id ASC LIMIT 1")
+    @Query("SELECT c FROM COUPON c WHERE c.name = :name AND " +
+            "(c.couponCnt > 0 OR EXISTS (SELECT 1 FROM COUPON_STOCK_STRIPE s WHERE s.couponId = c.id AND s.stockCnt > 0)) " +
+            "AND c.expiredAt > CURRENT_TIMESTAMP ORDER BY c.id ASC LIMIT 1")
     Optional<Coupon> findFirstAvailableCouponByNameWithLock(@Param("name") String name);
 
     /**
-     * 쿠폰 재고 원자적(mysql Row Lock 사용을 통한 쿠폰 재고 감소
+     * 이름으로 발급 가능한 쿠폰 잔여 재고 합계 조회 (Redis 재고 카운터 초기화/보정용)
+     * 분할 재고 합계는 쿠폰마다 상관 서브쿼리로 더함 (Coupon.stripeStockCnt와 같은 방식,
+     * 분할 행과 조인하면 couponCnt가 분할 행 수만큼 중복으로 더해짐)
+     */
+    @Query("SELECT COALESCE(SUM(c.couponCnt + " +
+            "(SELECT COALESCE(SUM(s.stockCnt), 0) FROM COUPON_STOCK_STRIPE s WHERE s.couponId = c.id)), 0) " +
+            "FROM COUPON c WHERE c.name = :name AND c.expiredAt > CURRENT_TIMESTAMP")
+    long sumAvailableCouponCountByName(@Param("name") String name);
+
+    /**
+     * 이름이 같은 쿠폰 템플릿 중 가장 늦은 만료 시각 조회 (쿠폰 수명 인덱스 등록용)
+     */
+    @Query("SELECT MAX(c.expiredAt) FROM COUPON c WHERE c.name = :name")
+    Optional<LocalDateTime> findLatestExpiredAtByName(@Param("name") String name);
+
+    /**
+     * 쿠폰 템플릿 잔여 재고 조회 (락 없음, 일괄 차감 실패 시 차감 수량 재계산용)
+     */
+    @Query("SELECT c.couponCnt FROM COUPON c WHERE c.id = :couponId")
+    Integer findCouponCountById(@Param("couponId") Long couponId);
+
+    /**
+     * 쿠폰 재고 원자적(mysql Row Lock 사용을 통한 쿠폰 재고 감소 (분할하지 않은 쿠폰)
      * WHERE 조건에 couponCnt > 0을 넣어서 재고가 있을 때만 감소
      */
     @Modifying(clearAutomatically = true)
     @Query("UPDATE COUPON c SET c.couponCnt = c.couponCnt - 1 " +
             "WHERE c.id = :couponId AND c.couponCnt > 0")
     int decreaseCouponCount(@Param("couponId") Long couponId);
+
+    /**
+     * 쿠폰 재고 일괄 감소 (선착순 일괄 발급용)
+     * 남은 재고가 요청 수량 이상일 때만 감소
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE COUPON c SET c.couponCnt = c.couponCnt - :quantity " +
+            "WHERE c.id = :couponId AND c.couponCnt >= :quantity")
+    int decreaseCouponCountBy(@Param("couponId") Long couponId, @Param("quantity") int quantity);
 }
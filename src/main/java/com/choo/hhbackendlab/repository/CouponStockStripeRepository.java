@@ -0,0 +1,35 @@
+package com.choo.hhbackendlab.repository;
+
+import com.choo.hhbackendlab.entity.CouponStockStripe;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+public interface CouponStockStripeRepository extends JpaRepository<CouponStockStripe, Long> {
+
+    /**
+     * 분할 재고 잔여 수량 조회 (락 없음, 일괄 차감 실패 시 차감 수량 재계산용)
+     */
+    @Query("SELECT s.stockCnt FROM COUPON_STOCK_STRIPE s WHERE s.couponId = :couponId AND s.stripeNo = :stripeNo")
+    Integer findStripeCount(@Param("couponId") Long couponId, @Param("stripeNo") int stripeNo);
+
+    /**
+     * 분할 재고 1개 감소 (해당 분할 행만 락)
+     * WHERE 조건에 stockCnt > 0을 넣어서 재고가 있을 때만 감소
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE COUPON_STOCK_STRIPE s SET s.stockCnt = s.stockCnt - 1 " +
+            "WHERE s.couponId = :couponId AND s.stripeNo = :stripeNo AND s.stockCnt > 0")
+    int decreaseStripeCount(@Param("couponId") Long couponId, @Param("stripeNo") int stripeNo);
+
+    /**
+     * 분할 재고 일괄 감소
+     * 남은 재고가 요청 수량 이상일 때만 감소
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE COUPON_STOCK_STRIPE s SET s.stockCnt = s.stockCnt - :quantity " +
+            "WHERE s.couponId = :couponId AND s.stripeNo = :stripeNo AND s.stockCnt >= :quantity")
+    int decreaseStripeCountBy(@Param("couponId") Long couponId, @Param("stripeNo") int stripeNo,
+                              @Param("quantity") int quantity);
+}
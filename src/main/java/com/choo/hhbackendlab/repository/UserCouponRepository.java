@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface UserCouponRepository extends JpaRepository<UserCoupon, Long> {
@@ -41,4 +42,10 @@ public interface UserCouponRepository extends JpaRepository<UserCoupon, Long> {
      */
     @Query("SELECT COUNT(uc) > 0 FROM USER_COUPON uc WHERE uc.user.id = :userId AND uc.coupon.id = :couponId")
     boolean existsByUserIdAndCouponId(@Param("userId") Long userId, @Param("couponId") Long couponId);
-}
\ No newline at end of file
+
+    /**
+     * 주어진 사용자 중 특정 이름의 쿠폰을 이미 발급받은 사용자 ID 조회 (일괄 발급 중복 체크용)
+     */
+    @Query("SELECT uc.user.id FROM USER_COUPON uc WHERE uc.coupon.name = :couponName AND uc.user.id IN :userIds")
+    List<Long> findIssuedUserIdsByCouponName(@Param("couponName") String couponName, @Param("userIds") Collection<Long> userIds);
+}
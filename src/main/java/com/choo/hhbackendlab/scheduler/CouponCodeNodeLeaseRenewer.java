@@ -0,0 +1,31 @@
+package com.choo.hhbackendlab.scheduler;
+
+import com.choo.hhbackendlab.helper.CouponCodeGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 쿠폰 코드 노드 ID 임대 연장 스케줄러 (node-lease-renew-millis마다)
+ *
+ * 코드를 생성하는 모든 노드에서 동작해야 하므로 워커 스케줄러와 달리 spring.scheduling.enabled와 무관하게 등록
+ * 연장이 lease 시간 안에 한 번도 성공하지 못하면(Redis 장애 등) 다른 노드가 같은 ID를 임대할 수 있으므로
+ * node-lease-millis는 renew 주기보다 충분히 길게 설정
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponCodeNodeLeaseRenewer {
+
+    private final CouponCodeGenerator couponCodeGenerator;
+
+    @Scheduled(fixedDelayString = "${coupon.code.node-lease-renew-millis:20000}")
+    public void renew() {
+        try {
+            couponCodeGenerator.renewNodeLease();
+        } catch (Exception e) {
+            log.error("쿠폰 코드 노드 ID 임대 연장 중 예외 발생", e);
+        }
+    }
+}
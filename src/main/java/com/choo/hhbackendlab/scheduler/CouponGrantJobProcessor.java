@@ -0,0 +1,142 @@
+package com.choo.hhbackendlab.scheduler;
+
+import com.choo.hhbackendlab.helper.CouponDuplicateRequestGuard;
+import com.choo.hhbackendlab.helper.CouponGrantChunkResult;
+import com.choo.hhbackendlab.helper.CouponGrantTransactionProcessor;
+import com.choo.hhbackendlab.redis.CouponIssuedUserStore;
+import com.choo.hhbackendlab.redis.CouponStockCounter;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+
+/**
+ * 쿠폰 일괄 지급 작업 처리 스케줄러
+ *
+ * poll-millis마다 처리할 작업(대기 중이거나 처리 노드가 멈춘 작업)을 가져와 가상 스레드에서 청크 단위로 지급
+ * (작업이 길어도 다른 스케줄 작업을 막지 않도록 스케줄러 스레드에서 직접 처리하지 않음)
+ * 청크마다 커밋하므로 노드가 죽으면 heartbeat-timeout-millis 후 다른 노드가 cursor 이후부터 재개하고,
+ * 두 노드가 같은 작업을 처리하게 되면 작업 버전 충돌로 한쪽이 중단
+ *
+ * 지급 결과는 커밋 후 Redis(발급 완료 기록, 재고 카운터)에도 반영해 선착순 발급 경로와 일관성 유지
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class CouponGrantJobProcessor {
+
+    private final CouponGrantTransactionProcessor couponGrantTransactionProcessor;
+    private final CouponIssuedUserStore couponIssuedUserStore;
+    private final CouponStockCounter couponStockCounter;
+    private final CouponDuplicateRequestGuard couponDuplicateRequestGuard;
+
+    // 청크 크기 (트랜잭션 1회에 지급할 최대 대상 수)
+    @Value("${coupon.grant.chunk-size:1000}")
+    private int chunkSize;
+
+    // 노드당 동시에 처리할 작업 수
+    @Value("${coupon.grant.worker.concurrency:1}")
+    private int concurrency;
+
+    // 이 시간 동안 진행이 없는 RUNNING 작업은 처리 노드가 멈춘 것으로 보고 다시 가져감
+    @Value("${coupon.grant.heartbeat-timeout-millis:60000}")
+    private long heartbeatTimeoutMillis;
+
+    private ExecutorService workerPool;
+    private Semaphore workerPermits;
+
+    @PostConstruct
+    public void startWorkers() {
+        workerPool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("coupon-grant-worker-", 1).factory());
+        workerPermits = new Semaphore(concurrency);
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        workerPool.shutdownNow();
+    }
+
+    /**
+     * 처리할 작업을 가져와 워커에 분배 (poll-millis마다)
+     */
+    @Scheduled(fixedDelayString = "${coupon.grant.poll-millis:5000}")
+    public void dispatchJobs() {
+        while (workerPermits.tryAcquire()) {
+            Optional<Long> jobId;
+            try {
+                jobId = couponGrantTransactionProcessor.claimNextJob(
+                        LocalDateTime.now().minusNanos(heartbeatTimeoutMillis * 1_000_000));
+            } catch (Exception e) {
+                workerPermits.release();
+                log.error("쿠폰 일괄 지급 작업 조회 중 예외 발생", e);
+                return;
+            }
+            if (jobId.isEmpty()) {
+                workerPermits.release();
+                return;
+            }
+            workerPool.submit(() -> {
+                try {
+                    runJob(jobId.get());
+                } finally {
+                    workerPermits.release();
+                }
+            });
+        }
+    }
+
+    /**
+     * 작업이 끝날 때까지 청크 단위로 지급
+     */
+    void runJob(Long jobId) {
+        log.info("쿠폰 일괄 지급 시작 - jobId: {}", jobId);
+        while (!Thread.currentThread().isInterrupted()) {
+            CouponGrantChunkResult result;
+            try {
+                result = couponGrantTransactionProcessor.grantChunk(jobId, chunkSize);
+            } catch (ObjectOptimisticLockingFailureException e) {
+                log.warn("다른 노드가 처리 중인 지급 작업 - jobId: {}", jobId);
+                return;
+            } catch (Exception e) {
+                log.error("쿠폰 일괄 지급 실패 - jobId: {}", jobId, e);
+                couponGrantTransactionProcessor.failJob(jobId, "쿠폰 지급 처리 중 오류가 발생했습니다.");
+                return;
+            }
+
+            applyToRedis(result);
+            if (result.isFinished()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * 커밋된 지급 결과를 Redis에 반영 (발급 완료 기록, 노드 로컬 중복 요청 기록, 재고 카운터)
+     * 반영에 실패해도 선착순 발급 시 DB 중복 체크 / 재고 차감으로 걸러지므로 작업은 계속 진행
+     */
+    private void applyToRedis(CouponGrantChunkResult result) {
+        if (result.getGrantedUserIds().isEmpty()) {
+            return;
+        }
+        try {
+            couponIssuedUserStore.markIssued(result.getCouponName(), result.getGrantedUserIds());
+            couponDuplicateRequestGuard.recordIssued(result.getCouponName(), result.getGrantedUserIds());
+            couponStockCounter.consume(result.getCouponName(), result.getGrantedUserIds().size());
+        } catch (Exception e) {
+            log.error("일괄 지급 결과 Redis 반영 실패 - couponName: {}, count: {}",
+                    result.getCouponName(), result.getGrantedUserIds().size(), e);
+        }
+    }
+}
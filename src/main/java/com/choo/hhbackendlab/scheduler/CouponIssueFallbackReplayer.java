@@ -0,0 +1,46 @@
+package com.choo.hhbackendlab.scheduler;
+
+import com.choo.hhbackendlab.helper.CouponIssueFallbackQueue;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Redis 장애 대체 큐 저장 / 재등록 스케줄러
+ *
+ * - spill : 로컬 대체 큐에 쌓인 요청을 COUPON_ISSUE_QUEUE에 DEFERRED 상태로 저장 (flush-interval-millis마다)
+ * - replay : Redis가 복구되면 DEFERRED 요청을 도착 순으로 Redis 대기열에 재등록 (replay-interval-millis마다)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class CouponIssueFallbackReplayer {
+
+    private final CouponIssueFallbackQueue couponIssueFallbackQueue;
+
+    /**
+     * 로컬 대체 큐의 요청을 DB에 저장
+     */
+    @Scheduled(fixedDelayString = "${coupon.issue.fallback.flush-interval-millis:200}")
+    public void spill() {
+        couponIssueFallbackQueue.spillAll();
+    }
+
+    /**
+     * DB에 보관한 요청을 Redis 대기열에 재등록
+     */
+    @Scheduled(fixedDelayString = "${coupon.issue.fallback.replay-interval-millis:1000}")
+    public void replay() {
+        try {
+            int replayed = couponIssueFallbackQueue.replay();
+            if (replayed > 0) {
+                log.info("보관 요청 Redis 대기열 재등록: {}건", replayed);
+            }
+        } catch (Exception e) {
+            log.error("보관 요청 재등록 중 예외 발생", e);
+        }
+    }
+}
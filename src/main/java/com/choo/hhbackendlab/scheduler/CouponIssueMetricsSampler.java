@@ -0,0 +1,57 @@
+package com.choo.hhbackendlab.scheduler;
+
+import com.choo.hhbackendlab.helper.CouponIssueMetrics;
+import com.choo.hhbackendlab.redis.CouponIssue;
+import com.choo.hhbackendlab.redis.CouponIssueStream;
+import com.choo.hhbackendlab.redis.CouponQueueType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 선착순 쿠폰 발급 지표 수집 스케줄러 (sample-millis마다)
+ *
+ * - 활성 대기열별 대기 요청 수와 전체 대기 요청 수 (파이프라인 1회 + GET 1회)
+ * - 도착 순번(cpn:seq) 표본 : Sorted Set 대기열의 대기 시간 추정용 (CouponIssueMetrics 참고)
+ * 요청 처리 경로에서 Redis를 추가로 호출하지 않도록 게이지 값은 여기서만 갱신
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class CouponIssueMetricsSampler {
+
+    private final CouponIssue couponIssue;
+    private final CouponIssueStream couponIssueStream;
+    private final CouponIssueMetrics couponIssueMetrics;
+
+    // 대기열 방식 (ZSET / STREAM)
+    @Value("${coupon.issue.queue-type:ZSET}")
+    private CouponQueueType queueType;
+
+    @Scheduled(fixedDelayString = "${coupon.metrics.sample-millis:1000}")
+    public void sample() {
+        if (queueType == CouponQueueType.DATABASE) {
+            return;
+        }
+        try {
+            if (queueType == CouponQueueType.ZSET) {
+                couponIssueMetrics.sampleArrivalSequence(couponIssue.getArrivalSequence());
+            }
+            Set<String> couponNames = couponIssue.getActiveCouponNames();
+            Map<String, Long> depths = queueType == CouponQueueType.STREAM
+                    ? couponIssueStream.getWaitingListSizes(couponNames)
+                    : couponIssue.getWaitingListSizes(couponNames);
+            couponIssueMetrics.updateQueueDepths(depths, couponIssue.getPendingRequestCount());
+        } catch (Exception e) {
+            // Redis 장애 중에는 매 주기 실패하므로 debug로만 기록
+            log.debug("쿠폰 발급 지표 수집 실패", e);
+        }
+    }
+}
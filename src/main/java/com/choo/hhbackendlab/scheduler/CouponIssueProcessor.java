@@ -1,15 +1,40 @@
 package com.choo.hhbackendlab.scheduler;
 
 import com.choo.hhbackendlab.redis.CouponIssue;
+import com.choo.hhbackendlab.redis.CouponIssueStream;
+import com.choo.hhbackendlab.redis.CouponQueueLease;
+import com.choo.hhbackendlab.redis.CouponQueueType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
 /**
- * Redis Sorted Set 기반 쿠폰 발급 처리 스케줄러
- * 주기적으로 Redis Sorted Set에서 요청을 꺼내서 처리
+ * Redis 대기열(Sorted Set 또는 Streams) 기반 쿠폰 발급 처리 스케줄러
+ * 비어있던 대기열에 요청이 들어오면 Pub/Sub 메시지로 즉시 깨어나 처리하고,
+ * 요청이 없으면 가상 스레드에서 대기 (메시지 유실 대비 fallback-poll-millis 주기로도 확인)
+ *
+ * 쿠폰 대기열 단위로 처리 소유권(CouponQueueLease)을 획득한 노드만 해당 대기열을 처리하므로
+ * 노드를 늘리면 서로 다른 쿠폰 대기열이 병렬로 처리됨
+ * 노드 내에서는 concurrency 개의 워커가 서로 다른 쿠폰 대기열을 동시에 처리
+ * Streams 방식(coupon.issue.queue-type=STREAM)은 확인되지 않은 요청을 주기적으로 회수하여 재처리
  */
 @Slf4j
 @Component
@@ -18,30 +43,207 @@ import org.springframework.stereotype.Component;
 public class CouponIssueProcessor {
 
     private final CouponIssue couponIssue;
+    private final CouponIssueStream couponIssueStream;
+    private final CouponQueueLease couponQueueLease;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    // 대기열 방식 (ZSET / STREAM)
+    @Value("${coupon.issue.queue-type:ZSET}")
+    private CouponQueueType queueType;
+
+    // 노드당 동시에 처리할 쿠폰 대기열 수 (디스패처 스레드 포함)
+    @Value("${coupon.issue.worker.concurrency:4}")
+    private int concurrency;
+
+    // 대기열 처리 소유권 유지 시간 (배치마다 연장)
+    @Value("${coupon.issue.worker.lease-millis:5000}")
+    private long leaseMillis;
+
+    // 깨우기 메시지가 없을 때 대기열을 확인하는 주기 (메시지 유실 대비)
+    @Value("${coupon.issue.worker.fallback-poll-millis:1000}")
+    private long fallbackPollMillis;
+
+    // 클러스터 내 노드 식별자
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // 깨우기 신호 (대기 중인 디스패처가 획득)
+    private final Semaphore wakeUpSignal = new Semaphore(0);
+
+    private ExecutorService workerPool;
+    private Semaphore workerPermits;
+    private Thread dispatcher;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void startWorkers() {
+        // DB 대기열 방식은 CouponIssueQueueProcessor가 처리
+        if (queueType == CouponQueueType.DATABASE) {
+            log.info("DB 대기열 방식 - Redis 대기열 워커를 시작하지 않음");
+            return;
+        }
+
+        workerPool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("coupon-issue-worker-", 1).factory());
+        workerPermits = new Semaphore(Math.max(concurrency - 1, 0));
+
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> wakeUp(), new ChannelTopic(CouponIssue.WAKE_UP_CHANNEL));
+
+        running = true;
+        dispatcher = Thread.ofVirtual().name("coupon-issue-dispatcher").start(this::dispatch);
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        running = false;
+        if (dispatcher != null) {
+            dispatcher.interrupt();
+            workerPool.shutdown();
+        }
+    }
+
+    /**
+     * 대기열 처리 워커 깨우기
+     */
+    public void wakeUp() {
+        wakeUpSignal.release();
+    }
 
     /**
-     * Redis Sorted Set 처리 스케줄러
-     * 50ms마다 대기열을 확인하여 처리
-     * fixedDelay: 이전 작업이 완료된 후 50ms 후에 다시 실행
+     * 디스패처 루프 (가상 스레드)
+     * 깨우기 신호가 올 때까지 대기하다가 대기열을 처리하고,
+     * 처리한 요청이 있으면 쉬지 않고 다시 확인
+     */
+    private void dispatch() {
+        while (running) {
+            try {
+                wakeUpSignal.tryAcquire(fallbackPollMillis, TimeUnit.MILLISECONDS);
+                wakeUpSignal.drainPermits();
+
+                while (running && processWaitingList() > 0) {
+                    log.debug("처리한 요청이 있어 대기열 재확인");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Redis Sorted Set 처리
+     * 활성 대기열마다 소유권을 획득한 경우에만 batch-size만큼 꺼내 일괄 발급하고,
+     * 대기열이 빌 때까지 반복 처리
      *
-     * Redis Sorted Set은 DB보다 빠르므로 처리 주기를 짧게 설정
+     * @return 처리한 요청 수
      */
-    @Scheduled(fixedDelay = 50)
-    public void processWaitingList() {
+    public int processWaitingList() {
         try {
-            // Redis Sorted Set에서 요청을 하나씩 처리
-            // 처리할 요청이 없으면 false 반환
-            boolean processed = couponIssue.processNextRequest();
-
-            // 처리할 요청이 있었다면 즉시 다음 요청 처리 시도
-            // 처리할 요청이 없으면 50ms 대기 후 다시 시도
-            if (processed) {
-                // 연속적으로 처리하기 위해 로그만 남김
-                log.debug("대기열 처리 완료, 다음 요청 확인");
+            Set<String> couponNames = couponIssue.getActiveCouponNames();
+            if (couponNames.isEmpty()) {
+                return 0;
+            }
+
+            // 마지막 대기열은 호출 스레드에서 직접 처리하고, 나머지는 워커(가상 스레드)에 분배
+            // 워커 수가 concurrency - 1개를 넘으면 호출 스레드에서 처리
+            List<String> names = new ArrayList<>(couponNames);
+            String inlineCouponName = names.remove(names.size() - 1);
+
+            int totalProcessed = 0;
+            List<Future<Integer>> futures = new ArrayList<>();
+            for (String couponName : names) {
+                if (workerPermits.tryAcquire()) {
+                    futures.add(workerPool.submit(() -> {
+                        try {
+                            return drainWaitingList(couponName);
+                        } finally {
+                            workerPermits.release();
+                        }
+                    }));
+                } else {
+                    totalProcessed += drainWaitingList(couponName);
+                }
+            }
+
+            totalProcessed += drainWaitingList(inlineCouponName);
+            for (Future<Integer> future : futures) {
+                totalProcessed += future.get();
+            }
+
+            if (totalProcessed > 0) {
+                log.debug("대기열 처리 완료: {}건", totalProcessed);
             }
+            return totalProcessed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            log.error("대기열 처리 중 예외 발생", e.getCause());
         } catch (Exception e) {
             log.error("대기열 처리 중 예외 발생", e);
         }
+        return 0;
+    }
+
+    /**
+     * 소유권을 획득한 경우 대기열이 빌 때까지 일괄 처리
+     * 배치마다 소유권을 연장하고, 소유권을 잃으면 즉시 중단
+     *
+     * @param couponName 쿠폰 이름
+     * @return 처리한 요청 수
+     */
+    private int drainWaitingList(String couponName) {
+        if (!couponQueueLease.tryAcquire(couponName, nodeId, leaseMillis)) {
+            log.debug("다른 워커가 처리 중인 대기열 - couponName: {}", couponName);
+            return 0;
+        }
+
+        try {
+            int totalProcessed = 0;
+            int processed;
+            do {
+                processed = processNextBatch(couponName);
+                totalProcessed += processed;
+            } while (processed > 0 && couponQueueLease.renew(couponName, nodeId, leaseMillis));
+            return totalProcessed;
+        } catch (Exception e) {
+            log.error("대기열 처리 중 예외 발생 - couponName: {}", couponName, e);
+            return 0;
+        } finally {
+            couponQueueLease.release(couponName, nodeId);
+        }
+    }
+
+    /**
+     * 설정된 대기열 방식으로 다음 배치 처리
+     */
+    private int processNextBatch(String couponName) {
+        if (queueType == CouponQueueType.STREAM) {
+            return couponIssueStream.processNextBatch(couponName, nodeId);
+        }
+        return couponIssue.processNextBatch(couponName);
+    }
+
+    /**
+     * Streams 방식에서 확인되지 않은(XACK 전) 요청 회수 및 재처리 (10초마다)
+     * 발급 도중 노드가 죽어 PEL에 남은 요청을 소유권을 획득한 노드가 가져가 처리
+     */
+    @Scheduled(fixedDelayString = "${coupon.issue.stream.reclaim-interval-millis:10000}")
+    public void reclaimPendingRequests() {
+        if (queueType != CouponQueueType.STREAM) {
+            return;
+        }
+
+        for (String couponName : couponIssue.getActiveCouponNames()) {
+            if (!couponQueueLease.tryAcquire(couponName, nodeId, leaseMillis)) {
+                continue;
+            }
+            try {
+                couponIssueStream.reclaimPending(couponName, nodeId);
+            } catch (Exception e) {
+                log.error("미확인 발급 요청 회수 중 예외 발생 - couponName: {}", couponName, e);
+            } finally {
+                couponQueueLease.release(couponName, nodeId);
+            }
+        }
     }
 
     /**
@@ -49,9 +251,12 @@ public class CouponIssueProcessor {
      */
     @Scheduled(fixedRate = 60000)
     public void logWaitingListStatus() {
+        if (queueType == CouponQueueType.DATABASE) {
+            return;
+        }
         long pendingCount = couponIssue.getPendingRequestCount();
         if (pendingCount > 0) {
             log.info("대기 중인 쿠폰 발급 요청: {}건", pendingCount);
         }
     }
-}
\ No newline at end of file
+}
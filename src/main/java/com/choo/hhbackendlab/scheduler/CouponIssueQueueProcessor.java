@@ -0,0 +1,136 @@
+package com.choo.hhbackendlab.scheduler;
+
+import com.choo.hhbackendlab.entity.CouponIssueQueue;
+import com.choo.hhbackendlab.helper.CouponIssueQueueTransactionProcessor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * DB 대기열(COUPON_ISSUE_QUEUE) 기반 쿠폰 발급 처리 워커 (coupon.issue.queue-type=DATABASE)
+ * Redis 없이 동작하는 대체 경로
+ *
+ * concurrency 개의 워커(가상 스레드)가 각자 FOR UPDATE SKIP LOCKED로 서로 다른 배치를 가져가므로
+ * 맨 앞 행 하나에 모든 워커가 줄을 서지 않고 병렬로 처리
+ * 발급 트랜잭션이 실패한 요청은 백오프 후 재시도 (처리 중 멈춘 요청은 CouponIssueReaper가 회수)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "coupon.issue.queue-type", havingValue = "DATABASE")
+public class CouponIssueQueueProcessor {
+
+    private final CouponIssueQueueTransactionProcessor couponIssueQueueTransactionProcessor;
+
+    @Value("${spring.scheduling.enabled:true}")
+    private boolean schedulingEnabled;
+
+    // 노드당 워커 수
+    @Value("${coupon.issue.db.worker.concurrency:4}")
+    private int concurrency;
+
+    // 워커가 한 번에 가져갈 요청 수
+    @Value("${coupon.issue.batch-size:100}")
+    private int batchSize;
+
+    // 처리할 요청이 없을 때 대기 시간
+    @Value("${coupon.issue.db.poll-millis:200}")
+    private long pollMillis;
+
+    private ExecutorService workerPool;
+    private volatile boolean running;
+
+    @PostConstruct
+    public void startWorkers() {
+        if (!schedulingEnabled) {
+            return;
+        }
+        running = true;
+        workerPool = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("coupon-queue-worker-", 1).factory());
+        for (int i = 0; i < concurrency; i++) {
+            workerPool.submit(this::work);
+        }
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        running = false;
+        if (workerPool != null) {
+            workerPool.shutdownNow();
+        }
+    }
+
+    /**
+     * 워커 루프
+     * 처리한 요청이 있으면 바로 다음 배치를 가져가고, 없으면 poll-millis 동안 대기
+     */
+    private void work() {
+        while (running) {
+            try {
+                if (processNextBatch() == 0) {
+                    Thread.sleep(pollMillis);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("DB 대기열 처리 중 예외 발생", e);
+            }
+        }
+    }
+
+    /**
+     * 요청을 한 배치 가져와 쿠폰별로 일괄 발급
+     *
+     * @return 가져간 요청 수
+     */
+    public int processNextBatch() {
+        List<CouponIssueQueue> claimed = couponIssueQueueTransactionProcessor.claimBatch(batchSize);
+        if (claimed.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, List<Long>> queueIdsByCoupon = new LinkedHashMap<>();
+        for (CouponIssueQueue request : claimed) {
+            queueIdsByCoupon.computeIfAbsent(request.getCouponName(), name -> new ArrayList<>()).add(request.getId());
+        }
+
+        queueIdsByCoupon.forEach((couponName, queueIds) -> {
+            try {
+                int issued = issueClaimed(couponName, queueIds);
+                log.debug("DB 대기열 발급 완료 - couponName: {}, 요청: {}, 발급: {}", couponName, queueIds.size(), issued);
+            } catch (Exception e) {
+                log.error("DB 대기열 발급 실패 - couponName: {}, count: {}", couponName, queueIds.size(), e);
+                couponIssueQueueTransactionProcessor.retryClaimed(queueIds, "쿠폰 발급 처리 중 오류가 발생했습니다.");
+            }
+        });
+        return claimed.size();
+    }
+
+    /**
+     * 가져간 요청 발급
+     * 처리 기한이 지나 다른 워커가 되돌린 요청을 동시에 발급하면 (쿠폰, 사용자) 유니크 제약 위반으로 롤백되므로,
+     * 시도 횟수를 쓰지 않고 한 번 더 실행 (먼저 커밋된 발급이 중복 확인에 걸려 FAILED(이미 발급)로 처리됨)
+     */
+    private int issueClaimed(String couponName, List<Long> queueIds) {
+        try {
+            return couponIssueQueueTransactionProcessor.issueClaimed(couponName, queueIds);
+        } catch (DataIntegrityViolationException e) {
+            log.warn("다른 워커가 먼저 발급한 요청 포함, 중복 확인 후 다시 발급 - couponName: {}, count: {}",
+                    couponName, queueIds.size());
+            return couponIssueQueueTransactionProcessor.issueClaimed(couponName, queueIds);
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.choo.hhbackendlab.scheduler;
+
+import com.choo.hhbackendlab.helper.CouponIssueQueueTransactionProcessor;
+import com.choo.hhbackendlab.redis.CouponIssue;
+import com.choo.hhbackendlab.redis.CouponQueueType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 처리 중 멈춘 쿠폰 발급 요청 회수 스케줄러
+ *
+ * 발급 도중 노드가 죽거나 발급 트랜잭션이 실패해 처리 중 상태로 남은 요청을 재시도 정책(CouponIssueRetryPolicy)에 따라
+ * 대기열로 되돌리고, 시도 횟수를 모두 소진한 요청은 DEAD_LETTER로 격리
+ * - ZSET : 처리 중 목록(cpn:inf)에서 되돌릴 시간이 지난 요청을 원래 score로 대기열에 복귀
+ * - DATABASE : 처리 시작 후 기한이 지난 PROCESSING 행을 PENDING으로 복귀 (FOR UPDATE SKIP LOCKED)
+ * - STREAM : CouponIssueProcessor.reclaimPendingRequests가 PEL을 회수하므로 여기서는 처리하지 않음
+ *
+ * 회수는 Lua 스크립트 / SKIP LOCKED로 원자적으로 처리되므로 여러 노드에서 동시에 실행해도 같은 요청을 중복으로 되돌리지 않음
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class CouponIssueReaper {
+
+    private final CouponIssue couponIssue;
+    private final CouponIssueQueueTransactionProcessor couponIssueQueueTransactionProcessor;
+
+    // 대기열 방식 (ZSET / STREAM / DATABASE)
+    @Value("${coupon.issue.queue-type:ZSET}")
+    private CouponQueueType queueType;
+
+    // 한 번에 회수할 최대 요청 수
+    @Value("${coupon.issue.batch-size:100}")
+    private int batchSize;
+
+    /**
+     * 되돌릴 시간이 지난 처리 중 요청 회수 (reap-interval-millis마다)
+     */
+    @Scheduled(fixedDelayString = "${coupon.issue.retry.reap-interval-millis:5000}")
+    public void reap() {
+        try {
+            int reaped = switch (queueType) {
+                case ZSET -> reapWaitingLists();
+                case DATABASE -> reapDatabaseQueue();
+                case STREAM -> 0;
+            };
+            if (reaped > 0) {
+                log.info("처리 중 멈춘 발급 요청 회수: {}건", reaped);
+            }
+        } catch (Exception e) {
+            log.error("처리 중 멈춘 발급 요청 회수 중 예외 발생", e);
+        }
+    }
+
+    /**
+     * Redis Sorted Set 대기열의 처리 중 목록 회수
+     */
+    private int reapWaitingLists() {
+        int totalReaped = 0;
+        for (String couponName : couponIssue.getInFlightCouponNames()) {
+            int reaped;
+            do {
+                reaped = couponIssue.reapInFlight(couponName, batchSize);
+                totalReaped += reaped;
+            } while (reaped == batchSize);
+        }
+        return totalReaped;
+    }
+
+    /**
+     * DB 대기열(COUPON_ISSUE_QUEUE)의 기한이 지난 PROCESSING 행 회수
+     */
+    private int reapDatabaseQueue() {
+        int totalReaped = 0;
+        int reaped;
+        do {
+            reaped = couponIssueQueueTransactionProcessor.requeueTimedOut(batchSize);
+            totalReaped += reaped;
+        } while (reaped == batchSize);
+        return totalReaped;
+    }
+}
@@ -0,0 +1,54 @@
+package com.choo.hhbackendlab.scheduler;
+
+import com.choo.hhbackendlab.redis.CouponIssue;
+import com.choo.hhbackendlab.redis.CouponLifecycleIndex;
+import com.choo.hhbackendlab.redis.CouponQueueType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * 만료 / 재고 소진 쿠폰 대기열 정리 스케줄러 (Sorted Set 대기열)
+ *
+ * 발급될 수 없는 요청만 남은 대기열을 워커가 배치마다 DB 조회로 확인하지 않도록,
+ * 쿠폰 수명 인덱스(CouponLifecycleIndex)에서 만료 / 재고 소진 쿠폰을 찾아 남은 요청을 SOLD_OUT 처리하고 대기열 삭제
+ * (대기열 TTL(7일)까지 기다리지 않고 정리하므로 워커는 진행 중인 쿠폰만 처리)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "spring.scheduling.enabled", havingValue = "true", matchIfMissing = true)
+public class CouponWaitingListPurger {
+
+    private final CouponIssue couponIssue;
+    private final CouponLifecycleIndex couponLifecycleIndex;
+
+    // 대기열 방식 (ZSET / STREAM / DATABASE)
+    @Value("${coupon.issue.queue-type:ZSET}")
+    private CouponQueueType queueType;
+
+    // 한 번에 정리할 만료 쿠폰 최대 수
+    @Value("${coupon.issue.lifecycle.purge-limit:100}")
+    private int purgeLimit;
+
+    /**
+     * 만료 / 재고 소진 쿠폰 대기열 정리 (purge-interval-millis마다)
+     */
+    @Scheduled(fixedDelayString = "${coupon.issue.lifecycle.purge-interval-millis:10000}")
+    public void purgeDeadWaitingLists() {
+        if (queueType != CouponQueueType.ZSET) {
+            return;
+        }
+
+        for (String couponName : couponLifecycleIndex.findDeadCoupons(purgeLimit)) {
+            try {
+                couponIssue.purgeWaitingList(couponName);
+            } catch (Exception e) {
+                log.error("만료 / 재고 소진 쿠폰 대기열 정리 중 예외 발생 - couponName: {}", couponName, e);
+            }
+        }
+    }
+}
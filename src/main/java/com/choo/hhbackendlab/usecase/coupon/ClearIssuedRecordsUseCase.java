@@ -0,0 +1,139 @@
+package com.choo.hhbackendlab.usecase.coupon;
+
+import com.choo.hhbackendlab.dto.responseDto.CouponCleanupResponse;
+import com.choo.hhbackendlab.redis.CouponIssue;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 발급 완료 기록 초기화 (관리자용)
+ * 수십만 개 키를 지우는 동안 요청을 붙잡지 않도록 가상 스레드에서 실행하고, 진행 상황은 조회 API로 확인
+ * 같은 쿠폰의 초기화가 이미 실행 중이면 새로 시작하지 않고 실행 중인 작업을 반환
+ * 진행 상황은 노드 로컬에 마지막 작업만 보관 (재시작하면 사라지며, 초기화는 다시 실행해도 안전)
+ * 끝난 작업은 job-retention-millis 동안만 조회할 수 있고, 이후 시작 / 조회 시 정리
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ClearIssuedRecordsUseCase {
+
+    private final CouponIssue couponIssue;
+
+    // 끝난 작업을 보관할 시간
+    @Value("${coupon.cleanup.job-retention-millis:3600000}")
+    private long jobRetentionMillis;
+
+    private final ExecutorService cleanupPool =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("coupon-cleanup-", 1).factory());
+
+    // 쿠폰 이름 → 마지막 초기화 작업
+    private final Map<String, CleanupJob> jobs = new ConcurrentHashMap<>();
+
+    @PreDestroy
+    public void shutdown() {
+        cleanupPool.shutdownNow();
+    }
+
+    /**
+     * 초기화 시작
+     *
+     * @param couponName 쿠폰 이름
+     * @return 시작한 (또는 이미 실행 중인) 작업
+     */
+    public CouponCleanupResponse start(String couponName) {
+        pruneFinishedJobs();
+        CleanupJob job = jobs.compute(couponName, (name, current) ->
+                current != null && current.isRunning() ? current : new CleanupJob(name));
+        if (job.begin()) {
+            cleanupPool.execute(() -> run(job));
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * 마지막 초기화 작업 진행 상황 조회
+     */
+    public CouponCleanupResponse getJob(String couponName) {
+        pruneFinishedJobs();
+        CleanupJob job = jobs.get(couponName);
+        if (job == null) {
+            throw new IllegalArgumentException("초기화 작업을 찾을 수 없습니다. 쿠폰명: " + couponName);
+        }
+        return job.toResponse();
+    }
+
+    /**
+     * 끝난 지 job-retention-millis가 지난 작업 삭제
+     */
+    private void pruneFinishedJobs() {
+        long now = System.nanoTime();
+        jobs.values().removeIf(job -> job.isExpired(now, jobRetentionMillis));
+    }
+
+    private void run(CleanupJob job) {
+        try {
+            couponIssue.clearIssuedRecords(job.couponName, job.deletedCount::addAndGet);
+            job.finish("COMPLETED", null);
+        } catch (Exception e) {
+            log.error("발급 완료 기록 초기화 실패 - couponName: {}, 삭제: {}건", job.couponName, job.deletedCount.get(), e);
+            job.finish("FAILED", e.getMessage());
+        }
+    }
+
+    private static final class CleanupJob {
+
+        private final String couponName;
+        private final AtomicLong deletedCount = new AtomicLong();
+        private final LocalDateTime startedAt = LocalDateTime.now();
+        private volatile String status = "RUNNING";
+        private volatile LocalDateTime finishedAt;
+        private volatile long finishedAtNanos;
+        private volatile String errorMessage;
+        private boolean started;
+
+        private CleanupJob(String couponName) {
+            this.couponName = couponName;
+        }
+
+        private boolean isRunning() {
+            return "RUNNING".equals(status);
+        }
+
+        private boolean isExpired(long nowNanos, long retentionMillis) {
+            return !isRunning() && nowNanos - finishedAtNanos >= TimeUnit.MILLISECONDS.toNanos(retentionMillis);
+        }
+
+        /**
+         * 처음 호출한 쪽만 true (실행 중인 작업을 반환받은 요청은 다시 실행하지 않음)
+         */
+        private synchronized boolean begin() {
+            if (started) {
+                return false;
+            }
+            started = true;
+            return true;
+        }
+
+        private void finish(String status, String errorMessage) {
+            this.errorMessage = errorMessage;
+            this.finishedAt = LocalDateTime.now();
+            this.finishedAtNanos = System.nanoTime();
+            this.status = status;
+        }
+
+        private CouponCleanupResponse toResponse() {
+            return new CouponCleanupResponse(couponName, status, deletedCount.get(), startedAt, finishedAt, errorMessage);
+        }
+    }
+}
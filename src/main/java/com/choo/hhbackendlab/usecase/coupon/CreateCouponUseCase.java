@@ -1,21 +1,38 @@
 package com.choo.hhbackendlab.usecase.coupon;
 
 import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.helper.CouponTemplateCache;
+import com.choo.hhbackendlab.redis.CouponLifecycleIndex;
+import com.choo.hhbackendlab.redis.CouponStockCounter;
 import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.CouponStockStripeRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 
 /**
  * 쿠폰 생성 (couponCnt만큼 미발급 쿠폰 생성)
  */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class CreateCouponUseCase {
 
     private final CouponRepository couponRepository;
+    private final CouponStockCounter couponStockCounter;
+    private final CouponTemplateCache couponTemplateCache;
+    private final CouponLifecycleIndex couponLifecycleIndex;
+    private final CouponStockStripeRepository couponStockStripeRepository;
+
+    // 재고 분할 수 (1이면 분할하지 않음, 동시 발급이 몰리는 쿠폰의 행 락 대기 분산용)
+    @Value("${coupon.stock.stripes:1}")
+    private int stockStripes;
 
     @Transactional
     public Coupon createCoupons(String name, int couponCnt, int couponAmount, int minOrderAmount, LocalDateTime expiredAt) {
@@ -23,7 +40,36 @@ public class CreateCouponUseCase {
 
         Coupon couponResult = couponRepository.save(coupons);
 
+        // 재고 분할 (저장 후 쿠폰 ID가 있어야 분할 재고 생성 가능)
+        couponStockStripeRepository.saveAll(couponResult.splitStock(stockStripes));
+
+        // 트랜잭션 커밋 후 선착순 발급용 Redis 재고 카운터 반영
+        registerStockIncreaseAfterCommit(name, couponCnt, expiredAt);
+
         // 생성된 쿠폰 반환
         return couponResult;
     }
+
+    /**
+     * 트랜잭션 커밋 후 Redis 재고 카운터 증가, 쿠폰 수명 인덱스 갱신 및 템플릿 캐시 무효화
+     * 커밋 전에 반영하면 롤백 시 존재하지 않는 재고로 대기열 등록을 받게 되므로 커밋 이후에 처리
+     */
+    private void registerStockIncreaseAfterCommit(String name, int couponCnt, LocalDateTime expiredAt) {
+        TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        couponTemplateCache.evict(name);
+                        try {
+                            couponStockCounter.increase(name, couponCnt);
+                            couponLifecycleIndex.clearSoldOut(name);
+                            couponLifecycleIndex.registerExpiry(name, expiredAt);
+                        } catch (Exception e) {
+                            // 카운터가 없으면 다음 대기열 등록 시 DB 기준으로 초기화되므로 쿠폰 생성은 유지
+                            log.error("쿠폰 재고 카운터 반영 실패 (쿠폰은 정상 생성됨) - name: {}", name, e);
+                        }
+                    }
+                }
+        );
+    }
 }
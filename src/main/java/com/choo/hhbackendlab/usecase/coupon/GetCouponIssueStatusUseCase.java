@@ -0,0 +1,240 @@
+package com.choo.hhbackendlab.usecase.coupon;
+
+import com.choo.hhbackendlab.dto.requestDto.WaitingPositionItemRequest;
+import com.choo.hhbackendlab.dto.responseDto.CouponIssueStatusResponse;
+import com.choo.hhbackendlab.dto.responseDto.CouponWaitingPositionResponse;
+import com.choo.hhbackendlab.entity.CouponIssueQueue;
+import com.choo.hhbackendlab.redis.CouponIssue;
+import com.choo.hhbackendlab.redis.CouponIssueStatusEvent;
+import com.choo.hhbackendlab.redis.CouponIssueStatusStore;
+import com.choo.hhbackendlab.redis.CouponQueueType;
+import com.choo.hhbackendlab.redis.CouponWaitingPositionCache;
+import com.choo.hhbackendlab.redis.QueueStatus;
+import com.choo.hhbackendlab.repository.CouponIssueQueueRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * 선착순 쿠폰 발급 요청 상태 조회
+ * 발급 API를 다시 호출하지 않고 Redis에 기록된 상태(HGET 1회)로 결과를 확인하며,
+ * SSE 구독 시 상태 변경 이벤트(Pub/Sub)를 받아 최종 상태가 될 때까지 푸시
+ * DB 대기열 방식(queue-type=DATABASE)은 Redis에 상태를 기록하지 않으므로 COUPON_ISSUE_QUEUE에서 조회하고,
+ * 상태 변경 이벤트도 없으므로 SSE는 현재 상태만 보내고 종료 (클라이언트 재연결 시 다시 조회)
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class GetCouponIssueStatusUseCase {
+
+    private final CouponIssueStatusStore couponIssueStatusStore;
+    private final CouponIssue couponIssue;
+    private final CouponWaitingPositionCache couponWaitingPositionCache;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+    private final CouponIssueQueueRepository couponIssueQueueRepository;
+
+    @Value("${coupon.issue.queue-type:ZSET}")
+    private CouponQueueType queueType;
+
+    // SSE 연결 유지 시간
+    @Value("${coupon.issue.status.sse-timeout-millis:30000}")
+    private long sseTimeoutMillis;
+
+    private static final String SSE_EVENT_NAME = "status";
+
+    // 이 노드에 연결된 구독자 ({couponName}:{userId} → SseEmitter)
+    private final Map<String, Set<SseEmitter>> subscribers = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void subscribeStatusEvents() {
+        redisMessageListenerContainer.addMessageListener(
+                (message, pattern) -> onStatusEvent(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(CouponIssueStatusStore.STATUS_CHANNEL));
+    }
+
+    /**
+     * 발급 요청 상태 조회
+     *
+     * @param couponName 쿠폰 이름
+     * @param userId 사용자 ID
+     * @return 요청 상태 (대기 중이면 대기 순서 포함)
+     */
+    public CouponIssueStatusResponse getStatus(String couponName, Long userId) {
+        QueueStatus status = queueType == CouponQueueType.DATABASE
+                ? couponIssueQueueRepository.findFirstByUserIdAndCouponNameOrderByCreatedAtAscIdAsc(userId, couponName)
+                        .map(CouponIssueQueue::getStatus)
+                        .orElse(null)
+                : couponIssueStatusStore.getStatus(couponName, userId);
+        if (status == null) {
+            throw new IllegalArgumentException(
+                    "쿠폰 발급 요청 내역이 없습니다. 쿠폰명: " + couponName + ", User ID: " + userId);
+        }
+        return new CouponIssueStatusResponse(couponName, userId, status, getWaitingPosition(couponName, userId, status));
+    }
+
+    /**
+     * 여러 사용자의 대기 순서 일괄 조회 (Sorted Set 방식만)
+     * 보통 크기의 대기열은 ZRANK를 파이프라인으로 한 번에 조회하고,
+     * approximate-threshold 이상인 대기열은 CouponWaitingPositionCache로 추정 (approximate = true)
+     *
+     * @param targets 조회 대상 (사용자 ID, 쿠폰 이름)
+     * @return 대상별 대기 순서 (대기 중이 아니면 null, 요청 순서와 동일)
+     */
+    public List<CouponWaitingPositionResponse> getWaitingPositions(List<WaitingPositionItemRequest> targets) {
+        if (queueType != CouponQueueType.ZSET) {
+            return targets.stream()
+                    .map(target -> new CouponWaitingPositionResponse(target.getCouponName(), target.getUserId(), null, false))
+                    .toList();
+        }
+
+        // 대기열 크기에 따라 정확한 조회 / 추정 대상으로 분리 (각각 Redis 왕복 1회)
+        Set<String> largeQueues = couponWaitingPositionCache.findLargeQueues(
+                targets.stream().map(WaitingPositionItemRequest::getCouponName).toList());
+        List<Integer> exactIndexes = new ArrayList<>();
+        List<Integer> approximateIndexes = new ArrayList<>();
+        for (int i = 0; i < targets.size(); i++) {
+            if (largeQueues.contains(targets.get(i).getCouponName())) {
+                approximateIndexes.add(i);
+            } else {
+                exactIndexes.add(i);
+            }
+        }
+
+        Long[] positions = new Long[targets.size()];
+        boolean[] approximate = new boolean[targets.size()];
+        if (!exactIndexes.isEmpty()) {
+            List<Long> exact = couponIssue.getUserWaitingPositions(
+                    couponNamesAt(targets, exactIndexes), userIdsAt(targets, exactIndexes));
+            for (int i = 0; i < exactIndexes.size(); i++) {
+                positions[exactIndexes.get(i)] = exact.get(i);
+            }
+        }
+        if (!approximateIndexes.isEmpty()) {
+            List<Long> estimated = couponWaitingPositionCache.estimatePositions(
+                    couponNamesAt(targets, approximateIndexes), userIdsAt(targets, approximateIndexes));
+            for (int i = 0; i < approximateIndexes.size(); i++) {
+                positions[approximateIndexes.get(i)] = estimated.get(i);
+                approximate[approximateIndexes.get(i)] = true;
+            }
+        }
+
+        List<CouponWaitingPositionResponse> responses = new ArrayList<>(targets.size());
+        for (int i = 0; i < targets.size(); i++) {
+            WaitingPositionItemRequest target = targets.get(i);
+            Long position = positions[i] != null && positions[i] >= 0 ? positions[i] : null;
+            responses.add(new CouponWaitingPositionResponse(
+                    target.getCouponName(), target.getUserId(), position, approximate[i]));
+        }
+        return responses;
+    }
+
+    private static List<String> couponNamesAt(List<WaitingPositionItemRequest> targets, List<Integer> indexes) {
+        return indexes.stream().map(index -> targets.get(index).getCouponName()).toList();
+    }
+
+    private static List<Long> userIdsAt(List<WaitingPositionItemRequest> targets, List<Integer> indexes) {
+        return indexes.stream().map(index -> targets.get(index).getUserId()).toList();
+    }
+
+    /**
+     * 발급 요청 상태 구독 (SSE)
+     * 현재 상태를 바로 보내고, 최종 상태(COMPLETED / SOLD_OUT / FAILED)가 되면 연결 종료
+     *
+     * @param couponName 쿠폰 이름
+     * @param userId 사용자 ID
+     * @return SseEmitter
+     */
+    public SseEmitter subscribe(String couponName, Long userId) {
+        String subscriberKey = subscriberKey(couponName, userId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        emitter.onCompletion(() -> removeSubscriber(subscriberKey, emitter));
+        emitter.onTimeout(() -> removeSubscriber(subscriberKey, emitter));
+        emitter.onError(e -> removeSubscriber(subscriberKey, emitter));
+
+        // 상태 조회 전에 등록하여, 조회와 등록 사이의 상태 변경 이벤트를 놓치지 않도록 함
+        subscribers.computeIfAbsent(subscriberKey, key -> new CopyOnWriteArraySet<>()).add(emitter);
+
+        CouponIssueStatusResponse current;
+        try {
+            current = getStatus(couponName, userId);
+        } catch (RuntimeException e) {
+            removeSubscriber(subscriberKey, emitter);
+            throw e;
+        }
+        send(emitter, current);
+        if (queueType == CouponQueueType.DATABASE && !current.getStatus().isFinished()) {
+            // DB 대기열은 상태 변경 이벤트를 발행하지 않으므로 현재 상태만 보내고 종료
+            emitter.complete();
+        }
+        return emitter;
+    }
+
+    /**
+     * 상태 변경 이벤트 수신 시 이 노드의 구독자에게 전달
+     */
+    private void onStatusEvent(String message) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        try {
+            CouponIssueStatusEvent event = CouponIssueStatusEvent.decode(message);
+            event.getStatuses().forEach((userId, status) -> {
+                Set<SseEmitter> emitters = subscribers.get(subscriberKey(event.getCouponName(), userId));
+                if (emitters == null) {
+                    return;
+                }
+                CouponIssueStatusResponse response = new CouponIssueStatusResponse(
+                        event.getCouponName(), userId, status, null);
+                emitters.forEach(emitter -> send(emitter, response));
+            });
+        } catch (Exception e) {
+            log.error("발급 상태 이벤트 처리 실패 - message: {}", message, e);
+        }
+    }
+
+    private void send(SseEmitter emitter, CouponIssueStatusResponse response) {
+        try {
+            emitter.send(SseEmitter.event().name(SSE_EVENT_NAME).data(response));
+            if (response.getStatus().isFinished()) {
+                emitter.complete();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 이미 끊긴 연결
+            emitter.completeWithError(e);
+        }
+    }
+
+    private Long getWaitingPosition(String couponName, Long userId, QueueStatus status) {
+        // Streams / DB 대기열 방식은 사용자별 순서를 조회할 수 없으므로 Sorted Set 방식에서만 제공
+        if (status != QueueStatus.PENDING || queueType != CouponQueueType.ZSET) {
+            return null;
+        }
+        Long position = couponIssue.getUserWaitingPosition(userId, couponName);
+        return position != null && position >= 0 ? position : null;
+    }
+
+    private void removeSubscriber(String subscriberKey, SseEmitter emitter) {
+        subscribers.computeIfPresent(subscriberKey, (key, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+
+    private static String subscriberKey(String couponName, Long userId) {
+        return couponName + ":" + userId;
+    }
+}
@@ -0,0 +1,140 @@
+package com.choo.hhbackendlab.usecase.coupon;
+
+import com.choo.hhbackendlab.dto.responseDto.CouponGrantJobResponse;
+import com.choo.hhbackendlab.entity.CouponGrantJob;
+import com.choo.hhbackendlab.helper.CouponGrantTransactionProcessor;
+import com.choo.hhbackendlab.helper.CouponTemplate;
+import com.choo.hhbackendlab.helper.CouponTemplateCache;
+import com.choo.hhbackendlab.repository.CouponGrantJobRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * 쿠폰 일괄 지급 (특정 사용자 목록에 쿠폰 지급, 마케팅 타깃 캠페인)
+ * 작업과 대상만 저장하고 실제 지급은 CouponGrantJobProcessor가 청크 단위로 비동기 처리
+ *
+ * 대상이 많으면 작업 생성(createUpload) → 대상 추가(appendTargets, 여러 번) → 제출(submitJob) 순으로 나눠 등록
+ * 대상은 chunk-size마다 별도 트랜잭션으로 저장하므로 대상 수와 관계없이 트랜잭션 / 영속성 컨텍스트 크기가 제한됨
+ */
+@Component
+@RequiredArgsConstructor
+public class GrantCouponUseCase {
+
+    private final CouponGrantJobRepository couponGrantJobRepository;
+    private final CouponGrantTransactionProcessor couponGrantTransactionProcessor;
+    private final CouponTemplateCache couponTemplateCache;
+
+    // 대상 저장 트랜잭션 1회에 저장할 최대 대상 수
+    @Value("${coupon.grant.chunk-size:1000}")
+    private int chunkSize;
+
+    // 요청 1회에 받을 최대 대상 수 (더 많으면 대상 추가 요청을 나눠서 보냄)
+    @Value("${coupon.grant.max-targets-per-request:100000}")
+    private int maxTargetsPerRequest;
+
+    /**
+     * 일괄 지급 작업 생성 (대상 등록과 제출까지 한 번에, 대상이 요청 1회 한도 이내일 때)
+     *
+     * @param couponId 지급할 쿠폰 템플릿 ID
+     * @param userIds 지급 대상 사용자 ID 목록
+     * @return 생성된 작업
+     */
+    public CouponGrantJobResponse createJob(Long couponId, List<Long> userIds) {
+        List<Long> targets = toSortedTargets(userIds);
+        if (targets.isEmpty()) {
+            throw new IllegalArgumentException("지급 대상 사용자가 없습니다.");
+        }
+
+        Long jobId = createUpload(couponId).getJobId();
+        saveTargets(jobId, targets);
+        return submitJob(jobId);
+    }
+
+    /**
+     * 대상 등록 중인 일괄 지급 작업 생성 (대상은 appendTargets로 나눠서 추가한 뒤 submitJob으로 제출)
+     *
+     * @param couponId 지급할 쿠폰 템플릿 ID
+     * @return 생성된 작업
+     */
+    public CouponGrantJobResponse createUpload(Long couponId) {
+        CouponTemplate template = couponTemplateCache.getById(couponId)
+                .orElseThrow(() -> new IllegalArgumentException("쿠폰을 찾을 수 없습니다. Coupon ID: " + couponId));
+        if (template.isExpired()) {
+            throw new IllegalStateException("만료된 쿠폰은 지급할 수 없습니다. 쿠폰명: " + template.getName());
+        }
+        return getJob(couponGrantTransactionProcessor.createUploadJob(couponId, template.getName()));
+    }
+
+    /**
+     * 대상 추가 (이미 등록된 사용자는 제외, chunk-size마다 커밋)
+     *
+     * @param jobId 작업 ID
+     * @param userIds 추가할 사용자 ID 목록
+     * @return 대상 추가 후 작업
+     */
+    public CouponGrantJobResponse appendTargets(Long jobId, List<Long> userIds) {
+        saveTargets(jobId, toSortedTargets(userIds));
+        return getJob(jobId);
+    }
+
+    /**
+     * 대상 등록을 마치고 처리 대기로 전환
+     */
+    public CouponGrantJobResponse submitJob(Long jobId) {
+        couponGrantTransactionProcessor.submitJob(jobId);
+        return getJob(jobId);
+    }
+
+    /**
+     * 작업 진행 상황 조회
+     */
+    @Transactional(readOnly = true)
+    public CouponGrantJobResponse getJob(Long jobId) {
+        return CouponGrantJobResponse.from(findJob(jobId));
+    }
+
+    /**
+     * 실패한 작업을 마지막 처리 지점부터 재개 (재고 추가 후 등)
+     */
+    @Transactional
+    public CouponGrantJobResponse resumeJob(Long jobId) {
+        CouponGrantJob job = findJob(jobId);
+        job.resume();
+        return CouponGrantJobResponse.from(job);
+    }
+
+    private CouponGrantJob findJob(Long jobId) {
+        return couponGrantJobRepository.findById(jobId)
+                .orElseThrow(() -> new IllegalArgumentException("지급 작업을 찾을 수 없습니다. Job ID: " + jobId));
+    }
+
+    /**
+     * 요청 대상 정리 (null / 중복 제거, 사용자 ID 순)
+     */
+    private List<Long> toSortedTargets(List<Long> userIds) {
+        if (userIds.size() > maxTargetsPerRequest) {
+            throw new IllegalArgumentException("요청 1회에 등록할 수 있는 대상은 최대 " + maxTargetsPerRequest
+                    + "명입니다. 대상 추가 요청을 나눠서 보내주세요.");
+        }
+        TreeSet<Long> targets = new TreeSet<>();
+        userIds.stream().filter(Objects::nonNull).forEach(targets::add);
+        return new ArrayList<>(targets);
+    }
+
+    /**
+     * 대상을 chunk-size씩 나눠 저장 (청크마다 트랜잭션 1회)
+     */
+    private void saveTargets(Long jobId, List<Long> targets) {
+        for (int from = 0; from < targets.size(); from += chunkSize) {
+            couponGrantTransactionProcessor.appendTargets(
+                    jobId, targets.subList(from, Math.min(from + chunkSize, targets.size())));
+        }
+    }
+}
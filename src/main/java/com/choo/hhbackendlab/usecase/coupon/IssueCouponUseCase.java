@@ -1,16 +1,30 @@
 package com.choo.hhbackendlab.usecase.coupon;
 
-import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.CouponIssueQueue;
 import com.choo.hhbackendlab.entity.User;
 import com.choo.hhbackendlab.entity.UserCoupon;
+import com.choo.hhbackendlab.helper.CouponCodeGenerator;
+import com.choo.hhbackendlab.helper.CouponDuplicateRequestGuard;
+import com.choo.hhbackendlab.helper.CouponIssueFallbackQueue;
+import com.choo.hhbackendlab.helper.CouponIssueMetrics;
+import com.choo.hhbackendlab.helper.CouponStockAllocator;
+import com.choo.hhbackendlab.helper.CouponTemplate;
+import com.choo.hhbackendlab.helper.CouponTemplateCache;
+import com.choo.hhbackendlab.repository.CouponIssueQueueRepository;
 import com.choo.hhbackendlab.repository.CouponRepository;
 import com.choo.hhbackendlab.repository.UserCouponRepository;
 import com.choo.hhbackendlab.repository.UserRepository;
+import com.choo.hhbackendlab.redis.CouponAdmission;
 import com.choo.hhbackendlab.redis.CouponIssue;
+import com.choo.hhbackendlab.redis.CouponIssueStream;
+import com.choo.hhbackendlab.redis.CouponQueueType;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Optional;
+
 /**
  * 쿠폰 발행
  */
@@ -21,7 +35,19 @@ public class IssueCouponUseCase {
     private final CouponRepository couponRepository;
     private final UserRepository userRepository;
     private final UserCouponRepository userCouponRepository;
+    private final CouponIssueQueueRepository couponIssueQueueRepository;
     private final CouponIssue couponIssue;
+    private final CouponIssueStream couponIssueStream;
+    private final CouponDuplicateRequestGuard couponDuplicateRequestGuard;
+    private final CouponCodeGenerator couponCodeGenerator;
+    private final CouponTemplateCache couponTemplateCache;
+    private final CouponStockAllocator couponStockAllocator;
+    private final CouponIssueFallbackQueue couponIssueFallbackQueue;
+    private final CouponIssueMetrics couponIssueMetrics;
+
+    // 선착순 발급 대기열 방식 (ZSET / STREAM)
+    @Value("${coupon.issue.queue-type:ZSET}")
+    private CouponQueueType queueType;
 
     /**
      * 특정 쿠폰 ID로 1장 쿠폰 발급
@@ -31,26 +57,30 @@ public class IssueCouponUseCase {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("사용자를 찾을 수 없습니다. User ID: " + userId));
 
-        Coupon coupon = couponRepository.findById(couponId)
+        // 템플릿 메타데이터는 캐시에서 조회 (쿠폰 행은 재고 차감으로만 접근)
+        CouponTemplate template = couponTemplateCache.getById(couponId)
                 .orElseThrow(() -> new IllegalArgumentException("쿠폰을 찾을 수 없습니다. Coupon ID: " + couponId));
+        if (template.isExpired()) {
+            throw new IllegalStateException("발급 가능한 쿠폰이 없습니다. 쿠폰명: " + template.getName());
+        }
 
         //쿠폰 중복 여부 확인
         boolean alreadyIssued = userCouponRepository.existsByUserIdAndCouponId(userId, couponId);
         if(alreadyIssued) {
             throw new IllegalStateException(
-                    "이미 발급받은 쿠폰입니다. 쿠폰명: " + coupon.getName());
+                    "이미 발급받은 쿠폰입니다. 쿠폰명: " + template.getName());
         }
 
-        // 재고 감소 성공 실패 여부 확인(동시성 이슈)
-        int updatedCoupon = couponRepository.decreaseCouponCount(couponId);
-
-        if (updatedCoupon == 0) {
+        // 재고 감소 성공 실패 여부 확인(동시성 이슈, 분할 재고는 임의의 분할 행부터 차감)
+        if (!couponStockAllocator.decreaseOne(template)) {
+            couponTemplateCache.markExhausted(template.getName(), couponId);
             throw new IllegalStateException(
                     "쿠폰 발행 중 문제가 생겨 잠시후 다시 시도해주세요.");
         }
 
-        // 쿠폰 발급 (couponCnt 감소 및 UserCoupon 생성)
-        UserCoupon userCoupon = coupon.issueCoupon(user);
+        // 쿠폰 발급 (UserCoupon 생성, 쿠폰 행은 다시 조회하지 않고 참조만 사용)
+        UserCoupon userCoupon = new UserCoupon(
+                couponRepository.getReferenceById(couponId), user, couponCodeGenerator.generate());
 
         // UserCoupon 저장
         UserCoupon saved = userCouponRepository.save(userCoupon);
@@ -60,17 +90,64 @@ public class IssueCouponUseCase {
 
     /**
      * 선착순 쿠폰 발급 (쿠폰 이름으로 발급)
-     * Redis Sorted Set 기반 동시성 제어
+     * Redis Sorted Set / Streams 또는 DB 대기열 기반 동시성 제어 (coupon.issue.queue-type)
+     * Redis 장애 시에는 로컬 대체 큐(CouponIssueFallbackQueue)로 등록
      * 현재는 이름으로 발급하지만, 추후 카테고리를 생성해 쿠폰 코드번호로 발급할 예정..
      *
      * @param userId 사용자 ID
      * @param couponName 쿠폰 이름
-     * @return 대기열 순서 (0부터 시작, 실제 발급은 비동기로 처리됨)
+     * @return 대기열 순서 (0부터 시작, DATABASE 방식은 요청 ID, Redis 장애로 로컬 대체 큐에 등록하면
+     *         CouponIssueFallbackQueue.UNKNOWN_POSITION, 실제 발급은 비동기로 처리됨)
      */
-    @Transactional
     public Long issueCouponByName(Long userId, String couponName) {
-        // Redis Sorted Set에 쿠폰 발급 요청 추가
+        // 이 노드에서 이미 확인된 중복 요청(반복 클릭)은 Redis 호출 없이 응답 (발급 완료는 거절, 대기 중은 기존 순서)
+        Optional<Long> recentRank = couponDuplicateRequestGuard.checkDuplicate(userId, couponName);
+        if (recentRank.isPresent()) {
+            return recentRank.get();
+        }
+
+        // Redis 대기열에 쿠폰 발급 요청 추가
         // 실제 쿠폰 발급은 CouponIssueProcessor에서 비동기로 처리됨
-        return couponIssue.addToWaitingList(userId, couponName);
+        CouponAdmission admission = switch (queueType) {
+            case DATABASE -> new CouponAdmission(
+                    couponIssueQueueRepository.save(new CouponIssueQueue(userId, couponName)).getId(), true);
+            default -> addToRedisWaitingList(userId, couponName);
+        };
+
+        couponDuplicateRequestGuard.recordQueued(userId, couponName, admission.rank());
+        // 이미 대기 중이던 요청의 재요청, 로컬 대체 큐 보관분은 등록 수에서 제외 (보관분은 Redis에 재등록될 때 집계)
+        if (admission.admitted()) {
+            couponIssueMetrics.recordEnqueued(couponName);
+        }
+        return admission.rank();
+    }
+
+    /**
+     * Redis 대기열(Sorted Set / Streams)에 등록
+     * Redis 장애 중이거나 장애로 등록에 실패하면 로컬 대체 큐에 등록하고, Redis 복구 후 순서대로 재등록됨
+     */
+    private CouponAdmission addToRedisWaitingList(Long userId, String couponName) {
+        if (couponIssueFallbackQueue.isActive()) {
+            return deferToFallbackQueue(userId, couponName);
+        }
+        try {
+            return queueType == CouponQueueType.STREAM
+                    ? couponIssueStream.admit(userId, couponName)
+                    : couponIssue.admit(userId, couponName);
+        } catch (IllegalStateException e) {
+            throw e;
+        } catch (RuntimeException e) {
+            if (couponIssueFallbackQueue.activateIfUnavailable(e)) {
+                return deferToFallbackQueue(userId, couponName);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 로컬 대체 큐에 보관 (아직 대기열에 등록된 것이 아니므로 admitted = false)
+     */
+    private CouponAdmission deferToFallbackQueue(Long userId, String couponName) {
+        return new CouponAdmission(couponIssueFallbackQueue.enqueue(userId, couponName), false);
     }
 }
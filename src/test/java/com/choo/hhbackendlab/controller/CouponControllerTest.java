@@ -1,13 +1,42 @@
 package com.choo.hhbackendlab.controller;
 
+import com.choo.hhbackendlab.dto.responseDto.CouponGrantJobResponse;
+import com.choo.hhbackendlab.dto.responseDto.CouponIssueStatusResponse;
+import com.choo.hhbackendlab.dto.responseDto.CouponWaitingPositionResponse;
+import com.choo.hhbackendlab.entity.CouponGrantJobStatus;
+import com.choo.hhbackendlab.helper.CouponAdmissionRateLimiter;
+import com.choo.hhbackendlab.helper.CouponIssueFallbackQueue;
+import com.choo.hhbackendlab.helper.RateLimitExceededException;
+import com.choo.hhbackendlab.redis.QueueStatus;
+import com.choo.hhbackendlab.usecase.coupon.ClearIssuedRecordsUseCase;
 import com.choo.hhbackendlab.usecase.coupon.CreateCouponUseCase;
+import com.choo.hhbackendlab.usecase.coupon.GetCouponIssueStatusUseCase;
+import com.choo.hhbackendlab.usecase.coupon.GrantCouponUseCase;
 import com.choo.hhbackendlab.usecase.coupon.IssueCouponUseCase;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
 @WebMvcTest(CouponController.class)
 public class CouponControllerTest {
 
@@ -23,5 +52,182 @@ public class CouponControllerTest {
     @MockitoBean
     private IssueCouponUseCase issueCouponUseCase;
 
+    @MockitoBean
+    private GetCouponIssueStatusUseCase getCouponIssueStatusUseCase;
+
+    @MockitoBean
+    private CouponAdmissionRateLimiter couponAdmissionRateLimiter;
+
+    @MockitoBean
+    private GrantCouponUseCase grantCouponUseCase;
+
+    @MockitoBean
+    private ClearIssuedRecordsUseCase clearIssuedRecordsUseCase;
+
+    @Test
+    @DisplayName("발급 상태 조회 - 대기 중이면 상태와 대기 순서 반환")
+    void getIssueStatus_Pending() throws Exception {
+        given(getCouponIssueStatusUseCase.getStatus("신규가입쿠폰", 1L))
+                .willReturn(new CouponIssueStatusResponse("신규가입쿠폰", 1L, QueueStatus.PENDING, 3L));
+
+        mockMvc.perform(get("/api/coupons/{name}/status/{userId}", "신규가입쿠폰", 1L))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.waitingPosition").value(3));
+    }
+
+    @Test
+    @DisplayName("발급 상태 조회 - 요청 내역이 없으면 400")
+    void getIssueStatus_NotRequested() throws Exception {
+        given(getCouponIssueStatusUseCase.getStatus("신규가입쿠폰", 2L))
+                .willThrow(new IllegalArgumentException("쿠폰 발급 요청 내역이 없습니다."));
+
+        mockMvc.perform(get("/api/coupons/{name}/status/{userId}", "신규가입쿠폰", 2L))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("선착순 발급 - 허용 요청 수를 넘으면 대기열 등록 없이 429")
+    void issueCouponByName_RateLimited() throws Exception {
+        // given
+        String requestBody = """
+                {
+                    "userId": 1,
+                    "couponName": "신규가입쿠폰"
+                }
+                """;
+        willThrow(new RateLimitExceededException("요청이 너무 많습니다. 잠시 후 다시 시도해주세요.", 3))
+                .given(couponAdmissionRateLimiter).acquire(1L, "신규가입쿠폰");
+
+        // when & then
+        mockMvc.perform(post("/api/coupons/issue-by-name")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "3"));
+
+        verify(issueCouponUseCase, never()).issueCouponByName(any(), any());
+    }
+
+    @Test
+    @DisplayName("선착순 발급 - Redis 장애로 로컬 대체 큐에 보관되어 대기 순서를 모르면 202 처리 대기 응답")
+    void issueCouponByName_DeferredAccepted() throws Exception {
+        // given
+        String requestBody = """
+                {
+                    "userId": 1,
+                    "couponName": "신규가입쿠폰"
+                }
+                """;
+        given(issueCouponUseCase.issueCouponByName(1L, "신규가입쿠폰"))
+                .willReturn(CouponIssueFallbackQueue.UNKNOWN_POSITION);
+
+        // when & then
+        mockMvc.perform(post("/api/coupons/issue-by-name")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isAccepted())
+                .andExpect(content().string(containsString("처리 대기 중")));
+    }
+
+    @Test
+    @DisplayName("쿠폰 일괄 지급 - 작업 등록 후 202 반환")
+    void createGrantJob_Accepted() throws Exception {
+        // given
+        String requestBody = """
+                {
+                    "userIds": [1, 2, 3]
+                }
+                """;
+        given(grantCouponUseCase.createJob(10L, List.of(1L, 2L, 3L)))
+                .willReturn(new CouponGrantJobResponse(100L, 10L, CouponGrantJobStatus.PENDING, 3, 0, 0, 0, null));
+
+        // when & then
+        mockMvc.perform(post("/api/coupons/{couponId}/grants", 10L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.jobId").value(100))
+                .andExpect(jsonPath("$.status").value("PENDING"))
+                .andExpect(jsonPath("$.totalCount").value(3));
+    }
+
+    @Test
+    @DisplayName("쿠폰 일괄 지급 대상 추가 - 추가 후 작업 반환")
+    void appendGrantTargets_Success() throws Exception {
+        // given
+        String requestBody = """
+                {
+                    "userIds": [4, 5]
+                }
+                """;
+        given(grantCouponUseCase.appendTargets(100L, List.of(4L, 5L)))
+                .willReturn(new CouponGrantJobResponse(100L, 10L, CouponGrantJobStatus.UPLOADING, 5, 0, 0, 0, null));
+
+        // when & then
+        mockMvc.perform(post("/api/coupons/grants/{jobId}/targets", 100L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("UPLOADING"))
+                .andExpect(jsonPath("$.totalCount").value(5));
+    }
+
+    @Test
+    @DisplayName("쿠폰 일괄 지급 대상 추가 - 제출된 작업이면 400")
+    void appendGrantTargets_AlreadySubmitted() throws Exception {
+        // given
+        String requestBody = """
+                {
+                    "userIds": [4, 5]
+                }
+                """;
+        given(grantCouponUseCase.appendTargets(100L, List.of(4L, 5L)))
+                .willThrow(new IllegalStateException("제출 전인 작업에만 대상을 추가할 수 있습니다. 현재 상태: PENDING"));
+
+        // when & then
+        mockMvc.perform(post("/api/coupons/grants/{jobId}/targets", 100L)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("쿠폰 일괄 지급 제출 - 처리 대기로 전환 후 202 반환")
+    void submitGrantJob_Accepted() throws Exception {
+        // given
+        given(grantCouponUseCase.submitJob(100L))
+                .willReturn(new CouponGrantJobResponse(100L, 10L, CouponGrantJobStatus.PENDING, 5, 0, 0, 0, null));
+
+        // when & then
+        mockMvc.perform(post("/api/coupons/grants/{jobId}/submit", 100L))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("PENDING"));
+    }
+
+    @Test
+    @DisplayName("대기 순서 일괄 조회 - 대상별 순서와 추정 여부 반환")
+    void getWaitingPositions_Success() throws Exception {
+        // given
+        String requestBody = """
+                {
+                    "targets": [
+                        {"userId": 1, "couponName": "신규가입쿠폰"},
+                        {"userId": 2, "couponName": "신규가입쿠폰"}
+                    ]
+                }
+                """;
+        given(getCouponIssueStatusUseCase.getWaitingPositions(any())).willReturn(List.of(
+                new CouponWaitingPositionResponse("신규가입쿠폰", 1L, 3L, false),
+                new CouponWaitingPositionResponse("신규가입쿠폰", 2L, null, false)));
 
+        // when & then
+        mockMvc.perform(post("/api/coupons/waiting-positions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(requestBody))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].waitingPosition").value(3))
+                .andExpect(jsonPath("$[0].approximate").value(false))
+                .andExpect(jsonPath("$[1].waitingPosition").doesNotExist());
+    }
 }
@@ -0,0 +1,147 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.redis.CouponAdmissionBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CouponAdmissionRateLimiterTest {
+
+    private static final String COUPON_NAME = "WELCOME";
+
+    @Mock
+    private CouponAdmissionBudget couponAdmissionBudget;
+
+    @Mock
+    private CouponIssueFallbackQueue couponIssueFallbackQueue;
+
+    private CouponAdmissionRateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        rateLimiter = new CouponAdmissionRateLimiter(couponAdmissionBudget, couponIssueFallbackQueue);
+        ReflectionTestUtils.setField(rateLimiter, "enabled", true);
+        ReflectionTestUtils.setField(rateLimiter, "userPerSecond", 1000d);
+        ReflectionTestUtils.setField(rateLimiter, "userBurst", 1000);
+        ReflectionTestUtils.setField(rateLimiter, "trackedUsers", 1000);
+        ReflectionTestUtils.setField(rateLimiter, "trackedCoupons", 3);
+        ReflectionTestUtils.setField(rateLimiter, "globalPerSecond", 2000L);
+        ReflectionTestUtils.setField(rateLimiter, "couponRates", Map.of());
+        ReflectionTestUtils.setField(rateLimiter, "leaseSize", 20);
+        ReflectionTestUtils.setField(rateLimiter, "redisRetryMillis", 60_000L);
+        rateLimiter.init();
+    }
+
+    @Test
+    @DisplayName("사용자별 burst를 넘으면 다음 토큰까지 남은 시간을 Retry-After로 거절")
+    void acquire_UserBurstExceeded() {
+        // given - 사용자 초당 1개, burst 2개
+        ReflectionTestUtils.setField(rateLimiter, "userPerSecond", 1d);
+        ReflectionTestUtils.setField(rateLimiter, "userBurst", 2);
+        given(couponAdmissionBudget.lease(eq(COUPON_NAME), anyLong(), anyLong(), anyLong())).willReturn(20L);
+
+        // when & then
+        rateLimiter.acquire(1L, COUPON_NAME);
+        rateLimiter.acquire(1L, COUPON_NAME);
+        assertThatThrownBy(() -> rateLimiter.acquire(1L, COUPON_NAME))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+
+        // 다른 사용자는 영향 없음
+        assertThatCode(() -> rateLimiter.acquire(2L, COUPON_NAME)).doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("Redis에서 가져온 토큰을 다 쓸 때까지는 Redis를 다시 호출하지 않음")
+    void acquire_LeasedTokensRefillOnlyWhenEmpty() {
+        // given
+        given(couponAdmissionBudget.lease(eq(COUPON_NAME), anyLong(), anyLong(), anyLong())).willReturn(2L);
+
+        // when
+        rateLimiter.acquire(1L, COUPON_NAME);
+        rateLimiter.acquire(2L, COUPON_NAME);
+
+        // then
+        verify(couponAdmissionBudget, times(1)).lease(eq(COUPON_NAME), anyLong(), anyLong(), anyLong());
+
+        // 다 쓰면 다시 가져감
+        rateLimiter.acquire(3L, COUPON_NAME);
+        verify(couponAdmissionBudget, times(2)).lease(eq(COUPON_NAME), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("쿠폰별 허용량이 소진되면 충전될 때까지 Redis 호출 없이 거절")
+    void acquire_CouponBudgetExhausted() {
+        // given - 쿠폰 초당 1개 → 다시 가져갈 때까지 1초
+        ReflectionTestUtils.setField(rateLimiter, "couponRates", Map.of(COUPON_NAME, 1L));
+        given(couponAdmissionBudget.lease(COUPON_NAME, 1L, 1L, 1L)).willReturn(0L);
+
+        // when & then
+        assertThatThrownBy(() -> rateLimiter.acquire(1L, COUPON_NAME))
+                .isInstanceOfSatisfying(RateLimitExceededException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(1));
+        assertThatThrownBy(() -> rateLimiter.acquire(2L, COUPON_NAME))
+                .isInstanceOf(RateLimitExceededException.class);
+        verify(couponAdmissionBudget, times(1)).lease(COUPON_NAME, 1L, 1L, 1L);
+    }
+
+    @Test
+    @DisplayName("Redis 장애 시 사용자별 제한만 적용하고, redis-retry-millis 동안 Redis를 다시 호출하지 않음")
+    void acquire_RedisFailureBacksOff() {
+        // given
+        given(couponAdmissionBudget.lease(eq(COUPON_NAME), anyLong(), anyLong(), anyLong()))
+                .willThrow(new QueryTimeoutException("Redis command timed out"));
+
+        // when & then
+        assertThatCode(() -> rateLimiter.acquire(1L, COUPON_NAME)).doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.acquire(2L, COUPON_NAME)).doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.acquire(3L, COUPON_NAME)).doesNotThrowAnyException();
+        verify(couponAdmissionBudget, times(1)).lease(eq(COUPON_NAME), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("대기열 등록이 로컬 큐로 전환된 동안에는 Redis를 호출하지 않고 사용자별 제한만 적용")
+    void acquire_FallbackActiveSkipsRedis() {
+        // given
+        given(couponIssueFallbackQueue.isActive()).willReturn(true);
+
+        // when & then
+        assertThatCode(() -> rateLimiter.acquire(1L, COUPON_NAME)).doesNotThrowAnyException();
+        assertThatCode(() -> rateLimiter.acquire(2L, COUPON_NAME)).doesNotThrowAnyException();
+        verify(couponAdmissionBudget, never()).lease(eq(COUPON_NAME), anyLong(), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("임의의 쿠폰 이름으로 요청해도 쿠폰별 토큰은 tracked-coupons개까지만 보관")
+    void acquire_BoundsTrackedCoupons() {
+        // given
+        given(couponAdmissionBudget.lease(anyString(), anyLong(), anyLong(), anyLong())).willReturn(20L);
+
+        // when
+        for (long i = 0; i < 100; i++) {
+            rateLimiter.acquire(i, "RANDOM-" + i);
+        }
+
+        // then
+        assertThat(rateLimiter.trackedCouponCount()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,69 @@
+package com.choo.hhbackendlab.helper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponCodeGeneratorTest {
+
+    private final CouponCodeGenerator generator = new CouponCodeGenerator(7);
+
+    @Test
+    @DisplayName("코드는 14자리 Crockford Base32이고 체크 문자로 검증됨")
+    void generate_FormatAndChecksum() {
+        String code = generator.generate();
+
+        assertThat(code).hasSize(14);
+        assertThat(code.substring(0, 13)).matches("[0-9A-HJKMNP-TV-Z]{13}");
+        assertThat(CouponCodeGenerator.isValid(code)).isTrue();
+
+        // 한 글자 오타는 체크 문자로 걸러짐
+        char changed = code.charAt(5) == '0' ? '1' : '0';
+        String typo = code.substring(0, 5) + changed + code.substring(6);
+        assertThat(CouponCodeGenerator.isValid(typo)).isFalse();
+    }
+
+    @Test
+    @DisplayName("연속 생성한 코드는 시간순으로 정렬됨")
+    void generate_TimeOrdered() {
+        List<String> codes = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            codes.add(generator.generate().substring(0, 13));
+        }
+
+        assertThat(codes).isSorted();
+    }
+
+    @Test
+    @DisplayName("여러 스레드에서 동시에 생성해도 중복 없음")
+    void generate_UniqueAcrossThreads() throws Exception {
+        int threadCount = 8;
+        int perThread = 20_000;
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threadCount; t++) {
+            futures.add(executor.submit(() -> {
+                for (int i = 0; i < perThread; i++) {
+                    codes.add(generator.generate());
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertThat(codes).hasSize(threadCount * perThread);
+    }
+}
@@ -0,0 +1,116 @@
+package com.choo.hhbackendlab.helper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CouponDuplicateRequestGuardTest {
+
+    private static final String COUPON_NAME = "WELCOME";
+
+    private CouponDuplicateRequestGuard guard;
+
+    @BeforeEach
+    void setUp() {
+        guard = new CouponDuplicateRequestGuard();
+        ReflectionTestUtils.setField(guard, "enabled", true);
+        ReflectionTestUtils.setField(guard, "expectedUsers", 1_000L);
+        ReflectionTestUtils.setField(guard, "falsePositiveRate", 0.01);
+        ReflectionTestUtils.setField(guard, "recentUsers", 100);
+        ReflectionTestUtils.setField(guard, "queuedTtlMillis", 60_000L);
+        ReflectionTestUtils.setField(guard, "idleTtlMillis", 600_000L);
+    }
+
+    @Test
+    @DisplayName("Bloom Filter - 넣은 값은 항상 포함, 넣지 않은 값의 오탐률은 목표 근처")
+    void bloomFilter_NoFalseNegativeAndBoundedFalsePositive() {
+        LongBloomFilter bloomFilter = new LongBloomFilter(10_000, 0.01);
+        LongStream.rangeClosed(1, 10_000).forEach(bloomFilter::put);
+
+        assertThat(LongStream.rangeClosed(1, 10_000).allMatch(bloomFilter::mightContain)).isTrue();
+        long falsePositives = LongStream.rangeClosed(10_001, 110_000).filter(bloomFilter::mightContain).count();
+        assertThat(falsePositives).isLessThan(2_000);
+    }
+
+    @Test
+    @DisplayName("Bloom Filter 오탐이어도 LRU에 기록이 없으면 거절하지 않음")
+    void checkDuplicate_BloomFalsePositivePassesThrough() {
+        // given - 예상 사용자 수보다 훨씬 많이 기록해 Bloom Filter를 포화시킴
+        ReflectionTestUtils.setField(guard, "expectedUsers", 10L);
+        ReflectionTestUtils.setField(guard, "recentUsers", 10_000);
+        List<Long> issued = LongStream.rangeClosed(1, 1_000).boxed().toList();
+        guard.recordIssued(COUPON_NAME, issued);
+
+        // 같은 설정의 Bloom Filter로 오탐이 실제로 나는지 확인
+        LongBloomFilter sameFilter = new LongBloomFilter(10, 0.01);
+        issued.forEach(sameFilter::put);
+        List<Long> falsePositives = LongStream.rangeClosed(1_001, 2_000).filter(sameFilter::mightContain).boxed().toList();
+        assertThat(falsePositives).isNotEmpty();
+
+        // when & then - 오탐 사용자는 로컬에서 거절하지 않고 Redis 확인으로 넘김
+        for (Long userId : falsePositives) {
+            assertThat(guard.checkDuplicate(userId, COUPON_NAME)).isEmpty();
+        }
+        assertThatThrownBy(() -> guard.checkDuplicate(1L, COUPON_NAME))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("이미 발급받은 쿠폰");
+    }
+
+    @Test
+    @DisplayName("최근 사용자 기록은 recent-users까지만 유지 (가장 오래 사용하지 않은 기록부터 제거)")
+    void checkDuplicate_LruBound() {
+        // given
+        ReflectionTestUtils.setField(guard, "recentUsers", 2);
+        guard.recordIssued(COUPON_NAME, List.of(1L, 2L));
+        assertThatThrownBy(() -> guard.checkDuplicate(1L, COUPON_NAME)).isInstanceOf(IllegalStateException.class);
+
+        // when - 1번 조회로 2번이 가장 오래된 기록이 된 뒤 3번 기록
+        guard.recordIssued(COUPON_NAME, List.of(3L));
+
+        // then
+        assertThatThrownBy(() -> guard.checkDuplicate(1L, COUPON_NAME)).isInstanceOf(IllegalStateException.class);
+        assertThatThrownBy(() -> guard.checkDuplicate(3L, COUPON_NAME)).isInstanceOf(IllegalStateException.class);
+        assertThat(guard.checkDuplicate(2L, COUPON_NAME)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("대기 중 기록은 queued-ttl-millis 동안 등록 시 대기열 순서를 반환하고, 이후에는 Redis 확인으로 넘김")
+    void checkDuplicate_QueuedRecordReturnsRankUntilTtl() {
+        // given
+        guard.recordQueued(7L, COUPON_NAME, 42L);
+
+        // when & then - 유효 시간 안의 반복 요청은 기존 순서
+        assertThat(guard.checkDuplicate(7L, COUPON_NAME)).contains(42L);
+
+        // 유효 시간이 지나면 로컬 기록으로 응답하지 않음
+        ReflectionTestUtils.setField(guard, "queuedTtlMillis", 0L);
+        assertThat(guard.checkDuplicate(7L, COUPON_NAME)).isEmpty();
+
+        // 발급 완료 기록은 대기 중 기록으로 덮어쓰지 않음
+        guard.recordIssued(COUPON_NAME, List.of(7L));
+        guard.recordQueued(7L, COUPON_NAME, 43L);
+        assertThatThrownBy(() -> guard.checkDuplicate(7L, COUPON_NAME)).isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("idle-ttl-millis 동안 갱신되지 않은 쿠폰 기록은 새 쿠폰 기록을 만들 때 삭제")
+    void historyOf_EvictsIdleCoupons() {
+        // given
+        guard.recordIssued(COUPON_NAME, List.of(1L));
+        ReflectionTestUtils.setField(guard, "idleTtlMillis", -1L);
+
+        // when
+        guard.recordIssued("OTHER", List.of(1L));
+
+        // then
+        assertThat(guard.checkDuplicate(1L, COUPON_NAME)).isEmpty();
+        assertThatThrownBy(() -> guard.checkDuplicate(1L, "OTHER")).isInstanceOf(IllegalStateException.class);
+    }
+}
@@ -0,0 +1,226 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.CouponIssueQueue;
+import com.choo.hhbackendlab.redis.CouponAdmission;
+import com.choo.hhbackendlab.redis.CouponAdmissionRejectedException;
+import com.choo.hhbackendlab.redis.CouponIssue;
+import com.choo.hhbackendlab.redis.CouponIssueStatusStore;
+import com.choo.hhbackendlab.redis.CouponIssueStream;
+import com.choo.hhbackendlab.redis.CouponQueueType;
+import com.choo.hhbackendlab.redis.QueueStatus;
+import com.choo.hhbackendlab.repository.CouponIssueQueueRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.RedisSystemException;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CouponIssueFallbackQueueTest {
+
+    private static final String COUPON_NAME = "WELCOME";
+
+    @Mock
+    private CouponIssue couponIssue;
+
+    @Mock
+    private CouponIssueStream couponIssueStream;
+
+    @Mock
+    private CouponIssueQueueRepository couponIssueQueueRepository;
+
+    @Mock
+    private CouponIssueQueueTransactionProcessor couponIssueQueueTransactionProcessor;
+
+    @Mock
+    private CouponIssueStatusStore couponIssueStatusStore;
+
+    @Mock
+    private CouponIssueMetrics couponIssueMetrics;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    private CouponIssueFallbackQueue fallbackQueue;
+
+    @BeforeEach
+    void setUp() {
+        fallbackQueue = new CouponIssueFallbackQueue(couponIssue, couponIssueStream, couponIssueQueueRepository,
+                couponIssueQueueTransactionProcessor, couponIssueStatusStore, couponIssueMetrics, redisTemplate);
+        ReflectionTestUtils.setField(fallbackQueue, "enabled", true);
+        ReflectionTestUtils.setField(fallbackQueue, "capacity", 3);
+        ReflectionTestUtils.setField(fallbackQueue, "batchSize", 100);
+        ReflectionTestUtils.setField(fallbackQueue, "queueType", CouponQueueType.ZSET);
+        fallbackQueue.init();
+    }
+
+    @Test
+    @DisplayName("Redis 연결 실패 / 타임아웃만 장애로 분류 (Redis가 응답한 오류, 비활성화 시 제외)")
+    void activateIfUnavailable_ClassifiesRedisFailures() {
+        // when & then
+        assertThat(CouponIssueFallbackQueue.isRedisUnavailable(new QueryTimeoutException("timed out"))).isTrue();
+        assertThat(CouponIssueFallbackQueue.isRedisUnavailable(new RuntimeException("쿠폰 발급 요청 중 오류가 발생했습니다.",
+                new RedisConnectionFailureException("connection refused")))).isTrue();
+        assertThat(CouponIssueFallbackQueue.isRedisUnavailable(new RedisSystemException("NOSCRIPT",
+                new IllegalArgumentException("script error")))).isFalse();
+        assertThat(CouponIssueFallbackQueue.isRedisUnavailable(new IllegalStateException("발급 가능한 쿠폰이 없습니다."))).isFalse();
+
+        assertThat(fallbackQueue.activateIfUnavailable(new RedisSystemException("ERR", null))).isFalse();
+        assertThat(fallbackQueue.isActive()).isFalse();
+
+        assertThat(fallbackQueue.activateIfUnavailable(new QueryTimeoutException("timed out"))).isTrue();
+        assertThat(fallbackQueue.isActive()).isTrue();
+
+        ReflectionTestUtils.setField(fallbackQueue, "enabled", false);
+        assertThat(fallbackQueue.activateIfUnavailable(new QueryTimeoutException("timed out"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("장애 모드 등록은 대기 순서 대신 UNKNOWN_POSITION을 반환하고, 로컬 큐가 가득 차면 429")
+    void enqueue_ReturnsUnknownPositionAndRejectsWhenFull() {
+        // when
+        for (long userId = 1; userId <= 3; userId++) {
+            assertThat(fallbackQueue.enqueue(userId, COUPON_NAME)).isEqualTo(CouponIssueFallbackQueue.UNKNOWN_POSITION);
+        }
+
+        // then
+        assertThatThrownBy(() -> fallbackQueue.enqueue(4L, COUPON_NAME))
+                .isInstanceOf(RateLimitExceededException.class);
+    }
+
+    @Test
+    @DisplayName("spill - 로컬 큐 요청을 도착 순서대로 DEFERRED 상태로 저장, 저장에 실패하면 순서를 유지해 되돌림")
+    @SuppressWarnings("unchecked")
+    void spill_SavesDeferredInOrder() {
+        // given
+        fallbackQueue.enqueue(1L, COUPON_NAME);
+        fallbackQueue.enqueue(2L, COUPON_NAME);
+        fallbackQueue.enqueue(3L, COUPON_NAME);
+        willThrow(new RuntimeException("DB 장애")).given(couponIssueQueueRepository).saveAll(anyList());
+
+        // when - 첫 저장 실패 후 재시도
+        assertThat(fallbackQueue.spill()).isZero();
+        willThrow(new RuntimeException("DB 장애")).willAnswer(invocation -> invocation.getArgument(0))
+                .given(couponIssueQueueRepository).saveAll(anyList());
+        assertThat(fallbackQueue.spill()).isZero();
+        assertThat(fallbackQueue.spill()).isEqualTo(3);
+
+        // then
+        ArgumentCaptor<List<CouponIssueQueue>> saved = ArgumentCaptor.forClass(List.class);
+        verify(couponIssueQueueRepository, times(3)).saveAll(saved.capture());
+        List<CouponIssueQueue> requests = saved.getValue();
+        assertThat(requests).extracting(CouponIssueQueue::getUserId).containsExactly(1L, 2L, 3L);
+        assertThat(requests).extracting(CouponIssueQueue::getStatus).containsOnly(QueueStatus.DEFERRED);
+        assertThat(fallbackQueue.spill()).isZero();
+    }
+
+    @Test
+    @DisplayName("replay - Redis가 응답하면 보관 요청을 도착 순서대로 재등록(등록된 요청만 등록 수 집계)하고, 거절된 요청은 상태에 기록한 뒤 장애 모드 해제")
+    @SuppressWarnings("unchecked")
+    void replay_ReplaysInOrderAndRecordsRejections() {
+        // given
+        fallbackQueue.activateIfUnavailable(new QueryTimeoutException("timed out"));
+        List<CouponIssueQueue> deferred = new ArrayList<>();
+        for (long userId = 1; userId <= 4; userId++) {
+            deferred.add(new CouponIssueQueue(userId, COUPON_NAME));
+        }
+        given(redisTemplate.execute(any(RedisCallback.class))).willReturn("PONG");
+        given(couponIssueQueueRepository.existsByStatus(QueueStatus.DEFERRED)).willReturn(false);
+        given(couponIssueQueueTransactionProcessor.replayDeferred(anyInt(), any()))
+                .willAnswer(invocation -> {
+                    Predicate<CouponIssueQueue> replayer = invocation.getArgument(1);
+                    int replayed = 0;
+                    for (CouponIssueQueue request : deferred) {
+                        if (!replayer.test(request)) {
+                            break;
+                        }
+                        replayed++;
+                    }
+                    deferred.clear();
+                    return replayed;
+                });
+        given(couponIssue.admit(1L, COUPON_NAME)).willReturn(new CouponAdmission(0L, true));
+        given(couponIssue.admit(2L, COUPON_NAME))
+                .willThrow(new CouponAdmissionRejectedException("발급 가능한 쿠폰이 없습니다.", QueueStatus.SOLD_OUT));
+        given(couponIssue.admit(3L, COUPON_NAME))
+                .willThrow(new CouponAdmissionRejectedException("대기열 추가에 실패했습니다.", QueueStatus.FAILED));
+        given(couponIssue.admit(4L, COUPON_NAME))
+                .willThrow(new CouponAdmissionRejectedException("이미 발급받은 쿠폰입니다.", QueueStatus.COMPLETED));
+
+        // when
+        int replayed = fallbackQueue.replay();
+
+        // then
+        assertThat(replayed).isEqualTo(4);
+        assertThat(fallbackQueue.isActive()).isFalse();
+        InOrder order = inOrder(couponIssue);
+        for (long userId = 1; userId <= 4; userId++) {
+            order.verify(couponIssue).admit(userId, COUPON_NAME);
+        }
+        verify(couponIssueMetrics, times(1)).recordEnqueued(COUPON_NAME);
+        verify(couponIssueStatusStore).markSoldOut(COUPON_NAME, List.of(2L));
+        verify(couponIssueStatusStore).markFailed(COUPON_NAME, List.of(3L));
+        verify(couponIssueStatusStore, never()).markFailed(COUPON_NAME, List.of(4L));
+    }
+
+    @Test
+    @DisplayName("replay - 재등록 중 Redis가 다시 멈추면 남은 요청을 보관한 채 중단하고 장애 모드 유지")
+    @SuppressWarnings("unchecked")
+    void replay_StopsWhenRedisFailsAgain() {
+        // given
+        fallbackQueue.activateIfUnavailable(new QueryTimeoutException("timed out"));
+        List<CouponIssueQueue> deferred = List.of(
+                new CouponIssueQueue(1L, COUPON_NAME), new CouponIssueQueue(2L, COUPON_NAME));
+        given(redisTemplate.execute(any(RedisCallback.class))).willReturn("PONG");
+        given(couponIssueQueueRepository.existsByStatus(QueueStatus.DEFERRED)).willReturn(true);
+        given(couponIssueQueueTransactionProcessor.replayDeferred(anyInt(), any()))
+                .willAnswer(invocation -> {
+                    Predicate<CouponIssueQueue> replayer = invocation.getArgument(1);
+                    int replayed = 0;
+                    for (CouponIssueQueue request : deferred) {
+                        if (!replayer.test(request)) {
+                            break;
+                        }
+                        replayed++;
+                    }
+                    return replayed;
+                });
+        given(couponIssue.admit(1L, COUPON_NAME)).willReturn(new CouponAdmission(0L, true));
+        given(couponIssue.admit(2L, COUPON_NAME))
+                .willThrow(new RuntimeException("쿠폰 발급 요청 중 오류가 발생했습니다.",
+                        new QueryTimeoutException("timed out")));
+
+        // when
+        int replayed = fallbackQueue.replay();
+
+        // then
+        assertThat(replayed).isEqualTo(1);
+        assertThat(fallbackQueue.isActive()).isTrue();
+        verify(couponIssueStatusStore, never()).markFailed(any(), any());
+    }
+}
@@ -0,0 +1,73 @@
+package com.choo.hhbackendlab.helper;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CouponIssueMetricsTest {
+
+    @Test
+    @DisplayName("도착 순번 표본 사이는 선형 보간, 범위 밖은 가장 가까운 표본 시각")
+    void arrivalClock_Interpolates() {
+        CouponIssueMetrics.ArrivalClock clock = new CouponIssueMetrics.ArrivalClock(3);
+        assertThat(clock.estimate(10)).isEqualTo(-1L);
+
+        clock.add(100, 1_000);
+        clock.add(200, 2_000);
+        clock.add(400, 3_000);
+
+        assertThat(clock.estimate(150)).isEqualTo(1_500);
+        assertThat(clock.estimate(300)).isEqualTo(2_500);
+        assertThat(clock.estimate(50)).isEqualTo(1_000);
+        assertThat(clock.estimate(500)).isEqualTo(3_000);
+
+        // 가득 차면 가장 오래된 표본부터 덮어씀
+        clock.add(600, 4_000);
+        assertThat(clock.estimate(150)).isEqualTo(2_000);
+        assertThat(clock.estimate(500)).isEqualTo(3_500);
+
+        // 순번이 줄어들면 (키 초기화) 이전 표본 폐기
+        clock.add(5, 5_000);
+        assertThat(clock.estimate(150)).isEqualTo(5_000);
+    }
+
+    @Test
+    @DisplayName("발급 결과별 카운터, 대기 시간, 대기열 크기 게이지 기록")
+    void recordBatchAndQueueDepth() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        CouponIssueMetrics metrics = new CouponIssueMetrics(registry);
+        ReflectionTestUtils.setField(metrics, "arrivalSamples", 10);
+        metrics.init();
+
+        CouponBatchIssueResult result = new CouponBatchIssueResult();
+        result.addIssued(1L, 11L);
+        result.addIssued(2L, 12L);
+        result.addSoldOut(3L);
+        metrics.recordBatch("WELCOME", result, 5_000_000L);
+        metrics.recordWaits("WELCOME", List.of(System.currentTimeMillis() - 2_000));
+        metrics.updateQueueDepths(Map.of("WELCOME", 7L), 7L);
+
+        assertThat(registry.get("coupon.issue.processed").tags("coupon", "WELCOME", "result", "issued")
+                .counter().count()).isEqualTo(2);
+        assertThat(registry.get("coupon.issue.processed").tags("coupon", "WELCOME", "result", "sold_out")
+                .counter().count()).isEqualTo(1);
+        assertThat(registry.find("coupon.issue.processed").tags("result", "duplicated").counter()).isNull();
+        Timer wait = registry.get("coupon.issue.wait").tag("coupon", "WELCOME").timer();
+        assertThat(wait.count()).isEqualTo(1);
+        assertThat(wait.totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(2_000);
+        assertThat(registry.get("coupon.issue.queue.depth").tag("coupon", "WELCOME").gauge().value()).isEqualTo(7);
+
+        // 대기열이 사라진 쿠폰은 0
+        metrics.updateQueueDepths(Map.of(), 0L);
+        assertThat(registry.get("coupon.issue.queue.depth").tag("coupon", "WELCOME").gauge().value()).isZero();
+        assertThat(registry.get("coupon.issue.pending").gauge().value()).isZero();
+    }
+}
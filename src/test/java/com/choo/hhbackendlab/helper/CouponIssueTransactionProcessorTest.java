@@ -0,0 +1,110 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.User;
+import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.UserCouponRepository;
+import com.choo.hhbackendlab.repository.UserRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CouponIssueTransactionProcessorTest {
+
+    private static final String COUPON_NAME = "WELCOME";
+
+    @Mock
+    private CouponRepository couponRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserCouponRepository userCouponRepository;
+
+    @Mock
+    private CouponCodeGenerator couponCodeGenerator;
+
+    @Mock
+    private CouponTemplateCache couponTemplateCache;
+
+    @Mock
+    private CouponStockAllocator couponStockAllocator;
+
+    @InjectMocks
+    private CouponIssueTransactionProcessor couponIssueTransactionProcessor;
+
+    @Test
+    @DisplayName("캐시한 템플릿이 모두 소진되면 DB에서 한 번만 다시 조회해 새 템플릿으로 발급")
+    void issueBatch_ReloadsTemplatesOnceWhenCachedStockRunsOut() {
+        // given - 캐시에는 소진된 템플릿 1만 있고, 다른 노드에서 만든 템플릿 2는 DB에만 있음
+        CouponTemplate exhausted = template(1L);
+        CouponTemplate created = template(2L);
+        givenUsers(List.of(10L, 11L));
+        given(couponTemplateCache.getAvailableTemplates(COUPON_NAME)).willReturn(List.of(exhausted));
+        given(couponTemplateCache.reload(COUPON_NAME)).willReturn(List.of(created));
+        given(couponStockAllocator.decreaseUpTo(eq(exhausted), anyInt())).willReturn(0);
+        given(couponStockAllocator.decreaseUpTo(created, 2)).willReturn(2);
+        given(userCouponRepository.saveAll(anyList())).willAnswer(invocation -> invocation.getArgument(0));
+
+        // when
+        CouponBatchIssueResult result = couponIssueTransactionProcessor.issueBatch(COUPON_NAME, List.of(10L, 11L));
+
+        // then
+        assertThat(result.getIssuedCouponIds()).containsOnlyKeys(10L, 11L);
+        assertThat(result.getSoldOutUserIds()).isEmpty();
+        verify(couponTemplateCache).markExhausted(COUPON_NAME, 1L);
+        verify(couponTemplateCache, times(1)).reload(COUPON_NAME);
+    }
+
+    @Test
+    @DisplayName("다시 조회한 템플릿도 소진이면 남은 요청은 재고 소진 (재조회는 한 번만)")
+    void issueBatch_SoldOutAfterSingleReload() {
+        // given
+        CouponTemplate exhausted = template(1L);
+        givenUsers(List.of(10L, 11L));
+        given(couponTemplateCache.getAvailableTemplates(COUPON_NAME)).willReturn(List.of(exhausted));
+        given(couponTemplateCache.reload(COUPON_NAME)).willReturn(List.of(exhausted));
+        given(couponStockAllocator.decreaseUpTo(eq(exhausted), anyInt())).willReturn(0);
+
+        // when
+        CouponBatchIssueResult result = couponIssueTransactionProcessor.issueBatch(COUPON_NAME, List.of(10L, 11L));
+
+        // then
+        assertThat(result.getSoldOutUserIds()).containsExactly(10L, 11L);
+        verify(couponTemplateCache, times(1)).reload(COUPON_NAME);
+        verify(userCouponRepository, times(0)).saveAll(anyList());
+    }
+
+    private void givenUsers(List<Long> userIds) {
+        List<User> users = userIds.stream().map(id -> {
+            User user = new User();
+            ReflectionTestUtils.setField(user, "id", id);
+            return user;
+        }).toList();
+        given(userCouponRepository.findIssuedUserIdsByCouponName(COUPON_NAME, userIds)).willReturn(List.of());
+        given(userRepository.findAllById(userIds)).willReturn(users);
+    }
+
+    private static CouponTemplate template(Long id) {
+        Coupon coupon = new Coupon(COUPON_NAME, 10, 1000, 0, LocalDateTime.now().plusDays(1));
+        ReflectionTestUtils.setField(coupon, "id", id);
+        return new CouponTemplate(coupon);
+    }
+}
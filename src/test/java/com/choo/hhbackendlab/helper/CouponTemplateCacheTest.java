@@ -0,0 +1,144 @@
+package com.choo.hhbackendlab.helper;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CouponTemplateCacheTest {
+
+    private static final String COUPON_NAME = "WELCOME";
+
+    @Mock
+    private CouponRepository couponRepository;
+
+    @Mock
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Mock
+    private RedisMessageListenerContainer redisMessageListenerContainer;
+
+    private CouponTemplateCache couponTemplateCache;
+
+    @BeforeEach
+    void setUp() {
+        couponTemplateCache = new CouponTemplateCache(couponRepository, redisTemplate, redisMessageListenerContainer);
+        ReflectionTestUtils.setField(couponTemplateCache, "ttlMillis", 60_000L);
+    }
+
+    @Test
+    @DisplayName("TTL 안에서는 캐시를 사용하고, TTL이 지나면 DB에서 다시 조회")
+    void getAvailableTemplates_ReloadsAfterTtl() {
+        // given
+        given(couponRepository.findByName(COUPON_NAME)).willReturn(List.of(coupon(1L)));
+
+        // when
+        couponTemplateCache.getAvailableTemplates(COUPON_NAME);
+        couponTemplateCache.getAvailableTemplates(COUPON_NAME);
+
+        // then
+        verify(couponRepository, times(1)).findByName(COUPON_NAME);
+
+        // when - TTL 경과
+        ReflectionTestUtils.setField(couponTemplateCache, "ttlMillis", -1L);
+        List<CouponTemplate> templates = couponTemplateCache.getAvailableTemplates(COUPON_NAME);
+
+        // then
+        verify(couponRepository, times(2)).findByName(COUPON_NAME);
+        assertThat(templates).extracting(CouponTemplate::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("ID 캐시도 TTL이 지나면 DB에서 다시 조회")
+    void getById_ReloadsAfterTtl() {
+        // given
+        given(couponRepository.findById(1L)).willReturn(Optional.of(coupon(1L)));
+
+        // when
+        couponTemplateCache.getById(1L);
+        couponTemplateCache.getById(1L);
+
+        // then
+        verify(couponRepository, times(1)).findById(1L);
+
+        // when - TTL 경과
+        ReflectionTestUtils.setField(couponTemplateCache, "ttlMillis", -1L);
+        assertThat(couponTemplateCache.getById(1L)).isPresent();
+
+        // then
+        verify(couponRepository, times(2)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("쿠폰 생성 무효화 메시지를 받으면 이름 / ID 캐시 모두 제거")
+    void evictionMessage_RemovesNameAndIdCache() {
+        // given
+        ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+        couponTemplateCache.subscribeEviction();
+        verify(redisMessageListenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+
+        given(couponRepository.findByName(COUPON_NAME)).willReturn(List.of(coupon(1L)));
+        given(couponRepository.findById(1L)).willReturn(Optional.of(coupon(1L)));
+        couponTemplateCache.getAvailableTemplates(COUPON_NAME);
+        couponTemplateCache.getById(1L);
+        verify(couponRepository, times(0)).findById(1L);
+
+        // when - 다른 노드에서 같은 이름의 쿠폰 생성
+        Message message = mock(Message.class);
+        given(message.getBody()).willReturn(COUPON_NAME.getBytes(StandardCharsets.UTF_8));
+        listener.getValue().onMessage(message, null);
+
+        // then
+        couponTemplateCache.getAvailableTemplates(COUPON_NAME);
+        couponTemplateCache.getById(1L);
+        verify(couponRepository, times(2)).findByName(COUPON_NAME);
+        verify(couponRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    @DisplayName("재고 소진 표시한 템플릿은 DB 조회 없이 발급 후보에서 제외")
+    void markExhausted_RemovesCandidate() {
+        // given
+        given(couponRepository.findByName(COUPON_NAME)).willReturn(List.of(coupon(1L), coupon(2L)));
+        assertThat(couponTemplateCache.getAvailableTemplates(COUPON_NAME)).hasSize(2);
+
+        // when
+        couponTemplateCache.markExhausted(COUPON_NAME, 1L);
+
+        // then
+        assertThat(couponTemplateCache.getAvailableTemplates(COUPON_NAME))
+                .extracting(CouponTemplate::getId)
+                .containsExactly(2L);
+        verify(couponRepository, times(1)).findByName(COUPON_NAME);
+    }
+
+    private static Coupon coupon(Long id) {
+        Coupon coupon = new Coupon(COUPON_NAME, 10, 1000, 0, LocalDateTime.now().plusDays(1));
+        ReflectionTestUtils.setField(coupon, "id", id);
+        return coupon;
+    }
+}
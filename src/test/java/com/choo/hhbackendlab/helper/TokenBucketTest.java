@@ -0,0 +1,62 @@
+package com.choo.hhbackendlab.helper;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TokenBucketTest {
+
+    @Test
+    @DisplayName("처음에는 burst개까지 허용하고, 소진되면 다음 토큰까지 남은 시간 반환")
+    void tryAcquire_Burst() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, 3, now::get);
+
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+
+        // 초당 2개 → 다음 토큰까지 0.5초
+        assertThat(bucket.tryAcquire()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(500), within(1L));
+    }
+
+    @Test
+    @DisplayName("시간이 지나면 초당 rate개씩 충전되고 burst를 넘지 않음")
+    void tryAcquire_Refill() {
+        AtomicLong now = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, 3, now::get);
+        for (int i = 0; i < 3; i++) {
+            bucket.tryAcquire();
+        }
+
+        // 0.25초 후 : 0.5개 충전, 남은 0.25초
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(250));
+        assertThat(bucket.tryAcquire()).isCloseTo(TimeUnit.MILLISECONDS.toNanos(250), within(1L));
+
+        // 0.25초 넘게 더 지나면 1개
+        now.addAndGet(TimeUnit.MILLISECONDS.toNanos(300));
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+
+        // 오래 지나도 burst(3)개까지만 쌓임
+        now.addAndGet(TimeUnit.SECONDS.toNanos(60));
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isZero();
+        assertThat(bucket.tryAcquire()).isPositive();
+    }
+
+    @Test
+    @DisplayName("Retry-After는 대기 시간을 초 단위로 올림 (최소 1초)")
+    void toRetryAfterSeconds_RoundsUp() {
+        assertThat(RateLimitExceededException.toRetryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(1))).isEqualTo(1);
+        assertThat(RateLimitExceededException.toRetryAfterSeconds(TimeUnit.SECONDS.toNanos(2))).isEqualTo(2);
+        assertThat(RateLimitExceededException.toRetryAfterSeconds(TimeUnit.MILLISECONDS.toNanos(2_001))).isEqualTo(3);
+        assertThat(new RateLimitExceededException("요청이 너무 많습니다.", 0).getRetryAfterSeconds()).isEqualTo(1);
+    }
+}
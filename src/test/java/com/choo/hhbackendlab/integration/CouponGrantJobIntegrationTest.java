@@ -0,0 +1,221 @@
+package com.choo.hhbackendlab.integration;
+
+import com.choo.hhbackendlab.dto.responseDto.CouponGrantJobResponse;
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.CouponGrantJob;
+import com.choo.hhbackendlab.entity.CouponGrantJobStatus;
+import com.choo.hhbackendlab.entity.User;
+import com.choo.hhbackendlab.entity.UserCoupon;
+import com.choo.hhbackendlab.helper.CouponGrantChunkResult;
+import com.choo.hhbackendlab.helper.CouponGrantTransactionProcessor;
+import com.choo.hhbackendlab.repository.CouponGrantJobRepository;
+import com.choo.hhbackendlab.repository.CouponGrantTargetRepository;
+import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.UserCouponRepository;
+import com.choo.hhbackendlab.repository.UserRepository;
+import com.choo.hhbackendlab.usecase.coupon.GrantCouponUseCase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 쿠폰 일괄 지급 작업 통합 테스트
+ * 실제 MySQL에서 청크 지급(중복 제외, 청크당 재고 차감, cursor 전진), 멈춘 작업 재개, 두 노드 동시 처리 시 버전 충돌 검증
+ * (스케줄러가 작업을 가져가지 않도록 비활성화하고 처리 노드 동작을 직접 호출)
+ */
+@SpringBootTest
+@Testcontainers
+public class CouponGrantJobIntegrationTest {
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0.40")
+            .withDatabaseName("hh_backend_lab")
+            .withUsername("root")
+            .withPassword("1234");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", mysql::getJdbcUrl);
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.scheduling.enabled", () -> "false");
+        registry.add("coupon.grant.chunk-size", () -> "2");
+    }
+
+    @Autowired
+    private GrantCouponUseCase grantCouponUseCase;
+
+    @Autowired
+    private CouponGrantTransactionProcessor couponGrantTransactionProcessor;
+
+    @Autowired
+    private CouponGrantJobRepository couponGrantJobRepository;
+
+    @Autowired
+    private CouponGrantTargetRepository couponGrantTargetRepository;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final int STOCK = 100;
+    private static final int CHUNK_SIZE = 3;
+    private static final long UNKNOWN_USER_ID = 999_999L;
+
+    private Coupon coupon;
+    private List<Long> userIds;
+
+    @BeforeEach
+    void setUp() {
+        couponGrantTargetRepository.deleteAll();
+        couponGrantJobRepository.deleteAll();
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+        userRepository.deleteAll();
+
+        userIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            userIds.add(userRepository.save(new User()).getId());
+        }
+        // 이름이 겹치면 다른 테스트의 템플릿 캐시를 읽을 수 있으므로 테스트마다 다른 이름 사용
+        coupon = couponRepository.save(new Coupon("일괄지급쿠폰-" + System.nanoTime(), STOCK, 1000, 0,
+                LocalDateTime.now().plusDays(30)));
+    }
+
+    @Test
+    @DisplayName("대상 추가 - 청크마다 저장하고 요청 간 중복 사용자는 한 번만 등록, 제출 전에는 처리 노드가 가져가지 않음")
+    void appendTargets_DeduplicatesAcrossRequests() {
+        // given
+        Long jobId = grantCouponUseCase.createUpload(coupon.getId()).getJobId();
+
+        // when
+        grantCouponUseCase.appendTargets(jobId, List.of(userIds.get(0), userIds.get(1), userIds.get(2)));
+        CouponGrantJobResponse appended = grantCouponUseCase.appendTargets(jobId,
+                List.of(userIds.get(2), userIds.get(3), userIds.get(3)));
+
+        // then
+        assertThat(appended.getStatus()).isEqualTo(CouponGrantJobStatus.UPLOADING);
+        assertThat(appended.getTotalCount()).isEqualTo(4);
+        assertThat(couponGrantTransactionProcessor.claimNextJob(LocalDateTime.now().plusSeconds(1))).isEmpty();
+
+        CouponGrantJobResponse submitted = grantCouponUseCase.submitJob(jobId);
+        assertThat(submitted.getStatus()).isEqualTo(CouponGrantJobStatus.PENDING);
+        assertThat(couponGrantTransactionProcessor.claimNextJob(LocalDateTime.now().plusSeconds(1))).contains(jobId);
+        assertThatThrownBy(() -> grantCouponUseCase.appendTargets(jobId, List.of(userIds.get(4))))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    @DisplayName("청크 지급 - 이미 보유한 / 없는 사용자는 건너뛰고, 재고는 청크당 지급 수만큼 차감되며 cursor가 청크 끝으로 이동")
+    void grantChunk_SkipsIssuedUsersAndAdvancesCursor() {
+        // given - 첫 번째 사용자는 이미 쿠폰 보유
+        User issuedUser = userRepository.findById(userIds.get(0)).orElseThrow();
+        userCouponRepository.save(new UserCoupon(coupon, issuedUser));
+
+        List<Long> targets = new ArrayList<>(userIds);
+        targets.add(UNKNOWN_USER_ID);
+        Long jobId = grantCouponUseCase.createJob(coupon.getId(), targets).getJobId();
+        assertThat(couponGrantTransactionProcessor.claimNextJob(LocalDateTime.now())).contains(jobId);
+
+        // when & then - 첫 청크 (보유자 1명 건너뜀)
+        CouponGrantChunkResult first = couponGrantTransactionProcessor.grantChunk(jobId, CHUNK_SIZE);
+        assertThat(first.isFinished()).isFalse();
+        assertThat(first.getGrantedUserIds()).containsExactly(userIds.get(1), userIds.get(2));
+        assertThat(couponRepository.findCouponCountById(coupon.getId())).isEqualTo(STOCK - 2);
+        assertJob(jobId, userIds.get(2), 3, 2, 1);
+
+        // 두 번째 청크 (없는 사용자 1명 건너뜀)
+        CouponGrantChunkResult second = couponGrantTransactionProcessor.grantChunk(jobId, CHUNK_SIZE);
+        assertThat(second.isFinished()).isFalse();
+        assertThat(second.getGrantedUserIds()).containsExactly(userIds.get(3), userIds.get(4));
+        assertThat(couponRepository.findCouponCountById(coupon.getId())).isEqualTo(STOCK - 4);
+        assertJob(jobId, UNKNOWN_USER_ID, 6, 4, 2);
+
+        // 남은 대상이 없으면 완료
+        assertThat(couponGrantTransactionProcessor.grantChunk(jobId, CHUNK_SIZE).isFinished()).isTrue();
+        assertThat(couponGrantJobRepository.findById(jobId).orElseThrow().getStatus())
+                .isEqualTo(CouponGrantJobStatus.COMPLETED);
+        assertThat(userCouponRepository.count()).isEqualTo(5);
+    }
+
+    @Test
+    @DisplayName("처리 노드 장애 - heartbeat가 끊긴 작업은 다른 노드가 가져가 cursor 이후부터 중복 없이 재개")
+    void claimNextJob_ResumesStalledJobFromCursor() {
+        // given - 첫 노드가 한 청크를 처리한 뒤 멈춤
+        Long jobId = grantCouponUseCase.createJob(coupon.getId(), userIds).getJobId();
+        assertThat(couponGrantTransactionProcessor.claimNextJob(LocalDateTime.now())).contains(jobId);
+        couponGrantTransactionProcessor.grantChunk(jobId, CHUNK_SIZE);
+
+        // when & then - heartbeat가 timeout 이후면 가져가지 않음
+        assertThat(couponGrantTransactionProcessor.claimNextJob(LocalDateTime.now().minusMinutes(1))).isEmpty();
+
+        // heartbeat가 timeout 이전이면 다른 노드가 가져가 이어서 처리
+        assertThat(couponGrantTransactionProcessor.claimNextJob(LocalDateTime.now().plusSeconds(1))).contains(jobId);
+        CouponGrantChunkResult resumed = couponGrantTransactionProcessor.grantChunk(jobId, CHUNK_SIZE);
+        assertThat(resumed.getGrantedUserIds()).containsExactly(userIds.get(3), userIds.get(4));
+        assertThat(couponGrantTransactionProcessor.grantChunk(jobId, CHUNK_SIZE).isFinished()).isTrue();
+
+        CouponGrantJob job = couponGrantJobRepository.findById(jobId).orElseThrow();
+        assertThat(job.getStatus()).isEqualTo(CouponGrantJobStatus.COMPLETED);
+        assertThat(job.getGrantedCount()).isEqualTo(5);
+        assertThat(userCouponRepository.count()).isEqualTo(5);
+        assertThat(couponRepository.findCouponCountById(coupon.getId())).isEqualTo(STOCK - 5);
+    }
+
+    @Test
+    @DisplayName("두 노드 동시 처리 - 작업을 읽은 뒤 다른 노드가 가져가면 청크 커밋이 버전 충돌로 롤백")
+    void grantChunk_VersionConflictRollsBackStaleWorker() {
+        // given - 첫 노드가 작업을 가져감
+        Long jobId = grantCouponUseCase.createJob(coupon.getId(), userIds).getJobId();
+        assertThat(couponGrantTransactionProcessor.claimNextJob(LocalDateTime.now())).contains(jobId);
+
+        // when - 첫 노드가 작업을 읽은 상태에서 다른 노드가 멈춘 작업으로 보고 가져간 뒤 첫 노드가 청크 커밋
+        TransactionTemplate staleWorker = new TransactionTemplate(transactionManager);
+        assertThatThrownBy(() -> staleWorker.executeWithoutResult(status -> {
+            couponGrantJobRepository.findById(jobId).orElseThrow();
+            CompletableFuture.runAsync(() ->
+                    couponGrantTransactionProcessor.claimNextJob(LocalDateTime.now().plusSeconds(1))).join();
+            couponGrantTransactionProcessor.grantChunk(jobId, CHUNK_SIZE);
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+
+        // then - 첫 노드의 청크(지급, 재고 차감, cursor)는 모두 롤백
+        assertJob(jobId, 0L, 0, 0, 0);
+        assertThat(userCouponRepository.count()).isZero();
+        assertThat(couponRepository.findCouponCountById(coupon.getId())).isEqualTo(STOCK);
+    }
+
+    private void assertJob(Long jobId, long lastUserId, int processed, int granted, int skipped) {
+        CouponGrantJob job = couponGrantJobRepository.findById(jobId).orElseThrow();
+        assertThat(job.getLastUserId()).isEqualTo(lastUserId);
+        assertThat(job.getProcessedCount()).isEqualTo(processed);
+        assertThat(job.getGrantedCount()).isEqualTo(granted);
+        assertThat(job.getSkippedCount()).isEqualTo(skipped);
+    }
+}
@@ -1,11 +1,13 @@
 package com.choo.hhbackendlab.integration;
 
+import com.choo.hhbackendlab.dto.responseDto.CouponIssueStatusResponse;
 import com.choo.hhbackendlab.entity.*;
 import com.choo.hhbackendlab.redis.QueueStatus;
 import com.choo.hhbackendlab.repository.CouponIssueQueueRepository;
 import com.choo.hhbackendlab.repository.CouponRepository;
 import com.choo.hhbackendlab.repository.UserCouponRepository;
 import com.choo.hhbackendlab.repository.UserRepository;
+import com.choo.hhbackendlab.usecase.coupon.GetCouponIssueStatusUseCase;
 import com.choo.hhbackendlab.usecase.coupon.IssueCouponUseCase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -24,6 +26,7 @@ import java.util.concurrent.*;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * Queue 기반 선착순 쿠폰 발급 통합 테스트
@@ -45,6 +48,7 @@ public class CouponQueueIntegrationTest {
         registry.add("spring.datasource.username", mysql::getUsername);
         registry.add("spring.datasource.password", mysql::getPassword);
         registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("coupon.issue.queue-type", () -> "DATABASE");
     }
 
     @Autowired
@@ -62,6 +66,9 @@ public class CouponQueueIntegrationTest {
     @Autowired
     private CouponIssueQueueRepository queueRepository;
 
+    @Autowired
+    private GetCouponIssueStatusUseCase getCouponIssueStatusUseCase;
+
     private static final String COUPON_NAME = "선착순 100명 할인 쿠폰";
     private static final int COUPON_COUNT = 100; // 발급할 쿠폰 개수
     private static final int USER_COUNT = 50; // 동시 요청 사용자 수
@@ -265,6 +272,26 @@ public class CouponQueueIntegrationTest {
         );
     }
 
+    @Test
+    @DisplayName("Queue 기반 발급 상태 조회 - Redis가 아닌 COUPON_ISSUE_QUEUE의 첫 요청 상태로 응답")
+    void getStatus_ReadsFromQueueTable() throws InterruptedException {
+        // given
+        List<User> users = userRepository.findAll();
+        Long userId = users.get(0).getId();
+        issueCouponUseCase.issueCouponByName(userId, COUPON_NAME);
+
+        // when
+        waitForQueueProcessing(1, 15000);
+        CouponIssueStatusResponse status = getCouponIssueStatusUseCase.getStatus(COUPON_NAME, userId);
+
+        // then - 발급되었으면 COMPLETED, 요청하지 않은 사용자는 요청 내역 없음
+        assertThat(status.getStatus()).isEqualTo(QueueStatus.COMPLETED);
+        assertThat(status.getWaitingPosition()).isNull();
+        assertThatThrownBy(() -> getCouponIssueStatusUseCase.getStatus(COUPON_NAME, users.get(1).getId()))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("쿠폰 발급 요청 내역이 없습니다");
+    }
+
     /**
      * Queue 처리가 완료될 때까지 대기
      * @param expectedCount 예상 처리 건수
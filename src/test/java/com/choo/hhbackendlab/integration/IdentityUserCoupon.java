@@ -0,0 +1,50 @@
+package com.choo.hhbackendlab.integration;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.User;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.time.LocalDateTime;
+
+/**
+ * 처리량 비교용 UserCoupon (테스트 전용)
+ * UserCoupon과 같은 컬럼 / 제약에 ID만 pooled 시퀀스 이전의 IDENTITY 전략으로 매핑
+ * (insert마다 생성된 ID를 받아야 하므로 JDBC 배치 없이 건별로 실행됨)
+ */
+@Entity(name = "IDENTITY_USER_COUPON")
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_identity_user_coupon_coupon_user", columnNames = {"coupon_id", "user_id"}))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class IdentityUserCoupon {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "coupon_id", nullable = false)
+    private Coupon coupon;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(unique = true, nullable = false)
+    private String couponCode;
+
+    @Column(nullable = false)
+    private boolean isUsed;
+
+    @CreationTimestamp
+    @Column(nullable = false, updatable = false)
+    private LocalDateTime issuedAt;
+
+    public IdentityUserCoupon(Coupon coupon, User user, String couponCode) {
+        this.coupon = coupon;
+        this.user = user;
+        this.couponCode = couponCode;
+    }
+}
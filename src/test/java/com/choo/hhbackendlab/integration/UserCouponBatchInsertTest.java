@@ -0,0 +1,193 @@
+package com.choo.hhbackendlab.integration;
+
+import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.User;
+import com.choo.hhbackendlab.entity.UserCoupon;
+import com.choo.hhbackendlab.helper.CouponBatchIssueResult;
+import com.choo.hhbackendlab.helper.CouponIssueTransactionProcessor;
+import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.UserCouponRepository;
+import com.choo.hhbackendlab.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.MySQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * UserCoupon 일괄 insert JDBC 배치 검증 및 처리량 비교
+ * pooled 시퀀스(allocationSize 50) + hibernate.jdbc.batch_size 적용 시
+ * N건 발급이 N번의 insert 왕복이 아닌 배치 단위로 실행되는지 Hibernate 통계로 확인하고,
+ * 같은 컬럼을 IDENTITY 전략으로 매핑한 IdentityUserCoupon과 같은 건수를 insert해 처리량을 비교
+ * (전략마다 워밍업 1회 후 MEASURE_ROUNDS회 중 가장 빠른 시간으로 비교)
+ */
+@SpringBootTest
+@Testcontainers
+public class UserCouponBatchInsertTest {
+
+    @Container
+    static MySQLContainer<?> mysql = new MySQLContainer<>("mysql:8.0.40")
+            .withDatabaseName("hh_backend_lab")
+            .withUsername("root")
+            .withPassword("1234");
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> mysql.getJdbcUrl() + "?rewriteBatchedStatements=true");
+        registry.add("spring.datasource.username", mysql::getUsername);
+        registry.add("spring.datasource.password", mysql::getPassword);
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.properties.hibernate.generate_statistics", () -> "true");
+        registry.add("spring.jpa.show-sql", () -> "false");
+    }
+
+    @Autowired
+    private CouponIssueTransactionProcessor couponIssueTransactionProcessor;
+
+    @Autowired
+    private CouponRepository couponRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserCouponRepository userCouponRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private static final String COUPON_NAME = "배치발급쿠폰";
+    private static final int ISSUE_COUNT = 1000;
+
+    // 처리량 비교 측정 횟수 / pooled 시퀀스 + 배치가 IDENTITY보다 최소 몇 배 빨라야 하는지
+    private static final int MEASURE_ROUNDS = 3;
+    private static final double MIN_SPEEDUP = 2.0;
+
+    @BeforeEach
+    void setUp() {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                entityManager.createQuery("DELETE FROM IDENTITY_USER_COUPON").executeUpdate());
+        userCouponRepository.deleteAll();
+        couponRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    @DisplayName("일괄 발급 시 UserCoupon insert가 JDBC 배치로 실행됨")
+    void issueBatch_InsertsInJdbcBatches() {
+        // given
+        couponRepository.save(new Coupon(COUPON_NAME, ISSUE_COUNT, 1000, 0, LocalDateTime.now().plusDays(30)));
+
+        List<Long> userIds = createUsers();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // when
+        CouponBatchIssueResult result = couponIssueTransactionProcessor.issueBatch(COUPON_NAME, userIds);
+
+        // then
+        assertThat(result.getIssuedCouponIds()).hasSize(ISSUE_COUNT);
+        assertThat(userCouponRepository.count()).isEqualTo(ISSUE_COUNT);
+
+        // insert가 건별로 실행되었다면 statement 수가 발급 건수 이상
+        long statementCount = statistics.getPrepareStatementCount();
+        assertThat(statementCount).isLessThan(ISSUE_COUNT / 10);
+    }
+
+    @Test
+    @DisplayName("같은 건수 insert 시 pooled 시퀀스 + 배치가 IDENTITY 건별 insert보다 MIN_SPEEDUP배 이상 빠름")
+    void insertThroughput_SequenceBatchOutperformsIdentity() {
+        // given
+        List<Long> userIds = createUsers();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        // when - 워밍업 1회 후 측정 (라운드마다 새 쿠폰으로 insert해 (쿠폰, 사용자) 유니크 제약을 피함)
+        long identityNanos = Long.MAX_VALUE;
+        long sequenceNanos = Long.MAX_VALUE;
+        long identityStatements = 0;
+        long sequenceStatements = 0;
+        for (int round = 0; round <= MEASURE_ROUNDS; round++) {
+            statistics.clear();
+            long identityElapsed = insertAll(userIds,
+                    (coupon, user) -> new IdentityUserCoupon(coupon, user, couponCode(coupon, user)));
+            identityStatements = statistics.getPrepareStatementCount();
+
+            statistics.clear();
+            long sequenceElapsed = insertAll(userIds,
+                    (coupon, user) -> new UserCoupon(coupon, user, couponCode(coupon, user)));
+            sequenceStatements = statistics.getPrepareStatementCount();
+
+            if (round > 0) {
+                identityNanos = Math.min(identityNanos, identityElapsed);
+                sequenceNanos = Math.min(sequenceNanos, sequenceElapsed);
+            }
+        }
+
+        // then - IDENTITY는 건별 insert, pooled 시퀀스는 배치 insert
+        assertThat(identityStatements).isGreaterThanOrEqualTo(ISSUE_COUNT);
+        assertThat(sequenceStatements).isLessThan(ISSUE_COUNT / 10);
+        assertThat((double) identityNanos / sequenceNanos)
+                .as("%d건 insert - IDENTITY %dms, pooled 시퀀스 + 배치 %dms", ISSUE_COUNT,
+                        TimeUnit.NANOSECONDS.toMillis(identityNanos), TimeUnit.NANOSECONDS.toMillis(sequenceNanos))
+                .isGreaterThanOrEqualTo(MIN_SPEEDUP);
+    }
+
+    private List<Long> createUsers() {
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ISSUE_COUNT; i++) {
+            users.add(new User());
+        }
+        return userRepository.saveAll(users).stream().map(User::getId).toList();
+    }
+
+    private static String couponCode(Coupon coupon, User user) {
+        return coupon.getId() + "-" + user.getId();
+    }
+
+    /**
+     * 새 쿠폰을 만들어 사용자마다 한 건씩 한 트랜잭션으로 insert
+     *
+     * @return insert 트랜잭션 소요 시간(ns)
+     */
+    private long insertAll(List<Long> userIds, BiFunction<Coupon, User, Object> issuer) {
+        Coupon coupon = couponRepository.save(new Coupon(COUPON_NAME + "-" + System.nanoTime(), ISSUE_COUNT, 1000, 0,
+                LocalDateTime.now().plusDays(30)));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        long startedAt = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            Coupon reference = entityManager.getReference(Coupon.class, coupon.getId());
+            for (Long userId : userIds) {
+                User user = entityManager.getReference(User.class, userId);
+                entityManager.persist(issuer.apply(reference, user));
+            }
+        });
+        return System.nanoTime() - startedAt;
+    }
+}
@@ -0,0 +1,58 @@
+package com.choo.hhbackendlab.redis;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * CouponAdmissionBudget 토큰 버킷 스크립트 테스트 (Redis)
+ */
+@SpringBootTest
+class CouponAdmissionBudgetTest {
+
+    private static final String COUPON_NAME = "허용량테스트쿠폰";
+
+    @Autowired
+    private CouponAdmissionBudget couponAdmissionBudget;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    @BeforeEach
+    void setUp() {
+        couponAdmissionBudget.clear(COUPON_NAME);
+    }
+
+    @Test
+    @DisplayName("버킷이 없으면 burst개로 시작하고, 요청 수만큼(부족하면 남은 만큼) 가져감")
+    void lease_GrantsUpToRemainingTokens() {
+        assertThat(couponAdmissionBudget.lease(COUPON_NAME, 10, 10, 4)).isEqualTo(4);
+        assertThat(couponAdmissionBudget.lease(COUPON_NAME, 10, 10, 4)).isEqualTo(4);
+        assertThat(couponAdmissionBudget.lease(COUPON_NAME, 10, 10, 4)).isEqualTo(2);
+        assertThat(couponAdmissionBudget.lease(COUPON_NAME, 10, 10, 4)).isZero();
+
+        // 사용하지 않으면 만료되도록 TTL 설정
+        assertThat(redisTemplate.getExpire(CouponAdmissionBudget.budgetKey(COUPON_NAME), TimeUnit.MILLISECONDS))
+                .isPositive();
+    }
+
+    @Test
+    @DisplayName("Redis 서버 시간 기준으로 초당 rate개씩 충전")
+    void lease_RefillsByServerTime() throws InterruptedException {
+        // given - 모두 소진
+        assertThat(couponAdmissionBudget.lease(COUPON_NAME, 10, 10, 10)).isEqualTo(10);
+
+        // when - 0.3초 후 (3개 이상 충전)
+        Thread.sleep(300);
+
+        // then
+        assertThat(couponAdmissionBudget.lease(COUPON_NAME, 10, 10, 10)).isBetween(3L, 10L);
+    }
+}
@@ -14,11 +14,17 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.connection.stream.Consumer;
+import org.springframework.data.redis.connection.stream.ReadOffset;
+import org.springframework.data.redis.connection.stream.StreamOffset;
+import org.springframework.data.redis.connection.stream.StreamReadOptions;
 import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.lang.reflect.Field;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.CountDownLatch;
@@ -29,6 +35,9 @@ import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willReturn;
+import static org.mockito.Mockito.mock;
 
 /**
  * CouponIssue Redis Pipeline 및 비동기 처리 통합 테스트
@@ -42,9 +51,24 @@ public class CouponIssueTest {
     @Autowired
     private CouponIssue couponIssue;
 
+    @Autowired
+    private CouponIssueStream couponIssueStream;
+
+    @Autowired
+    private CouponIssuedUserStore couponIssuedUserStore;
+
+    @Autowired
+    private CouponIssueStatusStore couponIssueStatusStore;
+
     @Autowired
     private CouponIssueProcessor couponIssueProcessor;
 
+    @Autowired
+    private CouponLifecycleIndex couponLifecycleIndex;
+
+    @Autowired
+    private CouponKeyCleaner couponKeyCleaner;
+
     @Autowired
     private RedisTemplate<String, String> redisTemplate;
 
@@ -59,6 +83,19 @@ public class CouponIssueTest {
 
     private static final String WAITING_LIST_KEY_PREFIX = "cpn:wl:";
     private static final String ISSUED_KEY_PREFIX = "cpn:isu:";
+    private static final String ACTIVE_COUPONS_KEY = "cpn:act";
+    private static final String PENDING_COUNT_KEY = "cpn:pnd";
+    private static final String STOCK_KEY_PREFIX = "cpn:stk:";
+    private static final String ISSUED_BITMAP_KEY_PREFIX = "cpn:isb:";
+    private static final String STREAM_KEY_PREFIX = "cpn:st:";
+    private static final String STATUS_KEY_PREFIX = "cpn:rs:";
+    private static final String STREAM_QUEUED_KEY_PREFIX = "cpn:stq:";
+    private static final String IN_FLIGHT_KEY_PREFIX = "cpn:inf:";
+    private static final String IN_FLIGHT_SCORE_KEY_PREFIX = "cpn:ifs:";
+    private static final String ATTEMPT_KEY_PREFIX = "cpn:att:";
+    private static final String IN_FLIGHT_COUPONS_KEY = "cpn:ifa";
+    private static final String EXPIRY_KEY = "cpn:exp";
+    private static final String SOLD_OUT_KEY = "cpn:so";
     private static final String TEST_COUPON_NAME = "신규가입쿠폰";
 
     private User user1;
@@ -88,8 +125,8 @@ public class CouponIssueTest {
     }
 
     @Test
-    @DisplayName("대기열 추가 - Redis Pipeline으로 원자적 처리 검증")
-    void addToWaitingList_WithPipeline_Success() {
+    @DisplayName("대기열 추가 - Lua 스크립트로 원자적 처리 검증")
+    void addToWaitingList_WithScript_Success() {
         // given
         String couponName = TEST_COUPON_NAME;
 
@@ -118,13 +155,18 @@ public class CouponIssueTest {
 
         // when - 순차적으로 추가
         Long rank1 = couponIssue.addToWaitingList(user1.getId(), couponName);
-        Thread.sleep(1); // 나노초 차이 보장
         Long rank2 = couponIssue.addToWaitingList(user2.getId(), couponName);
 
         // then - 순서 확인
         assertThat(rank1).isEqualTo(0L);
         assertThat(rank2).isEqualTo(1L);
 
+        // score는 Redis 도착 순번 (노드 시계와 무관하게 1씩 증가)
+        String waitingListKey = WAITING_LIST_KEY_PREFIX + couponName;
+        Double user1Score = redisTemplate.opsForZSet().score(waitingListKey, user1.getId().toString());
+        Double user2Score = redisTemplate.opsForZSet().score(waitingListKey, user2.getId().toString());
+        assertThat(user2Score).isEqualTo(user1Score + 1);
+
         // 대기열 크기 확인
         Long waitingListSize = couponIssue.getWaitingListSize(couponName);
         assertThat(waitingListSize).isEqualTo(2L);
@@ -147,24 +189,31 @@ public class CouponIssueTest {
     }
 
     @Test
-    @DisplayName("중복 발급 방지 - DB 체크")
+    @DisplayName("중복 발급 방지 - DB 체크 (발급 시점에 중복 확인 후 Redis 마킹)")
     void addToWaitingList_DuplicateCheck_Database() {
         // given
         String couponName = TEST_COUPON_NAME;
 
-        // DB에 이미 발급 기록 생성
+        // DB에 이미 발급 기록 생성 (Redis 마킹 없음)
         UserCoupon userCoupon = coupon.issueCoupon(user1);
         userCouponRepository.save(userCoupon);
 
-        // when & then
-        assertThatThrownBy(() -> couponIssue.addToWaitingList(user1.getId(), couponName))
-                .isInstanceOf(IllegalStateException.class)
-                .hasMessageContaining("이미 발급받은 쿠폰입니다");
+        // when - 대기열 등록은 Redis만 확인하므로 통과하고, 발급 시점에 DB 중복이 걸러짐
+        couponIssue.addToWaitingList(user1.getId(), couponName);
+        couponIssue.processNextInWaitingList(couponName);
+
+        // then - 추가 발급 없음
+        assertThat(userCouponRepository.findByUser(user1)).hasSize(1);
 
         // Redis에도 마킹되었는지 확인
         String issuedKey = ISSUED_KEY_PREFIX + couponName + ":" + user1.getId();
         Boolean exists = redisTemplate.hasKey(issuedKey);
         assertThat(exists).isTrue();
+
+        // 이후 요청은 대기열 등록 시점에 차단
+        assertThatThrownBy(() -> couponIssue.addToWaitingList(user1.getId(), couponName))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("이미 발급받은 쿠폰입니다");
     }
 
     @Test
@@ -236,6 +285,215 @@ public class CouponIssueTest {
         assertThat(updatedCoupon.getRemainingCount()).isEqualTo(100 - userCount);
     }
 
+    @Test
+    @DisplayName("일괄 처리 - 대기열의 여러 요청을 한 번에 발급하고 재고를 초과한 요청은 소진 처리")
+    void processBatch_IssuesInOneTransaction() throws Exception {
+        // given - 3개만 발급 가능한 쿠폰에 5명 대기
+        Coupon limitedCoupon = createCoupon("일괄쿠폰", 3, 5000);
+        couponRepository.save(limitedCoupon);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User user = createUser("일괄사용자" + i, "batch" + i + "@test.com");
+            userRepository.save(user);
+            users.add(user);
+            couponIssue.addToWaitingList(user.getId(), "일괄쿠폰");
+        }
+
+        // when
+        int processed = couponIssue.processBatch("일괄쿠폰", 10);
+
+        // then - 5건 모두 꺼내고, 앞의 3명만 발급
+        assertThat(processed).isEqualTo(5);
+        assertThat(couponIssue.getWaitingListSize("일괄쿠폰")).isEqualTo(0L);
+
+        for (int i = 0; i < 5; i++) {
+            boolean issued = userCouponRepository.existsByUserIdAndCouponId(users.get(i).getId(), limitedCoupon.getId());
+            assertThat(issued).isEqualTo(i < 3);
+        }
+
+        Coupon updatedCoupon = couponRepository.findById(limitedCoupon.getId()).orElseThrow();
+        assertThat(updatedCoupon.getRemainingCount()).isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("Streams 대기열 - 발급 후 확인(XACK)된 요청은 스트림에서 제거")
+    void stream_ProcessNextBatch_IssuesAndAcknowledges() {
+        // given
+        couponIssueStream.addToWaitingList(user1.getId(), TEST_COUPON_NAME);
+        Long rank = couponIssueStream.addToWaitingList(user2.getId(), TEST_COUPON_NAME);
+        assertThat(rank).isEqualTo(1L);
+
+        // 같은 사용자의 중복 대기 요청은 Sorted Set 방식과 같이 성공 (재고 차감 / 추가 등록 없이 스트림 길이 기준 순서)
+        assertThat(couponIssueStream.admit(user1.getId(), TEST_COUPON_NAME)).isEqualTo(new CouponAdmission(1L, false));
+        assertThat(couponIssue.getPendingRequestCount()).isEqualTo(2L);
+
+        // when
+        int processed = couponIssueStream.processNextBatch(TEST_COUPON_NAME, "test-consumer");
+
+        // then
+        assertThat(processed).isEqualTo(2);
+        assertThat(redisTemplate.opsForStream().size(STREAM_KEY_PREFIX + TEST_COUPON_NAME)).isEqualTo(0L);
+        assertThat(userCouponRepository.existsByUserIdAndCouponId(user1.getId(), coupon.getId())).isTrue();
+        assertThat(userCouponRepository.existsByUserIdAndCouponId(user2.getId(), coupon.getId())).isTrue();
+        assertThat(couponIssue.getPendingRequestCount()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("Streams 대기열 - 스트림이 없어도 Consumer Group을 함께 만들고, 이후 들어온 요청을 처리")
+    void stream_ProcessNextBatch_CreatesGroupWhenStreamMissing() {
+        // given
+        assertThat(redisTemplate.hasKey(STREAM_KEY_PREFIX + TEST_COUPON_NAME)).isFalse();
+
+        // when - 스트림이 없는 상태에서 먼저 처리 시도
+        int processedBeforeRequest = couponIssueStream.processNextBatch(TEST_COUPON_NAME, "test-consumer");
+        couponIssueStream.addToWaitingList(user1.getId(), TEST_COUPON_NAME);
+        int processed = couponIssueStream.processNextBatch(TEST_COUPON_NAME, "test-consumer");
+
+        // then
+        assertThat(processedBeforeRequest).isZero();
+        assertThat(processed).isEqualTo(1);
+        assertThat(userCouponRepository.existsByUserIdAndCouponId(user1.getId(), coupon.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("Streams 대기열 - 확인되지 않은 요청은 다른 워커가 회수하여 재처리")
+    void stream_ReclaimPending_ReprocessesUnacknowledged() {
+        // given - 다른 워커가 읽은 뒤 확인하지 않고 죽은 상황
+        couponIssueStream.addToWaitingList(user1.getId(), TEST_COUPON_NAME);
+        String streamKey = STREAM_KEY_PREFIX + TEST_COUPON_NAME;
+        redisTemplate.opsForStream().createGroup(streamKey, ReadOffset.from("0"), "cpn-issuers");
+        redisTemplate.opsForStream().read(
+                Consumer.from("cpn-issuers", "dead-consumer"),
+                StreamReadOptions.empty().count(10),
+                StreamOffset.create(streamKey, ReadOffset.lastConsumed()));
+
+        // when
+        ReflectionTestUtils.setField(couponIssueStream, "minIdleMillis", 0L);
+        int reclaimed;
+        try {
+            reclaimed = couponIssueStream.reclaimPending(TEST_COUPON_NAME, "test-consumer");
+        } finally {
+            ReflectionTestUtils.setField(couponIssueStream, "minIdleMillis", 30000L);
+        }
+
+        // then
+        assertThat(reclaimed).isEqualTo(1);
+        assertThat(redisTemplate.opsForStream().size(streamKey)).isEqualTo(0L);
+        assertThat(userCouponRepository.existsByUserIdAndCouponId(user1.getId(), coupon.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("처리 중 멈춘 요청 - 기한이 지나면 원래 순서로 대기열에 복귀, 시도 횟수 소진 시 DEAD_LETTER")
+    void reapInFlight_RequeuesOrDeadLetters() {
+        // given - 대기열에서 꺼낸 뒤 발급 전에 노드가 죽은 상황 (user1: 1회 시도, user2: 5회 시도)
+        couponIssue.addToWaitingList(user1.getId(), TEST_COUPON_NAME);
+        couponIssue.addToWaitingList(user2.getId(), TEST_COUPON_NAME);
+        String waitingListKey = WAITING_LIST_KEY_PREFIX + TEST_COUPON_NAME;
+        Double user1Score = redisTemplate.opsForZSet().score(waitingListKey, user1.getId().toString());
+        Double user2Score = redisTemplate.opsForZSet().score(waitingListKey, user2.getId().toString());
+        redisTemplate.delete(waitingListKey);
+
+        String inFlightKey = IN_FLIGHT_KEY_PREFIX + TEST_COUPON_NAME;
+        redisTemplate.opsForZSet().add(inFlightKey, user1.getId().toString(), 0);
+        redisTemplate.opsForZSet().add(inFlightKey, user2.getId().toString(), 0);
+        redisTemplate.opsForHash().put(IN_FLIGHT_SCORE_KEY_PREFIX + TEST_COUPON_NAME, user1.getId().toString(), String.valueOf(user1Score));
+        redisTemplate.opsForHash().put(IN_FLIGHT_SCORE_KEY_PREFIX + TEST_COUPON_NAME, user2.getId().toString(), String.valueOf(user2Score));
+        redisTemplate.opsForHash().put(ATTEMPT_KEY_PREFIX + TEST_COUPON_NAME, user1.getId().toString(), "1");
+        redisTemplate.opsForHash().put(ATTEMPT_KEY_PREFIX + TEST_COUPON_NAME, user2.getId().toString(), "5");
+        redisTemplate.opsForSet().add(IN_FLIGHT_COUPONS_KEY, TEST_COUPON_NAME);
+
+        // when
+        int reaped = couponIssue.reapInFlight(TEST_COUPON_NAME, 100);
+
+        // then
+        assertThat(reaped).isEqualTo(2);
+        assertThat(redisTemplate.opsForZSet().score(waitingListKey, user1.getId().toString())).isEqualTo(user1Score);
+        assertThat(couponIssue.getUserWaitingPosition(user2.getId(), TEST_COUPON_NAME)).isEqualTo(-1L);
+        assertThat(couponIssueStatusStore.getStatus(TEST_COUPON_NAME, user2.getId())).isEqualTo(QueueStatus.DEAD_LETTER);
+        assertThat(redisTemplate.hasKey(inFlightKey)).isFalse();
+        assertThat(couponIssue.getInFlightCouponNames()).doesNotContain(TEST_COUPON_NAME);
+
+        // 복귀한 요청은 다음 배치에서 발급
+        couponIssue.processBatch(TEST_COUPON_NAME, 10);
+        assertThat(userCouponRepository.existsByUserIdAndCouponId(user1.getId(), coupon.getId())).isTrue();
+    }
+
+    @Test
+    @DisplayName("재고 소진 쿠폰 대기열 정리 - 남은 요청을 SOLD_OUT 처리하고 대기열 삭제")
+    void purgeWaitingList_SoldOutCoupon() {
+        // given - 대기 요청 2건이 남은 상태에서 DB 재고 소진
+        couponIssue.addToWaitingList(user1.getId(), TEST_COUPON_NAME);
+        couponIssue.addToWaitingList(user2.getId(), TEST_COUPON_NAME);
+        couponLifecycleIndex.markSoldOut(TEST_COUPON_NAME);
+        assertThat(couponLifecycleIndex.findDeadCoupons(100)).contains(TEST_COUPON_NAME);
+
+        // when
+        int purged = couponIssue.purgeWaitingList(TEST_COUPON_NAME);
+
+        // then
+        assertThat(purged).isEqualTo(2);
+        assertThat(couponIssueStatusStore.getStatus(TEST_COUPON_NAME, user1.getId())).isEqualTo(QueueStatus.SOLD_OUT);
+        assertThat(couponIssueStatusStore.getStatus(TEST_COUPON_NAME, user2.getId())).isEqualTo(QueueStatus.SOLD_OUT);
+        assertThat(redisTemplate.hasKey(WAITING_LIST_KEY_PREFIX + TEST_COUPON_NAME)).isFalse();
+        assertThat(couponIssue.getActiveCouponNames()).doesNotContain(TEST_COUPON_NAME);
+        assertThat(couponIssue.getPendingRequestCount()).isEqualTo(0L);
+        assertThat(couponLifecycleIndex.findDeadCoupons(100)).doesNotContain(TEST_COUPON_NAME);
+        assertThat(userCouponRepository.count()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("발급 요청 상태 - 등록 시 PENDING, 처리 후 COMPLETED / SOLD_OUT")
+    void issueStatus_TracksQueueAndResult() throws Exception {
+        // given - 1개만 발급 가능한 쿠폰에 user1 대기
+        Coupon limitedCoupon = createCoupon("상태쿠폰", 1, 5000);
+        couponRepository.save(limitedCoupon);
+        couponIssue.addToWaitingList(user1.getId(), "상태쿠폰");
+
+        assertThat(couponIssueStatusStore.getStatus("상태쿠폰", user1.getId())).isEqualTo(QueueStatus.PENDING);
+        assertThat(couponIssueStatusStore.getStatus("상태쿠폰", user2.getId())).isNull();
+
+        // 재고 카운터를 거치지 않고 대기열에 들어온 요청 (DB 재고 초과 상황 재현)
+        redisTemplate.opsForZSet().add(WAITING_LIST_KEY_PREFIX + "상태쿠폰", user2.getId().toString(), Double.MAX_VALUE);
+
+        // when
+        couponIssue.processBatch("상태쿠폰", 10);
+
+        // then
+        assertThat(couponIssueStatusStore.getStatus("상태쿠폰", user1.getId())).isEqualTo(QueueStatus.COMPLETED);
+        assertThat(couponIssueStatusStore.getStatus("상태쿠폰", user2.getId())).isEqualTo(QueueStatus.SOLD_OUT);
+    }
+
+    @Test
+    @DisplayName("Redis 재고 카운터 - 재고를 넘는 요청은 대기열 등록 시점에 거절")
+    void addToWaitingList_StockCounter_RejectsWhenSoldOut() throws Exception {
+        // given - 3개만 발급 가능한 쿠폰
+        Coupon limitedCoupon = createCoupon("재고쿠폰", 3, 5000);
+        couponRepository.save(limitedCoupon);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            User user = createUser("재고사용자" + i, "stock" + i + "@test.com");
+            userRepository.save(user);
+            users.add(user);
+        }
+
+        // when - 앞의 3명은 대기열 등록 성공
+        for (int i = 0; i < 3; i++) {
+            couponIssue.addToWaitingList(users.get(i).getId(), "재고쿠폰");
+        }
+
+        // then - 4번째부터 즉시 소진 응답, 대기열에는 3명만 존재
+        assertThatThrownBy(() -> couponIssue.addToWaitingList(users.get(3).getId(), "재고쿠폰"))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("발급 가능한 쿠폰이 없습니다");
+        assertThat(couponIssue.getWaitingListSize("재고쿠폰")).isEqualTo(3L);
+        assertThat(redisTemplate.opsForValue().get(STOCK_KEY_PREFIX + "재고쿠폰")).isEqualTo("0");
+
+        // 이미 대기 중인 사용자의 재요청은 재고와 무관하게 기존 순서 반환
+        assertThat(couponIssue.addToWaitingList(users.get(0).getId(), "재고쿠폰")).isEqualTo(0L);
+    }
+
     @Test
     @DisplayName("동시성 테스트 - 100명이 동시 요청 시 대기열 순서 보장")
     void concurrency_100Users_QueueOrderGuaranteed() throws Exception {
@@ -374,6 +632,22 @@ public class CouponIssueTest {
         assertThat(position).isEqualTo(-1L);
     }
 
+    @Test
+    @DisplayName("여러 사용자 대기열 순서 일괄 조회 - 요청 순서대로 반환, 없으면 -1")
+    void getUserWaitingPositions_Pipelined() {
+        // given
+        String couponName = TEST_COUPON_NAME;
+        couponIssue.addToWaitingList(user1.getId(), couponName);
+        couponIssue.addToWaitingList(user2.getId(), couponName);
+
+        // when
+        List<Long> positions = couponIssue.getUserWaitingPositions(
+                List.of(couponName, couponName, couponName), List.of(user2.getId(), 99999L, user1.getId()));
+
+        // then
+        assertThat(positions).containsExactly(1L, -1L, 0L);
+    }
+
     @Test
     @DisplayName("대기 중인 발급 요청 개수 조회")
     void getPendingRequestCount_Success() {
@@ -389,6 +663,56 @@ public class CouponIssueTest {
         assertThat(pendingCount).isEqualTo(2L);
     }
 
+    @Test
+    @DisplayName("활성 대기열 레지스트리 - 대기열 추가 시 등록, 모두 처리되면 해제")
+    void activeCouponRegistry_RegisteredAndDeregistered() {
+        // given
+        String couponName = TEST_COUPON_NAME;
+        couponIssue.addToWaitingList(user1.getId(), couponName);
+
+        // then - 대기열 추가 후 레지스트리 등록
+        assertThat(couponIssue.getActiveCouponNames()).containsExactly(couponName);
+
+        // when - 대기열 처리 후 빈 대기열 확인
+        couponIssue.processNextInWaitingList(couponName);
+        couponIssue.processNextInWaitingList(couponName);
+
+        // then - 레지스트리 해제 및 대기 카운터 0
+        assertThat(couponIssue.getActiveCouponNames()).isEmpty();
+        assertThat(couponIssue.getPendingRequestCount()).isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("동일 사용자 재요청 시 대기 카운터 중복 증가 없음")
+    void getPendingRequestCount_DuplicateRequest_NotCounted() {
+        // given
+        String couponName = TEST_COUPON_NAME;
+        couponIssue.addToWaitingList(user1.getId(), couponName);
+        couponIssue.addToWaitingList(user1.getId(), couponName);
+
+        // when
+        long pendingCount = couponIssue.getPendingRequestCount();
+
+        // then
+        assertThat(pendingCount).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("동일 사용자 재요청은 기존 순서를 반환하고 신규 등록으로 보지 않음")
+    void admit_DuplicateRequest_NotAdmitted() {
+        // given
+        String couponName = TEST_COUPON_NAME;
+        CouponAdmission first = couponIssue.admit(user1.getId(), couponName);
+        couponIssue.admit(user2.getId(), couponName);
+
+        // when
+        CouponAdmission repeated = couponIssue.admit(user1.getId(), couponName);
+
+        // then
+        assertThat(first).isEqualTo(new CouponAdmission(0L, true));
+        assertThat(repeated).isEqualTo(new CouponAdmission(0L, false));
+    }
+
     @Test
     @DisplayName("대기열 초기화")
     void clearWaitingList_Success() {
@@ -426,6 +750,150 @@ public class CouponIssueTest {
         assertThat(exists2).isFalse();
     }
 
+    @Test
+    @DisplayName("발급 완료 기록 초기화 - SCAN으로 찾은 키를 배치 단위로 삭제하고 진행 상황 전달")
+    void clearIssuedRecords_BatchedScanUnlink() {
+        ReflectionTestUtils.setField(couponKeyCleaner, "batchSize", 2);
+        ReflectionTestUtils.setField(couponKeyCleaner, "throttleMillis", 0L);
+        String otherIssuedKey = ISSUED_KEY_PREFIX + TEST_COUPON_NAME + "2:1";
+        try {
+            // given - 배치 크기보다 많은 발급 기록 + 이름이 비슷한 다른 쿠폰의 기록
+            for (long userId = 1; userId <= 5; userId++) {
+                redisTemplate.opsForValue().set(ISSUED_KEY_PREFIX + TEST_COUPON_NAME + ":" + userId, "1");
+            }
+            redisTemplate.opsForValue().set(otherIssuedKey, "1");
+            List<Long> batches = new ArrayList<>();
+
+            // when
+            long deleted = couponIssue.clearIssuedRecords(TEST_COUPON_NAME, batches::add);
+
+            // then
+            assertThat(deleted).isEqualTo(5);
+            assertThat(batches.stream().mapToLong(Long::longValue).sum()).isEqualTo(5);
+            assertThat(redisTemplate.keys(ISSUED_KEY_PREFIX + TEST_COUPON_NAME + ":*")).isEmpty();
+            assertThat(redisTemplate.hasKey(otherIssuedKey)).isTrue();
+        } finally {
+            redisTemplate.delete(otherIssuedKey);
+            ReflectionTestUtils.setField(couponKeyCleaner, "batchSize", 500);
+            ReflectionTestUtils.setField(couponKeyCleaner, "throttleMillis", 10L);
+        }
+    }
+
+    @Test
+    @DisplayName("처리 중 멈춘 요청 - 발급은 커밋됐지만 처리 완료 확인 전에 멈춘 요청은 격리하지 않고 발급 완료로 반영 (재고 반환 없음)")
+    void reapInFlight_AlreadyIssuedIsCompletedWithoutRefund() {
+        // given - user1 발급 트랜잭션 커밋 후 결과 반영 / 처리 완료 확인 전에 노드가 죽고 시도 횟수도 소진
+        couponIssue.addToWaitingList(user1.getId(), TEST_COUPON_NAME);
+        String waitingListKey = WAITING_LIST_KEY_PREFIX + TEST_COUPON_NAME;
+        Double user1Score = redisTemplate.opsForZSet().score(waitingListKey, user1.getId().toString());
+        redisTemplate.delete(waitingListKey);
+        userCouponRepository.save(coupon.issueCoupon(user1));
+
+        String inFlightKey = IN_FLIGHT_KEY_PREFIX + TEST_COUPON_NAME;
+        redisTemplate.opsForZSet().add(inFlightKey, user1.getId().toString(), 0);
+        redisTemplate.opsForHash().put(IN_FLIGHT_SCORE_KEY_PREFIX + TEST_COUPON_NAME, user1.getId().toString(), String.valueOf(user1Score));
+        redisTemplate.opsForHash().put(ATTEMPT_KEY_PREFIX + TEST_COUPON_NAME, user1.getId().toString(), "5");
+        redisTemplate.opsForSet().add(IN_FLIGHT_COUPONS_KEY, TEST_COUPON_NAME);
+        String stockBefore = redisTemplate.opsForValue().get(STOCK_KEY_PREFIX + TEST_COUPON_NAME);
+
+        // when
+        couponIssue.reapInFlight(TEST_COUPON_NAME, 100);
+
+        // then
+        assertThat(couponIssueStatusStore.getStatus(TEST_COUPON_NAME, user1.getId())).isEqualTo(QueueStatus.COMPLETED);
+        assertThat(couponIssuedUserStore.isIssued(TEST_COUPON_NAME, user1.getId())).isTrue();
+        assertThat(redisTemplate.opsForValue().get(STOCK_KEY_PREFIX + TEST_COUPON_NAME)).isEqualTo(stockBefore);
+    }
+
+    @Test
+    @DisplayName("재고 카운터 재설정 - DB 재고를 읽은 뒤 일괄 지급이 카운터를 차감하면 지난 DB 재고로 되돌리지 않음")
+    void reconcile_SkipsWhenCounterChangedAfterDbRead() {
+        // given - 카운터 100, DB 재고 조회 직후 일괄 지급 10건이 카운터에 반영됨
+        CouponRepository racingRepository = mock(CouponRepository.class);
+        CouponStockCounter stockCounter = new CouponStockCounter(redisTemplate, racingRepository, couponLifecycleIndex);
+        String stockKey = STOCK_KEY_PREFIX + TEST_COUPON_NAME;
+        redisTemplate.opsForValue().set(stockKey, "100");
+        given(racingRepository.sumAvailableCouponCountByName(TEST_COUPON_NAME)).willAnswer(invocation -> {
+            stockCounter.consume(TEST_COUPON_NAME, 10);
+            return 100L;
+        });
+
+        // when
+        stockCounter.reconcile(TEST_COUPON_NAME);
+
+        // then - 차감된 카운터 유지 (지급한 10건을 다시 받지 않음)
+        assertThat(redisTemplate.opsForValue().get(stockKey)).isEqualTo("90");
+
+        // 카운터가 그대로면 DB 재고로 재설정
+        willReturn(80L).given(racingRepository).sumAvailableCouponCountByName(TEST_COUPON_NAME);
+        stockCounter.reconcile(TEST_COUPON_NAME);
+        assertThat(redisTemplate.opsForValue().get(stockKey)).isEqualTo("80");
+    }
+
+    @Test
+    @DisplayName("Bitmap 발급 기록 - 쿠폰당 키 1개로 중복 발급 방지, 초기화는 UNLINK 한 번")
+    void issuedBitmap_DuplicateCheckAndClear() {
+        ReflectionTestUtils.setField(couponIssuedUserStore, "dedupStore", CouponDedupStore.BITMAP);
+        try {
+            // given - user1 발급 처리
+            couponIssue.addToWaitingList(user1.getId(), TEST_COUPON_NAME);
+            couponIssue.processNextInWaitingList(TEST_COUPON_NAME);
+
+            // then - 사용자별 키 없이 Bitmap 한 개에 기록
+            String bitmapKey = ISSUED_BITMAP_KEY_PREFIX + TEST_COUPON_NAME;
+            assertThat(redisTemplate.opsForValue().getBit(bitmapKey, user1.getId())).isTrue();
+            assertThat(redisTemplate.hasKey(ISSUED_KEY_PREFIX + TEST_COUPON_NAME + ":" + user1.getId())).isFalse();
+            assertThat(couponIssuedUserStore.isIssued(TEST_COUPON_NAME, user1.getId())).isTrue();
+            assertThat(couponIssuedUserStore.isIssued(TEST_COUPON_NAME, user2.getId())).isFalse();
+
+            assertThatThrownBy(() -> couponIssue.addToWaitingList(user1.getId(), TEST_COUPON_NAME))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("이미 발급받은 쿠폰");
+
+            // when - 초기화
+            couponIssue.clearIssuedRecords(TEST_COUPON_NAME);
+
+            // then
+            assertThat(redisTemplate.hasKey(bitmapKey)).isFalse();
+        } finally {
+            ReflectionTestUtils.setField(couponIssuedUserStore, "dedupStore", CouponDedupStore.KEY);
+        }
+    }
+
+    @Test
+    @DisplayName("Bitmap 발급 기록 - bitmap-max-user-id를 넘는 사용자는 KEY 방식으로 기록, 초기화 시 함께 삭제")
+    void issuedBitmap_UserIdAboveCapFallsBackToKey() {
+        long smallUserId = Math.min(user1.getId(), user2.getId());
+        long largeUserId = Math.max(user1.getId(), user2.getId());
+        ReflectionTestUtils.setField(couponIssuedUserStore, "dedupStore", CouponDedupStore.BITMAP);
+        ReflectionTestUtils.setField(couponIssuedUserStore, "bitmapMaxUserId", smallUserId);
+        try {
+            // given - 두 사용자 발급 처리
+            couponIssue.addToWaitingList(smallUserId, TEST_COUPON_NAME);
+            couponIssue.addToWaitingList(largeUserId, TEST_COUPON_NAME);
+            couponIssue.processNextInWaitingList(TEST_COUPON_NAME);
+            couponIssue.processNextInWaitingList(TEST_COUPON_NAME);
+
+            // then - 범위 안은 Bitmap, 범위 밖은 사용자별 키 (Bitmap이 큰 offset까지 늘어나지 않음)
+            String bitmapKey = ISSUED_BITMAP_KEY_PREFIX + TEST_COUPON_NAME;
+            String fallbackKey = ISSUED_KEY_PREFIX + TEST_COUPON_NAME + ":" + largeUserId;
+            assertThat(redisTemplate.opsForValue().getBit(bitmapKey, smallUserId)).isTrue();
+            assertThat(redisTemplate.opsForValue().getBit(bitmapKey, largeUserId)).isFalse();
+            assertThat(redisTemplate.hasKey(fallbackKey)).isTrue();
+            assertThat(couponIssuedUserStore.isIssued(TEST_COUPON_NAME, largeUserId)).isTrue();
+
+            // when - 초기화
+            couponIssue.clearIssuedRecords(TEST_COUPON_NAME);
+
+            // then
+            assertThat(redisTemplate.hasKey(bitmapKey)).isFalse();
+            assertThat(redisTemplate.hasKey(fallbackKey)).isFalse();
+        } finally {
+            ReflectionTestUtils.setField(couponIssuedUserStore, "dedupStore", CouponDedupStore.KEY);
+            ReflectionTestUtils.setField(couponIssuedUserStore, "bitmapMaxUserId", 100_000_000L);
+        }
+    }
+
     @Test
     @DisplayName("빈 대기열 처리 시 false 반환")
     void processNextRequest_EmptyQueue() {
@@ -451,6 +919,44 @@ public class CouponIssueTest {
         if (issuedKeys != null && !issuedKeys.isEmpty()) {
             redisTemplate.delete(issuedKeys);
         }
+
+        Set<String> issuedBitmapKeys = redisTemplate.keys(ISSUED_BITMAP_KEY_PREFIX + "*");
+        if (issuedBitmapKeys != null && !issuedBitmapKeys.isEmpty()) {
+            redisTemplate.delete(issuedBitmapKeys);
+        }
+
+        Set<String> stockKeys = redisTemplate.keys(STOCK_KEY_PREFIX + "*");
+        if (stockKeys != null && !stockKeys.isEmpty()) {
+            redisTemplate.delete(stockKeys);
+        }
+
+        Set<String> statusKeys = redisTemplate.keys(STATUS_KEY_PREFIX + "*");
+        if (statusKeys != null && !statusKeys.isEmpty()) {
+            redisTemplate.delete(statusKeys);
+        }
+
+        Set<String> streamKeys = redisTemplate.keys(STREAM_KEY_PREFIX + "*");
+        if (streamKeys != null && !streamKeys.isEmpty()) {
+            redisTemplate.delete(streamKeys);
+        }
+
+        Set<String> streamQueuedKeys = redisTemplate.keys(STREAM_QUEUED_KEY_PREFIX + "*");
+        if (streamQueuedKeys != null && !streamQueuedKeys.isEmpty()) {
+            redisTemplate.delete(streamQueuedKeys);
+        }
+
+        Set<String> inFlightKeys = new HashSet<>();
+        for (String prefix : List.of(IN_FLIGHT_KEY_PREFIX, IN_FLIGHT_SCORE_KEY_PREFIX, ATTEMPT_KEY_PREFIX)) {
+            Set<String> keys = redisTemplate.keys(prefix + "*");
+            if (keys != null) {
+                inFlightKeys.addAll(keys);
+            }
+        }
+        if (!inFlightKeys.isEmpty()) {
+            redisTemplate.delete(inFlightKeys);
+        }
+
+        redisTemplate.delete(List.of(ACTIVE_COUPONS_KEY, PENDING_COUNT_KEY, IN_FLIGHT_COUPONS_KEY, EXPIRY_KEY, SOLD_OUT_KEY));
     }
 
     /**
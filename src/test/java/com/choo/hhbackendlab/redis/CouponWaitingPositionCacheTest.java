@@ -0,0 +1,119 @@
+package com.choo.hhbackendlab.redis;
+
+import com.choo.hhbackendlab.dto.requestDto.WaitingPositionItemRequest;
+import com.choo.hhbackendlab.dto.responseDto.CouponWaitingPositionResponse;
+import com.choo.hhbackendlab.usecase.coupon.GetCouponIssueStatusUseCase;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 큰 대기열의 대기 순서 추정 테스트 (Redis)
+ * approximate-threshold를 5로 낮추고 스냅샷을 매번 다시 조회하도록 설정
+ */
+@SpringBootTest(properties = {
+        "coupon.issue.queue-type=ZSET",
+        "coupon.issue.position.approximate-threshold=5",
+        "coupon.issue.position.refresh-millis=0",
+        "spring.scheduling.enabled=false"
+})
+class CouponWaitingPositionCacheTest {
+
+    private static final String LARGE_COUPON = "순서추정쿠폰";
+    private static final String SMALL_COUPON = "순서조회쿠폰";
+
+    @Autowired
+    private CouponWaitingPositionCache couponWaitingPositionCache;
+
+    @Autowired
+    private GetCouponIssueStatusUseCase getCouponIssueStatusUseCase;
+
+    @Autowired
+    private RedisTemplate<String, String> redisTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        // 테스트마다 보관한 score / 스냅샷 초기화
+        couponWaitingPositionCache.init();
+        redisTemplate.delete(List.of(waitingListKey(LARGE_COUPON), waitingListKey(SMALL_COUPON)));
+
+        // 사용자 1~10이 도착 순번 100, 110, ..., 190으로 대기
+        for (long userId = 1; userId <= 10; userId++) {
+            redisTemplate.opsForZSet().add(waitingListKey(LARGE_COUPON), String.valueOf(userId), 90 + userId * 10);
+        }
+        redisTemplate.opsForZSet().add(waitingListKey(SMALL_COUPON), "1", 500);
+        redisTemplate.opsForZSet().add(waitingListKey(SMALL_COUPON), "2", 501);
+    }
+
+    @Test
+    @DisplayName("맨 앞 / 맨 뒤 score 사이를 보간해 순서 추정, 대기 중이 아니면 -1")
+    void estimatePositions_InterpolatesBetweenHeadAndTail() {
+        // when
+        List<Long> positions = couponWaitingPositionCache.estimatePositions(
+                List.of(LARGE_COUPON, LARGE_COUPON, LARGE_COUPON, LARGE_COUPON),
+                List.of(1L, 4L, 10L, 99L));
+
+        // then
+        assertThat(positions).containsExactly(0L, 3L, 9L, -1L);
+    }
+
+    @Test
+    @DisplayName("대기열에서 나간 사용자는 보관한 score를 버리고, 다시 등록하면 새 score로 추정")
+    void estimatePositions_EvictsUsersThatLeftQueue() {
+        // given - 사용자 1의 score(100) 보관
+        assertThat(couponWaitingPositionCache.estimatePositions(List.of(LARGE_COUPON), List.of(1L)))
+                .containsExactly(0L);
+
+        // when - 앞의 세 명이 발급 처리되어 나감
+        redisTemplate.opsForZSet().remove(waitingListKey(LARGE_COUPON), "1", "2", "3");
+
+        // then - 맨 앞(130)보다 앞선 score이므로 대기 중이 아님
+        assertThat(couponWaitingPositionCache.estimatePositions(List.of(LARGE_COUPON), List.of(1L)))
+                .containsExactly(-1L);
+
+        // 재시도로 맨 뒤에 다시 등록되면 보관한 score(100) 대신 새 score로 추정
+        redisTemplate.opsForZSet().add(waitingListKey(LARGE_COUPON), "1", 200);
+        assertThat(couponWaitingPositionCache.estimatePositions(List.of(LARGE_COUPON), List.of(1L)))
+                .containsExactly(7L);
+    }
+
+    @Test
+    @DisplayName("approximate-threshold 이상인 대기열만 추정 대상 (approximate = true), 나머지는 ZRANK로 정확히 조회")
+    void getWaitingPositions_SelectsApproximateOnlyForLargeQueues() {
+        // given
+        assertThat(couponWaitingPositionCache.findLargeQueues(List.of(LARGE_COUPON, SMALL_COUPON, LARGE_COUPON)))
+                .containsExactly(LARGE_COUPON);
+        List<WaitingPositionItemRequest> targets = List.of(
+                target(5L, LARGE_COUPON), target(2L, SMALL_COUPON), target(3L, SMALL_COUPON));
+
+        // when
+        List<CouponWaitingPositionResponse> responses = getCouponIssueStatusUseCase.getWaitingPositions(targets);
+
+        // then
+        assertThat(responses).extracting(CouponWaitingPositionResponse::getWaitingPosition)
+                .containsExactly(4L, 1L, null);
+        assertThat(responses).extracting(CouponWaitingPositionResponse::isApproximate)
+                .containsExactly(true, false, false);
+    }
+
+    private WaitingPositionItemRequest target(Long userId, String couponName) {
+        return objectMapper.convertValue(Map.of("userId", userId, "couponName", couponName),
+                WaitingPositionItemRequest.class);
+    }
+
+    private static String waitingListKey(String couponName) {
+        return CouponIssue.WAITING_LIST_KEY_PREFIX + couponName;
+    }
+}
@@ -0,0 +1,147 @@
+package com.choo.hhbackendlab.usecase.coupon;
+
+import com.choo.hhbackendlab.dto.responseDto.CouponCleanupResponse;
+import com.choo.hhbackendlab.redis.CouponIssue;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class ClearIssuedRecordsUseCaseTest {
+
+    private static final String COUPON_NAME = "WELCOME";
+
+    @Mock
+    private CouponIssue couponIssue;
+
+    private ClearIssuedRecordsUseCase clearIssuedRecordsUseCase;
+
+    // 삭제 도중 멈춰두기 위한 래치
+    private final CountDownLatch firstBatchDeleted = new CountDownLatch(1);
+    private final CountDownLatch resume = new CountDownLatch(1);
+
+    @BeforeEach
+    void setUp() {
+        clearIssuedRecordsUseCase = new ClearIssuedRecordsUseCase(couponIssue);
+        ReflectionTestUtils.setField(clearIssuedRecordsUseCase, "jobRetentionMillis", 60_000L);
+    }
+
+    @AfterEach
+    void tearDown() {
+        resume.countDown();
+        clearIssuedRecordsUseCase.shutdown();
+    }
+
+    @Test
+    @DisplayName("실행 중에 다시 시작하면 새로 실행하지 않고 실행 중인 작업을 반환하며, 삭제 건수는 배치마다 누적")
+    void start_ReturnsRunningJobAndReportsProgress() throws InterruptedException {
+        // given - 500건 삭제 후 멈췄다가 재개되면 300건 더 삭제
+        given(couponIssue.clearIssuedRecords(eq(COUPON_NAME), any(LongConsumer.class))).willAnswer(invocation -> {
+            LongConsumer onBatchDeleted = invocation.getArgument(1);
+            onBatchDeleted.accept(500);
+            firstBatchDeleted.countDown();
+            resume.await();
+            onBatchDeleted.accept(300);
+            return 800L;
+        });
+
+        // when
+        CouponCleanupResponse first = clearIssuedRecordsUseCase.start(COUPON_NAME);
+        assertThat(firstBatchDeleted.await(5, TimeUnit.SECONDS)).isTrue();
+        CouponCleanupResponse second = clearIssuedRecordsUseCase.start(COUPON_NAME);
+
+        // then - 같은 작업, 진행 중 건수
+        assertThat(first.getStatus()).isEqualTo("RUNNING");
+        assertThat(second.getStatus()).isEqualTo("RUNNING");
+        assertThat(second.getStartedAt()).isEqualTo(first.getStartedAt());
+        assertThat(clearIssuedRecordsUseCase.getJob(COUPON_NAME).getDeletedCount()).isEqualTo(500);
+
+        resume.countDown();
+        CouponCleanupResponse finished = awaitFinished();
+        assertThat(finished.getStatus()).isEqualTo("COMPLETED");
+        assertThat(finished.getDeletedCount()).isEqualTo(800);
+        assertThat(finished.getFinishedAt()).isNotNull();
+        verify(couponIssue, times(1)).clearIssuedRecords(eq(COUPON_NAME), any(LongConsumer.class));
+    }
+
+    @Test
+    @DisplayName("삭제 중 예외가 발생하면 FAILED와 에러 메시지, 그때까지 삭제한 건수를 기록하고 다시 시작 가능")
+    void start_MarksFailedOnException() {
+        // given
+        given(couponIssue.clearIssuedRecords(eq(COUPON_NAME), any(LongConsumer.class)))
+                .willAnswer(invocation -> {
+                    LongConsumer onBatchDeleted = invocation.getArgument(1);
+                    onBatchDeleted.accept(200);
+                    throw new IllegalStateException("Redis 연결 실패");
+                })
+                .willReturn(0L);
+
+        // when
+        clearIssuedRecordsUseCase.start(COUPON_NAME);
+        CouponCleanupResponse failed = awaitFinished();
+
+        // then
+        assertThat(failed.getStatus()).isEqualTo("FAILED");
+        assertThat(failed.getErrorMessage()).isEqualTo("Redis 연결 실패");
+        assertThat(failed.getDeletedCount()).isEqualTo(200);
+
+        // 끝난 작업이면 새 작업으로 다시 시작
+        clearIssuedRecordsUseCase.start(COUPON_NAME);
+        verify(couponIssue, timeout(5000).times(2)).clearIssuedRecords(eq(COUPON_NAME), any(LongConsumer.class));
+    }
+
+    @Test
+    @DisplayName("끝난 작업은 job-retention-millis가 지나면 정리되어 조회되지 않음")
+    void getJob_PrunesFinishedJobsAfterRetention() {
+        // given
+        given(couponIssue.clearIssuedRecords(eq(COUPON_NAME), any(LongConsumer.class))).willReturn(0L);
+        clearIssuedRecordsUseCase.start(COUPON_NAME);
+        assertThat(awaitFinished().getStatus()).isEqualTo("COMPLETED");
+
+        // when
+        ReflectionTestUtils.setField(clearIssuedRecordsUseCase, "jobRetentionMillis", 0L);
+
+        // then
+        assertThatThrownBy(() -> clearIssuedRecordsUseCase.getJob(COUPON_NAME))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("초기화 작업을 찾을 수 없습니다");
+    }
+
+    @Test
+    @DisplayName("실행한 적 없는 쿠폰의 작업 조회는 예외")
+    void getJob_NotStarted() {
+        assertThatThrownBy(() -> clearIssuedRecordsUseCase.getJob(COUPON_NAME))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * 작업이 끝날 때까지 대기 (최대 5초)
+     */
+    private CouponCleanupResponse awaitFinished() {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        CouponCleanupResponse job = clearIssuedRecordsUseCase.getJob(COUPON_NAME);
+        while ("RUNNING".equals(job.getStatus()) && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+            job = clearIssuedRecordsUseCase.getJob(COUPON_NAME);
+        }
+        return job;
+    }
+}
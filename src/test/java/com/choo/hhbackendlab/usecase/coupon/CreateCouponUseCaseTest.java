@@ -1,6 +1,10 @@
 package com.choo.hhbackendlab.usecase.coupon;
 
+import com.choo.hhbackendlab.helper.CouponTemplateCache;
+import com.choo.hhbackendlab.redis.CouponLifecycleIndex;
+import com.choo.hhbackendlab.redis.CouponStockCounter;
 import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.CouponStockStripeRepository;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -12,6 +16,18 @@ public class CreateCouponUseCaseTest {
     @Mock
     private CouponRepository couponRepository;
 
+    @Mock
+    private CouponStockCounter couponStockCounter;
+
+    @Mock
+    private CouponTemplateCache couponTemplateCache;
+
+    @Mock
+    private CouponLifecycleIndex couponLifecycleIndex;
+
+    @Mock
+    private CouponStockStripeRepository couponStockStripeRepository;
+
     @InjectMocks
     private CreateCouponUseCase createCouponUseCase;
 }
@@ -1,9 +1,11 @@
 package com.choo.hhbackendlab.usecase.coupon;
 
 import com.choo.hhbackendlab.entity.Coupon;
+import com.choo.hhbackendlab.entity.CouponStockStripe;
 import com.choo.hhbackendlab.entity.User;
 import com.choo.hhbackendlab.entity.UserCoupon;
 import com.choo.hhbackendlab.repository.CouponRepository;
+import com.choo.hhbackendlab.repository.CouponStockStripeRepository;
 import com.choo.hhbackendlab.repository.UserCouponRepository;
 import com.choo.hhbackendlab.repository.UserRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +25,7 @@ import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 /**
  * IssueCouponUseCase 통합 테스트
@@ -58,9 +61,13 @@ public class IssueCouponUseCaseTest {
     @Autowired
     private UserCouponRepository userCouponRepository;
 
+    @Autowired
+    private CouponStockStripeRepository couponStockStripeRepository;
+
     @BeforeEach
     void setUp() {
         userCouponRepository.deleteAll();
+        couponStockStripeRepository.deleteAll();
         couponRepository.deleteAll();
         userRepository.deleteAll();
     }
@@ -133,6 +140,59 @@ public class IssueCouponUseCaseTest {
         }
     }
 
+    @Test
+    @DisplayName("분할 재고 쿠폰 - 비어있는 분할 재고는 건너뛰고 전체 재고만큼만 발급")
+    void issueStripedCoupon_FallsBackToSiblingStripes() {
+        // Given
+        // 재고 10개를 4개로 분할 (3, 3, 2, 2)
+        Coupon coupon = couponRepository.save(new Coupon(
+                "분할 재고 쿠폰", 10, 1000, 0, LocalDateTime.now().plusDays(30)));
+        List<CouponStockStripe> stripes = couponStockStripeRepository.saveAll(coupon.splitStock(4));
+        couponRepository.save(coupon);
+        assertThat(stripes).extracting(CouponStockStripe::getStockCnt).containsExactly(3, 3, 2, 2);
+
+        List<User> users = new ArrayList<>();
+        for (int i = 1; i <= 12; i++) {
+            users.add(userRepository.save(createUser("striped" + i, "striped" + i + "@test.com", "password123")));
+        }
+
+        // When
+        // 10명은 발급, 재고 소진 후 2명은 실패
+        for (User user : users.subList(0, 10)) {
+            issueCouponUseCase.issueCoupon(user.getId(), coupon.getId());
+        }
+        for (User user : users.subList(10, 12)) {
+            assertThatThrownBy(() -> issueCouponUseCase.issueCoupon(user.getId(), coupon.getId()))
+                    .isInstanceOf(IllegalStateException.class);
+        }
+
+        // Then
+        Coupon updatedCoupon = couponRepository.findById(coupon.getId()).orElseThrow();
+        assertThat(updatedCoupon.isStriped()).isTrue();
+        assertThat(updatedCoupon.getRemainingCount()).isEqualTo(0);
+        assertThat(couponStockStripeRepository.findAll()).allMatch(stripe -> stripe.getStockCnt() == 0);
+        assertThat(userCouponRepository.findAll()).hasSize(10);
+    }
+
+    @Test
+    @DisplayName("이름별 잔여 재고 합계 - 분할 재고 쿠폰에 couponCnt가 남아있어도 분할 행 수만큼 중복으로 더하지 않음")
+    void sumAvailableCouponCountByName_AddsStripeStockOncePerCoupon() {
+        // Given
+        // 재고 10개를 4개로 분할한 뒤 템플릿 재고 5개 추가, 같은 이름의 분할하지 않은 쿠폰 7개
+        Coupon striped = couponRepository.save(new Coupon(
+                "재고 합계 쿠폰", 10, 1000, 0, LocalDateTime.now().plusDays(30)));
+        couponStockStripeRepository.saveAll(striped.splitStock(4));
+        setField(striped, "couponCnt", 5);
+        couponRepository.save(striped);
+        couponRepository.save(new Coupon("재고 합계 쿠폰", 7, 1000, 0, LocalDateTime.now().plusDays(30)));
+
+        // When
+        long remaining = couponRepository.sumAvailableCouponCountByName("재고 합계 쿠폰");
+
+        // Then
+        assertThat(remaining).isEqualTo(10 + 5 + 7);
+    }
+
     /**
      * User 생성 헬퍼 메서드 (Reflection 사용)
      */